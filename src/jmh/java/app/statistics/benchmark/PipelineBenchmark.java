@@ -0,0 +1,515 @@
+package app.statistics.benchmark;
+
+import app.statistics.application.AbstractDataStreamService;
+import app.statistics.application.SketchMemoryBudget;
+import app.statistics.application.WindowResultSink;
+import app.statistics.application.WindowResultWriter;
+import app.statistics.infra.MementoStore;
+import app.statistics.infra.WindowCheckpointStore;
+import app.statistics.model.MementoPoint;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.TaskType;
+import app.statistics.sketch.HashFunction;
+import app.statistics.sketch.KeyHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 수집부터 Memento 저장까지 스트림 처리 파이프라인 전체의 처리량과 지연 시간을 측정하는 벤치마크
+ * <p>
+ *     {@link AbstractDataStreamService} → {@link app.statistics.application.ELLStreamProcessor ELLStreamProcessor}
+ *     → 윈도우 종료 → {@link WindowResultWriter} → {@link MementoStore}로 이어지는 실제 경로를 운영과 같은 주기로 실행하며,
+ *     저장소만 메모리에서 저장 시각을 기록하는 구현체로 대체한다.
+ *     목표 유입량, 배치 처리 스레드 수, 수집 배치 크기의 모든 조합을 차례로 측정하고 조합마다 다음 값을 출력한다.
+ *     <ul>
+ *         <li>유입량({@code ell.queue.enqueued})과 처리량({@code ell.sketch.events}) (이벤트/초)</li>
+ *         <li>수집부터 Memento 저장까지의 지연 시간 p50/p99/p999/최대 (이벤트 수 가중)</li>
+ *         <li>파이프라인 스레드의 할당률 (생산자 스레드 제외)</li>
+ *         <li>GC 일시 정지 시간과 횟수</li>
+ *     </ul>
+ * </p>
+ * @implSpec 지연 시간은 배치를 실제로 추가한 시각이 아니라 예정된 시각부터 측정하므로,
+ * 파이프라인이 밀려 생산자가 늦어져도 지연이 누락되지 않는다 (coordinated omission 보정).
+ * 배치는 큐에 추가가 끝난 시각이 윈도우 종료 직전이면 해당 윈도우에, 아니면 다음 윈도우에 포함된 것으로 본다.
+ * 측정 구간은 윈도우 종료 직후부터 정해진 수의 윈도우를 종료한 직후까지이며, 결과는 CSV 파일에 한 줄씩 추가된다.
+ * @implNote {@code ./gradlew pipelineBenchmark -PpipelineArgs="--rates=500000,2000000 --threads=1,4"}로 실행한다.
+ * 운영의 윈도우는 1분이지만 기본값은 측정 시간을 줄이기 위해 10초이며, 지연 시간은 대부분 윈도우 길이에 비례한다.
+ */
+public class PipelineBenchmark {
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_ACCOUNT_ID_COUNT;
+    private static final double SATURATION_RATIO = 0.98;
+    private static final int QUEUE_CAPACITY = 1 << 19; // 서비스의 이벤트 큐 용량과 같다
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Path checkpointDir = Files.createTempDirectory("ell-pipeline-benchmark");
+        try {
+            for (int threads : options.threads) {
+                for (int batchSize : options.batchSizes) {
+                    for (long rate : options.rates) {
+                        Result result = new PipelineBenchmark(options, checkpointDir, threads, batchSize, rate).run();
+                        result.print();
+                        result.append(options.out);
+                    }
+                }
+            }
+        } finally {
+            try (var files = Files.list(checkpointDir)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(checkpointDir);
+        }
+    }
+
+    private final Options options;
+    private final int threads;
+    private final int batchSize;
+    private final long rate;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final Queue<IngestedBatch> ingestedBatches = new ConcurrentLinkedQueue<>();
+    private final Queue<RolledWindow> rolledWindows = new ConcurrentLinkedQueue<>();
+    private final LatencyRecorder latencies = new LatencyRecorder();
+    private final WindowResultWriter writer;
+    private final BenchmarkStreamService service;
+
+    private volatile boolean running = true;
+    private volatile long rollCutoffNanos;
+    private volatile boolean measuring;
+
+    private PipelineBenchmark(Options options, Path checkpointDir, int threads, int batchSize, long rate) {
+        this.options = options;
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.rate = rate;
+        SketchMemoryBudget memoryBudget = new SketchMemoryBudget(DataSize.ofGigabytes(4));
+        this.writer = new WindowResultWriter(new RecordingMementoStore(), options.bufferMaxSize,
+                options.persistBatchSize, 1000L, memoryBudget, registry, event -> {
+                });
+        this.service = new BenchmarkStreamService(options.p, options.t, options.d, threads, new RecordingSink(),
+                new WindowCheckpointStore(checkpointDir), registry, memoryBudget);
+    }
+
+    private Result run() throws InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        scheduler.scheduleWithFixedDelay(service::checkpointWindow,
+                options.checkpointMs, options.checkpointMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(writer::flush, options.flushMs, options.flushMs, TimeUnit.MILLISECONDS);
+
+        List<Thread> producers = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < options.producers; i++) {
+            Thread producer = new Thread(producerLoop(i, startNanos), "pipeline-producer-" + i);
+            producer.setDaemon(true);
+            producers.add(producer);
+            producer.start();
+        }
+        long[] producerIds = producers.stream().mapToLong(Thread::getId).toArray();
+
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(options.windowMs);
+        long nextRoll = startNanos;
+        for (int i = 0; i < options.warmupWindows; i++) {
+            nextRoll = roll(nextRoll + windowNanos);
+        }
+
+        Snapshot before = Snapshot.take(registry, producerIds);
+        measuring = true;
+        for (int i = 0; i < options.measuredWindows; i++) {
+            nextRoll = roll(nextRoll + windowNanos);
+        }
+        measuring = false;
+        Snapshot after = Snapshot.take(registry, producerIds);
+
+        running = false;
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        writer.flush();
+        int unpersisted = writer.getPendingCount();
+        long backlog = service.getMemoryReport().queuedEvents();
+        service.shutdown();
+
+        return new Result(options, threads, batchSize, rate, before, after, latencies, backlog, unpersisted);
+    }
+
+    /**
+     * 예정된 시각까지 대기한 후 윈도우를 종료하는 메서드
+     * @return 윈도우를 종료한 시각 (다음 윈도우의 기준 시각)
+     */
+    private long roll(long deadline) {
+        parkUntil(deadline);
+        rollCutoffNanos = System.nanoTime();
+        service.processStreamData();
+        return deadline;
+    }
+
+    private Runnable producerLoop(int index, long startNanos) {
+        long intervalNanos = Math.max(1L, (long) (batchSize * 1e9 * options.producers / rate));
+        return () -> {
+            SplittableRandom random = new SplittableRandom(0x5EEDL + index);
+            long scheduled = startNanos + intervalNanos * index / options.producers;
+            long[] batch = new long[batchSize];
+            while (running) {
+                for (int i = 0; i < batchSize; i++) {
+                    batch[i] = random.nextLong();
+                }
+                parkUntil(scheduled);
+                service.addHashes(batch, batchSize);
+                ingestedBatches.add(new IngestedBatch(scheduled, System.nanoTime(), batchSize));
+                scheduled += intervalNanos;
+            }
+        };
+    }
+
+    private static void parkUntil(long deadline) {
+        for (long remaining = deadline - System.nanoTime(); remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * 종료 직전까지 큐에 추가된 배치의 지연 시간을 기록하는 메서드
+     * @implNote 저장 스레드 하나에서만 호출된다.
+     */
+    private void recordPersisted(RolledWindow window, long persistedNanos) {
+        for (IngestedBatch batch = ingestedBatches.peek();
+             batch != null && batch.enqueuedNanos() < window.cutoffNanos();
+             batch = ingestedBatches.peek()) {
+            ingestedBatches.poll();
+            if (window.measured()) {
+                latencies.record(persistedNanos - batch.scheduledNanos(), batch.size());
+            }
+        }
+    }
+
+    /**
+     * 벤치마크 설정을 적용한 {@link AbstractDataStreamService}
+     */
+    private static final class BenchmarkStreamService extends AbstractDataStreamService {
+
+        BenchmarkStreamService(int p, int t, int d, int numThreads, WindowResultSink windowResultSink,
+                               WindowCheckpointStore checkpointStore, MeterRegistry meterRegistry,
+                               SketchMemoryBudget memoryBudget) {
+            super(p, t, d, numThreads, windowResultSink, checkpointStore, meterRegistry, memoryBudget,
+                    KeyHasher.of(HashFunction.KOMIHASH), QUEUE_CAPACITY);
+        }
+
+        @Override
+        public void processStreamData() {
+            process(getTaskType());
+        }
+
+        @Override
+        public TaskType getTaskType() {
+            return TASK_TYPE;
+        }
+    }
+
+    /**
+     * 결과를 저장 버퍼에 추가하면서 윈도우 종료 시각을 기록하는 {@link WindowResultSink}
+     * @implNote 저장 버퍼는 순서를 유지하므로 기록한 순서대로 저장된다. 버퍼가 가득 차 버린 결과는 기록에서 제거한다.
+     */
+    private final class RecordingSink implements WindowResultSink {
+        @Override
+        public void submit(WindowResult windowResult) {
+            // 저장 스레드가 결과를 먼저 가져갈 수 있으므로 버퍼에 추가하기 전에 기록한다
+            RolledWindow window = new RolledWindow(rollCutoffNanos, measuring);
+            rolledWindows.add(window);
+            if (!writer.submit(windowResult)) {
+                rolledWindows.remove(window);
+            }
+        }
+    }
+
+    /**
+     * 저장 시각만 기록하는 {@link MementoStore}
+     */
+    private final class RecordingMementoStore implements MementoStore {
+        @Override
+        public void saveAll(List<WindowResult> windowResults) {
+            long persistedNanos = System.nanoTime();
+            for (int i = 0; i < windowResults.size(); i++) {
+                recordPersisted(rolledWindows.remove(), persistedNanos);
+            }
+        }
+
+        @Override
+        public List<TaskMemento> findAllAfter(TaskType taskType, LocalDateTime finishedAt) {
+            return List.of();
+        }
+
+        @Override
+        public List<TaskMemento> findWithHeavyHittersAfter(TaskType taskType, LocalDateTime finishedAt) {
+            return List.of();
+        }
+
+        @Override
+        public List<MementoPoint> findPoints(TaskType taskType, LocalDateTime after, Long afterId, LocalDateTime to,
+                                             int limit) {
+            return List.of();
+        }
+    }
+
+    /**
+     * @param scheduledNanos 배치를 추가하기로 예정된 시각
+     * @param enqueuedNanos 큐에 추가가 끝난 시각
+     * @param size 배치의 이벤트 수
+     */
+    private record IngestedBatch(long scheduledNanos, long enqueuedNanos, int size) {
+    }
+
+    /**
+     * @param cutoffNanos 윈도우 종료를 시작한 시각
+     * @param measured 측정 구간에 종료된 윈도우인지 여부
+     */
+    private record RolledWindow(long cutoffNanos, boolean measured) {
+    }
+
+    /**
+     * 이벤트 수로 가중한 지연 시간 분포
+     */
+    private static final class LatencyRecorder {
+        private long[] latencies = new long[1024];
+        private long[] weights = new long[1024];
+        private int size;
+
+        void record(long latencyNanos, long weight) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            latencies[size] = latencyNanos;
+            weights[size] = weight;
+            size++;
+        }
+
+        /**
+         * @param quantiles 구할 분위수 목록 (오름차순)
+         * @return 분위수별 지연 시간 (나노초), 기록이 없으면 0
+         */
+        long[] quantiles(double... quantiles) {
+            long[] result = new long[quantiles.length];
+            if (size == 0) {
+                return result;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(latencies[a], latencies[b]));
+            long total = Arrays.stream(weights, 0, size).sum();
+
+            long cumulative = 0;
+            int q = 0;
+            for (int i = 0; i < size && q < quantiles.length; i++) {
+                cumulative += weights[order[i]];
+                while (q < quantiles.length && cumulative >= Math.ceil(quantiles[q] * total)) {
+                    result[q++] = latencies[order[i]];
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 측정 구간 시작과 끝의 누적 지표
+     */
+    private record Snapshot(long nanos, double enqueued, double added, long allocatedBytes,
+                            long producerAllocatedBytes, long gcPauseMs, long gcCount) {
+
+        static Snapshot take(MeterRegistry registry, long[] producerIds) {
+            com.sun.management.ThreadMXBean threadBean =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long[] threadIds = threadBean.getAllThreadIds();
+            long[] allocated = threadBean.getThreadAllocatedBytes(threadIds);
+            Map<Long, Long> allocatedByThread = new HashMap<>();
+            long allocatedBytes = 0;
+            for (int i = 0; i < threadIds.length; i++) {
+                if (allocated[i] > 0) {
+                    allocatedByThread.put(threadIds[i], allocated[i]);
+                    allocatedBytes += allocated[i];
+                }
+            }
+            long producerAllocatedBytes = Arrays.stream(producerIds)
+                    .map(id -> allocatedByThread.getOrDefault(id, 0L))
+                    .sum();
+
+            // 동시 수행 단계를 집계하는 수집기(예: ZGC Cycles)는 일시 정지 시간이 아니므로 제외한다
+            long gcPauseMs = 0;
+            long gcCount = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (gc.getName().endsWith("Cycles") || gc.getName().contains("Concurrent")) {
+                    continue;
+                }
+                gcPauseMs += Math.max(0, gc.getCollectionTime());
+                gcCount += Math.max(0, gc.getCollectionCount());
+            }
+
+            return new Snapshot(System.nanoTime(),
+                    registry.get("ell.queue.enqueued").counter().count(),
+                    registry.get("ell.sketch.events").counter().count(),
+                    allocatedBytes, producerAllocatedBytes, gcPauseMs, gcCount);
+        }
+    }
+
+    /**
+     * 설정 조합 하나의 측정 결과
+     */
+    private record Result(Options options, int threads, int batchSize, long rate, Snapshot before, Snapshot after,
+                          LatencyRecorder latencies, long backlog, int unpersisted) {
+        private static final String CSV_HEADER = "Timestamp,P,T,D,Threads,Batch_Size,Target_Rate,Window_Ms,"
+                + "Offered_Rate,Processed_Rate,Saturated,Backlog,Latency_P50(ms),Latency_P99(ms),Latency_P999(ms),"
+                + "Latency_Max(ms),Alloc_Rate(MB/s),GC_Pause(ms),GC_Count,GC_Pause(%)";
+
+        double seconds() {
+            return (after.nanos() - before.nanos()) / 1e9;
+        }
+
+        double offeredRate() {
+            return (after.enqueued() - before.enqueued()) / seconds();
+        }
+
+        double processedRate() {
+            return (after.added() - before.added()) / seconds();
+        }
+
+        boolean saturated() {
+            return processedRate() < offeredRate() * SATURATION_RATIO;
+        }
+
+        double allocationRateMb() {
+            long pipelineBytes = (after.allocatedBytes() - after.producerAllocatedBytes())
+                    - (before.allocatedBytes() - before.producerAllocatedBytes());
+            return pipelineBytes / seconds() / (1024.0 * 1024.0);
+        }
+
+        long gcPauseMs() {
+            return after.gcPauseMs() - before.gcPauseMs();
+        }
+
+        double[] latencyMs() {
+            long[] nanos = latencies.quantiles(0.5, 0.99, 0.999, 1.0);
+            return Arrays.stream(nanos).mapToDouble(value -> value / 1e6).toArray();
+        }
+
+        void print() {
+            double[] latency = latencyMs();
+            System.out.printf("%n[threads=%d, batch=%d, rate=%,d/s, p=%d, t=%d, d=%d, window=%dms]%n",
+                    threads, batchSize, rate, options.p, options.t, options.d, options.windowMs);
+            System.out.printf("  throughput : offered %,.0f/s, processed %,.0f/s%s, backlog %,d events%n",
+                    offeredRate(), processedRate(), saturated() ? " (SATURATED)" : "", backlog);
+            System.out.printf("  latency    : p50 %.1f ms, p99 %.1f ms, p999 %.1f ms, max %.1f ms%n",
+                    latency[0], latency[1], latency[2], latency[3]);
+            System.out.printf("  allocation : %.1f MB/s (pipeline threads)%n", allocationRateMb());
+            System.out.printf("  gc         : %d ms paused in %d collections (%.2f%%)%n",
+                    gcPauseMs(), after.gcCount() - before.gcCount(), gcPauseMs() / 10.0 / seconds());
+            if (unpersisted > 0) {
+                System.out.printf("  warning    : %d window results were not persisted%n", unpersisted);
+            }
+        }
+
+        void append(Path out) throws IOException {
+            Files.createDirectories(out.toAbsolutePath().getParent());
+            boolean header = Files.notExists(out);
+            double[] latency = latencyMs();
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(out,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+                if (header) {
+                    writer.println(CSV_HEADER);
+                }
+                writer.printf("%s,%d,%d,%d,%d,%d,%d,%d,%.0f,%.0f,%b,%d,%.2f,%.2f,%.2f,%.2f,%.1f,%d,%d,%.3f%n",
+                        LocalDateTime.now(), options.p, options.t, options.d, threads, batchSize, rate,
+                        options.windowMs, offeredRate(), processedRate(), saturated(), backlog,
+                        latency[0], latency[1], latency[2], latency[3], allocationRateMb(),
+                        gcPauseMs(), after.gcCount() - before.gcCount(), gcPauseMs() / 10.0 / seconds());
+            }
+        }
+    }
+
+    /**
+     * 명령행 인자({@code --이름=값})로 지정하는 벤치마크 설정
+     * <ul>
+     *     <li>{@code rates}, {@code threads}, {@code batch-sizes}: 쉼표로 구분한 측정 조합</li>
+     *     <li>{@code window-ms}, {@code warmup-windows}, {@code windows}: 윈도우 길이와 워밍업/측정 윈도우 수</li>
+     *     <li>{@code checkpoint-ms}, {@code flush-ms}: 체크포인트와 저장 주기 (운영 기본값과 같다)</li>
+     *     <li>{@code producers}: 이벤트를 추가하는 생산자 스레드 수</li>
+     *     <li>{@code p}, {@code t}, {@code d}: 스케치 파라미터</li>
+     *     <li>{@code out}: 결과를 추가할 CSV 파일</li>
+     * </ul>
+     */
+    private static final class Options {
+        long[] rates = {100_000, 1_000_000, 5_000_000};
+        int[] threads = {1, 4};
+        int[] batchSizes = {1_000, 100_000};
+        long windowMs = 10_000;
+        int warmupWindows = 2;
+        int measuredWindows = 6;
+        long checkpointMs = 5_000;
+        long flushMs = 1_000;
+        DataSize bufferMaxSize = DataSize.ofMegabytes(512);
+        int persistBatchSize = 100;
+        int producers = 1;
+        int p = 20;
+        int t = 4;
+        int d = 5;
+        Path out = Path.of("build", "results", "pipeline", "pipeline-benchmark.csv");
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("인자는 --이름=값 형식이어야 합니다: " + arg);
+                }
+                String value = arg.substring(separator + 1);
+                switch (arg.substring(2, separator)) {
+                    case "rates" -> options.rates = Arrays.stream(value.split(",")).mapToLong(Long::parseLong).toArray();
+                    case "threads" -> options.threads = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    case "batch-sizes" -> options.batchSizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    case "window-ms" -> options.windowMs = Long.parseLong(value);
+                    case "warmup-windows" -> options.warmupWindows = Integer.parseInt(value);
+                    case "windows" -> options.measuredWindows = Integer.parseInt(value);
+                    case "checkpoint-ms" -> options.checkpointMs = Long.parseLong(value);
+                    case "flush-ms" -> options.flushMs = Long.parseLong(value);
+                    case "producers" -> options.producers = Integer.parseInt(value);
+                    case "p" -> options.p = Integer.parseInt(value);
+                    case "t" -> options.t = Integer.parseInt(value);
+                    case "d" -> options.d = Integer.parseInt(value);
+                    case "out" -> options.out = Path.of(value);
+                    default -> throw new IllegalArgumentException("알 수 없는 인자입니다: " + arg);
+                }
+            }
+            if (options.measuredWindows <= 0 || options.producers <= 0) {
+                throw new IllegalArgumentException("측정 윈도우 수와 생산자 수는 양수여야 합니다.");
+            }
+            return options;
+        }
+    }
+}
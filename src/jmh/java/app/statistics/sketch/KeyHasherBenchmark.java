@@ -0,0 +1,124 @@
+package app.statistics.sketch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link KeyHasher}의 입력 형식별 해시 시간을 {@link HashFunction}마다 비교하는 JMH 벤치마크
+ * <p>
+ *     키는 이메일 도메인 길이(약 15바이트)와 긴 요청 경로 길이(256바이트)의 두 가지로 측정하며,
+ *     {@code legacyStringHashCode}는 기존 예제의 {@code String.hashCode() * 31} 후 보정 방식을 비교 기준으로 측정한다.
+ * </p>
+ * @implNote {@code ./gradlew jmh -PjmhIncludes=KeyHasherBenchmark}로 실행한다.
+ * 상수 전파를 막기 위해 미리 만든 키 배열을 순환하며 해시한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class KeyHasherBenchmark {
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"KOMIHASH", "WYHASH", "MURMUR3"})
+    private HashFunction function;
+
+    @Param({"15", "256"})
+    private int keyLength;
+
+    private KeyHasher keyHasher;
+    private String[] strings;
+    private byte[][] bytes;
+    private ByteBuffer[] heapBuffers;
+    private ByteBuffer[] directBuffers;
+    private long[] longs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keyHasher = KeyHasher.of(function);
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        strings = new String[KEY_COUNT];
+        bytes = new byte[KEY_COUNT][];
+        heapBuffers = new ByteBuffer[KEY_COUNT];
+        directBuffers = new ByteBuffer[KEY_COUNT];
+        longs = new long[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            StringBuilder key = new StringBuilder(keyLength);
+            for (int j = 0; j < keyLength; j++) {
+                key.append((char) ('a' + random.nextInt(26)));
+            }
+            strings[i] = key.toString();
+            bytes[i] = strings[i].getBytes(StandardCharsets.US_ASCII);
+            heapBuffers[i] = ByteBuffer.wrap(bytes[i]);
+            directBuffers[i] = ByteBuffer.allocateDirect(keyLength).put(bytes[i]).flip();
+            longs[i] = random.nextLong();
+        }
+    }
+
+    private int nextIndex() {
+        int index = next;
+        next = (index + 1) & (KEY_COUNT - 1);
+        return index;
+    }
+
+    @Benchmark
+    public long charSequence() {
+        return keyHasher.hash(strings[nextIndex()]);
+    }
+
+    @Benchmark
+    public long byteArray() {
+        return keyHasher.hash(bytes[nextIndex()]);
+    }
+
+    @Benchmark
+    public long heapByteBuffer() {
+        return keyHasher.hash(heapBuffers[nextIndex()]);
+    }
+
+    @Benchmark
+    public long directByteBuffer() {
+        return keyHasher.hash(directBuffers[nextIndex()]);
+    }
+
+    @Benchmark
+    public long longKey() {
+        return keyHasher.hash(longs[nextIndex()]);
+    }
+
+    @Benchmark
+    public long ipv4() {
+        return keyHasher.hashIPv4((int) longs[nextIndex()]);
+    }
+
+    @Benchmark
+    public long ipv6() {
+        int index = nextIndex();
+        return keyHasher.hashIPv6(longs[index], longs[index ^ 1]);
+    }
+
+    @Benchmark
+    public long legacyStringHashCode() {
+        long z = (long) strings[nextIndex()].hashCode() * 31L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,141 @@
+package exaloglog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static exaloglog.DistinctCountUtil.unsignedLongToDouble;
+
+/**
+ * {@link ExaLogLog}의 핵심 연산을 (p, t, d) 조합별로 측정하는 JMH 벤치마크
+ * <p>
+ *     스케치는 모든 레지스터가 채워지도록 {@code 2^p * 8}개의 해시 값을 추가한 상태에서 측정한다.
+ *     병합과 다운사이징의 불일치 조합은 p를 2만큼, d를 절반으로 줄인 스케치를 사용한다.
+ * </p>
+ * @implNote {@code ./gradlew jmh}로 실행하며, 결과는 {@code build/results/jmh}에 JSON으로 저장된다.
+ * {@code -PjmhIncludes=<정규식>}으로 일부 벤치마크만 실행할 수 있다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ExaLogLogBenchmark {
+    private static final int HASH_COUNT = 1 << 20;
+    private static final int BULK_SIZE = 1 << 16;
+    private static final int FILL_FACTOR = 8;
+
+    @Param({"8", "14", "20"})
+    private int p;
+
+    @Param({"2", "4"})
+    private int t;
+
+    @Param({"5", "20"})
+    private int d;
+
+    private long[] hashes;
+    private int next;
+
+    private ExaLogLog target;        // 단건/일괄 추가 대상
+    private ExaLogLog filled;        // 레지스터가 채워진 스케치
+    private ExaLogLog filledOther;   // 같은 파라미터의 다른 스케치
+    private ExaLogLog filledSmaller; // p와 d가 더 작은 스케치
+
+    // 방정식 풀이만 측정하기 위해 미리 계산한 계수
+    private double a;
+    private int[] b;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(0x5EED);
+        hashes = new long[HASH_COUNT];
+        for (int i = 0; i < HASH_COUNT; i++) {
+            hashes[i] = random.nextLong();
+        }
+        filled = fill(ExaLogLog.create(t, d, p), random);
+        filledOther = fill(ExaLogLog.create(t, d, p), random);
+        filledSmaller = fill(ExaLogLog.create(t, d / 2, p - 2), random);
+
+        b = new int[64];
+        long agg = filled.aggregateRegisters(b);
+        double factor = (1 << p) << (t + 1);
+        a = unsignedLongToDouble(agg) * 0x1p-64 * factor;
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTarget() {
+        target = ExaLogLog.create(t, d, p);
+        next = 0;
+    }
+
+    private ExaLogLog fill(ExaLogLog sketch, SplittableRandom random) {
+        long count = (long) FILL_FACTOR << p;
+        for (long i = 0; i < count; i++) {
+            sketch.add(random.nextLong());
+        }
+        return sketch;
+    }
+
+    @Benchmark
+    public ExaLogLog addSingle() {
+        long hash = hashes[next];
+        next = (next + 1) & (HASH_COUNT - 1);
+        return target.add(hash);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public ExaLogLog addBulk() {
+        int offset = next;
+        for (int i = 0; i < BULK_SIZE; i++) {
+            target.add(hashes[offset + i]);
+        }
+        next = (offset + BULK_SIZE) & (HASH_COUNT - 1);
+        return target;
+    }
+
+    @Benchmark
+    public ExaLogLog mergeEqual() {
+        return ExaLogLog.merge(filled, filledOther);
+    }
+
+    @Benchmark
+    public ExaLogLog mergeMismatched() {
+        return ExaLogLog.merge(filled, filledSmaller);
+    }
+
+    @Benchmark
+    public ExaLogLog mergeInPlace() {
+        return filledOther.copy().add(filled);
+    }
+
+    @Benchmark
+    public ExaLogLog downsize() {
+        return filled.downsize(d / 2, p - 2);
+    }
+
+    @Benchmark
+    public double getDistinctCount() {
+        return filled.getDistinctCount();
+    }
+
+    @Benchmark
+    public double solveMaximumLikelihoodEquation() {
+        return DistinctCountUtil.solveMaximumLikelihoodEquation(a, b, 63 - p - t, 0.);
+    }
+}
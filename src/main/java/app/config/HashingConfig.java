@@ -0,0 +1,21 @@
+package app.config;
+
+import app.statistics.sketch.HashFunction;
+import app.statistics.sketch.KeyHasher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 키 해시 전역 설정 클래스
+ * <p>모든 스트림 서비스가 원본 키를 해시할 때 사용할 해시 함수({@code ell.hashing.function})를 설정한다.</p>
+ * @see app.statistics.application.DataStreamService#addKeys(java.util.List) DataStreamService.addKeys
+ */
+@Configuration
+public class HashingConfig {
+
+    @Bean
+    public KeyHasher keyHasher(@Value("${ell.hashing.function:KOMIHASH}") HashFunction function) {
+        return KeyHasher.of(function);
+    }
+}
@@ -1,79 +1,391 @@
 package app.statistics.application;
 
-import app.statistics.infra.TaskMementoRepository;
-import app.statistics.model.TaskMemento;
+import app.statistics.infra.WindowCheckpointStore;
+import app.statistics.model.CheckpointPage;
+import app.statistics.model.MemoryReport;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.CheckpointSection;
 import app.statistics.model.enums.TaskType;
+import app.statistics.sketch.FanOutEstimate;
+import app.statistics.sketch.KeyHasher;
+import app.statistics.sketch.SuperspreaderDetector;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public abstract class AbstractDataStreamService implements DataStreamService {
-    private static final int MAX_BATCH_SIZE = 1_000_000_000;
+    // Superspreader 탐지기 설정 (슬롯당 약 300바이트, 서비스당 약 1.2MB)
+    private static final int SUPERSPREADER_CAPACITY = 4096;
+    private static final int SUPERSPREADER_TOP_K = 10;
+    private static final double SUPERSPREADER_MIN_FAN_OUT = 100.0;
 
-    private final TaskMementoRepository taskMementoRepository;
+    // 체크포인트 로그가 상태 전체 크기의 이 배수를 넘으면 다음 체크포인트에서 새로운 로그로 압축한다
+    private static final int CHECKPOINT_COMPACTION_FACTOR = 4;
+
+    private final WindowResultSink windowResultSink;
+    private final WindowCheckpointStore checkpointStore;
     private final ELLStreamProcessor ellStreamProcessor;
-    private final BlockingQueue<Long> eventQueue;
+    private final EventQueue eventQueue;
+    private final StreamMetrics metrics;
+    private final KeyHasher keyHasher;
+    private final SuperspreaderDetector superspreaderDetector; // 출발지-목적지 쌍을 받지 않는 서비스는 null
+    private volatile List<FanOutEstimate> latestSuperspreaders = List.of();
+
+    // 윈도우 종료와 체크포인트가 동시에 실행되지 않도록 보호하는 락
+    private final Object windowLock = new Object();
+    private final long[] drainBuffer; // 큐에서 꺼낸 배치를 담는 배열 (windowLock으로 보호)
+    private long pendingProcessingTimeMs; // 체크포인트 시점에 미리 처리한 배치의 처리 시간 합계
+    private final CheckpointBaseline checkpointBaseline = new CheckpointBaseline();
+    private LocalDateTime openWindowStart = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES); // 진행 중인 윈도우의 시작 시각
+    private boolean checkpointLogOpen; // 현재 윈도우의 체크포인트 로그에 변경된 페이지만 추가할 수 있는지 여부
 
     public AbstractDataStreamService(int P, int T, int D, int NUM_THREADS,
-                                     TaskMementoRepository taskMementoRepository,
-                                     BlockingQueue<Long> eventQueue) {
-        this.taskMementoRepository = taskMementoRepository;
-        this.ellStreamProcessor = new ELLStreamProcessor(P, T, D, NUM_THREADS);
-        this.eventQueue = eventQueue;
+                                     WindowResultSink windowResultSink,
+                                     WindowCheckpointStore checkpointStore,
+                                     MeterRegistry meterRegistry,
+                                     SketchMemoryBudget memoryBudget,
+                                     KeyHasher keyHasher,
+                                     int eventQueueCapacity) {
+        this.windowResultSink = windowResultSink;
+        this.keyHasher = keyHasher;
+        this.checkpointStore = checkpointStore;
+        // Superspreader 탐지기의 체크포인트 기준 상태는 탐지기보다 작으므로 탐지기 크기의 두 배를 예약한다
+        // 이벤트 큐와 큐에서 꺼낸 배치를 담는 배열은 크기가 같으므로 큐 크기의 두 배를 예약한다
+        memoryBudget.reserve(getTaskType(), ELLStreamProcessor.estimatePeakMemoryBytes(P, T, D, NUM_THREADS,
+                windowResultSink.collectsTokens()) + ELLStreamProcessor.estimateCheckpointBaselineBytes(P, T, D)
+                + (tracksFanOut() ? 2 * SuperspreaderDetector.estimatedMemoryBytes(SUPERSPREADER_CAPACITY) : 0)
+                + 2 * EventQueue.estimatedMemoryBytes(eventQueueCapacity));
+        this.metrics = StreamMetrics.of(meterRegistry, getTaskType());
+        this.ellStreamProcessor = new ELLStreamProcessor(P, T, D, NUM_THREADS,
+                windowResultSink.collectsTokens(), metrics);
+        this.eventQueue = new EventQueue(eventQueueCapacity);
+        this.drainBuffer = new long[eventQueueCapacity];
+        metrics.bindQueue(eventQueue);
+        this.superspreaderDetector = tracksFanOut() ? new SuperspreaderDetector(
+                SUPERSPREADER_CAPACITY, SUPERSPREADER_TOP_K, SUPERSPREADER_MIN_FAN_OUT) : null;
     }
 
+    /**
+     * {@inheritDoc}
+     * @implNote 큐가 가득 차면 호출 스레드가 큐를 비워 현재 윈도우에 반영한 후 나머지를 추가한다.
+     */
     @Override
     public void addHashList(List<Long> hashList) {
-        eventQueue.addAll(hashList);
+        for (long hash : hashList) {
+            while (!eventQueue.offer(hash)) {
+                relieveBackpressure();
+            }
+        }
+        metrics.getEnqueuedEvents().increment(hashList.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote 큐가 가득 차면 호출 스레드가 큐를 비워 현재 윈도우에 반영한 후 나머지를 추가한다.
+     */
+    @Override
+    public void addHashes(long[] hashes, int length) {
+        int offset = eventQueue.offer(hashes, 0, length);
+        while (offset < length) {
+            relieveBackpressure();
+            offset += eventQueue.offer(hashes, offset, length - offset);
+        }
+        metrics.getEnqueuedEvents().increment(length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote 큐가 가득 차면 호출 스레드가 큐를 비워 현재 윈도우에 반영한 후 추가한다.
+     */
+    @Override
+    public void addHash(long hash) {
+        while (!eventQueue.offer(hash)) {
+            relieveBackpressure();
+        }
+        metrics.getEnqueuedEvents().increment();
+    }
+
+    @Override
+    public KeyHasher getKeyHasher() {
+        return keyHasher;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implSpec 기본 구현은 출발지-목적지 쌍을 받지 않으며, 쌍을 만드는 서비스가 재정의한다.
+     * 생성자에서 호출되므로 인스턴스 필드를 사용하지 않고 상수를 반환해야 한다.
+     */
+    @Override
+    public boolean tracksFanOut() {
+        return false;
+    }
+
+    @Override
+    public void addFanOutPairs(List<Long> sourceHashList, List<Long> destinationHashList) {
+        if (sourceHashList.size() != destinationHashList.size()) {
+            throw new IllegalArgumentException("출발지와 목적지 해시 리스트의 길이가 다릅니다.");
+        }
+        int length = sourceHashList.size();
+        long[] sourceHashes = new long[length];
+        long[] destinationHashes = new long[length];
+        for (int i = 0; i < length; i++) {
+            sourceHashes[i] = sourceHashList.get(i);
+            destinationHashes[i] = destinationHashList.get(i);
+        }
+        addFanOutPairs(sourceHashes, destinationHashes, length);
+    }
+
+    @Override
+    public void addFanOutPairs(long[] sourceHashes, long[] destinationHashes, int length) {
+        if (superspreaderDetector == null) {
+            throw new UnsupportedOperationException(getTaskType() + "는 출발지-목적지 쌍을 받지 않습니다.");
+        }
+        superspreaderDetector.addAll(sourceHashes, destinationHashes, length);
+    }
+
+    @Override
+    public List<FanOutEstimate> getLatestSuperspreaders() {
+        return latestSuperspreaders;
     }
 
     @Override
     public abstract void processStreamData();
 
+    /**
+     * {@inheritDoc}
+     * @implNote 이벤트 큐와 큐에서 꺼낸 배치를 담는 배열은 생성 시 할당하므로, 쌓인 이벤트 수와 관계없이 두 배열의 크기를 더한다.
+     */
+    @Override
+    public MemoryReport getMemoryReport() {
+        return ellStreamProcessor.getMemoryReport().withQueue(eventQueue.size(),
+                2 * EventQueue.estimatedMemoryBytes(eventQueue.capacity()));
+    }
+
+    /**
+     * 큐에 쌓인 이벤트를 현재 윈도우에 반영한 후, 마지막 체크포인트 이후 변경된 페이지만 체크포인트 로그에 추가하는 메서드
+     * <p>
+     *     윈도우 스케치의 레지스터, Heavy Hitter 스케치와 Superspreader 탐지기의 슬롯을 페이지 단위로 비교하므로,
+     *     기록량은 체크포인트 사이에 변경된 페이지 수에 비례하며 유휴 지표는 기록하지 않는다.
+     *     윈도우의 첫 체크포인트, 기록 실패 이후, 로그가 상태 전체 크기의 {@value #CHECKPOINT_COMPACTION_FACTOR}배를 넘은 이후에는
+     *     현재 상태 전체를 담은 새로운 로그로 대체(압축)한다.
+     * </p>
+     * @implSpec 큐에 쌓인 이벤트는 스케치에 반영해야 체크포인트에 포함되므로 체크포인트마다 큐를 비운다.
+     * 저장에 실패하면 다음 체크포인트에서 새로운 로그로 다시 저장한다.
+     */
+    @Override
+    public void checkpointWindow() {
+        TaskType taskType = getTaskType();
+        synchronized (windowLock) {
+            try {
+                drainQueue();
+            } catch (Exception e) {
+                log.error("ELL_:ERR_:CKPT::: Error processing batch for {}: {}", taskType, e.getMessage());
+                throw new IllegalStateException("Failed to process batch", e);
+            }
+
+            boolean rewrite = !checkpointLogOpen;
+            if (rewrite) {
+                checkpointBaseline.reset();
+            }
+            List<CheckpointPage> pages = new ArrayList<>();
+            ellStreamProcessor.collectCheckpointPages(checkpointBaseline, pages, rewrite);
+            if (superspreaderDetector != null && (superspreaderDetector.pollChanged() || rewrite)) {
+                checkpointBaseline.diff(CheckpointSection.SUPERSPREADERS, superspreaderDetector.toByteArray(), pages);
+            }
+            if (pages.isEmpty()) {
+                return;
+            }
+            try {
+                long logBytes = checkpointStore.append(taskType, openWindowStart, pages, rewrite);
+                checkpointLogOpen = logBytes < CHECKPOINT_COMPACTION_FACTOR * checkpointBaseline.totalBytes();
+            } catch (IOException e) {
+                checkpointLogOpen = false;
+                ellStreamProcessor.markDirty();
+                log.warn("ELL_:WARN:CKPT::: Failed to checkpoint {}: {}", taskType, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 저장된 체크포인트를 복원하는 메서드
+     * @implSpec 체크포인트가 현재 1분 윈도우에서 기록된 경우 현재 윈도우에 복원한다.
+     * 이전 윈도우의 체크포인트는 윈도우가 종료되기 전에 중단된 것이므로, 그 윈도우의 결과로 바로 종료하여 전달한다.
+     * 복원한 이후의 첫 체크포인트는 새로운 로그로 시작한다.
+     */
+    @Override
+    public void restoreWindow() {
+        TaskType taskType = getTaskType();
+        checkpointStore.load(taskType).ifPresent(checkpoint -> {
+            try {
+                synchronized (windowLock) {
+                    byte[] registers = checkpoint.section(CheckpointSection.REGISTERS);
+                    if (registers != null) {
+                        ellStreamProcessor.restore(registers, checkpoint.section(CheckpointSection.HEAVY_HITTERS));
+                    }
+                    byte[] superspreaders = checkpoint.section(CheckpointSection.SUPERSPREADERS);
+                    if (superspreaders != null && superspreaderDetector != null) {
+                        superspreaderDetector.restore(superspreaders);
+                    }
+                    checkpointLogOpen = false;
+                    if (!checkpoint.windowStart().isBefore(openWindowStart)) {
+                        log.info("ELL_:CKPT:RSTR::: Restored {} window starting at {} from checkpoint",
+                                taskType, checkpoint.windowStart());
+                        return;
+                    }
+                    recoverWindow(taskType, checkpoint.windowStart());
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("ELL_:WARN:CKPT::: Discarding incompatible checkpoint for {}: {}", taskType, e.getMessage());
+                checkpointStore.delete(taskType);
+            }
+        });
+    }
+
+    /**
+     * 배치 처리 스레드 풀을 종료하는 메서드
+     * @implNote 실행 중인 배치는 끝까지 처리되며, 큐에 남은 이벤트는 처리하지 않는다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ellStreamProcessor.shutdown();
+    }
+
     /**
      * 하위 클래스에서 taskType을 받아 배치 처리를 수행하는 메서드
      * @implNote {@link #processStreamData()}에서 호출한다.
+     * 체크포인트 시점에 이미 큐를 비웠더라도 현재 윈도우에 데이터가 있으면 윈도우를 종료한다.
      * @param taskType 처리할 작업 유형
      */
     protected void process(TaskType taskType) {
         log.info("ELL_:BTCH:STRT::: Starting {} batch processing", taskType);
-        if (eventQueue.isEmpty()) {
-            log.info("ELL_:BTCH:CMPL::: No events to process");
-            return;
-        }
-        List<Long> batch = new ArrayList<>();
-        int elementsDrained = eventQueue.drainTo(batch, MAX_BATCH_SIZE);
+        LocalDateTime windowStart = closingWindowStart(LocalDateTime.now());
+        synchronized (windowLock) {
+            rollSuperspreaders(taskType);
+            if (eventQueue.isEmpty() && !ellStreamProcessor.hasWindowData()) {
+                startNextWindow(taskType, windowStart);
+                log.info("ELL_:BTCH:CMPL::: No events to process");
+                return;
+            }
+            long rollStart = System.nanoTime();
 
-        if (elementsDrained > 0) {
             try {
-                long processingTime = processBatchAndMerge(batch);
-                TaskMemento taskMemento = ellStreamProcessor.rollWindow(taskType, processingTime);
-                if (taskMemento == null) {
+                // windowLock을 가진 동안에는 다른 스레드가 큐를 비울 수 없으므로 꺼내기 직전의 대기 시간이 곧 윈도우 종료 시점의 큐 지연이다
+                long queueLagNanos = eventQueue.oldestAgeNanos();
+                int elementsDrained = drainQueue();
+                long processingTime = pendingProcessingTimeMs;
+                pendingProcessingTimeMs = 0;
+                WindowResult windowResult = ellStreamProcessor.rollWindow(taskType, windowStart, processingTime,
+                        queueLagNanos);
+                if (windowResult == null) {
                     log.warn("ELL_:WARN:BTCH::: TaskMemento is null after rolling window for {}", taskType);
                     return;
                 }
-                taskMementoRepository.save(taskMemento);
-                log.info("ELL_:BTCH:CMPL::: Completed processing batch for ip address. Processed {} events.", elementsDrained);
+                startNextWindow(taskType, windowStart);
+                windowResultSink.submit(windowResult);
+                metrics.getRollTimer().record(System.nanoTime() - rollStart, TimeUnit.NANOSECONDS);
+                log.info("ELL_:BTCH:CMPL::: Completed processing batch for {}. Processed {} events.", taskType, elementsDrained);
             } catch (Exception e) {
-                log.error("ELL_:ERR_:BTCH::: Error processing batch for ip address: {}", e.getMessage());
+                log.error("ELL_:ERR_:BTCH::: Error processing batch for {}: {}", taskType, e.getMessage());
                 throw new IllegalStateException("Failed to process batch", e);
             }
         }
     }
 
     /**
-     * 배치를 처리하고 병합하는 메서드
-     * @implNote 호출 메서드에서 예외를 처리해야 한다.
-     * @param batch 처리할 데이터 배치
-     * @return 처리 시간 (밀리초)
+     * 매분 실행되는 윈도우 종료가 닫는 1분 윈도우의 시작 시각을 구하는 메서드
+     * @implNote 스케줄러가 분 경계보다 조금 일찍 실행되거나 실행이 지연되어도 같은 윈도우를 닫도록,
+     * 호출 시각을 가장 가까운 분으로 반올림한 시각을 윈도우 종료 시각으로 사용한다.
+     * @param rolledAt 윈도우 종료를 시작한 시각
+     * @return 분 단위로 정렬된 윈도우 시작 시각
      */
-    private long processBatchAndMerge(List<Long> batch) throws Exception {
-        long startTime = System.currentTimeMillis(); // 시작 시간 측정
-        ellStreamProcessor.processBatchAndMerge(batch);
-        long endTime = System.currentTimeMillis();   // 종료 시간 측정
-        return endTime - startTime;
+    static LocalDateTime closingWindowStart(LocalDateTime rolledAt) {
+        return rolledAt.plusSeconds(30).truncatedTo(ChronoUnit.MINUTES).minusMinutes(1);
+    }
+
+    /**
+     * 종료한 윈도우의 체크포인트를 삭제하고 다음 윈도우의 체크포인트를 새로운 로그로 시작하도록 하는 메서드
+     * @param taskType 처리할 작업 유형
+     * @param closedWindowStart 종료한 윈도우의 시작 시각
+     */
+    private void startNextWindow(TaskType taskType, LocalDateTime closedWindowStart) {
+        checkpointStore.delete(taskType);
+        checkpointLogOpen = false;
+        openWindowStart = closedWindowStart.plusMinutes(1);
+    }
+
+    /**
+     * 종료되지 않은 채 중단된 이전 윈도우를 체크포인트에서 복원한 상태로 종료하여 전달하는 메서드
+     * @implNote 애플리케이션 시작 시 이벤트를 받기 전에 호출되므로 현재 윈도우에는 복원한 상태만 있다.
+     * @param taskType 처리할 작업 유형
+     * @param windowStart 중단된 윈도우의 시작 시각
+     */
+    private void recoverWindow(TaskType taskType, LocalDateTime windowStart) {
+        rollSuperspreaders(taskType);
+        WindowResult windowResult = ellStreamProcessor.rollWindow(taskType, windowStart, 0, 0);
+        checkpointStore.delete(taskType);
+        if (windowResult != null) {
+            windowResultSink.submit(windowResult);
+        }
+        log.info("ELL_:CKPT:RSTR::: Recovered unfinished {} window starting at {} from checkpoint", taskType, windowStart);
+    }
+
+    /**
+     * Superspreader 탐지기의 윈도우를 종료하고 상위 fan-out 출발지 목록을 갱신하는 메서드
+     * @param taskType 처리할 작업 유형
+     */
+    private void rollSuperspreaders(TaskType taskType) {
+        if (superspreaderDetector == null) {
+            return;
+        }
+        latestSuperspreaders = superspreaderDetector.rollWindow();
+        if (!latestSuperspreaders.isEmpty()) {
+            log.warn("ELL_:WARN:SPRD::: {} superspreaders detected for {}. Top fan-out: {}",
+                    latestSuperspreaders.size(), taskType, latestSuperspreaders.get(0).distinctFanOut());
+        }
+    }
+
+    /**
+     * 가득 찬 이벤트 큐를 호출 스레드에서 비우는 메서드
+     * <p>
+     *     큐를 비울 때까지 생산자를 멈추므로, 배치 처리가 유입 속도를 따라가지 못해도 큐가 메모리 예산을 넘어 자라지 않는다.
+     *     처리 시간은 윈도우를 종료할 때 윈도우의 처리 시간에 더한다.
+     * </p>
+     * @implNote 다른 생산자가 먼저 큐를 비운 경우 그 사이에 추가된 이벤트만 처리한다.
+     */
+    private void relieveBackpressure() {
+        synchronized (windowLock) {
+            try {
+                drainQueue();
+            } catch (Exception e) {
+                log.error("ELL_:ERR_:BTCH::: Error processing batch for {}: {}", getTaskType(), e.getMessage());
+                throw new IllegalStateException("Failed to process batch", e);
+            }
+        }
+    }
+
+    /**
+     * 이벤트 큐를 비워 현재 윈도우에 반영하고 처리 시간을 {@code pendingProcessingTimeMs}에 더하는 메서드
+     * @implNote {@code windowLock}을 가진 상태에서 호출해야 하며, 호출 메서드에서 예외를 처리해야 한다.
+     * 큐에서 꺼낸 배치를 담는 배열은 큐와 크기가 같으므로 한 번에 큐 전체를 꺼낸다.
+     * @return 처리한 이벤트 수
+     */
+    private int drainQueue() throws Exception {
+        int drained = eventQueue.drainTo(drainBuffer);
+        if (drained == 0) {
+            return 0;
+        }
+        long startTime = System.nanoTime(); // 시작 시간 측정 (시스템 시각 변경의 영향을 받지 않도록 nanoTime 사용)
+        ellStreamProcessor.processBatchAndMerge(drainBuffer, drained);
+        long endTime = System.nanoTime();   // 종료 시간 측정
+        pendingProcessingTimeMs += TimeUnit.NANOSECONDS.toMillis(endTime - startTime);
+        return drained;
     }
 }
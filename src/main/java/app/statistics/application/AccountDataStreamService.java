@@ -1,11 +1,11 @@
 package app.statistics.application;
 
-import app.statistics.infra.TaskMementoRepository;
+import app.statistics.infra.WindowCheckpointStore;
 import app.statistics.model.enums.TaskType;
+import app.statistics.sketch.KeyHasher;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.LinkedBlockingQueue;
-
 /**
  * 접속자 수 통계를 위한 {@code DataStreamService} 구현체
  * <p>ELL(Exponential Log Log) 알고리즘을 사용하여 고유 계정 ID 수를 추정한다.</p>
@@ -16,13 +16,24 @@ public class AccountDataStreamService extends AbstractDataStreamService {
     private static final int T = 4;
     private static final int D = 5;
     private static final int NUM_THREADS = 4;
+    private static final int QUEUE_CAPACITY = 1 << 19; // 이벤트 큐 용량 (해시 값 수, 약 4MB)
 
-    public AccountDataStreamService(TaskMementoRepository taskMementoRepository) {
-        super(P, T, D, NUM_THREADS, taskMementoRepository, new LinkedBlockingQueue<>());
+    public AccountDataStreamService(WindowResultSink windowResultSink,
+                                    WindowCheckpointStore checkpointStore,
+                                    MeterRegistry meterRegistry,
+                                    SketchMemoryBudget memoryBudget,
+                                    KeyHasher keyHasher) {
+        super(P, T, D, NUM_THREADS, windowResultSink, checkpointStore, meterRegistry, memoryBudget,
+                keyHasher, QUEUE_CAPACITY);
     }
 
     @Override
     public void processStreamData() {
-        process(TaskType.DISTINCT_ACCOUNT_ID_COUNT);
+        process(getTaskType());
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.DISTINCT_ACCOUNT_ID_COUNT;
     }
 }
@@ -0,0 +1,96 @@
+package app.statistics.application;
+
+import app.statistics.model.AnomalyAlert;
+import app.statistics.model.MetricBaseline;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.enums.AnomalyDirection;
+import app.statistics.model.enums.TaskType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 윈도우 결과에 대한 스트리밍 이상 탐지 서비스
+ * <p>
+ *     {@link WindowRolledEvent}를 구독하여 메트릭별 {@link MetricBaseline}과 비교하고,
+ *     편차 점수가 임계값을 넘으면 {@link AnomalyAlert}를 발행한다.
+ *     예를 들어 {@code DISTINCT_IP_ADDRESS_COUNT}가 평소보다 10배 증가하면 SPIKE 알림이 발생한다.
+ * </p>
+ * @implSpec 기준선은 메모리에서 점진적으로 갱신되므로 탐지 과정에서 데이터베이스의 이력을 다시 조회하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnomalyDetectionService {
+    private static final double EWMA_ALPHA = 0.1;
+    private static final double SEASONAL_EWMA_ALPHA = 0.05;
+    private static final int WARMUP_SAMPLES = 30;
+    private static final double SCORE_THRESHOLD = 4.0;
+    private static final int MAX_ALERT_HISTORY = 1000;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<TaskType, MetricBaseline> baselines = new EnumMap<>(TaskType.class);
+    private final Deque<AnomalyAlert> recentAlerts = new ArrayDeque<>();
+
+    @EventListener
+    public void onWindowRolled(WindowRolledEvent event) {
+        TaskMemento taskMemento = event.taskMemento();
+        AnomalyAlert alert = evaluate(taskMemento);
+        if (alert != null) {
+            log.warn("ELL_:WARN:ANML::: {} anomaly detected for {}. observed={}, expected={}, score={}",
+                    alert.direction(), alert.taskType(), alert.observed(), alert.expected(), alert.score());
+            eventPublisher.publishEvent(alert);
+        }
+    }
+
+    /**
+     * 지정한 시각 이후에 발생한 알림 목록을 반환하는 메서드
+     * @param since 조회 시작 시각 ({@code null}이면 보관 중인 모든 알림)
+     * @return 발생 순서대로 정렬된 알림 목록
+     */
+    public synchronized List<AnomalyAlert> getAlertsAfter(LocalDateTime since) {
+        if (since == null) {
+            return List.copyOf(recentAlerts);
+        }
+        return recentAlerts.stream()
+                .filter(alert -> alert.finishedAt().isAfter(since))
+                .toList();
+    }
+
+    /**
+     * 윈도우 결과를 기준선과 비교하고 기준선을 갱신하는 메서드
+     * @param taskMemento 완료된 윈도우의 태스크 결과
+     * @return 이상이 탐지된 경우 알림, 그렇지 않으면 {@code null}
+     */
+    private synchronized AnomalyAlert evaluate(TaskMemento taskMemento) {
+        MetricBaseline baseline = baselines.computeIfAbsent(taskMemento.getTaskType(),
+                taskType -> new MetricBaseline(EWMA_ALPHA, SEASONAL_EWMA_ALPHA, WARMUP_SAMPLES));
+
+        int hourOfDay = taskMemento.getFinishedAt().getHour();
+        double observed = taskMemento.getDistinctCount();
+        double expected = baseline.expected(hourOfDay);
+        double score = baseline.score(observed, hourOfDay);
+        baseline.update(observed, hourOfDay, SCORE_THRESHOLD);
+
+        if (Double.isNaN(score) || Math.abs(score) < SCORE_THRESHOLD) {
+            return null;
+        }
+        AnomalyAlert alert = new AnomalyAlert(taskMemento.getTaskType(), taskMemento.getFinishedAt(),
+                observed, expected, score, score > 0 ? AnomalyDirection.SPIKE : AnomalyDirection.DROP);
+        recentAlerts.addLast(alert);
+        if (recentAlerts.size() > MAX_ALERT_HISTORY) {
+            recentAlerts.removeFirst();
+        }
+        return alert;
+    }
+}
@@ -0,0 +1,53 @@
+package app.statistics.application;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * {@link ELLStreamProcessor#processBatchAndMerge(long[], int)} 한 번의 배치 처리를 기록하는 JFR 이벤트
+ * <p>
+ *     단계별 소요 시간을 함께 기록하여, 같은 구간의 GC 및 스레드 이벤트와 비교하면
+ *     배치 처리가 느려진 원인이 작업 스레드 대기인지, 해시 추가인지, 병합에 따른 할당(GC)인지 구분할 수 있다.
+ * </p>
+ */
+@Name("ell.BatchMerge")
+@Label("Batch Merge")
+@Category({"ELL", "Stream"})
+@Description("Partitioning, parallel sketch updates and merge of one event batch")
+@StackTrace(false)
+final class BatchMergeJfrEvent extends Event {
+    @Label("Batch Size")
+    int batchSize;
+
+    @Label("Partition Count")
+    int partitionCount;
+
+    @Label("Threads")
+    int numThreads;
+
+    @Label("p")
+    int p;
+
+    @Label("t")
+    int t;
+
+    @Label("d")
+    int d;
+
+    @Label("Partition Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long partitionNanos;
+
+    @Label("Add Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long addNanos;
+
+    @Label("Merge Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long mergeNanos;
+}
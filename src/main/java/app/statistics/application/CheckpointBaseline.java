@@ -0,0 +1,60 @@
+package app.statistics.application;
+
+import app.statistics.model.CheckpointPage;
+import app.statistics.model.enums.CheckpointSection;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 마지막 체크포인트에 기록된 상태를 보관하여 변경된 페이지만 찾아내는 클래스
+ * <p>
+ *     상태를 {@value #PAGE_BYTES}바이트 페이지로 나누어 마지막으로 기록한 내용과 비교하므로,
+ *     체크포인트의 기록량은 상태 전체의 크기가 아니라 체크포인트 사이에 변경된 페이지 수에 비례한다.
+ * </p>
+ * @implNote 스레드 안전하지 않으므로 윈도우 종료와 체크포인트를 보호하는 락 안에서 사용한다.
+ */
+class CheckpointBaseline {
+    static final int PAGE_BYTES = 512;
+
+    private final Map<CheckpointSection, byte[]> checkpointed = new EnumMap<>(CheckpointSection.class);
+
+    /**
+     * 현재 상태에서 마지막 체크포인트 이후 변경된 페이지를 찾아 목록에 추가하고, 기록한 내용으로 기준 상태를 갱신하는 메서드
+     * @param section 상태의 종류
+     * @param current 현재 상태 (변경하지 않는다)
+     * @param pages 변경된 페이지를 추가할 목록
+     */
+    void diff(CheckpointSection section, byte[] current, List<CheckpointPage> pages) {
+        byte[] base = checkpointed.get(section);
+        if (base == null || base.length != current.length) {
+            base = new byte[current.length];
+            checkpointed.put(section, base);
+        }
+        for (int offset = 0; offset < current.length; offset += PAGE_BYTES) {
+            int end = Math.min(offset + PAGE_BYTES, current.length);
+            if (Arrays.equals(current, offset, end, base, offset, end)) {
+                continue;
+            }
+            System.arraycopy(current, offset, base, offset, end - offset);
+            pages.add(new CheckpointPage(section, current.length, offset, Arrays.copyOfRange(current, offset, end)));
+        }
+    }
+
+    /**
+     * 기준 상태를 비워 다음 비교에서 0이 아닌 모든 페이지가 기록되도록 하는 메서드
+     * @implNote 새로운 윈도우를 시작하거나 새로운 로그로 압축할 때, 또는 기록에 실패하여 기준 상태를 신뢰할 수 없을 때 호출한다.
+     */
+    void reset() {
+        checkpointed.values().forEach(base -> Arrays.fill(base, (byte) 0));
+    }
+
+    /**
+     * @return 모든 상태의 길이 합계 (바이트), 로그를 압축할 시점을 정하는 데 사용한다
+     */
+    long totalBytes() {
+        return checkpointed.values().stream().mapToLong(base -> base.length).sum();
+    }
+}
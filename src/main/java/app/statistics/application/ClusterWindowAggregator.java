@@ -0,0 +1,277 @@
+package app.statistics.application;
+
+import app.statistics.model.HeavyHitter;
+import app.statistics.model.SketchShipment;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.WindowTelemetry;
+import app.statistics.model.enums.TaskType;
+import app.statistics.model.enums.SketchResolution;
+import exaloglog.ExaLogLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 여러 수집 노드의 윈도우 스케치를 병합하여 전역 윈도우 결과를 만드는 {@link WindowResultSink} 구현체
+ * <p>
+ *     {@code ell.cluster.role=aggregator}인 노드에서 사용한다. 수집 노드가 전송한 스케치와 집계 노드가 직접 수집한 스케치를
+ *     작업 유형과 윈도우 시작 시각(노드가 윈도우를 종료할 때 사용한 시각)별로 병합하고,
+ *     윈도우가 완료되면 전역 {@link TaskMemento}를 저장하고 발행한다.
+ * </p>
+ * @implSpec 윈도우는 {@code ell.cluster.expected-nodes}개의 노드가 모두 스케치를 보냈거나,
+ * 윈도우 종료 후 유예 시간({@code ell.cluster.window-grace-ms})이 지나면 완료된다.
+ * 이미 완료된 윈도우에 도착한 스케치는 결과에 반영할 수 없으므로 거부하며,
+ * 거부한 스케치 수를 {@code ell.cluster.rejected} 지표({@code reason} 태그: late, duplicate)로 기록한다.
+ * 진행 중인 윈도우의 스케치 크기 합계는 {@code ell.cluster.pending-max-bytes}로 제한되며 생성 시점에 {@link SketchMemoryBudget}에 예약한다.
+ * 한도를 넘으면 가장 오래된 윈도우부터 유예 시간을 기다리지 않고 완료한다.
+ * 처리 시간은 노드 중 가장 긴 처리 시간이며, Heavy Hitter는 노드별 추정 빈도를 합산하여 다시 상위 목록을 구한다.
+ * 노드별 성능 지표는 전송되지 않으므로, 전역 결과의 {@link WindowTelemetry}에는 병합된 스케치의 크기와 추정 지표만 담는다.
+ * @see SketchShipper
+ * @see app.statistics.presentation.ClusterWindowBatch ClusterWindowBatch
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ell.cluster.role", havingValue = "aggregator")
+public class ClusterWindowAggregator implements WindowResultSink {
+    private static final String MEMORY_COMPONENT = "cluster-pending-windows";
+
+    private final String nodeId;
+    private final int expectedNodes;
+    private final long windowGraceMs;
+    private final long pendingMaxBytes;
+    private final WindowResultWriter windowResultWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter rejectedLate;
+    private final Counter rejectedDuplicate;
+
+    // 작업 유형별 진행 중인 윈도우 (윈도우 시작 시각 오름차순)
+    private final Map<TaskType, TreeMap<LocalDateTime, PendingWindow>> pendingWindows = new EnumMap<>(TaskType.class);
+    // 작업 유형별 마지막으로 완료된 윈도우의 시작 시각
+    private final Map<TaskType, LocalDateTime> closedUntil = new EnumMap<>(TaskType.class);
+    private long pendingBytes; // 진행 중인 윈도우의 스케치 크기 합계
+
+    public ClusterWindowAggregator(@Value("${ell.cluster.node-id}") String nodeId,
+                                   @Value("${ell.cluster.expected-nodes:1}") int expectedNodes,
+                                   @Value("${ell.cluster.window-grace-ms:15000}") long windowGraceMs,
+                                   @Value("${ell.cluster.pending-max-bytes:32MB}") DataSize pendingMaxSize,
+                                   WindowResultWriter windowResultWriter,
+                                   ApplicationEventPublisher eventPublisher,
+                                   SketchMemoryBudget memoryBudget,
+                                   MeterRegistry meterRegistry) {
+        this.nodeId = nodeId;
+        this.expectedNodes = expectedNodes;
+        this.windowGraceMs = windowGraceMs;
+        this.pendingMaxBytes = pendingMaxSize.toBytes();
+        memoryBudget.reserve(MEMORY_COMPONENT, pendingMaxBytes);
+        this.windowResultWriter = windowResultWriter;
+        this.eventPublisher = eventPublisher;
+        this.rejectedLate = rejectedCounter(meterRegistry, "late");
+        this.rejectedDuplicate = rejectedCounter(meterRegistry, "duplicate");
+    }
+
+    /**
+     * 집계 노드가 직접 수집한 윈도우 결과를 병합하는 메서드
+     * @param windowResult 종료된 윈도우의 집계 결과
+     */
+    @Override
+    public void submit(WindowResult windowResult) {
+        if (!accept(SketchShipment.of(nodeId, windowResult))) {
+            log.warn("ELL_:WARN:AGGR::: Local {} window starting at {} was rejected",
+                    windowResult.taskMemento().getTaskType(), windowResult.windowStart());
+        }
+    }
+
+    /**
+     * 노드의 윈도우 스케치를 병합하는 메서드
+     * @implNote 모든 노드의 스케치가 도착하면 유예 시간을 기다리지 않고 바로 윈도우를 완료한다.
+     * @param shipment 노드가 전송한 윈도우 스케치
+     * @return 병합된 경우 {@code true}, 이미 완료된 윈도우이거나 같은 노드가 이미 보낸 윈도우인 경우 {@code false}
+     */
+    public boolean accept(SketchShipment shipment) {
+        List<WindowResult> completed;
+        synchronized (this) {
+            LocalDateTime closed = closedUntil.get(shipment.taskType());
+            if (closed != null && !shipment.windowStart().isAfter(closed)) {
+                rejectedLate.increment();
+                log.warn("ELL_:WARN:AGGR::: {} window starting at {} from {} arrived {} ms after the window was closed",
+                        shipment.taskType(), shipment.windowStart(), shipment.nodeId(),
+                        Duration.between(windowEnd(shipment.windowStart()), LocalDateTime.now()).toMillis());
+                return false;
+            }
+            PendingWindow window = pendingWindows
+                    .computeIfAbsent(shipment.taskType(), taskType -> new TreeMap<>())
+                    .computeIfAbsent(shipment.windowStart(), windowStart -> new PendingWindow());
+            long previousBytes = window.estimatedMemoryBytes();
+            if (!window.add(shipment)) {
+                rejectedDuplicate.increment();
+                return false;
+            }
+            pendingBytes += window.estimatedMemoryBytes() - previousBytes;
+            completed = window.nodeIds.size() < expectedNodes
+                    ? new ArrayList<>()
+                    : close(shipment.taskType(), shipment.windowStart());
+            completed.addAll(closeOverLimit());
+        }
+        completed.forEach(this::publish);
+        return true;
+    }
+
+    /**
+     * 유예 시간이 지난 윈도우를 완료하는 메서드
+     * @param now 현재 시각
+     * @return 완료된 윈도우 수
+     */
+    public int closeExpiredWindows(LocalDateTime now) {
+        LocalDateTime expiredBefore = now.minusNanos(windowGraceMs * 1_000_000L);
+        List<WindowResult> completed = new ArrayList<>();
+        synchronized (this) {
+            pendingWindows.forEach((taskType, windows) -> {
+                while (!windows.isEmpty() && !windowEnd(windows.firstKey()).isAfter(expiredBefore)) {
+                    PendingWindow window = windows.firstEntry().getValue();
+                    log.warn("ELL_:WARN:AGGR::: Closing {} window starting at {} with {}/{} nodes",
+                            taskType, windows.firstKey(), window.nodeIds.size(), expectedNodes);
+                    completed.addAll(close(taskType, windows.firstKey()));
+                }
+            });
+        }
+        completed.forEach(this::publish);
+        return completed.size();
+    }
+
+    /**
+     * 윈도우와 그 이전의 진행 중인 윈도우를 완료하는 메서드
+     * @implNote 이전 윈도우가 남아 있으면 완료 순서를 보장하기 위해 함께 완료한다.
+     * @return 완료 시각 순서의 윈도우 결과 목록
+     */
+    private List<WindowResult> close(TaskType taskType, LocalDateTime windowStart) {
+        Map<LocalDateTime, PendingWindow> windows = pendingWindows.get(taskType).headMap(windowStart, true);
+        List<WindowResult> completed = new ArrayList<>(windows.size());
+        windows.forEach((start, window) -> {
+            if (!start.equals(windowStart)) {
+                log.warn("ELL_:WARN:AGGR::: Closing earlier {} window starting at {} with {}/{} nodes",
+                        taskType, start, window.nodeIds.size(), expectedNodes);
+            }
+            pendingBytes -= window.estimatedMemoryBytes();
+            completed.add(window.toWindowResult(taskType, start));
+        });
+        windows.clear();
+        closedUntil.put(taskType, windowStart);
+        return completed;
+    }
+
+    /**
+     * 진행 중인 윈도우의 크기가 한도를 넘으면 가장 오래된 윈도우부터 완료하는 메서드
+     * @return 완료 시각 순서의 윈도우 결과 목록
+     */
+    private List<WindowResult> closeOverLimit() {
+        List<WindowResult> completed = new ArrayList<>();
+        while (pendingBytes > pendingMaxBytes) {
+            TaskType oldestTaskType = null;
+            LocalDateTime oldestStart = null;
+            for (Map.Entry<TaskType, TreeMap<LocalDateTime, PendingWindow>> entry : pendingWindows.entrySet()) {
+                TreeMap<LocalDateTime, PendingWindow> windows = entry.getValue();
+                if (!windows.isEmpty() && (oldestStart == null || windows.firstKey().isBefore(oldestStart))) {
+                    oldestTaskType = entry.getKey();
+                    oldestStart = windows.firstKey();
+                }
+            }
+            if (oldestTaskType == null) {
+                break;
+            }
+            log.warn("ELL_:WARN:AGGR::: Pending windows exceed {} bytes. Closing {} window starting at {} early",
+                    pendingMaxBytes, oldestTaskType, oldestStart);
+            completed.addAll(close(oldestTaskType, oldestStart));
+        }
+        return completed;
+    }
+
+    private void publish(WindowResult windowResult) {
+        windowResultWriter.submit(windowResult);
+        eventPublisher.publishEvent(new WindowRolledEvent(windowResult.taskMemento()));
+        log.info("ELL_:AGGR:CMPL::: Aggregated {} window starting at {}: {}",
+                windowResult.taskMemento().getTaskType(), windowResult.windowStart(),
+                windowResult.taskMemento().getDistinctCount());
+    }
+
+    private static LocalDateTime windowEnd(LocalDateTime windowStart) {
+        return windowStart.plus(SketchResolution.MINUTE.getLength());
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ell.cluster.rejected")
+                .description("Window sketches rejected by the aggregator")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 노드의 스케치를 병합 중인 윈도우
+     */
+    private static final class PendingWindow {
+        private final SketchAccumulator accumulator = new SketchAccumulator();
+        private final Set<String> nodeIds = new HashSet<>();
+        private final Map<Long, Long> heavyHitterCounts = new HashMap<>();
+        private int heavyHitterLimit;
+        private LocalDateTime finishedAt;
+        private long processingTimeMs;
+
+        boolean add(SketchShipment shipment) {
+            if (!nodeIds.add(shipment.nodeId())) {
+                return false;
+            }
+            if (shipment.sketch() != null) {
+                accumulator.add(shipment.sketch());
+            } else {
+                accumulator.add(shipment.tokens());
+            }
+            for (HeavyHitter heavyHitter : shipment.heavyHitters()) {
+                heavyHitterCounts.merge(heavyHitter.getKeyHash(), heavyHitter.getEstimatedCount(), Long::sum);
+            }
+            heavyHitterLimit = Math.max(heavyHitterLimit, shipment.heavyHitters().size());
+            if (finishedAt == null || shipment.finishedAt().isAfter(finishedAt)) {
+                finishedAt = shipment.finishedAt();
+            }
+            processingTimeMs = Math.max(processingTimeMs, shipment.processingTimeMs());
+            return true;
+        }
+
+        long estimatedMemoryBytes() {
+            ExaLogLog sketch = accumulator.getResult();
+            return sketch == null ? 0 : sketch.estimatedMemoryBytes();
+        }
+
+        WindowResult toWindowResult(TaskType taskType, LocalDateTime windowStart) {
+            List<HeavyHitter> heavyHitters = heavyHitterCounts.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder()))
+                    .limit(heavyHitterLimit)
+                    .map(entry -> HeavyHitter.of(entry.getKey(), entry.getValue()))
+                    .toList();
+            ExaLogLog sketch = accumulator.getResult();
+            long estimateStart = System.nanoTime();
+            ExaLogLog.Estimate estimate = sketch.getEstimate();
+            WindowTelemetry telemetry = WindowTelemetry.of(0, 0, 0, 0, 0, System.nanoTime() - estimateStart,
+                    0, sketch.getState().length, estimate.solverIterations());
+            TaskMemento taskMemento = TaskMemento.of(taskType, finishedAt, estimate.distinctCount(),
+                    processingTimeMs, heavyHitters, telemetry);
+            return new WindowResult(windowStart, taskMemento, sketch);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package app.statistics.application;
 
+import app.statistics.model.MemoryReport;
+import app.statistics.model.enums.TaskType;
+import app.statistics.sketch.FanOutEstimate;
+import app.statistics.sketch.KeyHasher;
+
 import java.util.List;
 
 /**
  * 데이터를 스트림 처리하기 위한 인터페이스
  * @implSpec {@link ELLStreamProcessor}를 활용하여 해시된 데이터 스트림을 큐에 추가하는 {@code addHashList} 메서드와
  * 스트림 데이터를 처리하는 {@code processStreamData} 메서드를 정의해야 한다.<br>
- * normalize 메서드는 MurmurHash3의 Mix 함수(SplitMix64 변형)를 사용하여 데이터 품질을 보정하는 기본 구현을 제공한다.
+ * normalize 메서드는 MurmurHash3의 Mix 함수(SplitMix64 변형)를 사용하여 데이터 품질을 보정하는 기본 구현을 제공한다.<br>
+ * 원본 키는 {@link #getKeyHasher()}로 해시한 후 {@code addHash} 또는 {@code addKeys}로 추가한다.
  */
 public interface DataStreamService {
 
@@ -16,6 +22,76 @@ public interface DataStreamService {
      */
     void addHashList(List<Long> hashList);
 
+    /**
+     * 해시 값 배열의 앞부분을 이벤트 큐에 추가하는 메서드
+     * @implNote 중간 리스트를 만들지 않으므로, 해시 값을 원시 배열로 만드는 생산자(예: 트래픽 생성기, 수집 API)는 이 메서드를 사용한다.
+     * @param hashes 해시 값 배열
+     * @param length 추가할 해시 값 수
+     */
+    void addHashes(long[] hashes, int length);
+
+    /**
+     * 해시 값 하나를 이벤트 큐에 추가하는 메서드
+     * @param hash {@link #getKeyHasher()}로 해시한 값
+     */
+    void addHash(long hash);
+
+    /**
+     * 문자열 키 리스트를 해시하여 이벤트 큐에 추가하는 메서드
+     * @param keys 원본 키 리스트 (예: 이메일 도메인)
+     */
+    default void addKeys(List<? extends CharSequence> keys) {
+        KeyHasher keyHasher = getKeyHasher();
+        long[] hashes = new long[keys.size()];
+        int length = 0;
+        for (CharSequence key : keys) {
+            hashes[length++] = keyHasher.hash(key);
+        }
+        addHashes(hashes, length);
+    }
+
+    /**
+     * @return 원본 키를 해시할 때 사용하는 해시 함수
+     */
+    KeyHasher getKeyHasher();
+
+    /**
+     * @return 출발지-목적지 해시 쌍을 받아 Superspreader를 탐지하는지 여부
+     */
+    boolean tracksFanOut();
+
+    /**
+     * 출발지-목적지 해시 쌍을 Superspreader 탐지기에 추가하는 메서드
+     * <p>예를 들어 IP 주소(출발지)와 해당 IP에서 접근한 계정 ID(목적지)의 해시 값을 같은 순서로 전달한다.</p>
+     * @param sourceHashList 출발지 해시 값 리스트
+     * @param destinationHashList 목적지 해시 값 리스트 (출발지 리스트와 길이가 같아야 한다)
+     * @throws UnsupportedOperationException {@link #tracksFanOut()}가 {@code false}인 경우
+     * @see app.statistics.sketch.SuperspreaderDetector SuperspreaderDetector
+     */
+    void addFanOutPairs(List<Long> sourceHashList, List<Long> destinationHashList);
+
+    /**
+     * 출발지-목적지 해시 쌍 배열의 앞부분을 Superspreader 탐지기에 추가하는 메서드
+     * @param sourceHashes 출발지 해시 값 배열
+     * @param destinationHashes 목적지 해시 값 배열 (같은 위치의 출발지와 쌍을 이룬다)
+     * @param length 추가할 쌍의 수
+     * @throws UnsupportedOperationException {@link #tracksFanOut()}가 {@code false}인 경우
+     * @see #addFanOutPairs(List, List)
+     */
+    void addFanOutPairs(long[] sourceHashes, long[] destinationHashes, int length);
+
+    /**
+     * 직전 윈도우에서 고유 목적지 수가 가장 많았던 출발지 목록을 반환하는 메서드
+     * @return fan-out 추정값 내림차순으로 정렬된 출발지 목록 (쌍을 받지 않는 서비스는 빈 목록)
+     */
+    List<FanOutEstimate> getLatestSuperspreaders();
+
+    /**
+     * 서비스가 집계하는 태스크 유형을 반환하는 메서드
+     * @return 태스크 유형
+     */
+    TaskType getTaskType();
+
     /**
      * 큐에 쌓인 이벤트 데이터를 배치로 처리하여 ELLStreamProcessor에 전달하는 메서드
      * @implSpec ELLStreamProcessor의 병렬 처리 기능을 활용하여 스트림 데이터를 효율적으로 처리할 수 있다.
@@ -23,6 +99,25 @@ public interface DataStreamService {
      */
     void processStreamData();
 
+    /**
+     * 진행 중인 윈도우 상태를 로컬 디스크에 체크포인트로 저장하는 메서드
+     * <p>재시작 또는 장애 시 손실되는 데이터를 체크포인트 주기 이내로 제한한다.</p>
+     * @see app.statistics.infra.WindowCheckpointStore WindowCheckpointStore
+     */
+    void checkpointWindow();
+
+    /**
+     * 저장된 체크포인트를 현재 윈도우에 복원하는 메서드
+     * @implNote 애플리케이션 시작 시 스케줄링이 시작되기 전에 한 번 호출한다.
+     */
+    void restoreWindow();
+
+    /**
+     * 스케치, 작업 스레드와 이벤트 큐가 사용하는 메모리를 추정하는 메서드
+     * @return 추정 메모리 사용량
+     */
+    MemoryReport getMemoryReport();
+
     /**
      * 데이터 품질 보정을 위한 Normalization 메서드
      * <p>ExaLogLog는 입력값의 비트가 균일하게 분포(Uniform Distribution)되어 있다고 가정한다.
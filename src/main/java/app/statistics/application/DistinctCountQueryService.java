@@ -0,0 +1,159 @@
+package app.statistics.application;
+
+import app.statistics.infra.SketchBucket;
+import app.statistics.infra.SketchStore;
+import app.statistics.model.DistinctCountEstimate;
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 여러 윈도우에 걸친 고유 개수를 조회하는 서비스
+ * <p>
+ *     고유 개수는 윈도우별 추정값을 더해서 구할 수 없으므로, 구간에 포함된 윈도우 스케치를 병합한 후 추정한다.
+ *     1일, 1시간, 5분, 1분 순서로 가장 큰 단위의 스케치부터 선택하므로 긴 구간도 적은 수의 스케치만 병합한다.
+ * </p>
+ * <p>
+ *     구간 내부에서 1일 또는 1시간 경계에 정렬된 부분은 그 부분의 병합 결과를 {@link MergedSketchCache}에 보관하므로,
+ *     겹치는 구간을 반복 조회하면 정렬된 부분마다 캐시된 스케치 하나만 병합하고 양 끝의 정렬되지 않은 부분만 저장소에서 불러온다.
+ * </p>
+ * @implNote 하위 단위 스케치가 정리(compaction)된 오래된 구간은 남아 있는 단위의 경계에 맞게 안쪽으로 축소되어 계산된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class DistinctCountQueryService {
+    private static final List<SketchResolution> CHUNK_RESOLUTIONS = List.of(SketchResolution.DAY, SketchResolution.HOUR);
+
+    private final SketchStore sketchStore;
+    private final MergedSketchCache mergedSketchCache;
+
+    /**
+     * [from, to) 구간의 고유 개수를 추정하는 메서드
+     * @param taskType 조회할 작업 유형
+     * @param from 구간 시작 시각 (포함)
+     * @param to 구간 종료 시각 (미포함)
+     * @return 고유 개수 추정 결과
+     */
+    public DistinctCountEstimate getDistinctCount(TaskType taskType, LocalDateTime from, LocalDateTime to) {
+        long cacheGeneration = mergedSketchCache.generation(taskType); // 스케치를 불러오기 전에 읽는다
+        Map<MergedSketchCache.Key, List<SketchBucket>> chunks = new LinkedHashMap<>();
+        List<SketchBucket> edgeBuckets = new ArrayList<>();
+        for (SketchBucket bucket : planSketches(taskType, from, to)) {
+            MergedSketchCache.Key chunk = alignedChunkOf(taskType, bucket, from, to);
+            if (chunk == null) {
+                edgeBuckets.add(bucket);
+            } else {
+                chunks.computeIfAbsent(chunk, key -> new ArrayList<>()).add(bucket);
+            }
+        }
+
+        SketchAccumulator accumulator = new SketchAccumulator();
+        Map<MergedSketchCache.Key, List<SketchBucket>> missingChunks = new LinkedHashMap<>();
+        List<SketchBucket> missingBuckets = new ArrayList<>(edgeBuckets);
+        chunks.forEach((chunk, buckets) -> {
+            ExaLogLog cached = mergedSketchCache.get(chunk);
+            if (cached != null) {
+                accumulator.add(cached);
+            } else {
+                missingChunks.put(chunk, buckets);
+                missingBuckets.addAll(buckets);
+            }
+        });
+
+        List<ExaLogLog> loaded = sketchStore.loadAll(taskType, missingBuckets);
+        Map<SketchBucket, ExaLogLog> sketches = new IdentityHashMap<>();
+        for (int i = 0; i < missingBuckets.size(); i++) {
+            sketches.put(missingBuckets.get(i), loaded.get(i));
+        }
+
+        for (SketchBucket bucket : edgeBuckets) {
+            ExaLogLog sketch = sketches.get(bucket);
+            if (sketch != null) { // 조회 계획 이후 정리(compaction)된 스케치는 null
+                accumulator.add(sketch);
+            }
+        }
+        for (Map.Entry<MergedSketchCache.Key, List<SketchBucket>> chunk : missingChunks.entrySet()) {
+            SketchAccumulator chunkAccumulator = new SketchAccumulator();
+            boolean complete = true;
+            for (SketchBucket bucket : chunk.getValue()) {
+                ExaLogLog sketch = sketches.get(bucket);
+                if (sketch == null) {
+                    complete = false;
+                } else {
+                    chunkAccumulator.add(sketch);
+                }
+            }
+            ExaLogLog merged = chunkAccumulator.getResult();
+            if (merged == null) {
+                continue;
+            }
+            if (complete) {
+                mergedSketchCache.put(chunk.getKey(), merged, cacheGeneration);
+            }
+            accumulator.add(merged);
+        }
+        return new DistinctCountEstimate(taskType, from, to, accumulator.estimate(), accumulator.getCount());
+    }
+
+    /**
+     * 스케치가 속한 정렬된 부분 구간을 찾는 메서드
+     * @implSpec 조회 구간에 완전히 포함되는 1일 구간을 먼저 찾고, 없으면 1시간 구간을 찾는다.
+     * 저장된 스케치는 모두 자신의 단위 경계에 정렬되어 있고 1일 이하의 길이를 가지므로 정렬된 부분 구간 하나에 완전히 포함된다.
+     * @return 부분 구간의 캐시 키, 스케치가 조회 구간의 정렬되지 않은 양 끝에 있는 경우 {@code null}
+     */
+    private static MergedSketchCache.Key alignedChunkOf(TaskType taskType, SketchBucket bucket,
+                                                        LocalDateTime from, LocalDateTime to) {
+        for (SketchResolution resolution : CHUNK_RESOLUTIONS) {
+            LocalDateTime chunkStart = resolution.alignDown(bucket.getWindowStart());
+            LocalDateTime chunkEnd = chunkStart.plus(resolution.getLength());
+            if (!chunkStart.isBefore(from) && !chunkEnd.isAfter(to) && !bucket.getWindowEnd().isAfter(chunkEnd)) {
+                return new MergedSketchCache.Key(taskType, chunkStart, chunkEnd);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 구간을 겹치지 않게 덮는 스케치 목록을 선택하는 메서드
+     * @implSpec 구간에 포함된 스케치의 메타데이터만 조회한 후, 큰 단위의 스케치부터 이미 선택된 구간과 겹치지 않는 스케치를 선택한다.
+     * 상위 단위의 구간은 하위 단위의 구간을 정확히 포함하므로 선택 결과는 중복 없이 구간을 덮는다.
+     * @return 병합할 스케치의 메타데이터 목록
+     */
+    private List<SketchBucket> planSketches(TaskType taskType, LocalDateTime from, LocalDateTime to) {
+        List<SketchBucket> buckets = new ArrayList<>(sketchStore.findBuckets(taskType, from, to));
+        buckets.sort(Comparator.comparing((SketchBucket bucket) -> bucket.getResolution().getLength()).reversed()
+                .thenComparing(SketchBucket::getWindowStart));
+
+        NavigableMap<LocalDateTime, LocalDateTime> covered = new TreeMap<>();
+        List<SketchBucket> selected = new ArrayList<>();
+        for (SketchBucket bucket : buckets) {
+            if (!overlaps(covered, bucket.getWindowStart(), bucket.getWindowEnd())) {
+                covered.put(bucket.getWindowStart(), bucket.getWindowEnd());
+                selected.add(bucket);
+            }
+        }
+        return selected;
+    }
+
+    private static boolean overlaps(NavigableMap<LocalDateTime, LocalDateTime> covered,
+                                    LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = covered.floorEntry(start);
+        if (before != null && before.getValue().isAfter(start)) {
+            return true;
+        }
+        Map.Entry<LocalDateTime, LocalDateTime> after = covered.ceilingEntry(start);
+        return after != null && after.getKey().isBefore(end);
+    }
+}
@@ -1,8 +1,17 @@
 package app.statistics.application;
 
+import app.statistics.model.CheckpointPage;
 import app.statistics.model.ELLTask;
+import app.statistics.model.HeavyHitter;
+import app.statistics.model.MemoryReport;
+import app.statistics.model.SketchTokens;
 import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.WindowTelemetry;
+import app.statistics.model.enums.CheckpointSection;
 import app.statistics.model.enums.TaskType;
+import app.statistics.sketch.HeavyHitterSketch;
+import app.statistics.sketch.TokenCollector;
 import exaloglog.ExaLogLog;
 
 import java.time.LocalDateTime;
@@ -14,16 +23,38 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 
 /**
  * 실시간 데이터 스트림에서 활성 사용자 수를 병렬로 처리하고 집계하는 클래스
  * @implSpec 내부적으로 {@link ThreadPoolExecutor}를 사용하여 멀티 스레드로 데이터를 처리한다.
  * 각 배치의 해시 값을 분할하여 여러 스레드에서 독립적인 {@link ExaLogLog} 스케치를 생성한 후 최종적으로 마스터 스케치에 병합한다.
+ * 같은 순회에서 스레드별 {@link HeavyHitterSketch}도 갱신하며, 이 스케치들은 미리 할당하여 배치마다 재사용한다.
+ * 마지막 체크포인트 이후 변경 여부를 추적하여, 변경이 없는 윈도우는 체크포인트를 생략할 수 있도록 한다.
+ * 배치 처리의 단계(분할, 추가, 병합, 추정)별 소요 시간과 스레드 풀 포화도는 {@link StreamMetrics}에 기록한다.
+ * 스케치와 작업 스레드가 사용하는 메모리는 {@link #getMemoryReport()}로 확인할 수 있다.
+ * 윈도우 동안의 이벤트 수와 단계별 소요 시간은 윈도우 결과의 {@link WindowTelemetry}에 함께 담는다.
+ * 배치와 윈도우 종료는 각각 {@link BatchMergeJfrEvent}, {@link WindowRollJfrEvent} JFR 이벤트로도 기록한다.
+ * 토큰 수집을 활성화하면 고유 개수가 적은 윈도우의 결과에 스케치와 같은 내용의 토큰 목록({@link SketchTokens})을 함께 담는다.
  */
 public class ELLStreamProcessor {
+    private static final int HEAVY_HITTER_DEPTH = 4;
+    private static final int HEAVY_HITTER_WIDTH = 2048;
+    private static final int HEAVY_HITTER_TOP_K = 20;
+    // 레지스터 수 대비 토큰 수집 한도 (2^p / 16, 이보다 많으면 토큰 목록이 압축된 레지스터 배열보다 커진다)
+    private static final int TOKEN_LIMIT_SHIFT = 4;
+
     private final ThreadPoolExecutor executor;
     private ExaLogLog currentWindowSketch;        // 현재 윈도우의 마스터 스케치
+    private final HeavyHitterSketch currentWindowHeavyHitters;  // 현재 윈도우의 Heavy Hitter 스케치
+    private final HeavyHitterSketch[] workerHeavyHitters;       // 작업 스레드별 Heavy Hitter 스케치
+    private final TokenCollector tokenCollector;                // 현재 윈도우의 토큰 (수집하지 않는 경우 null)
+    private final StreamMetrics metrics;
+    private boolean windowHasData;  // 현재 윈도우에 병합된 데이터가 있는지 여부
+    private long windowEventCount;      // 현재 윈도우에 추가한 이벤트 수
+    private long windowPartitionNanos;  // 현재 윈도우의 단계별 소요 시간 합계 (나노초)
+    private long windowAddNanos;
+    private long windowMergeNanos;
+    private boolean dirty;          // 마지막 체크포인트 이후 현재 윈도우가 변경되었는지 여부
     private final int numThreads;
 
     private final int p;
@@ -31,54 +62,234 @@ public class ELLStreamProcessor {
     private final int d;
 
     public ELLStreamProcessor(int p, int t, int d, int numThreads) {
+        this(p, t, d, numThreads, false, StreamMetrics.noop());
+    }
+
+    /**
+     * @param collectTokens 윈도우 결과에 토큰 목록을 함께 담을지 여부
+     * @param metrics 처리 지표를 기록할 작업 유형의 지표
+     */
+    public ELLStreamProcessor(int p, int t, int d, int numThreads, boolean collectTokens, StreamMetrics metrics) {
         this.p = p;
         this.t = t;
         this.d = d;
         this.numThreads = numThreads;
         this.currentWindowSketch = ExaLogLog.create(t, d, p);
+        this.currentWindowHeavyHitters = createHeavyHitterSketch();
+        this.tokenCollector = collectTokens ? new TokenCollector(maxTokens(p)) : null;
+        this.workerHeavyHitters = new HeavyHitterSketch[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            workerHeavyHitters[i] = createHeavyHitterSketch();
+        }
         this.executor = new ThreadPoolExecutor(
                 numThreads, numThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()
         );
+        this.metrics = metrics;
+        metrics.bindExecutor(executor);
     }
 
     /**
      * 현재 스케치를 종료하고 새로운 1분 윈도우를 시작하는 메서드
-     * @return 완료된 윈도우의 태스크 결과
+     * @param windowStart 종료하는 윈도우의 시작 시각 (분 단위로 정렬)
+     * @param queueLagNanos 윈도우 종료 시점에 큐에 가장 오래 머문 이벤트의 대기 시간 (나노초)
+     * @return 완료된 윈도우의 태스크 결과와 윈도우 동안 누적된 스케치
      */
-    public TaskMemento rollWindow(TaskType taskType, long processingTimeMs) {
+    public WindowResult rollWindow(TaskType taskType, LocalDateTime windowStart, long processingTimeMs, long queueLagNanos) {
         if (currentWindowSketch == null) {
             return null;
         }
-        final double finalCount = currentWindowSketch.getDistinctCount();
-        resetNewWindow();
-        return TaskMemento.of(taskType, LocalDateTime.now(), finalCount, processingTimeMs);
+        WindowRollJfrEvent event = new WindowRollJfrEvent();
+        event.begin();
+        final ExaLogLog finishedSketch;
+        final List<HeavyHitter> heavyHitters;
+        final int[] tokens;
+        final long eventCount;
+        final long partitionNanos;
+        final long addNanos;
+        final long mergeNanos;
+        synchronized (this) {
+            finishedSketch = currentWindowSketch;
+            heavyHitters = currentWindowHeavyHitters.getTopK().stream()
+                    .map(estimate -> HeavyHitter.of(estimate.keyHash(), estimate.estimatedCount()))
+                    .toList();
+            tokens = tokenCollector == null ? null : tokenCollector.toSortedTokens();
+            eventCount = windowEventCount;
+            partitionNanos = windowPartitionNanos;
+            addNanos = windowAddNanos;
+            mergeNanos = windowMergeNanos;
+            resetNewWindow();
+        }
+        long estimateStart = System.nanoTime();
+        final ExaLogLog.Estimate estimate = finishedSketch.getEstimate();
+        final long estimateNanos = System.nanoTime() - estimateStart;
+        metrics.getEstimateTimer().record(estimateNanos, TimeUnit.NANOSECONDS);
+        final double finalCount = estimate.distinctCount();
+        WindowTelemetry telemetry = WindowTelemetry.of(eventCount, queueLagNanos, partitionNanos, addNanos, mergeNanos,
+                estimateNanos, numThreads, finishedSketch.getState().length, estimate.solverIterations());
+        TaskMemento taskMemento = TaskMemento.of(taskType, LocalDateTime.now(), finalCount, processingTimeMs,
+                heavyHitters, telemetry);
+        if (event.shouldCommit()) {
+            event.taskType = taskType.name();
+            event.p = p;
+            event.t = t;
+            event.d = d;
+            event.distinctCount = finalCount;
+            event.heavyHitterCount = heavyHitters.size();
+            event.tokenCount = tokens == null ? -1 : tokens.length;
+            event.commit();
+        }
+        return new WindowResult(windowStart, taskMemento, finishedSketch,
+                tokens == null ? null : new SketchTokens(t, d, p, tokens));
     }
 
     /**
      * 새로운 윈도우를 위해 현재 마스터 스케치를 초기화하는 메서드
      * @implSpec {@link ExaLogLog}의 create 메서드를 사용하여 새로운 스케치를 생성한다.
+     * Heavy Hitter 스케치는 새로 할당하지 않고 초기화하여 재사용한다.
      */
     private void resetNewWindow() {
         currentWindowSketch = ExaLogLog.create(t, d, p);
+        currentWindowHeavyHitters.clear();
+        if (tokenCollector != null) {
+            tokenCollector.clear();
+        }
+        windowHasData = false;
+        windowEventCount = 0;
+        windowPartitionNanos = 0;
+        windowAddNanos = 0;
+        windowMergeNanos = 0;
+        dirty = false;
+    }
+
+    /**
+     * @return 현재 윈도우에 병합된 데이터가 있는지 여부
+     */
+    public synchronized boolean hasWindowData() {
+        return windowHasData;
+    }
+
+    /**
+     * 마지막 체크포인트 이후 현재 윈도우의 레지스터와 Heavy Hitter 스케치에서 변경된 페이지를 수집하는 메서드
+     * @implNote 반환과 동시에 변경 여부를 초기화하므로, 체크포인트 저장에 실패하면 {@link #markDirty()}를 호출해야 한다.
+     * 레지스터 배열은 복사하지 않고 락 안에서 기준 상태와 바로 비교한다.
+     * @param baseline 마지막 체크포인트에 기록된 상태
+     * @param pages 변경된 페이지를 추가할 목록
+     * @param force 변경 여부와 관계없이 비교할지 여부 (새로운 로그를 시작하는 경우)
+     */
+    public synchronized void collectCheckpointPages(CheckpointBaseline baseline, List<CheckpointPage> pages,
+                                                    boolean force) {
+        if (!dirty && !force) {
+            return;
+        }
+        dirty = false;
+        baseline.diff(CheckpointSection.REGISTERS, currentWindowSketch.getState(), pages);
+        baseline.diff(CheckpointSection.HEAVY_HITTERS, currentWindowHeavyHitters.toByteArray(), pages);
+    }
+
+    /**
+     * 다음 체크포인트에서 현재 윈도우를 다시 저장하도록 표시하는 메서드
+     */
+    public synchronized void markDirty() {
+        dirty = windowHasData;
+    }
+
+    /**
+     * 체크포인트에서 복원한 상태를 현재 윈도우에 병합하는 메서드
+     * @param registers 복원한 레지스터 배열
+     * @param heavyHitters 복원한 Heavy Hitter 스케치 ({@link HeavyHitterSketch#toByteArray()} 형식, 없으면 {@code null})
+     * @throws IllegalArgumentException 레지스터 배열이나 Heavy Hitter 스케치의 구성이 현재 설정과 다른 경우
+     */
+    public synchronized void restore(byte[] registers, byte[] heavyHitters) {
+        ExaLogLog sketch = ExaLogLog.create(t, d, p);
+        if (registers.length != sketch.getState().length) {
+            throw new IllegalArgumentException("체크포인트의 스케치 파라미터가 현재 설정과 다릅니다.");
+        }
+        System.arraycopy(registers, 0, sketch.getState(), 0, registers.length);
+        if (heavyHitters != null) {
+            HeavyHitterSketch restored = createHeavyHitterSketch().restore(heavyHitters);
+            currentWindowHeavyHitters.merge(restored);
+        }
+        currentWindowSketch.add(sketch);
+        if (tokenCollector != null) {
+            // 복원한 데이터는 토큰으로 표현할 수 없으므로 이번 윈도우는 레지스터 배열로 전송한다
+            tokenCollector.invalidate();
+        }
+        windowHasData = true;
+        dirty = true;
+    }
+
+    /**
+     * 현재 윈도우와 작업 스레드가 사용하는 메모리를 추정하는 메서드
+     * @return 이벤트 큐를 제외한 추정 사용량
+     */
+    public synchronized MemoryReport getMemoryReport() {
+        return new MemoryReport(currentWindowSketch.estimatedMemoryBytes(),
+                numThreads * ExaLogLog.estimatedMemoryBytes(t, d, p),
+                currentWindowHeavyHitters.estimatedMemoryBytes() * (numThreads + 1),
+                tokenCollector == null ? 0 : tokenCollector.estimatedMemoryBytes(),
+                0, 0);
+    }
+
+    /**
+     * 주어진 구성의 프로세서가 배치를 처리하는 동안 사용할 수 있는 최대 메모리를 추정하는 메서드
+     * @implSpec 배치 처리 중에는 작업 스레드별 스케치와 배치 병합 결과, 현재 윈도우 스케치와 새로 병합된 윈도우 스케치가
+     * 동시에 존재할 수 있으므로 스케치 {@code numThreads + 3}개를 기준으로 한다. 토큰 버퍼는 한도까지 찬 경우를 기준으로 한다.
+     * @return 이벤트 큐를 제외한 최대 추정 사용량 (바이트)
+     */
+    public static long estimatePeakMemoryBytes(int p, int t, int d, int numThreads, boolean collectTokens) {
+        long sketchBytes = (numThreads + 3) * ExaLogLog.estimatedMemoryBytes(t, d, p);
+        long heavyHitterBytes = (numThreads + 1)
+                * HeavyHitterSketch.estimatedMemoryBytes(HEAVY_HITTER_DEPTH, HEAVY_HITTER_WIDTH, HEAVY_HITTER_TOP_K);
+        long tokenBytes = collectTokens ? TokenCollector.maxMemoryBytes(maxTokens(p)) : 0;
+        return sketchBytes + heavyHitterBytes + tokenBytes;
+    }
+
+    /**
+     * 체크포인트가 변경된 페이지를 찾기 위해 보관하는 기준 상태의 크기를 추정하는 메서드
+     * @return 윈도우 스케치의 레지스터 배열과 직렬화된 Heavy Hitter 스케치의 추정 크기 (바이트)
+     * @see CheckpointBaseline
+     */
+    public static long estimateCheckpointBaselineBytes(int p, int t, int d) {
+        return ExaLogLog.estimatedMemoryBytes(t, d, p)
+                + HeavyHitterSketch.estimatedMemoryBytes(HEAVY_HITTER_DEPTH, HEAVY_HITTER_WIDTH, HEAVY_HITTER_TOP_K);
+    }
+
+    private static int maxTokens(int p) {
+        return 1 << p >>> TOKEN_LIMIT_SHIFT;
+    }
+
+    private static HeavyHitterSketch createHeavyHitterSketch() {
+        return new HeavyHitterSketch(HEAVY_HITTER_DEPTH, HEAVY_HITTER_WIDTH, HEAVY_HITTER_TOP_K);
     }
 
     /**
      * 실시간으로 들어오는 사용자 해시 값 배치를 처리하고 마스터 스케치에 병합하는 메서드
      * 마스터 스케치 업데이트 시 동기화 블록을 사용한다.
-     * @param incomingHashes 실시간으로 유입되는 해시 값 리스트
+     * @implNote 해시 값 배열을 복사하지 않고 구간으로 나누어 작업에 전달하므로, 배열은 메서드가 반환된 후에 재사용할 수 있다.
+     * @param incomingHashes 실시간으로 유입되는 해시 값 배열
+     * @param length 처리할 해시 값 수 (배열의 앞부분)
      */
-    public void processBatchAndMerge(List<Long> incomingHashes) throws InterruptedException, ExecutionException {
+    public void processBatchAndMerge(long[] incomingHashes, int length) throws InterruptedException, ExecutionException {
 
-        // 데이터 분할
-        List<List<Long>> partitions = partitionData(incomingHashes, numThreads);
+        BatchMergeJfrEvent event = new BatchMergeJfrEvent();
+        event.begin();
 
-        // 작업 생성
-        List<Callable<ExaLogLog>> tasks = partitions.stream()
-                .map(partition -> new ELLTask(partition, p, t, d))
-                .collect(Collectors.toList());
+        // 데이터 분할 (파티션 수는 스레드 수를 넘지 않으므로 파티션마다 전용 Heavy Hitter 스케치를 할당)
+        long phaseStart = System.nanoTime();
+        int partitionSize = Math.max(1, (length + numThreads - 1) / numThreads);
+        List<Callable<ExaLogLog>> tasks = new ArrayList<>(numThreads);
+        for (int from = 0; from < length; from += partitionSize) {
+            tasks.add(new ELLTask(incomingHashes, from, Math.min(from + partitionSize, length), p, t, d,
+                    workerHeavyHitters[tasks.size()].clear()));
+        }
+
+        long partitionEnd = System.nanoTime();
+        metrics.getPartitionTimer().record(partitionEnd - phaseStart, TimeUnit.NANOSECONDS);
 
         // 작업 실행
         List<Future<ExaLogLog>> results = executor.invokeAll(tasks);
+        long addEnd = System.nanoTime();
+        metrics.getAddTimer().record(addEnd - partitionEnd, TimeUnit.NANOSECONDS);
 
         // 결과 수집 및 병합
         ExaLogLog batchMergedSketch = null;
@@ -93,29 +304,39 @@ public class ELLStreamProcessor {
         }
 
         // 마스터 스케치 업데이트
+        long mergeEnd = System.nanoTime();
         if (batchMergedSketch != null) {
             synchronized (this) {
                 currentWindowSketch = ExaLogLog.merge(currentWindowSketch, batchMergedSketch);
+                for (int i = 0; i < tasks.size(); i++) {
+                    currentWindowHeavyHitters.merge(workerHeavyHitters[i]);
+                }
+                if (tokenCollector != null) {
+                    tokenCollector.addAll(incomingHashes, length);
+                }
+                windowHasData = true;
+                dirty = true;
+                mergeEnd = System.nanoTime();
+                windowEventCount += length;
+                windowPartitionNanos += partitionEnd - phaseStart;
+                windowAddNanos += addEnd - partitionEnd;
+                windowMergeNanos += mergeEnd - addEnd;
             }
         }
-    }
-
-    /**
-     * 데이터를 균등한 파티션으로 분할하는 유틸리티 메서드
-     * @param data 해시 값 리스트
-     * @param numPartitions 분할할 파티션 수
-     * @return 분할된 데이터 파티션 리스트
-     */
-    private List<List<Long>> partitionData(List<Long> data, int numPartitions) {
-        int totalSize = data.size();
-        int partitionSize = (int) Math.ceil((double) totalSize / numPartitions);
-
-        List<List<Long>> partitions = new ArrayList<>();
-        for (int i = 0; i < totalSize; i += partitionSize) {
-            int endIndex = Math.min(i + partitionSize, totalSize);
-            partitions.add(data.subList(i, endIndex));
+        metrics.getMergeTimer().record(mergeEnd - addEnd, TimeUnit.NANOSECONDS);
+        metrics.getAddedEvents().increment(length);
+        if (event.shouldCommit()) {
+            event.batchSize = length;
+            event.partitionCount = tasks.size();
+            event.numThreads = numThreads;
+            event.p = p;
+            event.t = t;
+            event.d = d;
+            event.partitionNanos = partitionEnd - phaseStart;
+            event.addNanos = addEnd - partitionEnd;
+            event.mergeNanos = mergeEnd - addEnd;
+            event.commit();
         }
-        return partitions;
     }
 
     public void shutdown() {
@@ -1,11 +1,15 @@
 package app.statistics.application;
 
-import app.statistics.infra.TaskMementoRepository;
+import app.statistics.infra.WindowCheckpointStore;
 import app.statistics.model.enums.TaskType;
+import app.statistics.sketch.EmailDomains;
+import app.statistics.sketch.KeyHasher;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.LinkedBlockingQueue;
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * 회원가입 이메일 도메인 수 통계를 위한 {@code DataStreamService} 구현체
@@ -14,6 +18,8 @@ import java.util.concurrent.LinkedBlockingQueue;
  *     회원가입 시 제공된 이메일 주소의 도메인 부분을 해시하여 Long 타입으로 변환한 후 스트림으로 처리한다.
  *     특히 임시 이메일을 사용하여 가입을 시도하는 대량 가입 공격(Sign-up Attack)를 탐지하는 데 활용할 수 있다.
  * </p>
+ * @implNote 원본 로그나 요청 본문의 바이트열은 {@link #addEmail(ByteBuffer)}로, 도메인 문자열은 {@link #addKeys(List)}로 추가한다.
+ * 두 경로 모두 도메인을 ASCII 소문자로 변환한 UTF-8 바이트열로 해시하므로 같은 도메인은 같은 키로 집계된다.
  */
 @Slf4j
 @Service
@@ -22,13 +28,71 @@ public class EmailDataStreamService extends AbstractDataStreamService {
     private static final int T = 4;
     private static final int D = 5;
     private static final int NUM_THREADS = 4;
+    private static final int QUEUE_CAPACITY = 1 << 19; // 이벤트 큐 용량 (해시 값 수, 약 4MB)
 
-    public EmailDataStreamService(TaskMementoRepository taskMementoRepository) {
-        super(P, T, D, NUM_THREADS, taskMementoRepository, new LinkedBlockingQueue<>());
+    public EmailDataStreamService(WindowResultSink windowResultSink,
+                                  WindowCheckpointStore checkpointStore,
+                                  MeterRegistry meterRegistry,
+                                  SketchMemoryBudget memoryBudget,
+                                  KeyHasher keyHasher) {
+        super(P, T, D, NUM_THREADS, windowResultSink, checkpointStore, meterRegistry, memoryBudget,
+                keyHasher, QUEUE_CAPACITY);
+    }
+
+    /**
+     * 이메일 주소를 포함한 바이트열에서 도메인을 찾아 해시 값을 이벤트 큐에 추가하는 메서드
+     * @implNote 버퍼의 position부터 limit까지 탐색하며 position은 변경하지 않는다.
+     * 도메인 부분 문자열이나 소문자 사본을 만들지 않는다.
+     * @param text 이메일 주소를 포함한 버퍼 (예: {@code "Alice@Example.COM"})
+     * @return 도메인을 찾아 추가한 경우 {@code true}
+     */
+    public boolean addEmail(ByteBuffer text) {
+        int start = EmailDomains.findDomainStart(text, text.position(), text.limit());
+        if (start < 0) {
+            return false;
+        }
+        int end = EmailDomains.findDomainEnd(text, start, text.limit());
+        if (end == start) {
+            return false;
+        }
+        addHash(getKeyHasher().hashLowerCase(text, start, end - start));
+        return true;
+    }
+
+    /**
+     * 이메일 도메인 리스트를 해시하여 이벤트 큐에 추가하는 메서드
+     * @implNote 도메인은 소문자 사본을 만들지 않고 해시하면서 소문자로 변환한다.
+     * @param keys 이메일 도메인 리스트 (예: {@code "Example.COM"})
+     */
+    @Override
+    public void addKeys(List<? extends CharSequence> keys) {
+        KeyHasher keyHasher = getKeyHasher();
+        long[] hashes = new long[keys.size()];
+        int length = 0;
+        for (CharSequence key : keys) {
+            hashes[length++] = keyHasher.hashLowerCase(key);
+        }
+        addHashes(hashes, length);
+    }
+
+    /**
+     * @param text 이메일 주소를 포함한 바이트 배열
+     * @param offset 탐색 시작 위치
+     * @param length 탐색 길이
+     * @return 도메인을 찾아 추가한 경우 {@code true}
+     * @see #addEmail(ByteBuffer)
+     */
+    public boolean addEmail(byte[] text, int offset, int length) {
+        return addEmail(ByteBuffer.wrap(text, offset, length));
     }
 
     @Override
     public void processStreamData() {
-        process(TaskType.DISTINCT_ACCOUNT_EMAIL_DOMAIN_COUNT);
+        process(getTaskType());
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.DISTINCT_ACCOUNT_EMAIL_DOMAIN_COUNT;
     }
 }
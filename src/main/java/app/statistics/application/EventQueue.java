@@ -0,0 +1,112 @@
+package app.statistics.application;
+
+import app.statistics.sketch.MemoryEstimates;
+
+/**
+ * 해시 값을 박싱하지 않고 보관하는 고정 용량의 원형 큐
+ * <p>
+ *     수집 API와 트래픽 생성기가 추가한 해시 값을 윈도우 종료나 체크포인트가 배치로 꺼낼 때까지 보관한다.
+ *     용량이 고정되어 있으므로 큐가 사용하는 메모리는 생성 시점에 정해지며, {@link SketchMemoryBudget}에 미리 예약할 수 있다.
+ * </p>
+ * @implSpec 큐가 가득 차면 더 추가하지 않고 추가한 수만 반환하므로, 호출자는 큐를 비운 후 나머지를 다시 추가해야 한다.
+ * 모든 메서드는 큐 객체로 동기화된다.
+ * @see AbstractDataStreamService
+ */
+public final class EventQueue {
+    private final long[] buffer;
+    private int head; // 가장 먼저 추가된 해시 값의 위치
+    private int size;
+    private long oldestEnqueuedNanos; // 큐가 빈 상태에서 처음 해시 값을 추가한 시각 (System.nanoTime)
+
+    /**
+     * @param capacity 보관할 수 있는 최대 해시 값 수
+     */
+    public EventQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 양수여야 합니다.");
+        }
+        this.buffer = new long[capacity];
+    }
+
+    /**
+     * 해시 값 하나를 추가하는 메서드
+     * @param hash 해시 값
+     * @return 추가한 경우 {@code true}, 큐가 가득 찬 경우 {@code false}
+     */
+    public synchronized boolean offer(long hash) {
+        if (size == buffer.length) {
+            return false;
+        }
+        if (size == 0) {
+            oldestEnqueuedNanos = System.nanoTime();
+        }
+        buffer[(head + size) % buffer.length] = hash;
+        size++;
+        return true;
+    }
+
+    /**
+     * 해시 값 배열의 일부를 남은 용량만큼 추가하는 메서드
+     * @param hashes 해시 값 배열
+     * @param offset 추가할 첫 해시 값의 위치
+     * @param length 추가할 해시 값 수
+     * @return 추가한 해시 값 수 (큐가 가득 차면 length보다 작다)
+     */
+    public synchronized int offer(long[] hashes, int offset, int length) {
+        int count = Math.min(length, buffer.length - size);
+        if (size == 0 && count > 0) {
+            oldestEnqueuedNanos = System.nanoTime();
+        }
+        int tail = (head + size) % buffer.length;
+        int first = Math.min(count, buffer.length - tail);
+        System.arraycopy(hashes, offset, buffer, tail, first);
+        System.arraycopy(hashes, offset + first, buffer, 0, count - first);
+        size += count;
+        return count;
+    }
+
+    /**
+     * 추가된 순서대로 해시 값을 꺼내는 메서드
+     * @param target 꺼낸 해시 값을 담을 배열 (앞에서부터 채운다)
+     * @return 꺼낸 해시 값 수 (배열 길이와 큐 크기 중 작은 값)
+     */
+    public synchronized int drainTo(long[] target) {
+        int count = Math.min(target.length, size);
+        int first = Math.min(count, buffer.length - head);
+        System.arraycopy(buffer, head, target, 0, first);
+        System.arraycopy(buffer, 0, target, first, count - first);
+        head = (head + count) % buffer.length;
+        size -= count;
+        return count;
+    }
+
+    /**
+     * 큐에 가장 오래 머문 해시 값의 대기 시간을 구하는 메서드
+     * @implNote 해시 값마다 추가 시각을 기록하지 않고 큐가 빈 상태에서 처음 추가한 시각만 기록한다.
+     * 큐의 일부만 꺼낸 경우 남은 해시 값도 그 시각에 추가된 것으로 보므로 실제보다 길게 추정할 수 있다.
+     * @return 대기 시간 (나노초, 큐가 비어 있으면 0)
+     */
+    public synchronized long oldestAgeNanos() {
+        return size == 0 ? 0 : System.nanoTime() - oldestEnqueuedNanos;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * @param capacity 큐의 용량
+     * @return 큐가 힙에서 차지하는 크기 (바이트)
+     */
+    public static long estimatedMemoryBytes(int capacity) {
+        return MemoryEstimates.arrayBytes(capacity, Long.BYTES);
+    }
+}
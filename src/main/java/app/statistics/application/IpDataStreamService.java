@@ -1,11 +1,14 @@
 package app.statistics.application;
 
-import app.statistics.infra.TaskMementoRepository;
+import app.statistics.infra.WindowCheckpointStore;
 import app.statistics.model.enums.TaskType;
+import app.statistics.sketch.IpAddressParser;
+import app.statistics.sketch.KeyHasher;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.LinkedBlockingQueue;
+import java.nio.ByteBuffer;
 
 /**
  * IP 주소 수 통계를 위한 {@code DataStreamService} 구현체
@@ -14,6 +17,8 @@ import java.util.concurrent.LinkedBlockingQueue;
  *     스트림으로 전달된 IP 주소의 해시 값을 Long 타입으로 변환한 후 처리한다.
  *     전통적인 Volume-based DDoS 공격 탐지에 활용할 수 있다.
  * </p>
+ * @implNote 원본 로그나 요청 헤더의 주소 텍스트는 {@link #addAddress(ByteBuffer)}로 추가한다.
+ * IPv4 주소는 IPv4-mapped IPv6 주소로 해시하므로 {@link KeyHasher#hashIPv4(int)}로 해시한 값과 같은 키로 집계된다.
  */
 @Slf4j
 @Service
@@ -22,13 +27,70 @@ public class IpDataStreamService extends AbstractDataStreamService {
     private static final int T = 4;
     private static final int D = 5;
     private static final int NUM_THREADS = 4;
+    private static final int QUEUE_CAPACITY = 1 << 19; // 이벤트 큐 용량 (해시 값 수, 약 4MB)
 
-    public IpDataStreamService(TaskMementoRepository taskMementoRepository) {
-        super(P, T, D, NUM_THREADS, taskMementoRepository, new LinkedBlockingQueue<>());
+    private final ThreadLocal<IpAddressParser> parsers = ThreadLocal.withInitial(IpAddressParser::new);
+
+    public IpDataStreamService(WindowResultSink windowResultSink,
+                               WindowCheckpointStore checkpointStore,
+                               MeterRegistry meterRegistry,
+                               SketchMemoryBudget memoryBudget,
+                               KeyHasher keyHasher) {
+        super(P, T, D, NUM_THREADS, windowResultSink, checkpointStore, meterRegistry, memoryBudget,
+                keyHasher, QUEUE_CAPACITY);
+    }
+
+    /**
+     * IP 주소 텍스트를 이진 주소로 변환하여 해시 값을 이벤트 큐에 추가하는 메서드
+     * <p>{@code X-Forwarded-For} 헤더처럼 쉼표로 구분된 목록은 첫 번째 주소(클라이언트)만 추가한다.</p>
+     * @implNote 버퍼의 position부터 limit까지 읽으며 position은 변경하지 않는다.
+     * 스레드별로 재사용하는 {@link IpAddressParser}로 변환하므로 호출마다 할당하지 않는다.
+     * @param text 주소 텍스트를 담은 버퍼 (예: {@code "203.0.113.7"}, {@code "[2001:db8::1]"})
+     * @return 올바른 주소를 추가한 경우 {@code true}
+     */
+    public boolean addAddress(ByteBuffer text) {
+        int from = text.position();
+        int to = text.limit();
+        for (int i = from; i < to; i++) {
+            if (text.get(i) == ',') {
+                to = i;
+                break;
+            }
+        }
+        IpAddressParser parser = parsers.get();
+        if (!parser.parse(text, from, to)) {
+            return false;
+        }
+        addHash(getKeyHasher().hashIPv6(parser.getHigh(), parser.getLow()));
+        return true;
+    }
+
+    /**
+     * @param text 주소 텍스트를 담은 바이트 배열
+     * @param offset 텍스트 시작 위치
+     * @param length 텍스트 길이
+     * @return 올바른 주소를 추가한 경우 {@code true}
+     * @see #addAddress(ByteBuffer)
+     */
+    public boolean addAddress(byte[] text, int offset, int length) {
+        return addAddress(ByteBuffer.wrap(text, offset, length));
+    }
+
+    /**
+     * @return 항상 {@code true} (IP 주소를 출발지, 해당 IP에서 접근한 계정을 목적지로 하는 쌍을 받는다)
+     */
+    @Override
+    public boolean tracksFanOut() {
+        return true;
     }
 
     @Override
     public void processStreamData() {
-        process(TaskType.DISTINCT_IP_ADDRESS_COUNT);
+        process(getTaskType());
+    }
+
+    @Override
+    public TaskType getTaskType() {
+        return TaskType.DISTINCT_IP_ADDRESS_COUNT;
     }
 }
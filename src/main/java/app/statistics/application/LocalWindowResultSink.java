@@ -0,0 +1,25 @@
+package app.statistics.application;
+
+import app.statistics.model.WindowResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 단일 노드로 실행할 때 사용하는 {@link WindowResultSink} 구현체
+ * <p>윈도우 결과를 저장 버퍼에 추가하고 {@link WindowRolledEvent}를 발행한다.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ell.cluster.role", havingValue = "standalone", matchIfMissing = true)
+public class LocalWindowResultSink implements WindowResultSink {
+    private final WindowResultWriter windowResultWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void submit(WindowResult windowResult) {
+        windowResultWriter.submit(windowResult);
+        eventPublisher.publishEvent(new WindowRolledEvent(windowResult.taskMemento()));
+    }
+}
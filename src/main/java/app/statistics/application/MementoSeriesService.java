@@ -0,0 +1,96 @@
+package app.statistics.application;
+
+import app.statistics.infra.MementoStore;
+import app.statistics.model.MementoPoint;
+import app.statistics.model.MementoSeries;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.enums.TaskType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 지표별 시계열을 조회하는 서비스
+ * @implSpec 메모리에 보관된 최근 이력({@link RecentMementoService})으로 응답할 수 있으면 데이터베이스를 조회하지 않고,
+ * 그렇지 않은 경우 {@link MementoPoint} 프로젝션을 (완료 시각, id) 커서의 키셋 페이지네이션으로 조회한다.
+ * 메모리의 이력은 저장되기 전의 Memento이므로 id가 없어 커서를 만들 수 없다. 따라서 다음 페이지가 없는 경우에만 메모리로 응답한다.
+ * 긴 구간은 {@link SeriesDownsampler}로 목표 포인트 수만큼 다운샘플링하여 응답 크기를 제한한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MementoSeriesService {
+    // 다운샘플링 시 한 번에 조회하는 페이지 크기와 한 요청에서 읽는 최대 원본 포인트 수 (31일 분량의 1분 윈도우)
+    private static final int DOWNSAMPLE_PAGE_SIZE = 10_000;
+    private static final int MAX_DOWNSAMPLE_SOURCE_POINTS = 44_640;
+
+    private final RecentMementoService recentMementoService;
+    private final MementoStore mementoStore;
+
+    /**
+     * 커서 (after, afterId) 이후부터 {@code to}까지의 시계열을 조회하는 메서드
+     * @param taskType 조회할 작업 유형
+     * @param after 조회 시작 시각, 다음 페이지는 이전 응답의 커서를 전달한다.
+     * @param afterId 이전 응답의 커서 id, 첫 페이지는 {@code null}이며 이 경우 {@code after}는 포함하지 않는다.
+     * @param to 조회 종료 시각 (포함)
+     * @param limit 최대 포인트 수
+     * @return 완료 시각 오름차순으로 정렬된 시계열
+     */
+    public MementoSeries getSeries(TaskType taskType, LocalDateTime after, Long afterId, LocalDateTime to, int limit) {
+        List<MementoPoint> points = findPoints(taskType, after, afterId, to, limit);
+        if (points.size() < limit) {
+            return new MementoSeries(points, null, null);
+        }
+        MementoPoint last = points.get(points.size() - 1);
+        return new MementoSeries(points, last.finishedAt(), last.id());
+    }
+
+    /**
+     * (after, to] 구간의 시계열을 목표 포인트 수로 다운샘플링하여 조회하는 메서드
+     * @implSpec 원본 포인트는 키셋 페이지 단위로 읽으며, 최대 원본 포인트 수를 넘는 구간은 잘라서 다운샘플링하고
+     * 남은 구간의 시작 커서를 함께 반환한다.
+     * @param taskType 조회할 작업 유형
+     * @param after 조회 시작 시각 (미포함)
+     * @param to 조회 종료 시각 (포함)
+     * @param targetPoints 목표 포인트 수
+     * @return 다운샘플링된 시계열
+     */
+    public MementoSeries getDownsampledSeries(TaskType taskType, LocalDateTime after, Long afterId, LocalDateTime to,
+                                              int targetPoints) {
+        List<MementoPoint> source = new ArrayList<>();
+        LocalDateTime cursor = after;
+        Long cursorId = afterId;
+        while (source.size() < MAX_DOWNSAMPLE_SOURCE_POINTS) {
+            int pageSize = Math.min(DOWNSAMPLE_PAGE_SIZE, MAX_DOWNSAMPLE_SOURCE_POINTS - source.size());
+            List<MementoPoint> page = findPoints(taskType, cursor, cursorId, to, pageSize);
+            source.addAll(page);
+            if (page.size() < pageSize) {
+                cursor = null;
+                cursorId = null;
+                break;
+            }
+            MementoPoint last = page.get(page.size() - 1);
+            cursor = last.finishedAt();
+            cursorId = last.id();
+        }
+        return new MementoSeries(SeriesDownsampler.lttb(source, targetPoints), cursor, cursorId);
+    }
+
+    private List<MementoPoint> findPoints(TaskType taskType, LocalDateTime after, Long afterId, LocalDateTime to,
+                                          int limit) {
+        List<TaskMemento> cached = afterId == null ? recentMementoService.findCachedAfter(taskType, after) : null;
+        if (cached != null) {
+            List<MementoPoint> points = cached.stream()
+                    .filter(taskMemento -> !taskMemento.getFinishedAt().isAfter(to))
+                    .limit(limit)
+                    .map(MementoPoint::from)
+                    .toList();
+            if (points.size() < limit) {
+                return points;
+            }
+        }
+        return mementoStore.findPoints(taskType, after, afterId, to, limit);
+    }
+}
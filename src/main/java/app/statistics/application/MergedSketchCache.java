@@ -0,0 +1,117 @@
+package app.statistics.application;
+
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 정렬된 구간의 병합 스케치를 메모리 크기 기준으로 제한하여 보관하는 LRU 캐시
+ * <p>
+ *     키는 1시간 또는 1일 경계에 정렬된 [windowStart, windowEnd) 구간이며, 값은 그 구간의 모든 스케치를 병합한 결과이다.
+ *     대시보드와 알림처럼 겹치는 구간을 반복 조회하는 경우 구간 내부의 정렬된 부분은 병합 결과를 그대로 재사용하므로,
+ *     데이터베이스 조회와 압축 해제뿐 아니라 병합도 생략할 수 있다.
+ * </p>
+ * @implSpec 캐시된 스케치는 여러 조회가 공유하므로 호출자는 반환된 스케치를 변경하면 안 된다.
+ * 윈도우 결과가 저장되면({@link WindowResultsPersistedEvent}) 그 윈도우를 포함하는 구간을 제거하므로,
+ * 진행 중인 구간이나 늦게 저장된 스케치가 반영된 구간도 오래된 병합 결과를 반환하지 않는다.
+ * 조회가 스케치를 불러온 후 병합 결과를 추가하기 전에 구간이 제거될 수 있으므로, 조회는 시작할 때 작업 유형의 세대({@link #generation})를 읽고
+ * 추가할 때 전달한다. 그 사이에 같은 작업 유형의 윈도우가 저장되었으면 병합 결과를 추가하지 않는다.
+ * 최대 크기({@code ell.query.sketch-cache-max-bytes})는 생성 시점에 {@link SketchMemoryBudget}에 예약한다.
+ */
+@Component
+public class MergedSketchCache {
+    private static final String MEMORY_COMPONENT = "merged-sketch-cache";
+
+    private final long maxBytes;
+    private final LinkedHashMap<Key, ExaLogLog> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long[] generations = new long[TaskType.values().length]; // 작업 유형별 제거 횟수
+    private long currentBytes;
+
+    public MergedSketchCache(@Value("${ell.query.sketch-cache-max-bytes:67108864}") long maxBytes,
+                             SketchMemoryBudget memoryBudget) {
+        this.maxBytes = maxBytes;
+        memoryBudget.reserve(MEMORY_COMPONENT, maxBytes);
+    }
+
+    public synchronized ExaLogLog get(Key key) {
+        return entries.get(key);
+    }
+
+    /**
+     * @param taskType 작업 유형
+     * @return 작업 유형의 윈도우가 저장되어 구간을 제거할 때마다 증가하는 세대
+     */
+    public synchronized long generation(TaskType taskType) {
+        return generations[taskType.ordinal()];
+    }
+
+    /**
+     * 스케치를 캐시에 추가하고, 최대 크기를 넘으면 가장 오래 사용되지 않은 스케치부터 제거하는 메서드
+     * @param key 정렬된 구간 키
+     * @param sketch 캐시할 스케치 (추가 이후 변경하면 안 된다)
+     * @param generation 스케치를 불러오기 전에 {@link #generation}으로 읽은 세대 (현재 세대와 다르면 추가하지 않는다)
+     */
+    public synchronized void put(Key key, ExaLogLog sketch, long generation) {
+        long size = sizeOf(sketch);
+        if (size > maxBytes || generation != generations[key.taskType().ordinal()]) {
+            return;
+        }
+        ExaLogLog previous = entries.put(key, sketch);
+        if (previous != null) {
+            currentBytes -= sizeOf(previous);
+        }
+        currentBytes += size;
+
+        Iterator<Map.Entry<Key, ExaLogLog>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= sizeOf(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * 저장된 윈도우를 포함하는 구간의 병합 결과를 제거하는 메서드
+     * @param event 저장된 윈도우 결과 목록
+     */
+    @EventListener
+    public synchronized void onWindowResultsPersisted(WindowResultsPersistedEvent event) {
+        for (WindowResult windowResult : event.windowResults()) {
+            TaskType taskType = windowResult.taskMemento().getTaskType();
+            LocalDateTime windowStart = windowResult.windowStart();
+            generations[taskType.ordinal()]++;
+            Iterator<Map.Entry<Key, ExaLogLog>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, ExaLogLog> entry = iterator.next();
+                if (entry.getKey().contains(taskType, windowStart)) {
+                    currentBytes -= sizeOf(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static long sizeOf(ExaLogLog sketch) {
+        return sketch.estimatedMemoryBytes();
+    }
+
+    /**
+     * 캐시 키
+     * @param taskType 작업 유형
+     * @param windowStart 정렬된 구간 시작 시각 (포함)
+     * @param windowEnd 정렬된 구간 종료 시각 (미포함)
+     */
+    public record Key(TaskType taskType, LocalDateTime windowStart, LocalDateTime windowEnd) {
+
+        boolean contains(TaskType taskType, LocalDateTime time) {
+            return this.taskType == taskType && !time.isBefore(windowStart) && time.isBefore(windowEnd);
+        }
+    }
+}
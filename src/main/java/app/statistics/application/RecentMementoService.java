@@ -0,0 +1,100 @@
+package app.statistics.application;
+
+import app.statistics.infra.MementoStore;
+import app.statistics.model.MementoHistory;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.enums.TaskType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지표별 최근 {@link TaskMemento}를 메모리에 보관하여 통계 조회 API에 응답하는 서비스
+ * <p>
+ *     {@link WindowRolledEvent}를 구독하여 윈도우가 종료될 때마다 지표별 {@link MementoHistory}에 추가하고,
+ *     애플리케이션 시작 시 데이터베이스에서 최근 이력을 한 번 불러온다.
+ *     최근 구간 조회는 메모리에서 응답하므로 대시보드 조회자 수가 늘어도 데이터베이스 부하는 늘어나지 않는다.
+ * </p>
+ * @implSpec 버퍼가 보관하지 않는 오래된 구간을 조회하는 경우에만 데이터베이스를 조회한다.
+ */
+@Slf4j
+@Service
+public class RecentMementoService {
+    private final MementoStore mementoStore;
+    private final int capacity;
+    private final Map<TaskType, MementoHistory> histories = new EnumMap<>(TaskType.class);
+
+    public RecentMementoService(MementoStore mementoStore,
+                                @Value("${ell.history.capacity:1440}") int capacity) {
+        this.mementoStore = mementoStore;
+        this.capacity = capacity;
+        LocalDateTime startedAt = LocalDateTime.now();
+        for (TaskType taskType : TaskType.values()) {
+            histories.put(taskType, new MementoHistory(capacity, startedAt));
+        }
+    }
+
+    @EventListener
+    public void onWindowRolled(WindowRolledEvent event) {
+        TaskMemento taskMemento = event.taskMemento();
+        MementoHistory history = histories.get(taskMemento.getTaskType());
+        synchronized (history) {
+            history.add(taskMemento);
+        }
+    }
+
+    /**
+     * 시작 시 데이터베이스에서 최근 이력을 불러와 버퍼를 채운다.
+     * @implNote 윈도우 하나당 1분이므로 버퍼 크기만큼의 분 단위 구간을 조회한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefill() {
+        LocalDateTime loadedSince = LocalDateTime.now().minusMinutes(capacity);
+        for (TaskType taskType : TaskType.values()) {
+            try {
+                List<TaskMemento> mementos = mementoStore.findAllAfter(taskType, loadedSince);
+                MementoHistory history = histories.get(taskType);
+                synchronized (history) {
+                    history.prepend(mementos, loadedSince);
+                }
+                log.info("ELL_:HIST:LOAD::: Loaded {} recent mementos for {}", mementos.size(), taskType);
+            } catch (Exception e) {
+                log.warn("ELL_:WARN:HIST::: Failed to load recent mementos for {}: {}", taskType, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 지정한 시각 이후에 완료된 Memento 목록을 조회하는 메서드
+     * @param taskType 조회할 작업 유형
+     * @param finishedAt 조회 시작 시각 (미포함)
+     * @return 완료 시각 오름차순으로 정렬된 Memento 목록
+     */
+    public List<TaskMemento> findAllAfter(TaskType taskType, LocalDateTime finishedAt) {
+        List<TaskMemento> cached = findCachedAfter(taskType, finishedAt);
+        if (cached != null) {
+            return cached;
+        }
+        return mementoStore.findAllAfter(taskType, finishedAt);
+    }
+
+    /**
+     * 메모리에 보관된 이력에서만 지정한 시각 이후에 완료된 Memento 목록을 조회하는 메서드
+     * @param taskType 조회할 작업 유형
+     * @param finishedAt 조회 시작 시각 (미포함)
+     * @return 완료 시각 오름차순으로 정렬된 Memento 목록, 메모리가 구간 전체를 보관하지 않으면 null
+     */
+    public List<TaskMemento> findCachedAfter(TaskType taskType, LocalDateTime finishedAt) {
+        MementoHistory history = histories.get(taskType);
+        synchronized (history) {
+            return history.findAllAfter(finishedAt);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package app.statistics.application;
+
+import app.statistics.model.MementoPoint;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LTTB(Largest-Triangle-Three-Buckets) 알고리즘으로 시계열을 다운샘플링하는 유틸리티 클래스
+ * <p>
+ *     첫 번째와 마지막 포인트를 유지하고, 나머지 포인트를 (threshold - 2)개의 구간으로 나눈 후
+ *     구간마다 이전에 선택한 포인트와 다음 구간의 평균 포인트로 만든 삼각형의 넓이가 가장 큰 포인트를 선택한다.
+ *     평균으로 줄이는 방식과 달리 급증, 급감 같은 시각적으로 중요한 포인트가 유지된다.
+ * </p>
+ * @implSpec 입력 크기에 선형인 시간으로 동작하며, x축은 완료 시각(초), y축은 고유 개수 추정값을 사용한다.
+ */
+final class SeriesDownsampler {
+
+    private SeriesDownsampler() {
+    }
+
+    /**
+     * 시계열을 다운샘플링하는 메서드
+     * @param points 완료 시각 오름차순으로 정렬된 시계열
+     * @param threshold 목표 포인트 수 (3 이상)
+     * @return 다운샘플링된 시계열, 입력 크기가 목표 이하이면 입력 그대로
+     */
+    static List<MementoPoint> lttb(List<MementoPoint> points, int threshold) {
+        int size = points.size();
+        if (threshold >= size || threshold < 3) {
+            return points;
+        }
+
+        List<MementoPoint> sampled = new ArrayList<>(threshold);
+        sampled.add(points.get(0));
+
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int selected = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+
+            // 다음 구간의 평균 포인트 (마지막 구간은 마지막 포인트)
+            int nextStart = end;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x(points.get(i));
+                averageY += points.get(i).distinctCount();
+            }
+            averageX /= nextEnd - nextStart;
+            averageY /= nextEnd - nextStart;
+
+            double selectedX = x(points.get(selected));
+            double selectedY = points.get(selected).distinctCount();
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((selectedX - averageX) * (points.get(i).distinctCount() - selectedY)
+                        - (selectedX - x(points.get(i))) * (averageY - selectedY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+            sampled.add(points.get(maxIndex));
+            selected = maxIndex;
+        }
+
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+
+    private static double x(MementoPoint point) {
+        return point.finishedAt().toEpochSecond(ZoneOffset.UTC);
+    }
+}
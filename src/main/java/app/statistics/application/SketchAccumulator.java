@@ -0,0 +1,69 @@
+package app.statistics.application;
+
+import app.statistics.model.SketchTokens;
+import exaloglog.ExaLogLog;
+
+/**
+ * 여러 {@link ExaLogLog} 스케치를 하나로 누적 병합하는 클래스
+ * @implSpec 첫 번째 스케치의 복사본을 누적 스케치로 사용하므로 전달된 스케치는 변경되지 않는다.
+ * 새로운 스케치의 파라미터(p, d)가 누적 스케치 이상이면 제자리(in-place) 병합하여 할당을 줄이고,
+ * 더 작은 경우에만 {@link ExaLogLog#merge(ExaLogLog, ExaLogLog)}로 다운사이징된 새로운 스케치를 만든다.
+ */
+class SketchAccumulator {
+    private ExaLogLog accumulated;
+    private int count;
+
+    /**
+     * 스케치를 누적하는 메서드
+     * @param sketch 병합할 스케치
+     * @return 현재 누적기 (this)
+     */
+    SketchAccumulator add(ExaLogLog sketch) {
+        count++;
+        if (accumulated == null) {
+            accumulated = sketch.copy();
+        } else if (sketch.getP() >= accumulated.getP() && sketch.getD() >= accumulated.getD()) {
+            accumulated.add(sketch);
+        } else {
+            accumulated = ExaLogLog.merge(accumulated, sketch);
+        }
+        return this;
+    }
+
+    /**
+     * 토큰 목록을 누적하는 메서드
+     * @implNote 토큰은 누적 스케치의 파라미터와 관계없이 추가할 수 있으므로 스케치로 복원하지 않고 바로 추가한다.
+     * @param tokens 병합할 토큰 목록
+     * @return 현재 누적기 (this)
+     */
+    SketchAccumulator add(SketchTokens tokens) {
+        count++;
+        if (accumulated == null) {
+            accumulated = tokens.toExaLogLog();
+        } else {
+            tokens.addTo(accumulated);
+        }
+        return this;
+    }
+
+    /**
+     * @return 누적된 스케치, 누적된 스케치가 없는 경우 {@code null}
+     */
+    ExaLogLog getResult() {
+        return accumulated;
+    }
+
+    /**
+     * @return 누적된 스케치 수
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * @return 누적된 스케치의 고유 개수 추정값
+     */
+    double estimate() {
+        return accumulated == null ? 0.0 : accumulated.getDistinctCount();
+    }
+}
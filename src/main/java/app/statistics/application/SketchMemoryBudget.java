@@ -0,0 +1,76 @@
+package app.statistics.application;
+
+import app.statistics.model.enums.TaskType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 모든 지표의 스트림 처리가 사용할 수 있는 스케치 메모리 예산
+ * <p>
+ *     각 {@link AbstractDataStreamService}는 생성 시점에 스케치를 할당하기 전에
+ *     {@link ELLStreamProcessor#estimatePeakMemoryBytes(int, int, int, int, boolean) 최대 사용량}을 예약한다.
+ *     스케치를 보관하는 다른 구성 요소({@link WindowResultWriter}의 저장 버퍼, {@link MergedSketchCache},
+ *     {@link ClusterWindowAggregator}의 진행 중인 윈도우)도 최대 크기를 이름으로 예약한다.
+ *     예약한 합계가 예산({@code ell.memory.sketch-budget})을 넘으면 지표를 등록할 수 없으므로 애플리케이션이 시작되지 않는다.
+ * </p>
+ * @implNote 이벤트 큐의 크기는 유입량에 따라 달라지므로 예산에 포함하지 않으며, {@link DataStreamService#getMemoryReport()}로 따로 확인한다.
+ * @see app.statistics.model.MemoryReport MemoryReport
+ */
+@Slf4j
+@Component
+public class SketchMemoryBudget {
+    private final long budgetBytes;
+    private final Map<String, Long> reservations = new LinkedHashMap<>();
+
+    public SketchMemoryBudget(@Value("${ell.memory.sketch-budget:256MB}") DataSize budget) {
+        this.budgetBytes = budget.toBytes();
+    }
+
+    /**
+     * 지표의 스케치 메모리를 예약하는 메서드
+     * @implNote 같은 지표를 다시 예약하면 이전 예약을 대체한다.
+     * @param taskType 작업 유형
+     * @param bytes 예약할 크기 (바이트)
+     * @throws IllegalStateException 예약하면 예산을 넘는 경우
+     */
+    public void reserve(TaskType taskType, long bytes) {
+        reserve(taskType.name(), bytes);
+    }
+
+    /**
+     * 구성 요소의 스케치 메모리를 예약하는 메서드
+     * @implNote 같은 이름으로 다시 예약하면 이전 예약을 대체한다.
+     * @param component 예약하는 구성 요소의 이름
+     * @param bytes 예약할 크기 (바이트)
+     * @throws IllegalStateException 예약하면 예산을 넘는 경우
+     */
+    public synchronized void reserve(String component, long bytes) {
+        long reserved = getReservedBytes() - reservations.getOrDefault(component, 0L) + bytes;
+        if (reserved > budgetBytes) {
+            throw new IllegalStateException(String.format(
+                    "%s의 스케치 메모리(%d바이트)를 예약하면 예산을 초과합니다. (%d / %d바이트)",
+                    component, bytes, reserved, budgetBytes));
+        }
+        reservations.put(component, bytes);
+        log.info("ELL_:MEMO:RSRV::: Reserved {} bytes for {} ({} / {} bytes)", bytes, component, reserved, budgetBytes);
+    }
+
+    /**
+     * @return 예약된 스케치 메모리의 합계 (바이트)
+     */
+    public synchronized long getReservedBytes() {
+        return reservations.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return 스케치 메모리 예산 (바이트)
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+}
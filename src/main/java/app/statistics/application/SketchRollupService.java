@@ -0,0 +1,175 @@
+package app.statistics.application;
+
+import app.statistics.infra.SketchBucket;
+import app.statistics.infra.SketchStore;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 윈도우 스케치를 상위 단위로 병합(rollup)하고 보관 기간이 지난 스케치를 정리(compaction)하는 서비스
+ * <p>
+ *     1분 스케치는 5분 스케치로, 5분 스케치는 1시간 스케치로, 1시간 스케치는 1일 스케치로 병합된다.
+ *     따라서 긴 구간의 고유 개수 조회도 수십 개 이내의 스케치만 병합하면 된다.
+ * </p>
+ * <p>
+ *     재시도나 노드 간 병합 유예 시간으로 인해 1분 스케치가 상위 구간의 병합 이후에 저장될 수 있다.
+ *     이러한 스케치는 {@link WindowResultsPersistedEvent}를 받아 이미 병합된 모든 상위 스케치에 다시 병합한다.
+ *     스케치 병합은 멱등하므로 같은 스케치가 두 번 반영되어도 결과는 변하지 않는다.
+ * </p>
+ * @implNote 병합과 늦은 스케치 반영이 같은 상위 스케치를 동시에 대체하지 않도록 두 작업은 동기화된다.
+ * @see SketchResolution
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SketchRollupService {
+    // 구간 종료 직후에 저장되는 1분 스케치를 기다리기 위한 유예 시간
+    private static final Duration ROLLUP_GRACE_PERIOD = Duration.ofMinutes(1);
+
+    private final SketchStore sketchStore;
+    private final Map<TaskType, LocalDateTime> minutesRolledUntil = new EnumMap<>(TaskType.class); // 5분 단위로 병합된 구간의 종료 시각
+
+    /**
+     * 아직 병합되지 않은 가장 오래된 구간 하나를 상위 단위로 병합하는 메서드
+     * @param taskType 작업 유형
+     * @param target 병합 결과의 집계 단위 (하위 단위가 존재해야 한다)
+     * @param now 현재 시각
+     * @return 구간을 병합한 경우 {@code true}, 병합할 완료된 구간이 없는 경우 {@code false}
+     */
+    public synchronized boolean rollupNext(TaskType taskType, SketchResolution target, LocalDateTime now) {
+        SketchResolution source = target.getSource();
+        if (source == null) {
+            throw new IllegalArgumentException(target + "은(는) 하위 단위가 없습니다.");
+        }
+
+        LocalDateTime rolledUntil = sketchStore.findLatest(taskType, target)
+                .map(SketchBucket::getWindowEnd)
+                .orElse(null);
+        Optional<SketchBucket> nextSource = sketchStore.findEarliestFrom(taskType, source, rolledUntil);
+        if (nextSource.isEmpty()) {
+            return false;
+        }
+
+        LocalDateTime windowStart = target.alignDown(nextSource.get().getWindowStart());
+        LocalDateTime windowEnd = windowStart.plus(target.getLength());
+        if (windowEnd.isAfter(now.minus(ROLLUP_GRACE_PERIOD))) {
+            return false;
+        }
+
+        SketchAccumulator accumulator = new SketchAccumulator();
+        sketchStore.loadRange(taskType, source, windowStart, windowEnd).forEach(accumulator::add);
+
+        ExaLogLog merged = accumulator.getResult();
+        ExaLogLog downsized = merged.downsize(merged.getD(), Math.min(merged.getP(), target.getMaxP()));
+        sketchStore.saveRollup(taskType, target, windowStart, downsized);
+        if (source == SketchResolution.MINUTE) {
+            minutesRolledUntil.put(taskType, windowEnd);
+        }
+        log.info("ELL_:RLUP:CMPL::: Rolled up {} {} sketches into {} window starting at {}",
+                taskType, source, target, windowStart);
+        return true;
+    }
+
+    /**
+     * 저장된 1분 스케치 중 이미 병합된 구간에 속하는 스케치를 상위 스케치에 반영하는 메서드
+     * @implNote 저장 스레드에서 호출되며, 반영에 실패해도 저장된 결과에는 영향을 주지 않도록 예외를 기록만 한다.
+     * @param event 저장된 윈도우 결과 목록
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE) // 캐시된 병합 결과를 제거하기 전에 상위 스케치를 대체한다
+    public synchronized void onWindowResultsPersisted(WindowResultsPersistedEvent event) {
+        for (WindowResult windowResult : event.windowResults()) {
+            TaskType taskType = windowResult.taskMemento().getTaskType();
+            try {
+                if (windowResult.windowStart().isBefore(getMinutesRolledUntil(taskType))) {
+                    foldLateWindow(taskType, windowResult.windowStart(), windowResult.sketch());
+                }
+            } catch (RuntimeException e) {
+                log.error("ELL_:ERR_:RLUP::: Failed to fold late {} window starting at {} into rollups: {}",
+                        taskType, windowResult.windowStart(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 스케치를 삭제하는 메서드
+     * @implSpec 상위 단위로 병합되지 않은 스케치는 보관 기간이 지나도 삭제하지 않는다.
+     * @param taskType 작업 유형
+     * @param resolution 정리할 집계 단위
+     * @param now 현재 시각
+     * @return 삭제된 스케치 수
+     */
+    public int compact(TaskType taskType, SketchResolution resolution, LocalDateTime now) {
+        if (resolution.getRetention() == null) {
+            return 0;
+        }
+        LocalDateTime expiredBefore = now.minus(resolution.getRetention());
+
+        SketchResolution target = resolution.getTarget();
+        if (target != null) {
+            Optional<LocalDateTime> rolledUntil = sketchStore.findLatest(taskType, target)
+                    .map(SketchBucket::getWindowEnd);
+            if (rolledUntil.isEmpty()) {
+                return 0;
+            }
+            if (rolledUntil.get().isBefore(expiredBefore)) {
+                expiredBefore = rolledUntil.get();
+            }
+        }
+
+        int deleted = sketchStore.deleteEndingBefore(taskType, resolution, expiredBefore);
+        if (deleted > 0) {
+            log.info("ELL_:CMPT:CMPL::: Deleted {} {} sketches of {} ending before {}",
+                    deleted, resolution, taskType, expiredBefore);
+        }
+        return deleted;
+    }
+
+    /**
+     * 늦게 저장된 1분 스케치를 이미 병합된 상위 스케치에 병합하여 대체하는 메서드
+     * @implSpec 상위 단위는 바로 아래 단위가 병합된 구간만 병합되므로, 상위 스케치가 없는 단위에서 반영을 멈춘다.
+     * @param taskType 작업 유형
+     * @param windowStart 1분 스케치의 구간 시작 시각
+     * @param sketch 1분 스케치
+     */
+    private void foldLateWindow(TaskType taskType, LocalDateTime windowStart, ExaLogLog sketch) {
+        for (SketchResolution target = SketchResolution.MINUTE.getTarget(); target != null; target = target.getTarget()) {
+            LocalDateTime parentStart = target.alignDown(windowStart);
+            List<ExaLogLog> parents = sketchStore.loadRange(taskType, target, parentStart, parentStart.plus(target.getLength()));
+            if (parents.isEmpty()) {
+                return;
+            }
+
+            SketchAccumulator accumulator = new SketchAccumulator();
+            parents.forEach(accumulator::add);
+            accumulator.add(sketch);
+
+            ExaLogLog merged = accumulator.getResult();
+            ExaLogLog downsized = merged.downsize(merged.getD(), Math.min(merged.getP(), target.getMaxP()));
+            sketchStore.saveRollup(taskType, target, parentStart, downsized);
+            log.info("ELL_:RLUP:LATE::: Folded late {} window starting at {} into {} window starting at {}",
+                    taskType, windowStart, target, parentStart);
+        }
+    }
+
+    private LocalDateTime getMinutesRolledUntil(TaskType taskType) {
+        return minutesRolledUntil.computeIfAbsent(taskType, type -> sketchStore.findLatest(type, SketchResolution.FIVE_MINUTES)
+                .map(SketchBucket::getWindowEnd)
+                .orElse(LocalDateTime.MIN));
+    }
+}
@@ -0,0 +1,106 @@
+package app.statistics.application;
+
+import app.statistics.model.SketchShipment;
+import app.statistics.model.WindowResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 수집 노드의 윈도우 스케치를 집계 노드로 전송하는 {@link WindowResultSink} 구현체
+ * <p>
+ *     {@code ell.cluster.role=ingest}인 노드에서 사용한다. 수집 노드는 결과를 저장하거나 발행하지 않으며,
+ *     버퍼에 쌓인 스케치는 {@link #flush()}에서 집계 노드의 {@code POST /cluster/sketches}로 전송된다.
+ * </p>
+ * @implSpec 전송에 실패하면 버퍼의 맨 앞 스케치를 유지한 채 다음 호출에서 다시 전송한다.
+ * 집계 노드가 요청을 거부한 경우(4xx, 예: 이미 종료된 윈도우)에는 재전송해도 받아들여지지 않으므로 버린다.
+ * 고유 개수가 적은 윈도우는 토큰 형식으로 전송할 수 있도록 윈도우 결과에 토큰 목록을 요청한다.
+ * @implNote 저장소 빈은 역할과 관계없이 생성되므로, 수집 노드를 MySQL 없이 실행하려면 {@code ingest} 프로필
+ * ({@code application-ingest.yaml}, 로컬 세그먼트 저장소)을 사용한다.
+ * @see ClusterWindowAggregator
+ * @see app.statistics.presentation.SketchShipmentBatch SketchShipmentBatch
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ell.cluster.role", havingValue = "ingest")
+public class SketchShipper implements WindowResultSink {
+    private static final String SHIPMENT_PATH = "/cluster/sketches";
+
+    private final String nodeId;
+    private final RestClient restClient;
+    private final BlockingQueue<SketchShipment> buffer;
+
+    public SketchShipper(@Value("${ell.cluster.node-id}") String nodeId,
+                         @Value("${ell.cluster.aggregator-url}") String aggregatorUrl,
+                         @Value("${ell.cluster.ship-buffer-capacity:64}") int bufferCapacity,
+                         RestClient.Builder restClientBuilder) {
+        this.nodeId = nodeId;
+        this.restClient = restClientBuilder.baseUrl(aggregatorUrl).build();
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    /**
+     * 윈도우 결과를 전송 버퍼에 추가하는 메서드
+     * @implNote 버퍼가 가득 차도 호출 스레드를 대기시키지 않는다.
+     * @param windowResult 종료된 윈도우의 집계 결과
+     */
+    @Override
+    public void submit(WindowResult windowResult) {
+        if (!buffer.offer(SketchShipment.of(nodeId, windowResult))) {
+            log.error("ELL_:ERR_:SHIP::: Shipment buffer is full. Dropping {} window finished at {}",
+                    windowResult.taskMemento().getTaskType(), windowResult.taskMemento().getFinishedAt());
+        }
+    }
+
+    @Override
+    public boolean collectsTokens() {
+        return true;
+    }
+
+    /**
+     * 버퍼에 쌓인 스케치를 순서대로 집계 노드에 전송하는 메서드
+     * @return 이번 호출에서 전송한 스케치 수
+     */
+    public synchronized int flush() {
+        int shipped = 0;
+        SketchShipment shipment;
+        while ((shipment = buffer.peek()) != null) {
+            byte[] body = shipment.toByteArray();
+            try {
+                restClient.post()
+                        .uri(SHIPMENT_PATH)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .body(body)
+                        .retrieve()
+                        .toBodilessEntity();
+                shipped++;
+                log.info("ELL_:SHIP:CMPL::: Shipped {} window starting at {} ({} bytes)",
+                        shipment.taskType(), shipment.windowStart(), body.length);
+            } catch (HttpClientErrorException e) {
+                log.warn("ELL_:WARN:SHIP::: Aggregator rejected {} window starting at {}: {}",
+                        shipment.taskType(), shipment.windowStart(), e.getStatusCode());
+            } catch (RestClientException e) {
+                log.warn("ELL_:WARN:SHIP::: Failed to ship {} window starting at {}. Retrying later: {}",
+                        shipment.taskType(), shipment.windowStart(), e.getMessage());
+                return shipped;
+            }
+            buffer.poll();
+        }
+        return shipped;
+    }
+
+    /**
+     * @return 전송 대기 중인 스케치 수
+     */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+}
@@ -0,0 +1,112 @@
+package app.statistics.application;
+
+import app.statistics.model.enums.TaskType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 작업 유형별 스트림 처리 파이프라인의 Micrometer 지표를 묶은 클래스
+ * <p>
+ *     모든 지표에는 {@code task} 태그로 작업 유형이 붙으며, Actuator의 {@code /actuator/prometheus}로 노출된다.
+ *     <ul>
+ *         <li>{@code ell.queue.depth}: 이벤트 큐에 쌓인 해시 값 수</li>
+ *         <li>{@code ell.queue.enqueued}: 이벤트 큐에 추가된 해시 값 수 (유입량)</li>
+ *         <li>{@code ell.sketch.events}: 스케치에 추가된 해시 값 수 (처리량)</li>
+ *         <li>{@code ell.processor.phase}: 배치 처리 단계별 소요 시간 ({@code phase} 태그: partition, add, merge, estimate)</li>
+ *         <li>{@code ell.window.roll}: 마지막 배치 처리부터 결과 전달까지의 윈도우 종료 소요 시간</li>
+ *         <li>{@code executor.*} ({@code name=ell.processor}): 배치 처리 스레드 풀의 활성 스레드 수와 대기 작업 수</li>
+ *     </ul>
+ * </p>
+ * @implNote 유입량이 처리량보다 꾸준히 크거나 윈도우 종료 시간이 1분에 가까워지면 다음 윈도우와 겹치기 전에 용량을 늘려야 한다.
+ */
+@Getter
+public final class StreamMetrics {
+    private static final String EXECUTOR_NAME = "ell.processor";
+
+    private final Counter enqueuedEvents;
+    private final Counter addedEvents;
+    private final Timer partitionTimer;
+    private final Timer addTimer;
+    private final Timer mergeTimer;
+    private final Timer estimateTimer;
+    private final Timer rollTimer;
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+
+    private StreamMetrics(MeterRegistry registry, Tags tags) {
+        this.registry = registry;
+        this.tags = tags;
+        this.enqueuedEvents = Counter.builder("ell.queue.enqueued")
+                .description("Hashes added to the event queue")
+                .tags(tags)
+                .register(registry);
+        this.addedEvents = Counter.builder("ell.sketch.events")
+                .description("Hashes added to the window sketch")
+                .tags(tags)
+                .register(registry);
+        this.partitionTimer = phaseTimer("partition");
+        this.addTimer = phaseTimer("add");
+        this.mergeTimer = phaseTimer("merge");
+        this.estimateTimer = phaseTimer("estimate");
+        this.rollTimer = Timer.builder("ell.window.roll")
+                .description("Time to drain, roll and hand off a window")
+                .tags(tags)
+                .register(registry);
+    }
+
+    /**
+     * @param registry 지표를 등록할 레지스트리
+     * @param taskType 작업 유형
+     * @return 작업 유형 태그가 붙은 지표
+     */
+    public static StreamMetrics of(MeterRegistry registry, TaskType taskType) {
+        return new StreamMetrics(registry, Tags.of("task", taskType.name()));
+    }
+
+    /**
+     * @implNote 시뮬레이션처럼 레지스트리가 없는 곳에서 사용하며, 모든 지표를 기록하지 않는다.
+     * @return 아무것도 기록하지 않는 지표
+     */
+    public static StreamMetrics noop() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(MeterFilter.deny());
+        return new StreamMetrics(registry, Tags.empty());
+    }
+
+    /**
+     * 이벤트 큐의 크기를 {@code ell.queue.depth} 게이지로 등록하는 메서드
+     * @param queue 이벤트 큐
+     */
+    public void bindQueue(EventQueue queue) {
+        Gauge.builder("ell.queue.depth", queue, EventQueue::size)
+                .description("Hashes waiting in the event queue")
+                .tags(tags)
+                .register(registry);
+    }
+
+    /**
+     * 배치 처리 스레드 풀의 포화도 지표를 등록하는 메서드
+     * @param executor 배치 처리 스레드 풀
+     */
+    public void bindExecutor(ThreadPoolExecutor executor) {
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, tags).bindTo(registry);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("ell.processor.phase")
+                .description("Time spent in each batch processing phase")
+                .tags(tags)
+                .tag("phase", phase)
+                .register(registry);
+    }
+}
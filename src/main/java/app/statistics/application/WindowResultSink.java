@@ -0,0 +1,32 @@
+package app.statistics.application;
+
+import app.statistics.model.WindowResult;
+
+/**
+ * {@link AbstractDataStreamService}가 종료한 윈도우의 결과를 전달받는 인터페이스
+ * <p>
+ *     {@code ell.cluster.role} 설정에 따라 하나의 구현체만 사용된다.
+ *     <ul>
+ *         <li>{@code standalone}: {@link LocalWindowResultSink} - 결과를 바로 저장하고 발행한다.</li>
+ *         <li>{@code ingest}: {@link SketchShipper} - 결과를 집계 노드로 전송한다.</li>
+ *         <li>{@code aggregator}: {@link ClusterWindowAggregator} - 수집 노드의 결과와 병합한 후 저장하고 발행한다.</li>
+ *     </ul>
+ * </p>
+ */
+public interface WindowResultSink {
+
+    /**
+     * 종료된 윈도우의 결과를 전달하는 메서드
+     * @implSpec 배치 스레드에서 호출되므로 대기하지 않아야 한다.
+     * @param windowResult 종료된 윈도우의 집계 결과
+     */
+    void submit(WindowResult windowResult);
+
+    /**
+     * @return 윈도우 결과에 토큰 목록({@link WindowResult#tokens()})이 필요한지 여부
+     * @implNote 토큰 수집은 윈도우마다 정렬 비용이 들기 때문에 토큰 형식으로 전송하는 구현체만 요청한다.
+     */
+    default boolean collectsTokens() {
+        return false;
+    }
+}
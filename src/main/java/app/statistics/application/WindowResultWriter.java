@@ -0,0 +1,205 @@
+package app.statistics.application;
+
+import app.statistics.infra.MementoStore;
+import app.statistics.model.SketchTokens;
+import app.statistics.model.WindowResult;
+import app.statistics.sketch.MemoryEstimates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 종료된 윈도우의 결과를 비동기로 저장하는 write-behind 서비스
+ * <p>
+ *     배치 스레드는 {@link #submit(WindowResult)}로 결과를 버퍼에 추가한 후 바로 다음 윈도우를 처리하고,
+ *     버퍼에 쌓인 모든 지표의 결과는 {@link #flush()}에서 묶어서 {@link MementoStore}에 저장한다.
+ * </p>
+ * @implSpec 버퍼는 결과 수가 아닌 스케치의 추정 크기 합계({@code ell.persistence.buffer-max-bytes})로 제한되며,
+ * 가득 찬 경우 새로운 결과는 저장하지 않고 버린다. 재시도 중인 배치도 저장되거나 버려질 때까지 버퍼 크기에 포함한다.
+ * 버퍼의 최대 크기는 생성 시점에 {@link SketchMemoryBudget}에 예약한다.
+ * 저장에 실패한 배치는 지수적으로 증가하는 간격으로 재시도하며, 최대 횟수를 넘으면 버린다.
+ * 저장에 성공한 배치는 {@link WindowResultsPersistedEvent}로 발행한다.
+ * 버퍼 크기({@code ell.persistence.queue.depth}, {@code ell.persistence.queue.bytes}), 배치 저장 시간({@code ell.persistence.save}, {@code outcome} 태그),
+ * 실패한 저장 시도({@code ell.persistence.failures})와 버린 결과 수({@code ell.persistence.dropped}, {@code reason} 태그)를 지표로 기록한다.
+ * @see app.statistics.presentation.WindowResultFlushBatch WindowResultFlushBatch
+ */
+@Slf4j
+@Service
+public class WindowResultWriter {
+    private static final int MAX_RETRY_ATTEMPTS = 5;
+    private static final long MAX_RETRY_BACKOFF_MS = 60_000L;
+    private static final String MEMORY_COMPONENT = "persistence-buffer";
+
+    private final MementoStore mementoStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<WindowResult> buffer = new LinkedBlockingQueue<>();
+    private final AtomicLong bufferedBytes = new AtomicLong(); // 버퍼와 재시도 대기 중인 배치의 추정 크기 합계
+    private final long bufferMaxBytes;
+    private final int batchSize;
+    private final long retryBackoffMs;
+    private final Timer saveSuccessTimer;
+    private final Timer saveFailureTimer;
+    private final Counter saveFailures;
+    private final Counter droppedBufferFull;
+    private final Counter droppedRetriesExhausted;
+
+    private List<WindowResult> pendingBatch = List.of(); // 저장 대기 중이거나 재시도 중인 배치
+    private int failedAttempts;
+    private long nextAttemptAtMs;
+
+    public WindowResultWriter(MementoStore mementoStore,
+                              @Value("${ell.persistence.buffer-max-bytes:32MB}") DataSize bufferMaxSize,
+                              @Value("${ell.persistence.batch-size:100}") int batchSize,
+                              @Value("${ell.persistence.retry-backoff-ms:1000}") long retryBackoffMs,
+                              SketchMemoryBudget memoryBudget,
+                              MeterRegistry meterRegistry,
+                              ApplicationEventPublisher eventPublisher) {
+        this.mementoStore = mementoStore;
+        this.eventPublisher = eventPublisher;
+        this.bufferMaxBytes = bufferMaxSize.toBytes();
+        memoryBudget.reserve(MEMORY_COMPONENT, bufferMaxBytes);
+        this.batchSize = batchSize;
+        this.retryBackoffMs = retryBackoffMs;
+        this.saveSuccessTimer = saveTimer(meterRegistry, "success");
+        this.saveFailureTimer = saveTimer(meterRegistry, "failure");
+        this.saveFailures = Counter.builder("ell.persistence.failures")
+                .description("Failed attempts to persist a batch of window results")
+                .register(meterRegistry);
+        this.droppedBufferFull = droppedCounter(meterRegistry, "buffer_full");
+        this.droppedRetriesExhausted = droppedCounter(meterRegistry, "retries_exhausted");
+        Gauge.builder("ell.persistence.queue.depth", buffer, BlockingQueue::size)
+                .description("Window results waiting in the persistence buffer")
+                .register(meterRegistry);
+        Gauge.builder("ell.persistence.queue.bytes", bufferedBytes, AtomicLong::get)
+                .description("Estimated size of window results waiting to be persisted")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 윈도우 결과를 저장 버퍼에 추가하는 메서드
+     * @implNote 버퍼가 가득 차도 호출 스레드를 대기시키지 않는다.
+     * @param windowResult 종료된 윈도우의 집계 결과
+     * @return 버퍼에 추가되었는지 여부
+     */
+    public boolean submit(WindowResult windowResult) {
+        long bytes = estimateBytes(windowResult);
+        if (bufferedBytes.addAndGet(bytes) > bufferMaxBytes) {
+            bufferedBytes.addAndGet(-bytes);
+            log.error("ELL_:ERR_:PRST::: Persistence buffer is full. Dropping {} window finished at {}",
+                    windowResult.taskMemento().getTaskType(), windowResult.taskMemento().getFinishedAt());
+            droppedBufferFull.increment();
+            return false;
+        }
+        buffer.add(windowResult);
+        return true;
+    }
+
+    /**
+     * 버퍼에 쌓인 결과를 배치 단위로 저장하는 메서드
+     * @implSpec 저장에 실패하면 재시도 대기 시간이 지날 때까지 이후 배치도 저장하지 않고 반환한다.
+     * @return 이번 호출에서 저장한 결과 수
+     */
+    public synchronized int flush() {
+        int flushed = 0;
+        while (System.currentTimeMillis() >= nextAttemptAtMs) {
+            if (pendingBatch.isEmpty()) {
+                List<WindowResult> batch = new ArrayList<>(batchSize);
+                buffer.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                pendingBatch = batch;
+            }
+
+            long saveStart = System.nanoTime();
+            try {
+                mementoStore.saveAll(pendingBatch);
+                saveSuccessTimer.record(System.nanoTime() - saveStart, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                saveFailureTimer.record(System.nanoTime() - saveStart, TimeUnit.NANOSECONDS);
+                handleFailure(e);
+                break;
+            }
+            List<WindowResult> persisted = pendingBatch;
+            flushed += persisted.size();
+            releasePendingBatch();
+            failedAttempts = 0;
+            eventPublisher.publishEvent(new WindowResultsPersistedEvent(persisted));
+        }
+        return flushed;
+    }
+
+    /**
+     * @return 버퍼와 재시도 대기 중인 배치에 남아 있는 결과 수
+     */
+    public synchronized int getPendingCount() {
+        return buffer.size() + pendingBatch.size();
+    }
+
+    private void handleFailure(Exception e) {
+        failedAttempts++;
+        saveFailures.increment();
+        if (failedAttempts >= MAX_RETRY_ATTEMPTS) {
+            log.error("ELL_:ERR_:PRST::: Dropping {} window results after {} failed attempts: {}",
+                    pendingBatch.size(), failedAttempts, e.getMessage());
+            droppedRetriesExhausted.increment(pendingBatch.size());
+            releasePendingBatch();
+            failedAttempts = 0;
+            return;
+        }
+        long backoff = Math.min(retryBackoffMs << (failedAttempts - 1), MAX_RETRY_BACKOFF_MS);
+        nextAttemptAtMs = System.currentTimeMillis() + backoff;
+        log.warn("ELL_:WARN:PRST::: Failed to persist {} window results (attempt {}). Retrying in {} ms: {}",
+                pendingBatch.size(), failedAttempts, backoff, e.getMessage());
+    }
+
+    /**
+     * @return 버퍼와 재시도 대기 중인 배치에 남아 있는 결과의 추정 크기 합계 (바이트)
+     */
+    public long getPendingBytes() {
+        return bufferedBytes.get();
+    }
+
+    private void releasePendingBatch() {
+        long bytes = 0;
+        for (WindowResult windowResult : pendingBatch) {
+            bytes += estimateBytes(windowResult);
+        }
+        bufferedBytes.addAndGet(-bytes);
+        pendingBatch = List.of();
+    }
+
+    private static long estimateBytes(WindowResult windowResult) {
+        SketchTokens tokens = windowResult.tokens();
+        return windowResult.sketch().estimatedMemoryBytes()
+                + (tokens == null ? 0 : MemoryEstimates.arrayBytes(tokens.tokens().length, Integer.BYTES));
+    }
+
+    private static Timer saveTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("ell.persistence.save")
+                .description("Time to persist a batch of window results")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("ell.persistence.dropped")
+                .description("Window results dropped without being persisted")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package app.statistics.application;
+
+import app.statistics.model.WindowResult;
+
+import java.util.List;
+
+/**
+ * 윈도우 결과가 저장소에 저장되었음을 알리는 애플리케이션 이벤트
+ * <p>
+ *     {@link WindowResultWriter}가 배치 저장에 성공할 때마다 발행한다.
+ *     {@link SketchRollupService}는 이 이벤트로 이미 상위 단위로 병합된 구간에 늦게 저장된 1분 스케치를 찾아 상위 스케치에 반영한다.
+ * </p>
+ * @param windowResults 저장된 윈도우 결과 목록
+ */
+public record WindowResultsPersistedEvent(List<WindowResult> windowResults) {
+}
@@ -0,0 +1,41 @@
+package app.statistics.application;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@link ELLStreamProcessor#rollWindow(app.statistics.model.enums.TaskType, java.time.LocalDateTime, long, long)} 한 번의 윈도우 종료를 기록하는 JFR 이벤트
+ * <p>추정 시간은 같은 스레드의 {@code ell.SketchEstimate} 이벤트에서 확인할 수 있다.</p>
+ */
+@Name("ell.WindowRoll")
+@Label("Window Roll")
+@Category({"ELL", "Stream"})
+@Description("Estimation and reset of a finished one-minute window")
+@StackTrace(false)
+final class WindowRollJfrEvent extends Event {
+    @Label("Task Type")
+    String taskType;
+
+    @Label("p")
+    int p;
+
+    @Label("t")
+    int t;
+
+    @Label("d")
+    int d;
+
+    @Label("Distinct Count")
+    double distinctCount;
+
+    @Label("Heavy Hitters")
+    int heavyHitterCount;
+
+    @Label("Token Count")
+    @Description("Tokens collected for compact transport, -1 if the window is shipped as registers")
+    int tokenCount;
+}
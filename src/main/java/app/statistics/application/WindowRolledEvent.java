@@ -0,0 +1,11 @@
+package app.statistics.application;
+
+import app.statistics.model.TaskMemento;
+
+/**
+ * 윈도우가 종료되어 {@link TaskMemento}가 생성되었음을 알리는 애플리케이션 이벤트
+ * <p>{@link WindowResultSink}가 윈도우 결과를 저장할 때마다 발행하며, 이상 탐지와 같은 후속 처리가 이 이벤트를 구독한다.</p>
+ * @param taskMemento 완료된 윈도우의 태스크 결과
+ */
+public record WindowRolledEvent(TaskMemento taskMemento) {
+}
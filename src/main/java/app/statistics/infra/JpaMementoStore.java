@@ -0,0 +1,62 @@
+package app.statistics.infra;
+
+import app.statistics.model.MementoPoint;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.WindowSketch;
+import app.statistics.model.enums.TaskType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MySQL에 윈도우 결과를 저장하는 {@link MementoStore} 구현체
+ * @implSpec {@link TaskMementoRepository}와 {@link WindowSketchRepository}를 사용하며,
+ * 여러 지표의 Memento와 1분 스케치를 하나의 트랜잭션으로 저장한다.
+ * 식별자는 시퀀스 방식으로 미리 할당되므로 Hibernate JDBC 배치에 의해 다중 행 INSERT로 전송된다.
+ * 롤백된 트랜잭션에서 할당된 식별자가 남지 않도록 매 호출마다 새로운 엔티티({@link TaskMemento#copy()})를 저장하므로,
+ * 실패한 배치를 그대로 다시 전달하여 재시도할 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ell.storage.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaMementoStore implements MementoStore {
+    private final TaskMementoRepository taskMementoRepository;
+    private final WindowSketchRepository windowSketchRepository;
+
+    @Override
+    @Transactional
+    public void saveAll(List<WindowResult> windowResults) {
+        List<TaskMemento> taskMementos = new ArrayList<>(windowResults.size());
+        List<WindowSketch> windowSketches = new ArrayList<>(windowResults.size());
+        for (WindowResult windowResult : windowResults) {
+            TaskMemento taskMemento = windowResult.taskMemento().copy();
+            taskMementos.add(taskMemento);
+            windowSketches.add(WindowSketch.of(taskMemento, windowResult.windowStart(), windowResult.sketch()));
+        }
+        taskMementoRepository.saveAll(taskMementos);
+        windowSketchRepository.saveAll(windowSketches);
+    }
+
+    @Override
+    public List<TaskMemento> findAllAfter(TaskType taskType, LocalDateTime finishedAt) {
+        return taskMementoRepository.findAllByTaskTypeAndFinishedAtAfterOrderByFinishedAtAsc(taskType, finishedAt);
+    }
+
+    @Override
+    public List<TaskMemento> findWithHeavyHittersAfter(TaskType taskType, LocalDateTime finishedAt) {
+        return taskMementoRepository.findWithHeavyHittersByTaskTypeAndFinishedAtAfterOrderByFinishedAtAsc(taskType, finishedAt);
+    }
+
+    @Override
+    public List<MementoPoint> findPoints(TaskType taskType, LocalDateTime after, Long afterId, LocalDateTime to,
+                                         int limit) {
+        return taskMementoRepository.findPoints(taskType, after, afterId, to, Limit.of(limit));
+    }
+}
@@ -0,0 +1,90 @@
+package app.statistics.infra;
+
+import app.statistics.model.WindowSketch;
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * MySQL에 윈도우 스케치를 저장하는 {@link SketchStore} 구현체
+ * @implSpec 메타데이터 조회는 BLOB 컬럼을 읽지 않는 {@link SketchBucket} 프로젝션을 사용하고,
+ * 스케치는 필요한 행만 식별자로 한 번에 불러온다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ell.storage.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaSketchStore implements SketchStore {
+    private final WindowSketchRepository windowSketchRepository;
+
+    @Override
+    public List<SketchBucket> findBuckets(TaskType taskType, LocalDateTime from, LocalDateTime to) {
+        return windowSketchRepository
+                .findBucketsByTaskTypeAndWindowStartGreaterThanEqualAndWindowEndLessThanEqual(taskType, from, to);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExaLogLog> loadAll(TaskType taskType, List<SketchBucket> buckets) {
+        List<Long> ids = buckets.stream().map(SketchBucket::getId).toList();
+        Map<Long, ExaLogLog> sketches = new HashMap<>();
+        windowSketchRepository.findAllById(ids)
+                .forEach(windowSketch -> sketches.put(windowSketch.getId(), windowSketch.toExaLogLog()));
+
+        List<ExaLogLog> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            result.add(sketches.get(id));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExaLogLog> loadRange(TaskType taskType, SketchResolution resolution,
+                                     LocalDateTime from, LocalDateTime to) {
+        return windowSketchRepository
+                .findAllByTaskTypeAndResolutionAndWindowStartGreaterThanEqualAndWindowEndLessThanEqual(
+                        taskType, resolution, from, to)
+                .stream()
+                .map(WindowSketch::toExaLogLog)
+                .toList();
+    }
+
+    @Override
+    public Optional<SketchBucket> findLatest(TaskType taskType, SketchResolution resolution) {
+        return windowSketchRepository.findFirstByTaskTypeAndResolutionOrderByWindowEndDesc(taskType, resolution);
+    }
+
+    @Override
+    public Optional<SketchBucket> findEarliestFrom(TaskType taskType, SketchResolution resolution, LocalDateTime from) {
+        if (from == null) {
+            return windowSketchRepository.findFirstByTaskTypeAndResolutionOrderByWindowStartAsc(taskType, resolution);
+        }
+        return windowSketchRepository
+                .findFirstByTaskTypeAndResolutionAndWindowStartGreaterThanEqualOrderByWindowStartAsc(
+                        taskType, resolution, from);
+    }
+
+    @Override
+    @Transactional
+    public void saveRollup(TaskType taskType, SketchResolution resolution, LocalDateTime windowStart, ExaLogLog sketch) {
+        windowSketchRepository.deleteWindow(taskType, resolution, windowStart);
+        windowSketchRepository.save(WindowSketch.rollup(taskType, resolution, windowStart, sketch));
+    }
+
+    @Override
+    @Transactional
+    public int deleteEndingBefore(TaskType taskType, SketchResolution resolution, LocalDateTime before) {
+        return windowSketchRepository.deleteAllEndingBefore(taskType, resolution, before);
+    }
+}
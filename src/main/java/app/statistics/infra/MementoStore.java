@@ -0,0 +1,59 @@
+package app.statistics.infra;
+
+import app.statistics.model.MementoPoint;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.TaskType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 윈도우 결과({@link TaskMemento})를 저장하고 조회하는 저장소 인터페이스
+ * <p>
+ *     {@code ell.storage.type} 설정에 따라 MySQL을 사용하는 {@link JpaMementoStore} 또는
+ *     외부 데이터베이스 없이 로컬 세그먼트 파일을 사용하는
+ *     {@link app.statistics.infra.segment.SegmentMementoStore SegmentMementoStore}가 사용된다.
+ * </p>
+ * @implSpec 조회 결과는 항상 완료 시각 오름차순으로 정렬되어야 한다.
+ */
+public interface MementoStore {
+
+    /**
+     * 윈도우 결과를 저장하는 메서드
+     * @implSpec Memento와 함께 윈도우의 1분 스케치도 저장해야 한다.
+     * 저장에 실패하면 {@link app.statistics.application.WindowResultWriter WindowResultWriter}가 같은 목록으로 다시 호출하므로,
+     * 실패한 시도에서 결과에 남긴 상태(예: 할당된 식별자)가 재시도에 영향을 주어서는 안 된다.
+     * @param windowResults 종료된 윈도우의 집계 결과 목록
+     */
+    void saveAll(List<WindowResult> windowResults);
+
+    /**
+     * 지정한 시각 이후에 완료된 Memento 목록을 조회하는 메서드
+     * @param taskType 조회할 작업 유형
+     * @param finishedAt 조회 시작 시각 (미포함)
+     * @return 완료 시각 오름차순으로 정렬된 Memento 목록
+     */
+    List<TaskMemento> findAllAfter(TaskType taskType, LocalDateTime finishedAt);
+
+    /**
+     * 지정한 시각 이후에 완료된 Memento 목록을 Heavy Hitter 목록과 함께 조회하는 메서드
+     * @param taskType 조회할 작업 유형
+     * @param finishedAt 조회 시작 시각 (미포함)
+     * @return 완료 시각 오름차순으로 정렬된 Memento 목록
+     */
+    List<TaskMemento> findWithHeavyHittersAfter(TaskType taskType, LocalDateTime finishedAt);
+
+    /**
+     * 커서 (after, afterId) 이후부터 {@code to}까지의 시계열을 조회하는 메서드
+     * @implSpec 포인트는 (완료 시각, {@link MementoPoint#id()}) 순서로 정렬되어야 하며, {@code id}는 완료 시각이 같은 포인트 사이에서 고유해야 한다.
+     * 따라서 페이지 경계에 완료 시각이 같은 포인트가 있어도 다음 페이지에서 건너뛰거나 반복하지 않는다.
+     * @param taskType 조회할 작업 유형
+     * @param after 조회 시작 시각
+     * @param afterId 이전 페이지의 마지막 포인트의 {@code id}, {@code null}이면 {@code after}에 완료된 포인트를 모두 제외한다.
+     * @param to 조회 종료 시각 (포함)
+     * @param limit 최대 포인트 수
+     * @return (완료 시각, id) 오름차순으로 정렬된 시계열
+     */
+    List<MementoPoint> findPoints(TaskType taskType, LocalDateTime after, Long afterId, LocalDateTime to, int limit);
+}
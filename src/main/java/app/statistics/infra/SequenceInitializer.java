@@ -0,0 +1,49 @@
+package app.statistics.infra;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 엔티티 식별자 시퀀스를 기존 테이블의 최대 식별자보다 크게 맞추는 초기화 클래스
+ * <p>
+ *     {@link app.statistics.model.TaskMemento TaskMemento}와 {@link app.statistics.model.WindowSketch WindowSketch}의
+ *     식별자는 IDENTITY 방식에서 시퀀스 방식으로 변경되었다. {@code ddl-auto: update}는 시퀀스 테이블을 초기값 1로 새로 만들 뿐이므로,
+ *     이전 방식으로 저장된 행이 있으면 새로 할당한 식별자가 기존 행과 충돌한다.
+ * </p>
+ * @implSpec 스키마 갱신이 끝난 후, 스케줄링이 시작되어 윈도우 결과를 저장하기 전에 실행된다.
+ * MySQL은 시퀀스를 지원하지 않으므로 Hibernate가 만드는 {@code next_val} 컬럼 하나를 가진 테이블을 갱신하며,
+ * 이미 최대 식별자보다 큰 값은 그대로 둔다.
+ * @implNote pooled 최적화기는 읽은 값보다 할당 크기만큼 작은 값부터 식별자를 할당하므로, 최대 식별자에 할당 크기를 더한 값으로 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "ell.storage.type", havingValue = "jpa", matchIfMissing = true)
+public class SequenceInitializer {
+    private static final int ALLOCATION_SIZE = 50; // 엔티티의 @SequenceGenerator allocationSize
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        advance("task_memento_seq", "task_memento");
+        advance("window_sketch_seq", "window_sketch");
+    }
+
+    private void advance(String sequenceTable, String entityTable) {
+        long nextValue = jdbcTemplate.queryForObject(
+                "select coalesce(max(id), 0) + " + (ALLOCATION_SIZE + 1) + " from " + entityTable, Long.class);
+        int updated = jdbcTemplate.update(
+                "update " + sequenceTable + " set next_val = greatest(next_val, ?)", nextValue);
+        if (updated == 0) {
+            jdbcTemplate.update("insert into " + sequenceTable + " (next_val) values (?)", nextValue);
+        }
+        log.info("ELL_:SEQ_:INIT::: Advanced {} to at least {}", sequenceTable, nextValue);
+    }
+}
@@ -0,0 +1,19 @@
+package app.statistics.infra;
+
+import app.statistics.model.enums.SketchResolution;
+
+import java.time.LocalDateTime;
+
+/**
+ * 압축된 스케치 데이터를 제외한 {@link app.statistics.model.WindowSketch WindowSketch}의 메타데이터 프로젝션
+ * @implSpec 조회 계획을 세울 때 BLOB 컬럼을 읽지 않도록 필요한 컬럼만 조회한다.
+ */
+public interface SketchBucket {
+    Long getId();
+
+    SketchResolution getResolution();
+
+    LocalDateTime getWindowStart();
+
+    LocalDateTime getWindowEnd();
+}
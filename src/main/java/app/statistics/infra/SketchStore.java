@@ -0,0 +1,86 @@
+package app.statistics.infra;
+
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 단위별 윈도우 스케치를 저장하고 조회하는 저장소 인터페이스
+ * <p>
+ *     1분 스케치는 {@link MementoStore#saveAll(List)}에서 Memento와 함께 저장되고,
+ *     상위 단위 스케치는 병합(rollup) 시 {@link #saveRollup}으로 저장된다.
+ * </p>
+ * @see JpaSketchStore
+ * @see app.statistics.infra.segment.SegmentSketchStore SegmentSketchStore
+ */
+public interface SketchStore {
+
+    /**
+     * [from, to] 구간에 포함된 모든 단위의 스케치 메타데이터를 조회하는 메서드
+     * @param taskType 작업 유형
+     * @param from 구간 시작 시각 (windowStart 하한, 포함)
+     * @param to 구간 종료 시각 (windowEnd 상한, 포함)
+     * @return 스케치 메타데이터 목록
+     */
+    List<SketchBucket> findBuckets(TaskType taskType, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 메타데이터에 해당하는 스케치를 불러오는 메서드
+     * @param taskType 작업 유형
+     * @param buckets {@link #findBuckets}로 조회한 메타데이터 목록
+     * @return 메타데이터와 같은 순서의 스케치 목록
+     */
+    List<ExaLogLog> loadAll(TaskType taskType, List<SketchBucket> buckets);
+
+    /**
+     * [from, to] 구간에 포함된 한 단위의 스케치를 불러오는 메서드
+     * @param taskType 작업 유형
+     * @param resolution 집계 단위
+     * @param from 구간 시작 시각 (windowStart 하한, 포함)
+     * @param to 구간 종료 시각 (windowEnd 상한, 포함)
+     * @return 구간 시작 시각 순서의 스케치 목록
+     */
+    List<ExaLogLog> loadRange(TaskType taskType, SketchResolution resolution, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * 구간 종료 시각이 가장 늦은 스케치의 메타데이터를 조회하는 메서드
+     * @param taskType 작업 유형
+     * @param resolution 집계 단위
+     * @return 가장 최근 스케치의 메타데이터
+     */
+    Optional<SketchBucket> findLatest(TaskType taskType, SketchResolution resolution);
+
+    /**
+     * 지정한 시각 이후에 시작하는 가장 이른 스케치의 메타데이터를 조회하는 메서드
+     * @param taskType 작업 유형
+     * @param resolution 집계 단위
+     * @param from 구간 시작 시각 하한 (포함, null이면 가장 이른 스케치)
+     * @return 가장 이른 스케치의 메타데이터
+     */
+    Optional<SketchBucket> findEarliestFrom(TaskType taskType, SketchResolution resolution, LocalDateTime from);
+
+    /**
+     * 병합된 상위 단위 스케치를 저장하는 메서드
+     * @implSpec 같은 구간의 스케치가 이미 있는 경우 새로운 스케치로 대체한다.
+     * @param taskType 작업 유형
+     * @param resolution 병합 결과의 집계 단위
+     * @param windowStart 단위에 맞게 정렬된 구간 시작 시각
+     * @param sketch 병합된 스케치
+     */
+    void saveRollup(TaskType taskType, SketchResolution resolution, LocalDateTime windowStart, ExaLogLog sketch);
+
+    /**
+     * 구간 종료 시각이 지정한 시각 이전인 스케치를 삭제하는 메서드
+     * @implSpec 구현체는 저장 단위에 따라 조건을 만족하는 스케치 중 일부만 삭제할 수 있지만,
+     * 조건을 만족하지 않는 스케치를 삭제해서는 안 된다.
+     * @param taskType 작업 유형
+     * @param resolution 집계 단위
+     * @param before 구간 종료 시각 상한 (포함)
+     * @return 삭제된 스케치 수
+     */
+    int deleteEndingBefore(TaskType taskType, SketchResolution resolution, LocalDateTime before);
+}
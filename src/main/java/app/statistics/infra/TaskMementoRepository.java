@@ -1,8 +1,13 @@
 package app.statistics.infra;
 
+import app.statistics.model.MementoPoint;
 import app.statistics.model.TaskMemento;
 import app.statistics.model.enums.TaskType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -11,9 +16,35 @@ import java.util.List;
 /**
  * TaskMemento 엔티티에 대한 JPA 리포지토리 인터페이스
  * @implSpec Spring Data JPA의 JpaRepository를 확장하여 기본 CRUD 및 쿼리 메서드를 제공한다.
+ * 시계열 조회는 엔티티 대신 {@link MementoPoint} 프로젝션을 사용한다.
  * @see TaskMemento
  */
 @Repository
 public interface TaskMementoRepository extends JpaRepository<TaskMemento, Long> {
     List<TaskMemento> findAllByTaskTypeAndFinishedAtAfter(TaskType taskType, LocalDateTime finishedAt);
+
+    List<TaskMemento> findAllByTaskTypeAndFinishedAtAfterOrderByFinishedAtAsc(TaskType taskType, LocalDateTime finishedAt);
+
+    /**
+     * Heavy Hitter 컬렉션을 함께 조회하는 메서드
+     * @implNote 엔티티 그래프를 사용하여 윈도우마다 추가 쿼리가 발생하지 않도록 한다.
+     */
+    @EntityGraph(attributePaths = "heavyHitters")
+    List<TaskMemento> findWithHeavyHittersByTaskTypeAndFinishedAtAfterOrderByFinishedAtAsc(TaskType taskType,
+                                                                                         LocalDateTime finishedAt);
+
+    /**
+     * 커서 (after, afterId) 이후부터 {@code to}까지의 시계열을 (완료 시각, 식별자) 순서로 조회하는 메서드
+     * @implNote (taskType, finishedAt) 복합 인덱스의 범위 탐색으로 처리되며, 이전 페이지의 마지막 완료 시각과 식별자를
+     * 커서로 전달하는 키셋 페이지네이션이므로 이력이 늘어나도 조회 비용은 페이지 크기에만 비례한다.
+     * InnoDB의 보조 인덱스는 기본 키를 포함하므로 같은 완료 시각 안의 식별자 정렬도 인덱스 순서와 같다.
+     * {@code afterId}가 {@code null}이면 식별자 비교가 참이 되지 않으므로 {@code after}에 완료된 행은 모두 제외된다.
+     */
+    @Query("select new app.statistics.model.MementoPoint(m.finishedAt, m.distinctCount, m.processingTimeMs, m.id) " +
+            "from TaskMemento m " +
+            "where m.taskType = :taskType and m.finishedAt >= :after and m.finishedAt <= :to " +
+            "and (m.finishedAt > :after or m.id > :afterId) " +
+            "order by m.finishedAt asc, m.id asc")
+    List<MementoPoint> findPoints(@Param("taskType") TaskType taskType, @Param("after") LocalDateTime after,
+                                  @Param("afterId") Long afterId, @Param("to") LocalDateTime to, Limit limit);
 }
@@ -0,0 +1,201 @@
+package app.statistics.infra;
+
+import app.statistics.model.CheckpointPage;
+import app.statistics.model.WindowCheckpoint;
+import app.statistics.model.enums.CheckpointSection;
+import app.statistics.model.enums.TaskType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * 진행 중인 윈도우의 상태를 로컬 디스크에 기록하는 체크포인트 저장소
+ * <p>
+ *     작업 유형마다 하나의 추가 전용 로그 파일({@code <taskType>.ckpt})을 사용하며,
+ *     체크포인트마다 마지막 체크포인트 이후 변경된 구간({@link CheckpointPage})만 레코드로 추가한다.
+ *     복원 시에는 레코드를 순서대로 적용하여 마지막 체크포인트 시점의 상태를 만든다.
+ * </p>
+ * <p>
+ *     파일 형식: {@code [int MAGIC][long 윈도우 시작 시각]} 헤더 뒤에
+ *     {@code [int 길이][int CRC32][(byte 종류, int 상태 길이, int 위치, int 구간 길이, 구간)...]} 레코드가 이어진다.
+ * </p>
+ * @implSpec 새로운 로그({@code rewrite})는 임시 파일에 기록하고 디스크에 동기화한 후 원자적으로 이름을 변경하므로,
+ * 기록 도중 프로세스가 종료되어도 직전 로그가 손상되지 않는다. 추가한 레코드가 끝까지 기록되지 않은 경우
+ * 복원 시 CRC 검사로 그 레코드부터 무시하므로 직전 체크포인트까지 복원된다.
+ */
+@Slf4j
+@Component
+public class WindowCheckpointStore {
+    private static final int MAGIC = 0x454C4C4A; // "ELLJ"
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int PAGE_HEADER_SIZE = 1 + 3 * Integer.BYTES;
+    private static final String EXTENSION = ".ckpt";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private final Path directory;
+
+    public WindowCheckpointStore(@Value("${ell.checkpoint.dir:checkpoints}") Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("체크포인트 디렉터리를 생성할 수 없습니다: " + directory, e);
+        }
+    }
+
+    /**
+     * 변경된 구간을 체크포인트 로그에 기록하는 메서드
+     * @param taskType 작업 유형
+     * @param windowStart 기록하는 윈도우의 시작 시각
+     * @param pages 마지막 체크포인트 이후 변경된 구간 목록
+     * @param rewrite 기존 로그를 버리고 새로운 로그를 시작할지 여부 (구간 목록이 상태 전체를 담고 있어야 한다)
+     * @return 기록 후 로그 파일의 크기 (바이트)
+     * @throws IOException 파일 기록에 실패한 경우 (직전 체크포인트까지는 복원할 수 있으며, 다음 기록은 새로운 로그로 시작해야 한다)
+     */
+    public long append(TaskType taskType, LocalDateTime windowStart, List<CheckpointPage> pages, boolean rewrite)
+            throws IOException {
+        ByteBuffer record = encode(pages);
+        Path target = pathOf(taskType);
+        if (!rewrite) {
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(record);
+                channel.force(false);
+                return channel.size();
+            }
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putLong(windowStart.toEpochSecond(ZoneOffset.UTC))
+                .flip();
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_EXTENSION);
+        long size;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(new ByteBuffer[]{header, record});
+            channel.force(false);
+            size = channel.size();
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return size;
+    }
+
+    /**
+     * 체크포인트 로그를 순서대로 적용하여 마지막 체크포인트의 상태를 불러오는 메서드
+     * @param taskType 작업 유형
+     * @return 저장된 체크포인트, 없거나 헤더가 손상된 경우 빈 값
+     */
+    public Optional<WindowCheckpoint> load(TaskType taskType) {
+        Path path = pathOf(taskType);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                log.warn("ELL_:WARN:CKPT::: Ignoring malformed checkpoint {}", path);
+                return Optional.empty();
+            }
+            LocalDateTime windowStart = LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC);
+            Map<CheckpointSection, byte[]> sections = new EnumMap<>(CheckpointSection.class);
+            int records = 0;
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < 0 || length > buffer.remaining() || checksum != checksum(buffer, length)) {
+                    log.warn("ELL_:WARN:CKPT::: Ignoring torn checkpoint record {} of {}", records, path);
+                    break;
+                }
+                ByteBuffer record = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                apply(record, sections);
+                records++;
+            }
+            return Optional.of(new WindowCheckpoint(windowStart, sections));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("ELL_:WARN:CKPT::: Failed to read checkpoint {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 체크포인트를 삭제하는 메서드
+     * @implNote 윈도우가 종료되어 결과가 저장되면 호출하여, 재시작 시 이미 집계된 데이터가 다시 복원되지 않도록 한다.
+     * @param taskType 작업 유형
+     */
+    public void delete(TaskType taskType) {
+        try {
+            Files.deleteIfExists(pathOf(taskType));
+        } catch (IOException e) {
+            log.warn("ELL_:WARN:CKPT::: Failed to delete checkpoint for {}: {}", taskType, e.getMessage());
+        }
+    }
+
+    private Path pathOf(TaskType taskType) {
+        return directory.resolve(taskType.name() + EXTENSION);
+    }
+
+    private static ByteBuffer encode(List<CheckpointPage> pages) {
+        int length = 0;
+        for (CheckpointPage page : pages) {
+            length += PAGE_HEADER_SIZE + page.data().length;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length)
+                .putInt(length)
+                .putInt(0);
+        for (CheckpointPage page : pages) {
+            record.put((byte) page.section().ordinal())
+                    .putInt(page.sectionLength())
+                    .putInt(page.offset())
+                    .putInt(page.data().length)
+                    .put(page.data());
+        }
+        record.flip();
+        record.putInt(Integer.BYTES, checksum(record.slice(RECORD_HEADER_SIZE, length), length));
+        return record;
+    }
+
+    /**
+     * @throws IllegalArgumentException 구간이 상태의 범위를 벗어나거나 같은 상태의 길이가 레코드마다 다른 경우
+     */
+    private static void apply(ByteBuffer record, Map<CheckpointSection, byte[]> sections) {
+        while (record.hasRemaining()) {
+            CheckpointSection section = CheckpointSection.values()[record.get()];
+            int sectionLength = record.getInt();
+            int offset = record.getInt();
+            int length = record.getInt();
+            byte[] state = sections.computeIfAbsent(section, key -> new byte[sectionLength]);
+            if (state.length != sectionLength || offset < 0 || length < 0 || offset > sectionLength - length) {
+                throw new IllegalArgumentException("체크포인트 구간이 상태의 범위를 벗어납니다: " + section);
+            }
+            record.get(state, offset, length);
+        }
+    }
+
+    private static int checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(buffer.position(), length));
+        return (int) crc.getValue();
+    }
+}
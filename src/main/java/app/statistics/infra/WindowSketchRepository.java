@@ -0,0 +1,50 @@
+package app.statistics.infra;
+
+import app.statistics.model.WindowSketch;
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * WindowSketch 엔티티에 대한 JPA 리포지토리 인터페이스
+ * @implSpec Spring Data JPA의 JpaRepository를 확장하여 기본 CRUD 및 쿼리 메서드를 제공한다.
+ * 스케치 데이터가 필요하지 않은 조회는 {@link SketchBucket} 프로젝션을 사용한다.
+ * @see WindowSketch
+ */
+@Repository
+public interface WindowSketchRepository extends JpaRepository<WindowSketch, Long> {
+    List<WindowSketch> findAllByTaskTypeAndResolutionAndWindowStartGreaterThanEqualAndWindowEndLessThanEqual(
+            TaskType taskType, SketchResolution resolution, LocalDateTime from, LocalDateTime to);
+
+    List<SketchBucket> findBucketsByTaskTypeAndWindowStartGreaterThanEqualAndWindowEndLessThanEqual(
+            TaskType taskType, LocalDateTime from, LocalDateTime to);
+
+    Optional<SketchBucket> findFirstByTaskTypeAndResolutionOrderByWindowEndDesc(
+            TaskType taskType, SketchResolution resolution);
+
+    Optional<SketchBucket> findFirstByTaskTypeAndResolutionOrderByWindowStartAsc(
+            TaskType taskType, SketchResolution resolution);
+
+    Optional<SketchBucket> findFirstByTaskTypeAndResolutionAndWindowStartGreaterThanEqualOrderByWindowStartAsc(
+            TaskType taskType, SketchResolution resolution, LocalDateTime from);
+
+    @Modifying
+    @Query("delete from WindowSketch w where w.taskType = :taskType and w.resolution = :resolution and w.windowEnd <= :before")
+    int deleteAllEndingBefore(@Param("taskType") TaskType taskType,
+                              @Param("resolution") SketchResolution resolution,
+                              @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from WindowSketch w where w.taskType = :taskType and w.resolution = :resolution and w.windowStart = :windowStart")
+    int deleteWindow(@Param("taskType") TaskType taskType,
+                     @Param("resolution") SketchResolution resolution,
+                     @Param("windowStart") LocalDateTime windowStart);
+}
@@ -0,0 +1,599 @@
+package app.statistics.infra.segment;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * 시간 키 순서로 레코드를 추가만 하는(append-only) 세그먼트 로그
+ * <p>
+ *     레코드는 키(epoch 초)가 속한 구간별 세그먼트 파일({@code <구간 시작 키>.seg})에 기록되며,
+ *     키가 현재 세그먼트의 구간을 벗어나면 새로운 세그먼트로 넘어간다(roll).
+ *     각 세그먼트는 {@value #INDEX_INTERVAL}개의 레코드마다 (키, 위치)를 기록한 희소 인덱스를 메모리에 유지하므로,
+ *     구간 조회 시 세그먼트 전체를 읽지 않고 시작 위치로 바로 이동할 수 있다.
+ * </p>
+ * <p>
+ *     레코드 형식: {@code [int 페이로드 길이][int CRC32][long 키][페이로드]}
+ * </p>
+ * <p>
+ *     키 단위 대체 모드에서는 키를 순서와 관계없이 추가할 수 있다. 레코드는 키가 속한 구간의 세그먼트 끝에 기록되고,
+ *     조회 시 같은 키는 마지막으로 기록된 레코드만 사용한다. 세그먼트 안의 키 순서가 보장되지 않으므로 희소 인덱스는 사용하지 않는다.
+ * </p>
+ * @implSpec 기본 모드에서는 키를 감소하지 않는 순서로만 추가할 수 있다. 조회는 메모리 매핑된 버퍼로 수행하며,
+ * 세그먼트의 매핑은 크기가 바뀔 때까지 재사용한다. 삭제는 세그먼트 단위로만 수행한다.
+ * @implNote 시작 시 모든 세그먼트를 검사하여 마지막으로 온전하게 기록된 레코드 이후의 데이터(기록 도중 종료된 레코드)를 잘라낸다.
+ * 실행 중 기록에 실패한 경우에도 기록 중이던 레코드를 바로 잘라내므로, 이후의 레코드는 손상된 레코드 뒤에 기록되지 않는다.
+ */
+@Slf4j
+final class SegmentLog implements Closeable {
+    static final int INDEX_INTERVAL = 32;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String EXTENSION = ".seg";
+
+    private final Path directory;
+    private final long spanSeconds;
+    private final Long retentionSeconds;
+    private final boolean replaceByKey;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    private final CRC32 crc32 = new CRC32();
+
+    /**
+     * 레코드를 읽는 함수형 인터페이스
+     * @param <T> 읽은 결과 타입
+     */
+    @FunctionalInterface
+    interface RecordReader<T> {
+        /**
+         * @param key 레코드의 키
+         * @param payload 페이로드 (읽기 전용, position 0부터 limit까지)
+         * @return 읽은 결과, 결과에 포함하지 않을 레코드인 경우 {@code null}
+         */
+        T read(long key, ByteBuffer payload);
+    }
+
+    /**
+     * {@link #rollback}으로 되돌릴 기록 위치
+     * @param segmentKey 표식을 만들 때 기록 중이던 세그먼트의 시작 키 (세그먼트가 없었던 경우 null)
+     * @param size 세그먼트의 크기
+     * @param recordCount 세그먼트의 레코드 수
+     * @param lastKey 세그먼트의 마지막 키
+     * @param indexSize 세그먼트의 희소 인덱스 항목 수
+     */
+    record Mark(Long segmentKey, long size, int recordCount, long lastKey, int indexSize) {
+    }
+
+    /**
+     * @param directory 세그먼트 파일을 저장할 디렉터리
+     * @param span 세그먼트 하나가 담는 키 구간의 길이
+     * @param retention 보관 기간 (새로운 세그먼트로 넘어갈 때 최신 키 기준으로 만료된 세그먼트를 삭제한다, null이면 영구 보관)
+     * @throws UncheckedIOException 디렉터리를 생성하거나 세그먼트를 복구할 수 없는 경우
+     */
+    SegmentLog(Path directory, Duration span, Duration retention) {
+        this(directory, span, retention, false);
+    }
+
+    /**
+     * @param directory 세그먼트 파일을 저장할 디렉터리
+     * @param span 세그먼트 하나가 담는 키 구간의 길이
+     * @param retention 보관 기간 (새로운 세그먼트로 넘어갈 때 최신 키 기준으로 만료된 세그먼트를 삭제한다, null이면 영구 보관)
+     * @param replaceByKey 키 단위 대체 모드 여부
+     * @throws UncheckedIOException 디렉터리를 생성하거나 세그먼트를 복구할 수 없는 경우
+     */
+    SegmentLog(Path directory, Duration span, Duration retention, boolean replaceByKey) {
+        this.directory = directory;
+        this.spanSeconds = span.getSeconds();
+        this.retentionSeconds = retention == null ? null : retention.getSeconds();
+        this.replaceByKey = replaceByKey;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트 디렉터리를 열 수 없습니다: " + directory, e);
+        }
+    }
+
+    /**
+     * 레코드를 추가하는 메서드
+     * @implNote 디스크 동기화는 {@link #sync()}에서 수행한다.
+     * 키 단위 대체 모드에서 이전 구간의 키를 추가하는 경우에는 해당 세그먼트에 기록한 후 바로 동기화한다.
+     * @param key 레코드의 키 (epoch 초)
+     * @param payload 페이로드
+     * @throws IllegalArgumentException 기본 모드에서 키가 마지막으로 추가된 키보다 작은 경우
+     * @throws UncheckedIOException 파일 기록에 실패한 경우
+     */
+    void append(long key, ByteBuffer payload) {
+        lock.writeLock().lock();
+        try {
+            Segment active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+            if (!replaceByKey && active != null && key < active.lastKey) {
+                throw new IllegalArgumentException(
+                        "키는 감소할 수 없습니다: " + key + " < " + active.lastKey + " (" + directory + ")");
+            }
+            long startKey = Math.floorDiv(key, spanSeconds) * spanSeconds;
+            Segment segment = segments.get(startKey);
+            if (active == null || startKey > active.startKey) {
+                if (active != null) {
+                    active.seal();
+                }
+                segment = Segment.create(directory.resolve(startKey + EXTENSION), startKey, !replaceByKey);
+                segments.put(startKey, segment);
+                if (retentionSeconds != null) {
+                    deleteSegmentsUpTo(key - retentionSeconds);
+                }
+            } else if (segment == null) {
+                // 키 단위 대체 모드에서 이전 구간의 세그먼트가 없는 경우
+                segment = Segment.create(directory.resolve(startKey + EXTENSION), startKey, false);
+                segments.put(startKey, segment);
+            }
+
+            crc32.reset();
+            crc32.update(payload.duplicate());
+            header.clear();
+            header.putInt(payload.remaining()).putInt((int) crc32.getValue()).putLong(key).flip();
+            if (segment == segments.lastEntry().getValue()) {
+                segment.write(key, header, payload);
+            } else {
+                if (segment.channel == null) {
+                    segment.openForAppend();
+                }
+                segment.write(key, header, payload);
+                segment.seal();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트에 레코드를 기록할 수 없습니다: " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 기록 중인 세그먼트를 디스크에 동기화하는 메서드
+     * @throws UncheckedIOException 동기화에 실패한 경우
+     */
+    void sync() {
+        lock.writeLock().lock();
+        try {
+            if (!segments.isEmpty()) {
+                segments.lastEntry().getValue().force();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트를 동기화할 수 없습니다: " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이후의 기록을 {@link #rollback}으로 되돌릴 수 있도록 현재 기록 위치를 반환하는 메서드
+     * @return 현재 기록 위치
+     * @throws IllegalStateException 키 단위 대체 모드인 경우 (이전 구간의 세그먼트에 기록된 레코드는 되돌릴 수 없다)
+     */
+    Mark mark() {
+        if (replaceByKey) {
+            throw new IllegalStateException("키 단위 대체 로그의 기록 위치는 되돌릴 수 없습니다: " + directory);
+        }
+        lock.readLock().lock();
+        try {
+            if (segments.isEmpty()) {
+                return new Mark(null, 0L, 0, Long.MIN_VALUE, 0);
+            }
+            Segment active = segments.lastEntry().getValue();
+            return new Mark(active.startKey, active.size, active.recordCount, active.lastKey, active.sparseIndex.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 표식 이후에 추가된 레코드를 모두 잘라내는 메서드
+     * @implNote 표식 이후에 만들어진 세그먼트는 삭제하고, 표식의 세그먼트는 표식의 크기로 잘라낸 후 다시 기록 중인 세그먼트로 연다.
+     * @param mark {@link #mark()}로 얻은 기록 위치
+     * @throws UncheckedIOException 세그먼트를 잘라내거나 삭제할 수 없는 경우
+     */
+    void rollback(Mark mark) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Segment> created = mark.segmentKey() == null
+                    ? segments
+                    : segments.tailMap(mark.segmentKey(), false);
+            Iterator<Segment> iterator = created.values().iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                segment.close();
+                Files.deleteIfExists(segment.path);
+                iterator.remove();
+            }
+            if (mark.segmentKey() != null && segments.containsKey(mark.segmentKey())) {
+                segments.get(mark.segmentKey()).truncate(mark);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트를 되돌릴 수 없습니다: " + directory, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * [fromKey, toKey] 구간의 레코드를 키 순서로 읽는 메서드
+     * @implNote 키 단위 대체 모드에서는 같은 키의 레코드 중 마지막으로 기록된 레코드만 읽는다.
+     * @param fromKey 키 하한 (포함)
+     * @param toKey 키 상한 (포함)
+     * @param reader 레코드를 읽는 함수
+     * @param limit 최대 결과 수
+     * @return 읽은 결과 목록 (키 오름차순)
+     * @throws UncheckedIOException 세그먼트를 매핑할 수 없는 경우
+     */
+    <T> List<T> scan(long fromKey, long toKey, RecordReader<T> reader, int limit) {
+        List<T> result = new ArrayList<>();
+        if (fromKey > toKey || limit <= 0) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            Long firstSegmentKey = segments.floorKey(fromKey);
+            Map<Long, Segment> candidates = segments.subMap(
+                    firstSegmentKey == null ? Long.MIN_VALUE : firstSegmentKey, true, toKey, true);
+            for (Segment segment : candidates.values()) {
+                if (segment.lastKey < fromKey) {
+                    continue;
+                }
+                ByteBuffer buffer = segment.map();
+                buffer.position(segment.positionOf(fromKey));
+                // 키 단위 대체 모드에서는 세그먼트의 레코드를 모두 읽은 후 키 순서로 읽는다
+                TreeMap<Long, ByteBuffer> latest = replaceByKey ? new TreeMap<>() : null;
+                while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                    int length = buffer.getInt();
+                    buffer.getInt();
+                    long key = buffer.getLong();
+                    if (key > toKey && latest == null) {
+                        return result;
+                    }
+                    int payloadStart = buffer.position();
+                    if (key >= fromKey && key <= toKey) {
+                        ByteBuffer payload = buffer.slice(payloadStart, length);
+                        if (latest != null) {
+                            latest.put(key, payload);
+                        } else if (read(reader, key, payload, result, limit)) {
+                            return result;
+                        }
+                    }
+                    buffer.position(payloadStart + length);
+                }
+                if (latest != null) {
+                    for (Map.Entry<Long, ByteBuffer> entry : latest.entrySet()) {
+                        if (read(reader, entry.getKey(), entry.getValue(), result, limit)) {
+                            return result;
+                        }
+                    }
+                }
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("세그먼트를 읽을 수 없습니다: " + directory, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 결과 수가 최대 결과 수에 도달한 경우 {@code true}
+     */
+    private static <T> boolean read(RecordReader<T> reader, long key, ByteBuffer payload, List<T> result, int limit) {
+        T value = reader.read(key, payload);
+        if (value != null) {
+            result.add(value);
+        }
+        return result.size() >= limit;
+    }
+
+    /**
+     * @return 가장 큰 레코드의 키 (기본 모드에서는 마지막으로 추가된 레코드의 키), 레코드가 없는 경우 빈 값
+     */
+    OptionalLong lastKey() {
+        lock.readLock().lock();
+        try {
+            return segments.isEmpty() ? OptionalLong.empty() : OptionalLong.of(segments.lastEntry().getValue().lastKey);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 레코드의 키가 지정한 키 이하인 세그먼트를 삭제하는 메서드
+     * @implSpec 기록 중인 마지막 세그먼트는 삭제하지 않으므로, 조건을 만족하는 레코드 중 일부는 남을 수 있다.
+     * @param maxKey 키 상한 (포함)
+     * @return 삭제된 레코드 수
+     */
+    int deleteSegmentsUpTo(long maxKey) {
+        lock.writeLock().lock();
+        try {
+            int deleted = 0;
+            Iterator<Segment> iterator = segments.values().iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                if (segment == segments.lastEntry().getValue() || segment.lastKey > maxKey) {
+                    break;
+                }
+                try {
+                    segment.close();
+                    Files.deleteIfExists(segment.path);
+                } catch (IOException e) {
+                    log.warn("ELL_:WARN:SGMT::: Failed to delete segment {}: {}", segment.path, e.getMessage());
+                    break;
+                }
+                iterator.remove();
+                deleted += segment.recordCount;
+            }
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.force();
+                    segment.close();
+                } catch (IOException e) {
+                    log.warn("ELL_:WARN:SGMT::: Failed to close segment {}: {}", segment.path, e.getMessage());
+                }
+            }
+            segments.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 디렉터리의 세그먼트를 열고 희소 인덱스를 다시 구성하는 메서드
+     * @implNote 마지막 세그먼트만 쓰기 가능한 상태로 열고, 나머지는 조회 시 매핑한다.
+     */
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                try {
+                    long startKey = Long.parseLong(fileName.substring(0, fileName.length() - EXTENSION.length()));
+                    segments.put(startKey, new Segment(path, startKey, !replaceByKey));
+                } catch (NumberFormatException e) {
+                    log.warn("ELL_:WARN:SGMT::: Ignoring unknown file {}", path);
+                }
+            }
+        }
+
+        long previousKey = Long.MIN_VALUE;
+        Iterator<Segment> iterator = segments.values().iterator();
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            segment.rebuildIndex(replaceByKey ? Long.MIN_VALUE : previousKey, segment.startKey + spanSeconds);
+            if (segment.recordCount == 0) {
+                segment.close();
+                Files.deleteIfExists(segment.path);
+                iterator.remove();
+                continue;
+            }
+            previousKey = segment.lastKey;
+        }
+        if (!segments.isEmpty()) {
+            segments.lastEntry().getValue().openForAppend();
+        }
+    }
+
+    /**
+     * 하나의 세그먼트 파일과 희소 인덱스
+     */
+    private static final class Segment {
+        private final Path path;
+        private final long startKey;
+        private final boolean ordered; // 키 순서로 기록되는지 여부 (희소 인덱스 사용 여부)
+        private final List<long[]> sparseIndex = new ArrayList<>(); // {키, 위치}
+        private FileChannel channel;
+        private volatile MappedByteBuffer sealedBuffer;
+        private volatile MappedByteBuffer activeBuffer; // 기록 중인 세그먼트의 마지막 매핑
+        private long size;
+        private long lastKey = Long.MIN_VALUE; // 가장 큰 키
+        private int recordCount;
+
+        private Segment(Path path, long startKey, boolean ordered) {
+            this.path = path;
+            this.startKey = startKey;
+            this.ordered = ordered;
+        }
+
+        static Segment create(Path path, long startKey, boolean ordered) throws IOException {
+            Segment segment = new Segment(path, startKey, ordered);
+            segment.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            return segment;
+        }
+
+        /**
+         * 레코드를 세그먼트 끝에 기록하는 메서드
+         * @implNote 기록에 실패하면 기록 중이던 레코드를 잘라내어 다음 레코드가 마지막 온전한 레코드 바로 뒤에 기록되도록 한다.
+         */
+        void write(long key, ByteBuffer header, ByteBuffer payload) throws IOException {
+            long written = 0;
+            long length = header.remaining() + payload.remaining();
+            ByteBuffer[] buffers = {header, payload.duplicate()};
+            try {
+                while (written < length) {
+                    written += channel.write(buffers);
+                }
+            } catch (IOException e) {
+                try {
+                    channel.truncate(size);
+                    channel.position(size);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+                throw e;
+            }
+            if (ordered && recordCount % INDEX_INTERVAL == 0) {
+                sparseIndex.add(new long[]{key, size});
+            }
+            size += length;
+            lastKey = Math.max(lastKey, key);
+            recordCount++;
+        }
+
+        /**
+         * 표식의 크기로 세그먼트를 잘라내고 기록 중인 상태로 여는 메서드
+         */
+        void truncate(Mark mark) throws IOException {
+            if (channel == null) {
+                openForAppend();
+            }
+            channel.truncate(mark.size());
+            channel.position(mark.size());
+            activeBuffer = null;
+            size = mark.size();
+            recordCount = mark.recordCount();
+            lastKey = mark.lastKey();
+            sparseIndex.subList(mark.indexSize(), sparseIndex.size()).clear();
+        }
+
+        /**
+         * @return 세그먼트 전체가 담긴 읽기 전용 버퍼 (호출마다 독립적인 position을 가진다)
+         */
+        ByteBuffer map() throws IOException {
+            if (sealedBuffer != null) {
+                return sealedBuffer.duplicate();
+            }
+            if (channel != null) {
+                // 크기가 바뀌지 않았으면 이전 매핑을 재사용한다
+                MappedByteBuffer buffer = activeBuffer;
+                if (buffer == null || buffer.capacity() != size) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    activeBuffer = buffer;
+                }
+                return buffer.duplicate();
+            }
+            try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                sealedBuffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            return sealedBuffer.duplicate();
+        }
+
+        /**
+         * @return 지정한 키 이상인 첫 레코드보다 앞서 있는 가장 가까운 인덱스 위치
+         */
+        int positionOf(long key) {
+            int low = 0;
+            int high = sparseIndex.size() - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (sparseIndex.get(mid)[0] < key) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found < 0 ? 0 : (int) sparseIndex.get(found)[1];
+        }
+
+        /**
+         * 파일을 처음부터 읽어 희소 인덱스를 구성하고, 손상된 꼬리 부분을 잘라내는 메서드
+         * @param previousKey 이전 세그먼트의 마지막 키 (키 순서로 기록되지 않는 세그먼트는 {@link Long#MIN_VALUE})
+         * @param endKey 세그먼트 구간의 종료 키 (미포함)
+         */
+        void rebuildIndex(long previousKey, long endKey) throws IOException {
+            try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long fileSize = readChannel.size();
+                ByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+                CRC32 crc32 = new CRC32();
+                long key = previousKey;
+                while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                    int position = buffer.position();
+                    int length = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    long recordKey = buffer.getLong();
+                    if (length < 0 || length > buffer.remaining() || recordKey < key || recordKey < startKey
+                            || recordKey >= endKey) {
+                        buffer.position(position);
+                        break;
+                    }
+                    crc32.reset();
+                    crc32.update(buffer.slice(buffer.position(), length));
+                    if ((int) crc32.getValue() != checksum) {
+                        buffer.position(position);
+                        break;
+                    }
+                    if (ordered) {
+                        if (recordCount % INDEX_INTERVAL == 0) {
+                            sparseIndex.add(new long[]{recordKey, position});
+                        }
+                        key = recordKey;
+                    }
+                    buffer.position(buffer.position() + length);
+                    lastKey = Math.max(lastKey, recordKey);
+                    recordCount++;
+                }
+                size = buffer.position();
+                if (size < fileSize) {
+                    log.warn("ELL_:WARN:SGMT::: Truncating {} bytes of incomplete records from {}",
+                            fileSize - size, path);
+                    readChannel.truncate(size);
+                }
+            }
+        }
+
+        void openForAppend() throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(size);
+            sealedBuffer = null;
+        }
+
+        void seal() throws IOException {
+            force();
+            MappedByteBuffer buffer = activeBuffer;
+            sealedBuffer = buffer != null && buffer.capacity() == size
+                    ? buffer
+                    : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            activeBuffer = null;
+            channel.close();
+            channel = null;
+        }
+
+        void force() throws IOException {
+            if (channel != null) {
+                channel.force(false);
+            }
+        }
+
+        void close() throws IOException {
+            sealedBuffer = null;
+            activeBuffer = null;
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package app.statistics.infra.segment;
+
+import app.statistics.infra.MementoStore;
+import app.statistics.model.HeavyHitter;
+import app.statistics.model.MementoPoint;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.WindowTelemetry;
+import app.statistics.model.enums.TaskType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 로컬 세그먼트 파일에 윈도우 결과를 저장하는 {@link MementoStore} 구현체
+ * <p>
+ *     외부 데이터베이스 없이 동작해야 하는 환경에서 {@code ell.storage.type=segment}로 사용한다.
+ *     작업 유형마다 하루 단위로 나뉜 {@link SegmentLog}({@code <dir>/mementos/<taskType>})를 사용하며,
+ *     레코드의 키는 완료 시각이다. 1분 스케치는 {@link SegmentSketchStore}에 함께 저장된다.
+ * </p>
+ * @implSpec 페이로드는 {@code [int 나노초][double 고유 개수][long 처리 시간][int Heavy Hitter 수][(long 키 해시, long 추정 빈도)...][성능 지표]} 형식이다.
+ * 성능 지표({@link WindowTelemetry})는 {@code [long 이벤트 수][long 큐 지연(나노초)][long 분할][long 추가][long 병합][long 추정][int 스레드 수][long 스케치 크기][int 반복 횟수]}이며,
+ * 성능 지표가 추가되기 전에 기록된 레코드에는 없으므로 읽을 때는 0으로 채운다.
+ * 보관 기간({@code ell.storage.segment.memento-retention})이 지난 세그먼트는 새로운 세그먼트로 넘어갈 때 삭제된다.
+ * @implNote 이 저장소에서 조회한 {@link TaskMemento}는 식별자를 갖지 않는다.
+ * 시계열 포인트의 {@link MementoPoint#id()}는 완료 시각이 같은 레코드 사이의 저장 순서(0부터 시작)이다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ell.storage.type", havingValue = "segment")
+public class SegmentMementoStore implements MementoStore {
+    private static final Duration SEGMENT_SPAN = Duration.ofDays(1);
+    private static final int FIXED_PAYLOAD_SIZE = Integer.BYTES + Double.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int HEAVY_HITTER_SIZE = Long.BYTES + Long.BYTES;
+    private static final int TELEMETRY_SIZE = 7 * Long.BYTES + 2 * Integer.BYTES;
+
+    private final Map<TaskType, SegmentLog> logs = new EnumMap<>(TaskType.class);
+    private final SegmentSketchStore sketchStore;
+
+    public SegmentMementoStore(@Value("${ell.storage.segment.dir:segments}") Path directory,
+                               @Value("${ell.storage.segment.memento-retention:90d}") Duration retention,
+                               SegmentSketchStore sketchStore) {
+        this.sketchStore = sketchStore;
+        for (TaskType taskType : TaskType.values()) {
+            logs.put(taskType, new SegmentLog(directory.resolve("mementos").resolve(taskType.name()),
+                    SEGMENT_SPAN, retention));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @implNote 완료 시각이 이미 저장된 Memento보다 이른 결과는 순서를 보장할 수 없으므로 경고 로그를 남기고 건너뛴다.
+     * 이 경우에도 1분 스케치는 저장하므로, 저장된 1분 스케치와 이를 병합한 상위 스케치는 일치한다.
+     * 저장에 실패하면 이 호출에서 추가한 Memento를 모두 잘라내고, 1분 스케치는 재시도할 때 같은 구간의 스케치로 대체되므로
+     * 같은 레코드가 중복으로 저장되지 않는다.
+     */
+    @Override
+    public void saveAll(List<WindowResult> windowResults) {
+        Map<TaskType, SegmentLog.Mark> marks = new EnumMap<>(TaskType.class);
+        try {
+            for (WindowResult windowResult : windowResults) {
+                TaskMemento taskMemento = windowResult.taskMemento();
+                TaskType taskType = taskMemento.getTaskType();
+                SegmentLog mementoLog = logs.get(taskType);
+                marks.computeIfAbsent(taskType, type -> mementoLog.mark());
+                try {
+                    mementoLog.append(toKey(taskMemento.getFinishedAt()), encode(taskMemento));
+                } catch (IllegalArgumentException e) {
+                    log.warn("ELL_:WARN:SGMT::: Skipping out-of-order {} memento finished at {}",
+                            taskType, taskMemento.getFinishedAt());
+                }
+                sketchStore.appendMinute(taskType, windowResult.windowStart(), windowResult.sketch());
+            }
+            marks.keySet().forEach(taskType -> logs.get(taskType).sync());
+            sketchStore.sync();
+        } catch (RuntimeException e) {
+            marks.forEach((taskType, mark) -> rollback(e, () -> logs.get(taskType).rollback(mark)));
+            throw e;
+        }
+    }
+
+    @Override
+    public List<TaskMemento> findAllAfter(TaskType taskType, LocalDateTime finishedAt) {
+        return findWithHeavyHittersAfter(taskType, finishedAt);
+    }
+
+    @Override
+    public List<TaskMemento> findWithHeavyHittersAfter(TaskType taskType, LocalDateTime finishedAt) {
+        return logs.get(taskType).scan(toKey(finishedAt), Long.MAX_VALUE, (key, payload) -> {
+            TaskMemento taskMemento = decode(taskType, key, payload);
+            return taskMemento.getFinishedAt().isAfter(finishedAt) ? taskMemento : null;
+        }, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<MementoPoint> findPoints(TaskType taskType, LocalDateTime after, Long afterId, LocalDateTime to,
+                                         int limit) {
+        long[] sequence = {0L};
+        LocalDateTime[] previous = {null};
+        return logs.get(taskType).scan(toKey(after), toKey(to), (key, payload) -> {
+            LocalDateTime finishedAt = LocalDateTime.ofEpochSecond(key, payload.getInt(), ZoneOffset.UTC);
+            sequence[0] = finishedAt.equals(previous[0]) ? sequence[0] + 1 : 0L;
+            previous[0] = finishedAt;
+            if (finishedAt.isBefore(after) || finishedAt.isAfter(to)
+                    || (finishedAt.equals(after) && (afterId == null || sequence[0] <= afterId))) {
+                return null;
+            }
+            return new MementoPoint(finishedAt, payload.getDouble(), payload.getLong(), sequence[0]);
+        }, limit);
+    }
+
+    @PreDestroy
+    public void close() {
+        logs.values().forEach(SegmentLog::close);
+    }
+
+    /**
+     * 저장에 실패한 배치의 레코드를 잘라내는 메서드
+     * @implNote 잘라내기에 실패해도 원래의 예외를 던질 수 있도록 실패는 원래의 예외에 덧붙인다.
+     */
+    private static void rollback(RuntimeException failure, Runnable rollback) {
+        try {
+            rollback.run();
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static ByteBuffer encode(TaskMemento taskMemento) {
+        List<HeavyHitter> heavyHitters = taskMemento.getHeavyHitters();
+        ByteBuffer payload = ByteBuffer.allocate(FIXED_PAYLOAD_SIZE + heavyHitters.size() * HEAVY_HITTER_SIZE + TELEMETRY_SIZE)
+                .putInt(taskMemento.getFinishedAt().getNano())
+                .putDouble(taskMemento.getDistinctCount())
+                .putLong(taskMemento.getProcessingTimeMs())
+                .putInt(heavyHitters.size());
+        for (HeavyHitter heavyHitter : heavyHitters) {
+            payload.putLong(heavyHitter.getKeyHash()).putLong(heavyHitter.getEstimatedCount());
+        }
+        WindowTelemetry telemetry = taskMemento.getTelemetry();
+        payload.putLong(telemetry.getEventCount())
+                .putLong(telemetry.getQueueLagNanos())
+                .putLong(telemetry.getPartitionNanos())
+                .putLong(telemetry.getAddNanos())
+                .putLong(telemetry.getMergeNanos())
+                .putLong(telemetry.getEstimateNanos())
+                .putInt(telemetry.getThreadCount())
+                .putLong(telemetry.getSketchBytes())
+                .putInt(telemetry.getSolverIterations());
+        return payload.flip();
+    }
+
+    private static TaskMemento decode(TaskType taskType, long key, ByteBuffer payload) {
+        LocalDateTime finishedAt = LocalDateTime.ofEpochSecond(key, payload.getInt(), ZoneOffset.UTC);
+        double distinctCount = payload.getDouble();
+        long processingTimeMs = payload.getLong();
+        int heavyHitterCount = payload.getInt();
+        List<HeavyHitter> heavyHitters = new ArrayList<>(heavyHitterCount);
+        for (int i = 0; i < heavyHitterCount; i++) {
+            heavyHitters.add(HeavyHitter.of(payload.getLong(), payload.getLong()));
+        }
+        WindowTelemetry telemetry = payload.remaining() < TELEMETRY_SIZE ? WindowTelemetry.empty()
+                : WindowTelemetry.of(payload.getLong(), payload.getLong(), payload.getLong(), payload.getLong(),
+                        payload.getLong(), payload.getLong(), payload.getInt(), payload.getLong(), payload.getInt());
+        return TaskMemento.of(taskType, finishedAt, distinctCount, processingTimeMs, heavyHitters, telemetry);
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
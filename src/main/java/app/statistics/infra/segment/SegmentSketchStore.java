@@ -0,0 +1,205 @@
+package app.statistics.infra.segment;
+
+import app.statistics.infra.SketchBucket;
+import app.statistics.infra.SketchStore;
+import app.statistics.model.SketchCompression;
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 로컬 세그먼트 파일에 윈도우 스케치를 저장하는 {@link SketchStore} 구현체
+ * <p>
+ *     작업 유형과 집계 단위마다 하나의 {@link SegmentLog}({@code <dir>/sketches/<taskType>/<resolution>})를 사용하며,
+ *     레코드의 키는 구간 시작 시각이다. 세그먼트 하나는 단위 길이의 60배 구간(1분 스케치는 1시간)을 담는다.
+ * </p>
+ * @implSpec 페이로드는 {@code [int 직렬화 크기][압축된 스케치]} 형식이며, 메모리 매핑된 버퍼에서 복사 없이 바로 압축을 해제한다.
+ * 스케치의 식별자({@link SketchBucket#getId()})는 구간 시작 시각의 epoch 초이다.
+ * 보관 기간이 지난 스케치는 {@link #deleteEndingBefore}에서 세그먼트 단위로 삭제된다.
+ * 모든 로그는 키 단위 대체 모드이므로 늦게 도착한 1분 스케치나 이전 구간의 상위 스케치도 저장할 수 있으며,
+ * 스케치의 대체({@link #saveRollup})는 같은 키의 레코드를 추가하는 방식이므로 조회 시 같은 키는 마지막 레코드만 사용한다.
+ */
+@Component
+@ConditionalOnProperty(name = "ell.storage.type", havingValue = "segment")
+public class SegmentSketchStore implements SketchStore {
+    private static final int SEGMENT_WINDOWS = 60;
+
+    private final Map<TaskType, Map<SketchResolution, SegmentLog>> logs = new EnumMap<>(TaskType.class);
+
+    public SegmentSketchStore(@Value("${ell.storage.segment.dir:segments}") Path directory) {
+        for (TaskType taskType : TaskType.values()) {
+            Map<SketchResolution, SegmentLog> resolutionLogs = new EnumMap<>(SketchResolution.class);
+            for (SketchResolution resolution : SketchResolution.values()) {
+                Path path = directory.resolve("sketches").resolve(taskType.name()).resolve(resolution.name());
+                resolutionLogs.put(resolution,
+                        new SegmentLog(path, resolution.getLength().multipliedBy(SEGMENT_WINDOWS), null, true));
+            }
+            logs.put(taskType, resolutionLogs);
+        }
+    }
+
+    /**
+     * 1분 윈도우의 스케치를 추가하는 메서드
+     * @implNote 디스크 동기화는 {@link #sync()}에서 수행한다. 같은 구간의 스케치가 이미 있는 경우 새로운 스케치로 대체한다.
+     * @param taskType 작업 유형
+     * @param windowStart 구간 시작 시각
+     * @param sketch 윈도우 동안 누적된 스케치
+     */
+    void appendMinute(TaskType taskType, LocalDateTime windowStart, ExaLogLog sketch) {
+        append(taskType, SketchResolution.MINUTE, windowStart, sketch);
+    }
+
+    /**
+     * 기록 중인 1분 스케치 세그먼트를 디스크에 동기화하는 메서드
+     */
+    void sync() {
+        logs.values().forEach(resolutionLogs -> resolutionLogs.get(SketchResolution.MINUTE).sync());
+    }
+
+    @Override
+    public List<SketchBucket> findBuckets(TaskType taskType, LocalDateTime from, LocalDateTime to) {
+        List<SketchBucket> buckets = new ArrayList<>();
+        for (SketchResolution resolution : SketchResolution.values()) {
+            buckets.addAll(scan(taskType, resolution, from, to,
+                    (key, payload) -> SegmentSketchBucket.of(resolution, key)));
+        }
+        return buckets;
+    }
+
+    @Override
+    public List<ExaLogLog> loadAll(TaskType taskType, List<SketchBucket> buckets) {
+        Map<SketchResolution, List<SketchBucket>> bucketsByResolution = new EnumMap<>(SketchResolution.class);
+        for (SketchBucket bucket : buckets) {
+            bucketsByResolution.computeIfAbsent(bucket.getResolution(), resolution -> new ArrayList<>()).add(bucket);
+        }
+
+        // 단위마다 필요한 구간을 한 번만 읽는다
+        Map<SketchResolution, Map<Long, ExaLogLog>> sketches = new EnumMap<>(SketchResolution.class);
+        bucketsByResolution.forEach((resolution, resolutionBuckets) -> {
+            Map<Long, ExaLogLog> loaded = new HashMap<>();
+            long fromKey = resolutionBuckets.stream().mapToLong(SketchBucket::getId).min().orElseThrow();
+            long toKey = resolutionBuckets.stream().mapToLong(SketchBucket::getId).max().orElseThrow();
+            Set<Long> wanted = resolutionBuckets.stream().map(SketchBucket::getId).collect(Collectors.toSet());
+            logs.get(taskType).get(resolution).scan(fromKey, toKey, (key, payload) -> {
+                if (wanted.contains(key)) {
+                    loaded.put(key, readSketch(payload));
+                }
+                return null;
+            }, Integer.MAX_VALUE);
+            sketches.put(resolution, loaded);
+        });
+
+        List<ExaLogLog> result = new ArrayList<>(buckets.size());
+        for (SketchBucket bucket : buckets) {
+            result.add(sketches.get(bucket.getResolution()).get(bucket.getId()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<ExaLogLog> loadRange(TaskType taskType, SketchResolution resolution,
+                                     LocalDateTime from, LocalDateTime to) {
+        return scan(taskType, resolution, from, to, (key, payload) -> readSketch(payload));
+    }
+
+    @Override
+    public Optional<SketchBucket> findLatest(TaskType taskType, SketchResolution resolution) {
+        return logs.get(taskType).get(resolution).lastKey().stream()
+                .mapToObj(key -> (SketchBucket) SegmentSketchBucket.of(resolution, key))
+                .findFirst();
+    }
+
+    @Override
+    public Optional<SketchBucket> findEarliestFrom(TaskType taskType, SketchResolution resolution, LocalDateTime from) {
+        long fromKey = from == null ? Long.MIN_VALUE : toKey(from);
+        return logs.get(taskType).get(resolution)
+                .scan(fromKey, Long.MAX_VALUE, (key, payload) -> (SketchBucket) SegmentSketchBucket.of(resolution, key), 1)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * @implNote 이전 구간의 스케치를 대체하는 경우 해당 구간의 세그먼트에 기록한 후 바로 동기화한다.
+     */
+    @Override
+    public void saveRollup(TaskType taskType, SketchResolution resolution, LocalDateTime windowStart, ExaLogLog sketch) {
+        append(taskType, resolution, windowStart, sketch);
+        logs.get(taskType).get(resolution).sync();
+    }
+
+    @Override
+    public int deleteEndingBefore(TaskType taskType, SketchResolution resolution, LocalDateTime before) {
+        long maxKey = toKey(before.minus(resolution.getLength()));
+        return logs.get(taskType).get(resolution).deleteSegmentsUpTo(maxKey);
+    }
+
+    @PreDestroy
+    public void close() {
+        logs.values().forEach(resolutionLogs -> resolutionLogs.values().forEach(SegmentLog::close));
+    }
+
+    private void append(TaskType taskType, SketchResolution resolution, LocalDateTime windowStart, ExaLogLog sketch) {
+        byte[] serialized = sketch.toByteArray();
+        byte[] compressed = SketchCompression.compress(serialized);
+        ByteBuffer payload = ByteBuffer.allocate(Integer.BYTES + compressed.length)
+                .putInt(serialized.length)
+                .put(compressed)
+                .flip();
+        logs.get(taskType).get(resolution).append(toKey(windowStart), payload);
+    }
+
+    /**
+     * [from, to] 구간에 포함된 스케치를 읽는 메서드
+     * @implNote 구간 종료 시각이 to 이하인 스케치는 구간 시작 시각이 to - 단위 길이 이하인 스케치이다.
+     */
+    private <T> List<T> scan(TaskType taskType, SketchResolution resolution, LocalDateTime from, LocalDateTime to,
+                             SegmentLog.RecordReader<T> reader) {
+        return logs.get(taskType).get(resolution)
+                .scan(toKey(from), toKey(to.minus(resolution.getLength())), reader, Integer.MAX_VALUE);
+    }
+
+    private static ExaLogLog readSketch(ByteBuffer payload) {
+        int serializedSize = payload.getInt();
+        return ExaLogLog.fromByteArray(SketchCompression.decompress(payload, serializedSize));
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * 세그먼트에 저장된 스케치의 메타데이터
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class SegmentSketchBucket implements SketchBucket {
+        private final Long id;
+        private final SketchResolution resolution;
+        private final LocalDateTime windowStart;
+        private final LocalDateTime windowEnd;
+
+        static SegmentSketchBucket of(SketchResolution resolution, long key) {
+            LocalDateTime windowStart = LocalDateTime.ofEpochSecond(key, 0, ZoneOffset.UTC);
+            return new SegmentSketchBucket(key, resolution, windowStart, windowStart.plus(resolution.getLength()));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.AnomalyDirection;
+import app.statistics.model.enums.TaskType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 윈도우 결과에서 탐지된 이상 징후 알림
+ * @param taskType 이상이 탐지된 작업 유형
+ * @param finishedAt 이상이 탐지된 윈도우의 완료 시각
+ * @param observed 관측된 고유 개수
+ * @param expected 기준선(baseline)이 예상한 고유 개수
+ * @param score 기준선 대비 편차 점수 (표준편차 단위)
+ * @param direction 이상 방향
+ */
+public record AnomalyAlert(TaskType taskType, LocalDateTime finishedAt, double observed, double expected,
+                           double score, AnomalyDirection direction) {
+}
@@ -0,0 +1,13 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.CheckpointSection;
+
+/**
+ * 마지막 체크포인트 이후 변경된 상태의 한 구간
+ * @param section 상태의 종류
+ * @param sectionLength 상태 전체의 길이 (바이트)
+ * @param offset 상태에서 구간의 시작 위치
+ * @param data 구간의 내용
+ */
+public record CheckpointPage(CheckpointSection section, int sectionLength, int offset, byte[] data) {
+}
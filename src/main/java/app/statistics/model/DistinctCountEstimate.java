@@ -0,0 +1,17 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.TaskType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 임의 구간의 고유 개수 추정 결과
+ * @param taskType 작업 유형
+ * @param from 구간 시작 시각 (포함)
+ * @param to 구간 종료 시각 (미포함)
+ * @param distinctCount 구간 전체의 고유 개수 추정값
+ * @param mergedSketchCount 추정에 병합한 스케치 수
+ */
+public record DistinctCountEstimate(TaskType taskType, LocalDateTime from, LocalDateTime to,
+                                    double distinctCount, int mergedSketchCount) {
+}
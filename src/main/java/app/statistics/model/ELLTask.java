@@ -1,34 +1,43 @@
 package app.statistics.model;
 
+import app.statistics.sketch.HeavyHitterSketch;
 import exaloglog.ExaLogLog;
 
-import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
  * 독립적인 로컬 ExaLogLog 스케치를 생성하여 반환하는 Callable 작업
- * @implSpec 주어진 파티션에 대한 로컬 ExaLogLog 스케치를 생성하고, 모든 해시 값을 스케치에 추가하여 반환한다.
+ * @implSpec 해시 값 배열의 주어진 구간(파티션)에 대한 로컬 ExaLogLog 스케치를 생성하고, 모든 해시 값을 스케치에 추가하여 반환한다.
+ * 같은 순회에서 작업 스레드 전용 {@link HeavyHitterSketch}에도 해시 값을 반영한다.
  * {@link app.statistics.application.ELLStreamProcessor ELLStreamProcessor}에서 병렬로 수행된다.
  */
 public class ELLTask implements Callable<ExaLogLog> {
-    private final List<Long> hashPartition;
+    private final long[] hashes;
+    private final int from; // 파티션의 시작 위치 (포함)
+    private final int to;   // 파티션의 끝 위치 (제외)
     private final int p;
     private final int t;
     private final int d;
+    private final HeavyHitterSketch heavyHitterSketch;
 
-    public ELLTask(List<Long> hashPartition, int p, int t, int d) {
-        this.hashPartition = hashPartition;
+    public ELLTask(long[] hashes, int from, int to, int p, int t, int d, HeavyHitterSketch heavyHitterSketch) {
+        this.hashes = hashes;
+        this.from = from;
+        this.to = to;
         this.p = p;
         this.t = t;
         this.d = d;
+        this.heavyHitterSketch = heavyHitterSketch;
     }
 
     @Override
     public ExaLogLog call() throws Exception {
         ExaLogLog localSketch = ExaLogLog.create(t, d, p);
         // 파티션의 모든 해시 값을 스케치에 add
-        for (long hash : hashPartition) {
+        for (int i = from; i < to; i++) {
+            long hash = hashes[i];
             localSketch.add(hash);
+            heavyHitterSketch.add(hash);
         }
         return localSketch;
     }
@@ -0,0 +1,34 @@
+package app.statistics.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 윈도우 동안 출현 빈도가 높았던 키를 저장하는 값 타입
+ * <p>{@link TaskMemento}의 컬렉션 테이블로 매핑되어 윈도우 결과와 함께 저장된다.</p>
+ * @implNote 스케치 패키지가 영속성 모델에 의존하지 않도록, 윈도우를 종료할 때
+ * {@link app.statistics.sketch.HeavyHitterEstimate HeavyHitterEstimate}를 이 타입으로 변환한다.
+ * @see app.statistics.sketch.HeavyHitterSketch HeavyHitterSketch
+ */
+@Getter
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class HeavyHitter {
+    @Column(nullable = false)
+    private long keyHash;
+
+    @Column(nullable = false)
+    private long estimatedCount;
+
+    private HeavyHitter(long keyHash, long estimatedCount) {
+        this.keyHash = keyHash;
+        this.estimatedCount = estimatedCount;
+    }
+
+    public static HeavyHitter of(long keyHash, long estimatedCount) {
+        return new HeavyHitter(keyHash, estimatedCount);
+    }
+}
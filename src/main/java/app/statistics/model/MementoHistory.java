@@ -0,0 +1,97 @@
+package app.statistics.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 지표의 최근 {@link TaskMemento}를 완료 시각 순서로 보관하는 고정 크기 링 버퍼
+ * <p>
+ *     {@code coveredSince} 이후에 완료된 Memento는 모두 버퍼에 있으므로,
+ *     조회 시작 시각이 {@code coveredSince} 이후인 경우 데이터베이스를 조회하지 않고 응답할 수 있다.
+ * </p>
+ * @implSpec Memento는 완료 시각 순서로 추가된다고 가정하며, 조회 시 이진 탐색으로 시작 위치를 찾는다.
+ * 버퍼가 가득 차면 가장 오래된 Memento를 덮어쓰고 {@code coveredSince}를 해당 Memento의 완료 시각으로 옮긴다.
+ * 스레드 안전하지 않으므로 호출자가 동기화해야 한다.
+ */
+public class MementoHistory {
+    private final TaskMemento[] slots;
+    private int head;   // 가장 오래된 Memento의 위치
+    private int size;
+    private LocalDateTime coveredSince;
+
+    /**
+     * @param capacity 보관할 최대 Memento 수
+     * @param coveredSince 이 시각 이후의 Memento는 모두 버퍼에 추가된다는 것이 보장되는 시각
+     */
+    public MementoHistory(int capacity, LocalDateTime coveredSince) {
+        this.slots = new TaskMemento[capacity];
+        this.coveredSince = coveredSince;
+    }
+
+    /**
+     * 최신 Memento를 추가하는 메서드
+     * @param taskMemento 새로 완료된 Memento
+     */
+    public void add(TaskMemento taskMemento) {
+        if (size == slots.length) {
+            coveredSince = slots[head].getFinishedAt();
+            slots[head] = taskMemento;
+            head = (head + 1) % slots.length;
+            return;
+        }
+        slots[(head + size) % slots.length] = taskMemento;
+        size++;
+    }
+
+    /**
+     * 데이터베이스에서 조회한 과거 Memento로 버퍼의 앞부분을 채우는 메서드
+     * @implSpec {@code coveredSince} 이전에 완료된 Memento만 남은 공간만큼 최신 순서로 추가하고,
+     * 추가한 범위만큼 {@code coveredSince}를 앞당긴다.
+     * @param olderMementos {@code loadedSince} 이후에 완료된 Memento 목록 (완료 시각 오름차순)
+     * @param loadedSince 과거 Memento를 조회한 시작 시각
+     */
+    public void prepend(List<TaskMemento> olderMementos, LocalDateTime loadedSince) {
+        int end = olderMementos.size();
+        while (end > 0 && !olderMementos.get(end - 1).getFinishedAt().isBefore(coveredSince)) {
+            end--;
+        }
+        int count = Math.min(end, slots.length - size);
+        for (int i = end - 1; i >= end - count; i--) {
+            head = (head - 1 + slots.length) % slots.length;
+            slots[head] = olderMementos.get(i);
+            size++;
+        }
+        coveredSince = count < end ? olderMementos.get(end - count - 1).getFinishedAt() : loadedSince;
+    }
+
+    /**
+     * 지정한 시각 이후에 완료된 Memento 목록을 반환하는 메서드
+     * @param finishedAt 조회 시작 시각 (미포함)
+     * @return 완료 시각 오름차순으로 정렬된 Memento 목록, 버퍼가 구간 전체를 보관하지 않으면 null
+     */
+    public List<TaskMemento> findAllAfter(LocalDateTime finishedAt) {
+        if (finishedAt.isBefore(coveredSince)) {
+            return null;
+        }
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (get(mid).getFinishedAt().isAfter(finishedAt)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        List<TaskMemento> result = new ArrayList<>(size - low);
+        for (int i = low; i < size; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    private TaskMemento get(int index) {
+        return slots[(head + index) % slots.length];
+    }
+}
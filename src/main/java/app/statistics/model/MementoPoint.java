@@ -0,0 +1,21 @@
+package app.statistics.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시계열 조회를 위한 {@link TaskMemento}의 프로젝션
+ * <p>엔티티 전체를 불러오지 않고 차트에 필요한 값만 조회할 때 사용한다.</p>
+ * @param finishedAt 윈도우 완료 시각
+ * @param distinctCount 고유 개수 추정값
+ * @param processingTimeMs 처리 시간 (밀리초)
+ * @param id 완료 시각이 같은 포인트를 구분하는 값 (저장소의 식별자 또는 저장 순서), 저장되지 않은 Memento는 {@code null}
+ */
+public record MementoPoint(LocalDateTime finishedAt, double distinctCount, long processingTimeMs, @JsonIgnore Long id) {
+
+    public static MementoPoint from(TaskMemento taskMemento) {
+        return new MementoPoint(taskMemento.getFinishedAt(), taskMemento.getDistinctCount(),
+                taskMemento.getProcessingTimeMs(), taskMemento.getId());
+    }
+}
@@ -0,0 +1,13 @@
+package app.statistics.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 한 지표의 시계열 조회 결과
+ * @param points 완료 시각 오름차순으로 정렬된 시계열
+ * @param nextCursor 다음 페이지 조회 시 시작 시각으로 전달할 커서 (마지막 페이지이면 null)
+ * @param nextCursorId 다음 페이지 조회 시 커서와 함께 전달할 마지막 포인트의 {@link MementoPoint#id()} (마지막 페이지이면 null)
+ */
+public record MementoSeries(List<MementoPoint> points, LocalDateTime nextCursor, Long nextCursorId) {
+}
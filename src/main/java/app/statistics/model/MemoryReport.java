@@ -0,0 +1,33 @@
+package app.statistics.model;
+
+/**
+ * 스트림 처리에 사용하는 메모리의 추정 사용량
+ * @implSpec 모든 크기는 64비트 JVM(압축 참조) 기준의 추정값(바이트)이다.
+ * 작업 스레드의 스케치는 배치를 처리하는 동안에만 할당되므로 배치 처리 중의 최대 사용량을 나타낸다.
+ * @param windowSketchBytes 현재 윈도우 스케치
+ * @param workerSketchBytes 작업 스레드별 스케치 (배치 처리 중)
+ * @param heavyHitterBytes 윈도우와 작업 스레드의 Heavy Hitter 스케치
+ * @param tokenBufferBytes 토큰 수집 버퍼 (수집하지 않는 경우 0)
+ * @param queuedEvents 이벤트 큐에 쌓인 이벤트 수
+ * @param queueBytes 이벤트 큐
+ */
+public record MemoryReport(long windowSketchBytes, long workerSketchBytes, long heavyHitterBytes,
+                           long tokenBufferBytes, long queuedEvents, long queueBytes) {
+
+    /**
+     * @param queuedEvents 이벤트 큐에 쌓인 이벤트 수
+     * @param queueBytes 이벤트 큐의 추정 사용량
+     * @return 이벤트 큐의 사용량을 포함한 새로운 보고서
+     */
+    public MemoryReport withQueue(long queuedEvents, long queueBytes) {
+        return new MemoryReport(windowSketchBytes, workerSketchBytes, heavyHitterBytes, tokenBufferBytes,
+                queuedEvents, queueBytes);
+    }
+
+    /**
+     * @return 전체 추정 사용량 (바이트)
+     */
+    public long totalBytes() {
+        return windowSketchBytes + workerSketchBytes + heavyHitterBytes + tokenBufferBytes + queueBytes;
+    }
+}
@@ -0,0 +1,105 @@
+package app.statistics.model;
+
+/**
+ * 메트릭 하나의 기준선(baseline)을 점진적으로 유지하는 클래스
+ * <p>
+ *     전체 기간에 대한 EWMA(지수 가중 이동 평균)와 시간대(0~23시)별 계절성 EWMA를 함께 유지한다.
+ *     편차 척도로는 EWMA 평균 절대 편차를 사용하며, 정규분포 가정 하에서 표준편차로 환산하여 점수를 계산한다.
+ * </p>
+ * @implSpec 이력 데이터를 보관하지 않으므로 윈도우마다 O(1)의 시간과 고정된 메모리만 사용한다.
+ * 이상치가 기준선을 오염시키지 않도록 갱신 시 관측값을 임계 범위로 제한(winsorize)한다.
+ */
+public class MetricBaseline {
+    private static final int HOURS_PER_DAY = 24;
+    private static final double MEAN_ABSOLUTE_DEVIATION_TO_SIGMA = 1.2533; // sqrt(pi / 2)
+    private static final double MIN_RELATIVE_SCALE = 0.01;
+
+    private final double alpha;
+    private final double seasonalAlpha;
+    private final int warmupSamples;
+
+    private double mean;
+    private double deviation;
+    private long count;
+
+    private final double[] seasonalMean = new double[HOURS_PER_DAY];
+    private final double[] seasonalDeviation = new double[HOURS_PER_DAY];
+    private final long[] seasonalCount = new long[HOURS_PER_DAY];
+
+    /**
+     * @param alpha 전체 기준선의 EWMA 가중치
+     * @param seasonalAlpha 시간대별 기준선의 EWMA 가중치
+     * @param warmupSamples 점수를 계산하기 전에 필요한 최소 관측 수
+     */
+    public MetricBaseline(double alpha, double seasonalAlpha, int warmupSamples) {
+        this.alpha = alpha;
+        this.seasonalAlpha = seasonalAlpha;
+        this.warmupSamples = warmupSamples;
+    }
+
+    /**
+     * 주어진 시간대에 기대되는 값을 반환하는 메서드
+     * <p>해당 시간대의 관측이 충분하면 계절성 기준선을, 그렇지 않으면 전체 기준선을 사용한다.</p>
+     * @param hourOfDay 시간대 (0~23)
+     * @return 기대값, 관측이 부족한 경우 {@link Double#NaN}
+     */
+    public double expected(int hourOfDay) {
+        if (seasonalCount[hourOfDay] >= warmupSamples) {
+            return seasonalMean[hourOfDay];
+        }
+        return count >= warmupSamples ? mean : Double.NaN;
+    }
+
+    /**
+     * 관측값의 기준선 대비 편차 점수를 계산하는 메서드
+     * @param value 관측값
+     * @param hourOfDay 시간대 (0~23)
+     * @return 표준편차 단위의 부호 있는 점수, 관측이 부족한 경우 {@link Double#NaN}
+     */
+    public double score(double value, int hourOfDay) {
+        double expected = expected(hourOfDay);
+        if (Double.isNaN(expected)) {
+            return Double.NaN;
+        }
+        return (value - expected) / sigma(hourOfDay, expected);
+    }
+
+    /**
+     * 관측값을 기준선에 반영하는 메서드
+     * @param value 관측값
+     * @param hourOfDay 시간대 (0~23)
+     * @param threshold 이상치로 판단하는 점수 임계값 (반영 전 관측값을 이 범위로 제한한다)
+     */
+    public void update(double value, int hourOfDay, double threshold) {
+        double expected = expected(hourOfDay);
+        if (!Double.isNaN(expected)) {
+            double bound = threshold * sigma(hourOfDay, expected);
+            value = Math.max(expected - bound, Math.min(expected + bound, value));
+        }
+
+        if (count == 0) {
+            mean = value;
+        } else {
+            deviation += alpha * (Math.abs(value - mean) - deviation);
+            mean += alpha * (value - mean);
+        }
+        count++;
+
+        if (seasonalCount[hourOfDay] == 0) {
+            seasonalMean[hourOfDay] = value;
+        } else {
+            seasonalDeviation[hourOfDay] +=
+                    seasonalAlpha * (Math.abs(value - seasonalMean[hourOfDay]) - seasonalDeviation[hourOfDay]);
+            seasonalMean[hourOfDay] += seasonalAlpha * (value - seasonalMean[hourOfDay]);
+        }
+        seasonalCount[hourOfDay]++;
+    }
+
+    private double sigma(int hourOfDay, double expected) {
+        double meanAbsoluteDeviation = seasonalCount[hourOfDay] >= warmupSamples
+                ? seasonalDeviation[hourOfDay]
+                : deviation;
+        double minScale = Math.max(1.0, Math.abs(expected) * MIN_RELATIVE_SCALE);
+        return Math.max(meanAbsoluteDeviation * MEAN_ABSOLUTE_DEVIATION_TO_SIGMA, minScale);
+    }
+}
@@ -0,0 +1,112 @@
+package app.statistics.model;
+
+import java.io.ByteArrayOutputStream;
+import exaloglog.ExaLogLog;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 직렬화된 {@link exaloglog.ExaLogLog} 스케치를 Deflate 알고리즘으로 압축하고 해제하는 유틸리티 클래스
+ * <p>{@link WindowSketch}와 세그먼트 저장소가 같은 형식으로 스케치를 저장하기 위해 사용한다.</p>
+ * @implSpec 스케치는 대부분 0으로 채워진 레지스터로 구성되므로 압축률보다 속도를 우선하는 {@link Deflater#BEST_SPEED}를 사용한다.
+ */
+public final class SketchCompression {
+    private static final int COMPRESSION_BUFFER_SIZE = 8192;
+    private static final int SKETCH_HEADER_SIZE = 3; // 직렬화된 스케치의 t, d, p
+
+    private SketchCompression() {
+    }
+
+    /**
+     * 직렬화된 스케치를 압축하는 메서드
+     * @param serialized {@link exaloglog.ExaLogLog#toByteArray()}로 직렬화된 스케치
+     * @return 압축된 바이트 배열
+     */
+    public static byte[] compress(byte[] serialized) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(serialized);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(serialized.length / 4 + COMPRESSION_BUFFER_SIZE);
+            byte[] buffer = new byte[COMPRESSION_BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 압축된 스케치를 해제하는 메서드
+     * @param compressed 압축된 스케치
+     * @param serializedSize 압축 전 크기
+     * @return 직렬화된 스케치
+     * @throws IllegalStateException 압축된 데이터가 손상되었거나 크기가 스케치의 파라미터와 맞지 않는 경우
+     */
+    public static byte[] decompress(byte[] compressed, int serializedSize) {
+        return decompress(ByteBuffer.wrap(compressed), serializedSize);
+    }
+
+    /**
+     * 버퍼에 담긴 압축된 스케치를 해제하는 메서드
+     * @implNote 메모리 매핑된 버퍼를 복사하지 않고 바로 해제할 수 있다.
+     * 압축 전 크기는 외부에서 받은 값일 수 있으므로, 먼저 파라미터(t, d, p)를 해제하여 파라미터가 나타내는 크기와 같은 경우에만 배열을 할당한다.
+     * @param compressed 압축된 스케치가 담긴 버퍼 (position부터 limit까지 읽는다)
+     * @param serializedSize 압축 전 크기
+     * @return 직렬화된 스케치
+     * @throws IllegalStateException 압축된 데이터가 손상되었거나 크기가 스케치의 파라미터와 맞지 않는 경우
+     */
+    public static byte[] decompress(ByteBuffer compressed, int serializedSize) {
+        if (serializedSize < SKETCH_HEADER_SIZE) {
+            throw new IllegalStateException("압축된 스케치의 크기가 올바르지 않습니다.");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] header = new byte[SKETCH_HEADER_SIZE];
+            if (inflate(inflater, header, 0) != SKETCH_HEADER_SIZE) {
+                throw new IllegalStateException("압축된 스케치의 크기가 올바르지 않습니다.");
+            }
+            int expectedSize;
+            try {
+                expectedSize = ExaLogLog.getSerializedSize(header[0], header[1], header[2]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("압축된 스케치의 파라미터가 올바르지 않습니다.", e);
+            }
+            if (expectedSize != serializedSize) {
+                throw new IllegalStateException("압축된 스케치의 크기가 올바르지 않습니다.");
+            }
+
+            byte[] serialized = Arrays.copyOf(header, serializedSize);
+            if (inflate(inflater, serialized, SKETCH_HEADER_SIZE) != serializedSize) {
+                throw new IllegalStateException("압축된 스케치의 크기가 올바르지 않습니다.");
+            }
+            return serialized;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 스케치를 해제할 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @return 배열에 해제된 데이터의 끝 위치
+     */
+    private static int inflate(Inflater inflater, byte[] target, int offset) throws DataFormatException {
+        while (offset < target.length && !inflater.finished()) {
+            int length = inflater.inflate(target, offset, target.length - offset);
+            if (length == 0 && inflater.needsInput()) {
+                break;
+            }
+            offset += length;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,163 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 수집 노드가 집계 노드로 전송하는 1분 윈도우의 부분 집계 결과
+ * <p>
+ *     수집 노드는 이벤트를 전송하지 않고 윈도우 동안 누적한 스케치만 전송하므로,
+ *     노드 간 트래픽은 이벤트 수와 관계없이 윈도우당 스케치 크기(압축 후 수 KB ~ 수 MB)로 제한된다.
+ * </p>
+ * @implSpec 직렬화 형식:
+ * {@code [int MAGIC][UTF-8 노드 ID][UTF-8 작업 유형][long 윈도우 시작][long 완료 시각][int 나노초][long 처리 시간]
+ * [int Heavy Hitter 수][(long 키 해시, long 추정 빈도)...][byte 스케치 형식][스케치]}.
+ * 문자열은 {@code [short 길이][바이트]}로 기록한다. 스케치는 다음 중 더 작은 형식으로 기록한다.
+ * <ul>
+ *     <li>{@code DENSE}: {@code [int 직렬화 크기][압축된 스케치]} - {@link SketchCompression}으로 압축한 레지스터 배열</li>
+ *     <li>{@code TOKENS}: {@link SketchTokens#encode()} - 고유 개수가 적은 윈도우의 토큰 목록</li>
+ * </ul>
+ * @param nodeId 결과를 전송한 노드 ID
+ * @param taskType 작업 유형
+ * @param windowStart 노드가 사용한 분 단위 윈도우 시작 시각 (노드 간 같은 윈도우를 식별하는 데 사용한다)
+ * @param finishedAt 노드에서 윈도우를 종료한 시각
+ * @param processingTimeMs 노드의 처리 시간 (밀리초)
+ * @param heavyHitters 노드의 Heavy Hitter 목록
+ * @param sketch 노드의 윈도우 스케치, 토큰 형식으로 받은 경우 {@code null}
+ * @param tokens 노드의 윈도우 토큰 목록, 수집하지 않았거나 레지스터 배열 형식으로 받은 경우 {@code null}
+ */
+public record SketchShipment(String nodeId, TaskType taskType, LocalDateTime windowStart, LocalDateTime finishedAt,
+                             long processingTimeMs, List<HeavyHitter> heavyHitters, ExaLogLog sketch,
+                             SketchTokens tokens) {
+    private static final int MAGIC = 0x454C4C57; // "ELLW" (윈도우 시작 시각을 기록하는 형식)
+    private static final byte FORMAT_DENSE = 0;
+    private static final byte FORMAT_TOKENS = 1;
+
+    /**
+     * 종료된 윈도우의 집계 결과로 전송 데이터를 생성하는 메서드
+     * @param nodeId 노드 ID
+     * @param windowResult 종료된 윈도우의 집계 결과
+     * @implNote 완료 시각이 아니라 노드가 윈도우를 종료할 때 사용한 윈도우 시작 시각을 전송하므로,
+     * 노드의 시계가 조금 어긋나거나 윈도우 종료가 지연되어도 다른 노드와 같은 윈도우로 병합된다.
+     * @return 전송 데이터
+     */
+    public static SketchShipment of(String nodeId, WindowResult windowResult) {
+        TaskMemento taskMemento = windowResult.taskMemento();
+        return new SketchShipment(nodeId, taskMemento.getTaskType(), windowResult.windowStart(),
+                taskMemento.getFinishedAt(), taskMemento.getProcessingTimeMs(), taskMemento.getHeavyHitters(), windowResult.sketch(),
+                windowResult.tokens());
+    }
+
+    /**
+     * @implNote 토큰 목록이 있으면 압축된 레지스터 배열과 크기를 비교하여 더 작은 형식을 사용한다.
+     * @return 직렬화된 전송 데이터
+     */
+    public byte[] toByteArray() {
+        byte[] nodeIdBytes = nodeId.getBytes(StandardCharsets.UTF_8);
+        byte[] taskTypeBytes = taskType.name().getBytes(StandardCharsets.UTF_8);
+        byte[] encodedTokens = tokens == null ? null : tokens.encode();
+        byte[] serialized = null;
+        byte[] compressed = null;
+        if (sketch != null) {
+            serialized = sketch.toByteArray();
+            compressed = SketchCompression.compress(serialized);
+        }
+        boolean useTokens = encodedTokens != null
+                && (compressed == null || encodedTokens.length < Integer.BYTES + compressed.length);
+        int sketchSize = useTokens ? encodedTokens.length : Integer.BYTES + compressed.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES
+                + Short.BYTES + nodeIdBytes.length
+                + Short.BYTES + taskTypeBytes.length
+                + Long.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES
+                + Integer.BYTES + heavyHitters.size() * (Long.BYTES + Long.BYTES)
+                + Byte.BYTES + sketchSize);
+        buffer.putInt(MAGIC)
+                .putShort((short) nodeIdBytes.length).put(nodeIdBytes)
+                .putShort((short) taskTypeBytes.length).put(taskTypeBytes)
+                .putLong(windowStart.toEpochSecond(ZoneOffset.UTC))
+                .putLong(finishedAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(finishedAt.getNano())
+                .putLong(processingTimeMs)
+                .putInt(heavyHitters.size());
+        for (HeavyHitter heavyHitter : heavyHitters) {
+            buffer.putLong(heavyHitter.getKeyHash()).putLong(heavyHitter.getEstimatedCount());
+        }
+        if (useTokens) {
+            buffer.put(FORMAT_TOKENS).put(encodedTokens);
+        } else {
+            buffer.put(FORMAT_DENSE).putInt(serialized.length).put(compressed);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 직렬화된 전송 데이터를 복원하는 메서드
+     * @implNote 전송 데이터는 인증되지 않은 요청으로 받으므로, 스케치는 파라미터가 나타내는 직렬화 크기가
+     * 최대 크기 이하이고 기록된 크기와 같은 경우에만 할당한다.
+     * @param bytes {@link #toByteArray()}로 직렬화된 전송 데이터
+     * @param maxSketchBytes 스케치의 최대 직렬화 크기 (바이트)
+     * @return 복원된 전송 데이터
+     * @throws IllegalArgumentException 형식이 올바르지 않거나 스케치가 최대 크기보다 큰 경우
+     */
+    public static SketchShipment fromByteArray(byte[] bytes, long maxSketchBytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("스케치 전송 데이터 형식이 아닙니다.");
+            }
+            String nodeId = getString(buffer);
+            TaskType taskType = TaskType.valueOf(getString(buffer));
+            LocalDateTime windowStart = LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC);
+            long finishedAtSeconds = buffer.getLong();
+            LocalDateTime finishedAt = LocalDateTime.ofEpochSecond(finishedAtSeconds, buffer.getInt(), ZoneOffset.UTC);
+            long processingTimeMs = buffer.getLong();
+            int heavyHitterCount = buffer.getInt();
+            if (heavyHitterCount < 0 || heavyHitterCount > buffer.remaining() / (Long.BYTES + Long.BYTES)) {
+                throw new IllegalArgumentException("Heavy Hitter 수가 올바르지 않습니다: " + heavyHitterCount);
+            }
+            List<HeavyHitter> heavyHitters = new ArrayList<>(heavyHitterCount);
+            for (int i = 0; i < heavyHitterCount; i++) {
+                heavyHitters.add(HeavyHitter.of(buffer.getLong(), buffer.getLong()));
+            }
+            byte format = buffer.get();
+            if (format == FORMAT_TOKENS) {
+                SketchTokens tokens = SketchTokens.decode(buffer);
+                checkSketchSize(ExaLogLog.getSerializedSize(tokens.t(), tokens.d(), tokens.p()), maxSketchBytes);
+                return new SketchShipment(nodeId, taskType, windowStart, finishedAt, processingTimeMs, heavyHitters,
+                        null, tokens);
+            }
+            if (format != FORMAT_DENSE) {
+                throw new IllegalArgumentException("알 수 없는 스케치 형식입니다: " + format);
+            }
+            int serializedSize = buffer.getInt();
+            checkSketchSize(serializedSize, maxSketchBytes);
+            ExaLogLog sketch = ExaLogLog.fromByteArray(SketchCompression.decompress(buffer, serializedSize));
+            return new SketchShipment(nodeId, taskType, windowStart, finishedAt, processingTimeMs, heavyHitters,
+                    sketch, null);
+        } catch (BufferUnderflowException | IllegalStateException | DateTimeException e) {
+            throw new IllegalArgumentException("스케치 전송 데이터를 읽을 수 없습니다.", e);
+        }
+    }
+
+    private static void checkSketchSize(int serializedSize, long maxSketchBytes) {
+        if (serializedSize < 0 || serializedSize > maxSketchBytes) {
+            throw new IllegalArgumentException("스케치 크기가 올바르지 않습니다: " + serializedSize);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
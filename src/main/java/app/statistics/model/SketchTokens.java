@@ -0,0 +1,110 @@
+package app.statistics.model;
+
+import exaloglog.ExaLogLog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 윈도우 스케치를 레지스터 배열 대신 {@link ExaLogLog#computeToken(long) 토큰} 목록으로 표현한 값
+ * <p>고유 개수가 적은 윈도우는 토큰 목록이 레지스터 배열보다 훨씬 작으므로 노드 간 전송에 사용한다.</p>
+ * @implSpec 토큰은 오름차순으로 정렬되어 중복이 없어야 한다.
+ * 직렬화 시 이전 토큰과의 차이를 가변 길이 정수(LEB128)로 기록하므로, 토큰이 조밀할수록 토큰당 크기가 작아진다.
+ * @param t 스케치의 t 파라미터
+ * @param d 스케치의 d 파라미터
+ * @param p 스케치의 p 파라미터
+ * @param tokens 정렬된 고유 토큰 배열
+ */
+public record SketchTokens(int t, int d, int p, int[] tokens) {
+
+    /**
+     * 토큰을 빈 스케치에 추가하여 레지스터 배열로 복원하는 메서드
+     * @return 복원된 스케치
+     */
+    public ExaLogLog toExaLogLog() {
+        return addTo(ExaLogLog.create(t, d, p));
+    }
+
+    /**
+     * 토큰을 스케치에 직접 추가하는 메서드
+     * @implNote 토큰은 파라미터와 관계없이 추가할 수 있으므로, 받은 스케치를 복원하지 않고 누적 스케치에 바로 병합할 수 있다.
+     * @param sketch 토큰을 추가할 스케치
+     * @return 토큰이 추가된 스케치
+     */
+    public ExaLogLog addTo(ExaLogLog sketch) {
+        for (int token : tokens) {
+            sketch.addToken(token);
+        }
+        return sketch;
+    }
+
+    /**
+     * @return 파라미터와 차이 부호화된 토큰 목록을 담은 바이트 배열
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(tokens.length * 3 + 8);
+        out.write(t);
+        out.write(d);
+        out.write(p);
+        writeVarLong(out, tokens.length);
+        long previous = Integer.MIN_VALUE;
+        for (int token : tokens) {
+            writeVarLong(out, token - previous);
+            previous = token;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * {@link #encode()}로 기록한 토큰 목록을 읽는 메서드
+     * @param buffer 읽을 버퍼 (position부터 읽는다)
+     * @implNote 토큰을 복원할 스케치를 만들 수 있도록 파라미터를 먼저 검증한다.
+     * @return 읽은 토큰 목록
+     * @throws IllegalArgumentException 형식이나 파라미터가 올바르지 않은 경우
+     */
+    public static SketchTokens decode(ByteBuffer buffer) {
+        int t = buffer.get();
+        int d = buffer.get();
+        int p = buffer.get();
+        try {
+            ExaLogLog.getSerializedSize(t, d, p);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("스케치 파라미터가 올바르지 않습니다: t=" + t + ", d=" + d + ", p=" + p, e);
+        }
+        long count = readVarLong(buffer);
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("토큰 수가 올바르지 않습니다: " + count);
+        }
+        int[] tokens = new int[(int) count];
+        long previous = Integer.MIN_VALUE;
+        for (int i = 0; i < tokens.length; i++) {
+            long token = previous + readVarLong(buffer);
+            if (token > Integer.MAX_VALUE || (i > 0 && token == previous)) {
+                throw new IllegalArgumentException("토큰이 정렬되어 있지 않습니다.");
+            }
+            tokens[i] = (int) token;
+            previous = token;
+        }
+        return new SketchTokens(t, d, p, tokens);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("가변 길이 정수가 너무 깁니다.");
+    }
+}
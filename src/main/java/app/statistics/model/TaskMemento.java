@@ -1,24 +1,32 @@
 package app.statistics.model;
 
 import app.statistics.model.enums.TaskType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * ExaLogLog 태스크의 상태를 저장하는 Memento 엔티티 클래스
  * <p>{@link app.statistics.application.ELLStreamProcessor ELLStreamProcessor}의 처리 결과를 저장하는 데 사용된다.</p>
  * @implSpec JPA 엔티티로 매핑되며, 태스크 유형, 완료 시간, 독립적인 개수 및 처리 시간을 속성으로 가진다.
+ * 윈도우의 Heavy Hitter 목록은 별도의 컬렉션 테이블에 저장되며 필요한 경우에만 지연 로딩된다.
+ * 윈도우 처리 중 측정한 성능 지표({@link WindowTelemetry})는 같은 테이블의 컬럼으로 저장된다.
+ * 식별자는 시퀀스(MySQL에서는 테이블로 에뮬레이션)에서 50개 단위로 미리 할당하여 JDBC 배치 INSERT가 가능하도록 한다.
  */
 @Getter
 @Entity
+@Table(indexes = @Index(name = "idx_task_memento_task_type_finished_at", columnList = "taskType, finishedAt"))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class TaskMemento {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_memento_seq")
+    @SequenceGenerator(name = "task_memento_seq", sequenceName = "task_memento_seq", allocationSize = 50)
     @Column(nullable = false, unique = true)
     private Long id;
 
@@ -35,15 +43,47 @@ public class TaskMemento {
     @Column
     private long processingTimeMs;
 
-    private TaskMemento(TaskType taskType, LocalDateTime finishedAt, double distinctCount, long processingTimeMs) {
+    @Embedded
+    private WindowTelemetry telemetry = WindowTelemetry.empty();
+
+    @JsonIgnore
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "task_memento_heavy_hitter", joinColumns = @JoinColumn(name = "task_memento_id"))
+    @OrderBy("estimatedCount DESC")
+    private List<HeavyHitter> heavyHitters = new ArrayList<>();
+
+    private TaskMemento(TaskType taskType, LocalDateTime finishedAt, double distinctCount, long processingTimeMs,
+                        List<HeavyHitter> heavyHitters, WindowTelemetry telemetry) {
         this.taskType = taskType;
         this.finishedAt = finishedAt;
         this.distinctCount = distinctCount;
         this.processingTimeMs = processingTimeMs;
+        this.heavyHitters = new ArrayList<>(heavyHitters);
+        this.telemetry = telemetry;
     }
 
     public static TaskMemento of(TaskType taskType, LocalDateTime finishedAt, double distinctCount, long processingTimeMs) {
-        return new TaskMemento(taskType, finishedAt, distinctCount, processingTimeMs);
+        return new TaskMemento(taskType, finishedAt, distinctCount, processingTimeMs, List.of(), WindowTelemetry.empty());
+    }
+
+    public static TaskMemento of(TaskType taskType, LocalDateTime finishedAt, double distinctCount, long processingTimeMs,
+                                 List<HeavyHitter> heavyHitters) {
+        return new TaskMemento(taskType, finishedAt, distinctCount, processingTimeMs, heavyHitters, WindowTelemetry.empty());
+    }
+
+    public static TaskMemento of(TaskType taskType, LocalDateTime finishedAt, double distinctCount, long processingTimeMs,
+                                 List<HeavyHitter> heavyHitters, WindowTelemetry telemetry) {
+        return new TaskMemento(taskType, finishedAt, distinctCount, processingTimeMs, heavyHitters, telemetry);
+    }
+
+    /**
+     * 식별자 없이 같은 내용을 가진 새로운 Memento를 생성하는 메서드
+     * @implNote 저장에 실패한 트랜잭션에서 할당된 식별자는 롤백 이후에도 엔티티에 남으므로,
+     * 저장소는 재시도할 때마다 원본 대신 복사본을 저장한다. 원본은 이벤트로 공유되므로 저장 과정에서 변경되지 않는다.
+     * @return 저장되지 않은 새로운 Memento
+     */
+    public TaskMemento copy() {
+        return new TaskMemento(taskType, finishedAt, distinctCount, processingTimeMs, heavyHitters, telemetry);
     }
 
     @Override
@@ -0,0 +1,22 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.CheckpointSection;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 진행 중인 윈도우의 체크포인트
+ * @param windowStart 체크포인트를 기록한 윈도우의 시작 시각 (분 단위로 정렬)
+ * @param sections 체크포인트에 기록된 상태의 종류별 내용
+ */
+public record WindowCheckpoint(LocalDateTime windowStart, Map<CheckpointSection, byte[]> sections) {
+
+    /**
+     * @param section 상태의 종류
+     * @return 기록된 상태, 기록되지 않은 경우 {@code null}
+     */
+    public byte[] section(CheckpointSection section) {
+        return sections.get(section);
+    }
+}
@@ -0,0 +1,19 @@
+package app.statistics.model;
+
+import exaloglog.ExaLogLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * 종료된 윈도우의 집계 결과
+ * @param windowStart 윈도우를 종료한 노드가 사용한 1분 윈도우의 시작 시각 (분 단위로 정렬, 스케치 저장과 노드 간 병합의 기준)
+ * @param taskMemento 윈도우의 추정 결과를 담은 Memento
+ * @param sketch 윈도우 동안 누적된 {@link ExaLogLog} 스케치
+ * @param tokens 스케치와 같은 내용을 표현하는 토큰 목록, 수집하지 않았거나 한도를 넘은 경우 {@code null}
+ */
+public record WindowResult(LocalDateTime windowStart, TaskMemento taskMemento, ExaLogLog sketch, SketchTokens tokens) {
+
+    public WindowResult(LocalDateTime windowStart, TaskMemento taskMemento, ExaLogLog sketch) {
+        this(windowStart, taskMemento, sketch, null);
+    }
+}
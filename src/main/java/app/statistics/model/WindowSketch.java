@@ -0,0 +1,109 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import exaloglog.ExaLogLog;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 윈도우의 {@link ExaLogLog} 스케치를 압축하여 저장하는 엔티티 클래스
+ * <p>
+ *     고유 개수는 윈도우 간에 더할 수 없으므로, 여러 윈도우에 걸친 고유 개수는 저장된 스케치를 병합하여 계산해야 한다.
+ *     스케치는 {@link TaskMemento}와 별도의 테이블에 저장되어 Memento 조회 시에는 로딩되지 않는다.
+ * </p>
+ * @implSpec 스케치는 {@link ExaLogLog#toByteArray()}로 직렬화한 후 {@link SketchCompression}으로 압축한다.
+ * 윈도우 구간은 {@link SketchResolution} 단위로 정렬된 [windowStart, windowEnd) 구간이다.
+ * 1분 스케치만 {@link TaskMemento}와 연결되며, 병합(rollup)된 상위 단위 스케치는 Memento 없이 저장된다.
+ */
+@Getter
+@Entity
+@Table(indexes = @Index(name = "idx_window_sketch_task_type_resolution_window_start",
+        columnList = "taskType, resolution, windowStart"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WindowSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "window_sketch_seq")
+    @SequenceGenerator(name = "window_sketch_seq", sequenceName = "window_sketch_seq", allocationSize = 50)
+    @Column(nullable = false, unique = true)
+    private Long id;
+
+    @JsonIgnore
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_memento_id")
+    private TaskMemento taskMemento;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskType taskType;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private SketchResolution resolution;
+
+    @Column(nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(nullable = false)
+    private int serializedSize;
+
+    @JsonIgnore
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] compressedSketch;
+
+    private WindowSketch(TaskMemento taskMemento, TaskType taskType, SketchResolution resolution,
+                         LocalDateTime windowStart, LocalDateTime windowEnd, ExaLogLog sketch) {
+        byte[] serialized = sketch.toByteArray();
+        this.taskMemento = taskMemento;
+        this.taskType = taskType;
+        this.resolution = resolution;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.serializedSize = serialized.length;
+        this.compressedSketch = SketchCompression.compress(serialized);
+    }
+
+    /**
+     * 1분 윈도우의 스케치를 생성하는 메서드
+     * @param taskMemento 스케치와 함께 저장되는 윈도우 결과
+     * @param windowStart 윈도우를 종료한 노드가 사용한 윈도우 시작 시각
+     * @param sketch 윈도우 동안 누적된 스케치
+     * @return [windowStart, windowStart + 1분) 구간의 스케치
+     */
+    public static WindowSketch of(TaskMemento taskMemento, LocalDateTime windowStart, ExaLogLog sketch) {
+        return new WindowSketch(taskMemento, taskMemento.getTaskType(), SketchResolution.MINUTE,
+                windowStart, windowStart.plus(SketchResolution.MINUTE.getLength()), sketch);
+    }
+
+    /**
+     * 하위 단위 스케치를 병합한 상위 단위 스케치를 생성하는 메서드
+     * @param taskType 작업 유형
+     * @param resolution 병합 결과의 집계 단위
+     * @param windowStart 단위에 맞게 정렬된 구간 시작 시각
+     * @param sketch 병합된 스케치
+     * @return [windowStart, windowStart + 단위 길이) 구간의 스케치
+     */
+    public static WindowSketch rollup(TaskType taskType, SketchResolution resolution,
+                                      LocalDateTime windowStart, ExaLogLog sketch) {
+        return new WindowSketch(null, taskType, resolution,
+                windowStart, windowStart.plus(resolution.getLength()), sketch);
+    }
+
+    /**
+     * 압축된 스케치를 해제하여 {@link ExaLogLog}로 복원하는 메서드
+     * @return 복원된 스케치 (호출할 때마다 새로운 객체를 반환한다)
+     */
+    public ExaLogLog toExaLogLog() {
+        return ExaLogLog.fromByteArray(SketchCompression.decompress(compressedSketch, serializedSize));
+    }
+}
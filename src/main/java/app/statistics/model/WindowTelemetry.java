@@ -0,0 +1,79 @@
+package app.statistics.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 윈도우 한 개를 처리하는 동안 측정한 성능 지표를 저장하는 값 타입
+ * <p>
+ *     {@link TaskMemento}에 포함되어 윈도우 결과와 함께 저장되므로, 처리량이나 단계별 소요 시간의 변화를
+ *     로그 없이 저장된 데이터만으로 분석할 수 있다.
+ * </p>
+ * @implSpec 단계별 소요 시간은 윈도우 동안 처리한 모든 배치의 합계(나노초)이다.
+ * 체크포인트에서 복원한 이벤트는 이벤트 수와 소요 시간에 포함되지 않으며, 측정하지 않은 값은 0이다.
+ */
+@Getter
+@Embeddable
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class WindowTelemetry {
+    // 스케치에 추가한 이벤트(해시 값) 수
+    @Column(nullable = false)
+    private long eventCount;
+
+    // 윈도우 종료 시점에 큐에 가장 오래 머문 이벤트의 대기 시간 (나노초, 큐가 비어 있었으면 0)
+    @Column(name = "queue_lag", nullable = false)
+    private long queueLagNanos;
+
+    @Column(nullable = false)
+    private long partitionNanos;
+
+    @Column(nullable = false)
+    private long addNanos;
+
+    @Column(nullable = false)
+    private long mergeNanos;
+
+    @Column(nullable = false)
+    private long estimateNanos;
+
+    // 배치 처리에 사용한 스레드 수
+    @Column(nullable = false)
+    private int threadCount;
+
+    // 윈도우 스케치의 레지스터 배열 크기
+    @Column(nullable = false)
+    private long sketchBytes;
+
+    // 고유 개수 추정에 사용한 Newton 반복 횟수
+    @Column(nullable = false)
+    private int solverIterations;
+
+    private WindowTelemetry(long eventCount, long queueLagNanos, long partitionNanos, long addNanos, long mergeNanos,
+                            long estimateNanos, int threadCount, long sketchBytes, int solverIterations) {
+        this.eventCount = eventCount;
+        this.queueLagNanos = queueLagNanos;
+        this.partitionNanos = partitionNanos;
+        this.addNanos = addNanos;
+        this.mergeNanos = mergeNanos;
+        this.estimateNanos = estimateNanos;
+        this.threadCount = threadCount;
+        this.sketchBytes = sketchBytes;
+        this.solverIterations = solverIterations;
+    }
+
+    public static WindowTelemetry of(long eventCount, long queueLagNanos, long partitionNanos, long addNanos, long mergeNanos,
+                                     long estimateNanos, int threadCount, long sketchBytes, int solverIterations) {
+        return new WindowTelemetry(eventCount, queueLagNanos, partitionNanos, addNanos, mergeNanos,
+                estimateNanos, threadCount, sketchBytes, solverIterations);
+    }
+
+    /**
+     * @return 측정값이 없는 지표 (모든 값이 0)
+     */
+    public static WindowTelemetry empty() {
+        return new WindowTelemetry();
+    }
+}
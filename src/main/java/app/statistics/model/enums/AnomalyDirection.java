@@ -0,0 +1,16 @@
+package app.statistics.model.enums;
+
+/**
+ * 이상 탐지 결과의 방향을 나타내는 열거형
+ */
+public enum AnomalyDirection {
+    /**
+     * 기준값보다 급격히 증가한 경우 (예: DDoS, 대량 가입 공격)
+     */
+    SPIKE,
+    /**
+     * 기준값보다 급격히 감소한 경우 (예: 수집 파이프라인 장애)
+     */
+    DROP,
+    ;
+}
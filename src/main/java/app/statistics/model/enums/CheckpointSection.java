@@ -0,0 +1,21 @@
+package app.statistics.model.enums;
+
+/**
+ * 진행 중인 윈도우의 체크포인트를 구성하는 상태의 종류
+ * @implNote 체크포인트 파일에는 순서 값({@link #ordinal()})이 기록되므로 순서를 바꾸면 기존 체크포인트를 읽을 수 없다.
+ */
+public enum CheckpointSection {
+    /**
+     * 윈도우 스케치의 레지스터 배열
+     */
+    REGISTERS,
+    /**
+     * 윈도우의 Heavy Hitter 스케치
+     */
+    HEAVY_HITTERS,
+    /**
+     * Superspreader 탐지기의 슬롯
+     */
+    SUPERSPREADERS,
+    ;
+}
@@ -0,0 +1,90 @@
+package app.statistics.model.enums;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 윈도우 스케치의 집계 단위(해상도)를 나타내는 열거형
+ * <p>
+ *     1분 스케치는 5분, 1시간, 1일 단위로 차례대로 병합(rollup)된다.
+ *     상위 단위일수록 오래 보관하며, 메모리와 저장 공간을 줄이기 위해 더 작은 레지스터 수(p)로 다운사이징한다.
+ * </p>
+ */
+public enum SketchResolution {
+    /**
+     * 1분 윈도우 스케치 (1일 보관)
+     */
+    MINUTE(Duration.ofMinutes(1), Duration.ofDays(1), 20),
+    /**
+     * 5분 단위 병합 스케치 (7일 보관)
+     */
+    FIVE_MINUTES(Duration.ofMinutes(5), Duration.ofDays(7), 20),
+    /**
+     * 1시간 단위 병합 스케치 (90일 보관)
+     */
+    HOUR(Duration.ofHours(1), Duration.ofDays(90), 18),
+    /**
+     * 1일 단위 병합 스케치 (영구 보관)
+     */
+    DAY(Duration.ofDays(1), null, 16),
+    ;
+
+    private final Duration length;
+    private final Duration retention;
+    private final int maxP;
+
+    SketchResolution(Duration length, Duration retention, int maxP) {
+        this.length = length;
+        this.retention = retention;
+        this.maxP = maxP;
+    }
+
+    /**
+     * @return 스케치 하나가 표현하는 구간의 길이
+     */
+    public Duration getLength() {
+        return length;
+    }
+
+    /**
+     * @return 스케치 보관 기간, 영구 보관하는 경우 {@code null}
+     */
+    public Duration getRetention() {
+        return retention;
+    }
+
+    /**
+     * @return 이 단위의 스케치가 가질 수 있는 최대 레지스터 인덱스 비트 수
+     */
+    public int getMaxP() {
+        return maxP;
+    }
+
+    /**
+     * @return 이 단위로 병합되는 하위 단위, 최하위 단위인 경우 {@code null}
+     */
+    public SketchResolution getSource() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
+
+    /**
+     * @return 이 단위를 병합하여 만들어지는 상위 단위, 최상위 단위인 경우 {@code null}
+     */
+    public SketchResolution getTarget() {
+        SketchResolution[] resolutions = values();
+        return ordinal() == resolutions.length - 1 ? null : resolutions[ordinal() + 1];
+    }
+
+    /**
+     * 주어진 시각이 속한 구간의 시작 시각을 반환하는 메서드
+     * @param time 정렬할 시각
+     * @return 하루의 시작을 기준으로 구간 길이의 배수로 내림한 시각
+     */
+    public LocalDateTime alignDown(LocalDateTime time) {
+        LocalDateTime startOfDay = time.truncatedTo(ChronoUnit.DAYS);
+        long elapsedSeconds = Duration.between(startOfDay, time).getSeconds();
+        long lengthSeconds = length.getSeconds();
+        return startOfDay.plusSeconds(elapsedSeconds / lengthSeconds * lengthSeconds);
+    }
+}
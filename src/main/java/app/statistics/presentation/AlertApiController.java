@@ -0,0 +1,57 @@
+package app.statistics.presentation;
+
+import app.statistics.application.AnomalyDetectionService;
+import app.statistics.model.AnomalyAlert;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 이상 탐지 알림 API 요청을 처리하는 컨트롤러 클래스
+ * <p>
+ *     최근 알림 목록 조회 API와 새로운 알림을 실시간으로 전달하는 이벤트 스트림(Server-Sent Events)을 제공한다.
+ * </p>
+ * @see AnomalyDetectionService
+ */
+@RestController
+@RequestMapping("/statistics/alerts")
+public class AlertApiController {
+    private static final String ALERT_EVENT_NAME = "anomaly";
+
+    private final AnomalyDetectionService anomalyDetectionService;
+    private final SseBroadcaster alertBroadcaster;
+
+    public AlertApiController(AnomalyDetectionService anomalyDetectionService, ObjectMapper objectMapper) {
+        this.anomalyDetectionService = anomalyDetectionService;
+        this.alertBroadcaster = new SseBroadcaster(objectMapper, "alerts");
+    }
+
+    /**
+     * 최근 알림 목록을 조회하는 API
+     * @param since 조회 시작 시각 (미포함, 생략하면 보관 중인 모든 알림)
+     * @return 발생 순서대로 정렬된 알림 목록
+     */
+    @GetMapping
+    public ResponseEntity<List<AnomalyAlert>> getAlerts(@RequestParam(required = false) LocalDateTime since) {
+        return ResponseEntity.ok(anomalyDetectionService.getAlertsAfter(since));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return alertBroadcaster.subscribe();
+    }
+
+    @EventListener
+    public void onAnomalyAlert(AnomalyAlert alert) {
+        alertBroadcaster.broadcast(ALERT_EVENT_NAME, alert);
+    }
+}
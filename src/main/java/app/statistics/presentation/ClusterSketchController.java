@@ -0,0 +1,58 @@
+package app.statistics.presentation;
+
+import app.statistics.application.ClusterWindowAggregator;
+import app.statistics.model.SketchShipment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 수집 노드가 전송한 윈도우 스케치를 받는 컨트롤러 클래스
+ * <p>{@code ell.cluster.role=aggregator}인 노드에서만 활성화된다.</p>
+ * @implSpec 직렬화 크기가 {@code ell.cluster.max-sketch-bytes}보다 큰 스케치는 할당하지 않고 거부한다.
+ * @see app.statistics.application.SketchShipper SketchShipper
+ */
+@Slf4j
+@RestController
+@RequestMapping("/cluster")
+@ConditionalOnProperty(name = "ell.cluster.role", havingValue = "aggregator")
+public class ClusterSketchController {
+    private final ClusterWindowAggregator clusterWindowAggregator;
+    private final long maxSketchBytes;
+
+    public ClusterSketchController(ClusterWindowAggregator clusterWindowAggregator,
+                                   @Value("${ell.cluster.max-sketch-bytes:8MB}") DataSize maxSketchSize) {
+        this.clusterWindowAggregator = clusterWindowAggregator;
+        this.maxSketchBytes = maxSketchSize.toBytes();
+    }
+
+    /**
+     * 노드의 윈도우 스케치를 병합하는 API
+     * @param body {@link SketchShipment#toByteArray()}로 직렬화된 스케치
+     * @return 병합된 경우 202, 형식이 올바르지 않은 경우 400, 이미 완료된 윈도우이거나 중복 전송인 경우 409
+     */
+    @PostMapping(value = "/sketches", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> receiveSketch(@RequestBody byte[] body) {
+        SketchShipment shipment;
+        try {
+            shipment = SketchShipment.fromByteArray(body, maxSketchBytes);
+        } catch (IllegalArgumentException e) {
+            log.warn("ELL_:WARN:AGGR::: Rejecting malformed sketch shipment: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (!clusterWindowAggregator.accept(shipment)) {
+            log.warn("ELL_:WARN:AGGR::: Rejecting {} window starting at {} from {}",
+                    shipment.taskType(), shipment.windowStart(), shipment.nodeId());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+}
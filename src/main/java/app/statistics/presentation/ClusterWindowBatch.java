@@ -0,0 +1,31 @@
+package app.statistics.presentation;
+
+import app.statistics.application.ClusterWindowAggregator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유예 시간 안에 모든 노드의 스케치가 도착하지 않은 윈도우를 완료하는 배치 작업 클래스
+ * <p>{@code ell.cluster.role=aggregator}인 노드에서만 실행된다.</p>
+ * @see ClusterWindowAggregator
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ell.cluster.role", havingValue = "aggregator")
+public class ClusterWindowBatch {
+    private final ClusterWindowAggregator clusterWindowAggregator;
+
+    @Scheduled(fixedDelay = 1000)
+    public void process() {
+        int closed = clusterWindowAggregator.closeExpiredWindows(LocalDateTime.now());
+        if (closed > 0) {
+            log.info("ELL_:AGGR:CMPL::: Closed {} windows after the grace period", closed);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package app.statistics.presentation;
+
+import app.statistics.application.DataStreamService;
+import app.statistics.application.EmailDataStreamService;
+import app.statistics.application.IpDataStreamService;
+import app.statistics.model.enums.TaskType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 외부에서 해시한 이벤트를 스트림 서비스에 추가하는 수집 컨트롤러 클래스
+ * <p>
+ *     본문은 빅 엔디언 64비트 해시 값을 이어 붙인 바이트 배열이며, JSON 변환 없이 배치 단위로 수집한다.
+ *     부하 생성기({@link app.statistics.simulator.HttpTrafficSink HttpTrafficSink})가 이 API로 트래픽을 전송한다.
+ * </p>
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/events")
+public class EventIngestController {
+    private final List<DataStreamService> dataStreamServiceList;
+    private final EmailDataStreamService emailDataStreamService;
+    private final IpDataStreamService ipDataStreamService;
+
+    /**
+     * 해시 값 목록을 이벤트 큐에 추가하는 API
+     * @param taskType 추가할 작업 유형
+     * @param body 64비트 해시 값 목록
+     * @return 추가한 경우 202, 본문 길이가 8의 배수가 아닌 경우 400, 작업 유형의 서비스가 없는 경우 404
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> ingest(TaskType taskType, @RequestBody byte[] body) {
+        if (body.length % Long.BYTES != 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<DataStreamService> service = findService(taskType);
+        if (service.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        long[] hashes = new long[body.length / Long.BYTES];
+        ByteBuffer.wrap(body).asLongBuffer().get(hashes);
+        service.get().addHashes(hashes, hashes.length);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * (출발지, 목적지) 해시 값 쌍 목록을 fan-out 탐지기에 추가하는 API
+     * @param taskType 추가할 작업 유형
+     * @param body 출발지와 목적지 해시 값을 번갈아 기록한 목록
+     * @return 추가한 경우 202, 본문 길이가 16의 배수가 아니거나 쌍을 받지 않는 작업 유형인 경우 400,
+     * 작업 유형의 서비스가 없는 경우 404
+     */
+    @PostMapping(value = "/fan-out", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> ingestFanOut(TaskType taskType, @RequestBody byte[] body) {
+        if (body.length % (2 * Long.BYTES) != 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<DataStreamService> service = findService(taskType);
+        if (service.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!service.get().tracksFanOut()) {
+            return ResponseEntity.badRequest().build();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int pairs = body.length / (2 * Long.BYTES);
+        long[] sourceHashes = new long[pairs];
+        long[] destinationHashes = new long[pairs];
+        for (int i = 0; i < pairs; i++) {
+            sourceHashes[i] = buffer.getLong();
+            destinationHashes[i] = buffer.getLong();
+        }
+        service.get().addFanOutPairs(sourceHashes, destinationHashes, pairs);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * 줄 단위 원본 텍스트(이메일 주소 또는 IP 주소)에서 키를 추출하여 이벤트 큐에 추가하는 API
+     * <p>접근 로그나 가입 요청을 그대로 전달할 수 있도록 줄마다 이메일 도메인 또는 IP 주소를 찾아 해시한다.</p>
+     * @implNote 본문 배열을 하나의 버퍼로 감싸고 줄마다 position과 limit만 옮기므로 줄 문자열을 만들지 않는다.
+     * 키를 찾지 못한 줄은 건너뛴다.
+     * @param taskType {@code DISTINCT_ACCOUNT_EMAIL_DOMAIN_COUNT} 또는 {@code DISTINCT_IP_ADDRESS_COUNT}
+     * @param body 줄바꿈({@code \n} 또는 {@code \r\n})으로 구분된 텍스트
+     * @return 추가한 경우 202, 원본 텍스트를 지원하지 않는 작업 유형인 경우 400
+     */
+    @PostMapping(value = "/lines", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<Void> ingestLines(TaskType taskType, @RequestBody byte[] body) {
+        if (taskType != TaskType.DISTINCT_ACCOUNT_EMAIL_DOMAIN_COUNT && taskType != TaskType.DISTINCT_IP_ADDRESS_COUNT) {
+            return ResponseEntity.badRequest().build();
+        }
+        ByteBuffer line = ByteBuffer.wrap(body);
+        for (int start = 0; start < body.length; ) {
+            int end = start;
+            while (end < body.length && body[end] != '\n') {
+                end++;
+            }
+            int next = end + 1;
+            if (end > start && body[end - 1] == '\r') {
+                end--;
+            }
+            line.limit(end).position(start);
+            if (taskType == TaskType.DISTINCT_ACCOUNT_EMAIL_DOMAIN_COUNT) {
+                emailDataStreamService.addEmail(line);
+            } else {
+                ipDataStreamService.addAddress(line);
+            }
+            line.limit(body.length);
+            start = next;
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private Optional<DataStreamService> findService(TaskType taskType) {
+        return dataStreamServiceList.stream()
+                .filter(service -> service.getTaskType() == taskType)
+                .findFirst();
+    }
+}
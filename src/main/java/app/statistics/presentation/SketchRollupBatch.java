@@ -0,0 +1,54 @@
+package app.statistics.presentation;
+
+import app.statistics.application.SketchRollupService;
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 윈도우 스케치의 계층적 병합(rollup)과 정리(compaction)를 수행하는 배치 작업 클래스
+ * <p>
+ *     5분마다 모든 작업 유형에 대해 1분 → 5분 → 1시간 → 1일 순서로 완료된 구간을 병합한 후,
+ *     보관 기간이 지난 하위 단위 스케치를 삭제한다.
+ * </p>
+ * @see SketchRollupService
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SketchRollupBatch {
+    // 장시간 중단 후 재시작한 경우에도 한 번의 실행 시간이 제한되도록 단위별 병합 구간 수를 제한
+    private static final int MAX_ROLLUPS_PER_RUN = 300;
+
+    private final SketchRollupService sketchRollupService;
+
+    @Scheduled(cron = "20 0/5 * * * *")
+    public void process() {
+        log.info("ELL_:RLUP:STRT::: Starting sketch rollup");
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            for (TaskType taskType : TaskType.values()) {
+                for (SketchResolution resolution : SketchResolution.values()) {
+                    if (resolution.getSource() == null) {
+                        continue;
+                    }
+                    int rolled = 0;
+                    while (rolled < MAX_ROLLUPS_PER_RUN && sketchRollupService.rollupNext(taskType, resolution, now)) {
+                        rolled++;
+                    }
+                }
+                for (SketchResolution resolution : SketchResolution.values()) {
+                    sketchRollupService.compact(taskType, resolution, now);
+                }
+            }
+            log.info("ELL_:RLUP:CMPL::: Completed sketch rollup");
+        } catch (Exception e) {
+            log.error("ELL_:RLUP:ERR_::: Error during sketch rollup: {}", e.getMessage());
+        }
+    }
+}
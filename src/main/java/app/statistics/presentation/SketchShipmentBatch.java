@@ -0,0 +1,39 @@
+package app.statistics.presentation;
+
+import app.statistics.application.SketchShipper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수집 노드의 윈도우 스케치를 주기적으로 집계 노드에 전송하는 배치 작업 클래스
+ * <p>{@code ell.cluster.role=ingest}인 노드에서만 실행된다.</p>
+ * @see SketchShipper
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "ell.cluster.role", havingValue = "ingest")
+public class SketchShipmentBatch {
+    private final SketchShipper sketchShipper;
+
+    @Scheduled(fixedDelayString = "${ell.cluster.ship-interval-ms:1000}")
+    public void process() {
+        sketchShipper.flush();
+    }
+
+    /**
+     * 종료 시 버퍼에 남아 있는 스케치를 전송한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sketchShipper.flush();
+        int remaining = sketchShipper.getPendingCount();
+        if (remaining > 0) {
+            log.warn("ELL_:WARN:SHIP::: {} window sketches were not shipped on shutdown", remaining);
+        }
+    }
+}
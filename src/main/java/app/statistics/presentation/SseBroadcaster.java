@@ -0,0 +1,164 @@
+package app.statistics.presentation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 여러 구독자에게 Server-Sent Events를 전송하는 유틸리티 클래스
+ * @implSpec 이벤트는 한 번만 직렬화한 후 모든 구독자에게 같은 문자열을 전송한다.
+ * 전송은 전용 스레드에서 수행되므로 느린 구독자가 이벤트를 발행한 배치 스레드를 지연시키지 않는다.
+ * <p>
+ *     이벤트에는 증가하는 ID가 부여되고 최근 이벤트는 재전송 버퍼에 보관되므로,
+ *     구독자는 마지막으로 받은 이벤트 ID(Last-Event-ID)를 전달하여 재연결 중 놓친 이벤트부터 다시 받을 수 있다.
+ *     ID는 시작 시각(밀리초)부터 증가하므로 서버가 재시작되어도 이전 ID보다 작아지지 않는다.
+ *     전달한 ID가 재전송 버퍼보다 오래된 경우 {@value #RESET_EVENT_NAME} 이벤트를 보내 구독자가 전체 이력을 다시 조회하도록 한다.
+ * </p>
+ */
+@Slf4j
+class SseBroadcaster {
+    static final String RESET_EVENT_NAME = "reset";
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int DEFAULT_REPLAY_CAPACITY = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+
+    // 아래 필드는 dispatcher 스레드에서만 접근한다.
+    private final Deque<BroadcastEvent> replayBuffer = new ArrayDeque<>();
+    private final int replayCapacity;
+    private long lastEventId = System.currentTimeMillis();
+
+    SseBroadcaster(ObjectMapper objectMapper, String name) {
+        this(objectMapper, name, DEFAULT_REPLAY_CAPACITY);
+    }
+
+    SseBroadcaster(ObjectMapper objectMapper, String name, int replayCapacity) {
+        this.objectMapper = objectMapper;
+        this.replayCapacity = replayCapacity;
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 모든 토픽의 새로운 이벤트를 받는 구독자를 등록하는 메서드
+     * @return 구독자에게 반환할 {@link SseEmitter}
+     */
+    SseEmitter subscribe() {
+        return subscribe(Set.of(), null);
+    }
+
+    /**
+     * 지정한 토픽의 이벤트를 받는 구독자를 등록하는 메서드
+     * @implSpec 재전송과 등록을 dispatcher 스레드에서 수행하므로 그 사이에 발행된 이벤트가 누락되거나 중복되지 않는다.
+     * @param topics 구독할 토픽 목록 (비어 있으면 모든 토픽)
+     * @param lastEventId 구독자가 마지막으로 받은 이벤트 ID (null이면 재전송하지 않는다)
+     * @return 구독자에게 반환할 {@link SseEmitter}
+     */
+    SseEmitter subscribe(Set<String> topics, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscription subscription = new Subscription(emitter, Set.copyOf(topics));
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriptions.remove(subscription));
+
+        dispatcher.execute(() -> {
+            if (lastEventId != null && !replay(subscription, lastEventId)) {
+                return;
+            }
+            subscriptions.add(subscription);
+        });
+        return emitter;
+    }
+
+    /**
+     * 모든 구독자에게 이벤트를 전송하는 메서드
+     * @param eventName SSE 이벤트 이름
+     * @param payload JSON으로 직렬화할 이벤트 데이터
+     */
+    void broadcast(String eventName, Object payload) {
+        broadcast(eventName, null, payload);
+    }
+
+    /**
+     * 토픽을 구독한 구독자에게 이벤트를 전송하는 메서드
+     * @param eventName SSE 이벤트 이름
+     * @param topic 이벤트 토픽 (null이면 모든 구독자에게 전송)
+     * @param payload JSON으로 직렬화할 이벤트 데이터
+     */
+    void broadcast(String eventName, String topic, Object payload) {
+        final String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("ELL_:ERR_:SSE_::: Failed to serialize {} event: {}", eventName, e.getMessage());
+            return;
+        }
+        dispatcher.execute(() -> {
+            BroadcastEvent event = new BroadcastEvent(++lastEventId, eventName, topic, data);
+            if (replayBuffer.size() == replayCapacity) {
+                replayBuffer.removeFirst();
+            }
+            replayBuffer.addLast(event);
+            subscriptions.forEach(subscription -> send(subscription, event));
+        });
+    }
+
+    /**
+     * 구독자가 놓친 이벤트를 재전송하는 메서드
+     * @return 재전송에 성공했는지 여부
+     */
+    private boolean replay(Subscription subscription, long lastEventId) {
+        BroadcastEvent oldest = replayBuffer.peekFirst();
+        if (oldest != null && lastEventId < oldest.id() - 1) {
+            BroadcastEvent reset = new BroadcastEvent(oldest.id() - 1, RESET_EVENT_NAME, null, "{}");
+            if (!send(subscription, reset)) {
+                return false;
+            }
+        }
+        for (BroadcastEvent event : replayBuffer) {
+            if (event.id() > lastEventId && !send(subscription, event)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean send(Subscription subscription, BroadcastEvent event) {
+        if (event.topic() != null && !subscription.accepts(event.topic())) {
+            return true;
+        }
+        try {
+            subscription.emitter().send(SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name(event.name())
+                    .data(event.data()));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscriptions.remove(subscription);
+            return false;
+        }
+    }
+
+    private record Subscription(SseEmitter emitter, Set<String> topics) {
+        boolean accepts(String topic) {
+            return topics.isEmpty() || topics.contains(topic);
+        }
+    }
+
+    private record BroadcastEvent(long id, String name, String topic, String data) {
+    }
+}
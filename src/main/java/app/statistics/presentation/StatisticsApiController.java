@@ -1,12 +1,24 @@
 package app.statistics.presentation;
 
-import app.statistics.infra.TaskMementoRepository;
+import app.statistics.application.DataStreamService;
+import app.statistics.application.DistinctCountQueryService;
+import app.statistics.application.MementoSeriesService;
+import app.statistics.application.RecentMementoService;
+import app.statistics.application.SketchMemoryBudget;
+import app.statistics.infra.MementoStore;
+import app.statistics.model.DistinctCountEstimate;
 import app.statistics.model.TaskMemento;
 import app.statistics.model.enums.TaskType;
+import app.statistics.presentation.dto.HeavyHitterWindowResponse;
+import app.statistics.presentation.dto.MementoSeriesResponse;
+import app.statistics.presentation.dto.MemoryUsageResponse;
+import app.statistics.presentation.dto.TaskMemoryResponse;
+import app.statistics.sketch.FanOutEstimate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
@@ -23,13 +35,120 @@ import java.util.List;
 @RequiredArgsConstructor
 @RequestMapping("/statistics")
 public class StatisticsApiController {
+    private static final int MAX_SERIES_LIMIT = 10_080; // 1주일 분량의 1분 윈도우
+    private static final int MIN_DOWNSAMPLE_POINTS = 3;
+    private static final int MAX_DOWNSAMPLE_POINTS = 2_000;
 
-    private final TaskMementoRepository taskMementoRepository;
+    private final MementoStore mementoStore;
+    private final List<DataStreamService> dataStreamServiceList;
+    private final DistinctCountQueryService distinctCountQueryService;
+    private final RecentMementoService recentMementoService;
+    private final MementoSeriesService mementoSeriesService;
+    private final SketchMemoryBudget sketchMemoryBudget;
 
+    /**
+     * 지정한 시각 이후의 윈도우별 고유 개수를 조회하는 API
+     * <p>최근 구간은 메모리에 보관된 이력에서 응답하고, 오래된 구간만 데이터베이스에서 조회한다.</p>
+     * @param taskType 조회할 작업 유형
+     * @param finishedAt 조회 시작 시각 (미포함)
+     * @return 완료 시각 오름차순으로 정렬된 Memento 목록
+     */
     @GetMapping
     public ResponseEntity<List<TaskMemento>> getTasks(TaskType taskType, LocalDateTime finishedAt) {
-        List<TaskMemento> taskMementoList = taskMementoRepository
-                .findAllByTaskTypeAndFinishedAtAfter(taskType, finishedAt);
+        List<TaskMemento> taskMementoList = recentMementoService.findAllAfter(taskType, finishedAt);
         return ResponseEntity.ok(taskMementoList);
     }
+
+    /**
+     * 여러 지표의 시계열을 한 번에 조회하는 API
+     * <p>
+     *     지표마다 최대 {@code limit}개의 포인트를 반환하며, 응답의 {@code nextCursor}와 {@code nextCursorId}를
+     *     {@code from}과 {@code fromId}로 전달하여 다음 페이지를 조회한다. 완료 시각이 같은 포인트는 {@code fromId}로 구분한다.
+     *     {@code points}를 지정하면 구간 전체를 LTTB 알고리즘으로 다운샘플링하여 최대 {@code points}개의 포인트를 반환한다.
+     * </p>
+     * @param taskTypes 조회할 작업 유형 목록
+     * @param from 조회 시작 시각 ({@code fromId}가 없으면 미포함)
+     * @param fromId 이전 응답의 {@code nextCursorId} (첫 페이지는 생략)
+     * @param to 조회 종료 시각 (포함, 생략하면 현재 시각)
+     * @param limit 지표별 최대 포인트 수
+     * @param points 다운샘플링 목표 포인트 수 (생략하면 다운샘플링하지 않는다)
+     * @return 요청한 순서대로 정렬된 지표별 시계열, 시작 시각이 없거나 구간이 올바르지 않은 경우 400
+     */
+    @GetMapping("/series")
+    public ResponseEntity<List<MementoSeriesResponse>> getSeries(@RequestParam(name = "taskType") List<TaskType> taskTypes,
+                                                                 LocalDateTime from,
+                                                                 @RequestParam(required = false) Long fromId,
+                                                                 @RequestParam(required = false) LocalDateTime to,
+                                                                 @RequestParam(defaultValue = "1440") int limit,
+                                                                 @RequestParam(required = false) Integer points) {
+        LocalDateTime until = to != null ? to : LocalDateTime.now();
+        if (from == null || !from.isBefore(until) || limit <= 0 || limit > MAX_SERIES_LIMIT
+                || (points != null && (points < MIN_DOWNSAMPLE_POINTS || points > MAX_DOWNSAMPLE_POINTS))) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<MementoSeriesResponse> response = taskTypes.stream()
+                .distinct()
+                .map(taskType -> MementoSeriesResponse.of(taskType, points != null
+                        ? mementoSeriesService.getDownsampledSeries(taskType, from, fromId, until, points)
+                        : mementoSeriesService.getSeries(taskType, from, fromId, until, limit)))
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 임의 구간 [from, to)의 실제 고유 개수를 조회하는 API
+     * <p>윈도우별 추정값을 더하지 않고, 구간에 포함된 윈도우 스케치를 병합하여 추정한다.</p>
+     * @param taskType 조회할 작업 유형
+     * @param from 구간 시작 시각 (포함)
+     * @param to 구간 종료 시각 (미포함)
+     * @return 구간 전체의 고유 개수 추정 결과, 구간이 없거나 올바르지 않은 경우 400
+     */
+    @GetMapping("/distinct")
+    public ResponseEntity<DistinctCountEstimate> getDistinctCount(TaskType taskType, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(distinctCountQueryService.getDistinctCount(taskType, from, to));
+    }
+
+    /**
+     * 윈도우별로 출현 빈도가 높았던 키 목록을 조회하는 API
+     * @param taskType 조회할 작업 유형
+     * @param finishedAt 조회 시작 시각 (이후에 완료된 윈도우만 반환)
+     * @return 윈도우별 Heavy Hitter 목록
+     */
+    @GetMapping("/heavy-hitters")
+    public ResponseEntity<List<HeavyHitterWindowResponse>> getHeavyHitters(TaskType taskType, LocalDateTime finishedAt) {
+        List<HeavyHitterWindowResponse> response = mementoStore.findWithHeavyHittersAfter(taskType, finishedAt).stream()
+                .map(HeavyHitterWindowResponse::from)
+                .toList();
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 직전 윈도우에서 고유 목적지 수(fan-out)가 가장 많았던 출발지 목록을 조회하는 API
+     * @param taskType 조회할 작업 유형
+     * @return fan-out 추정값 내림차순으로 정렬된 출발지 목록
+     */
+    @GetMapping("/superspreaders")
+    public ResponseEntity<List<FanOutEstimate>> getSuperspreaders(TaskType taskType) {
+        return dataStreamServiceList.stream()
+                .filter(service -> service.getTaskType() == taskType)
+                .findFirst()
+                .map(service -> ResponseEntity.ok(service.getLatestSuperspreaders()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 지표별 스케치, 작업 스레드와 이벤트 큐의 메모리 사용량을 조회하는 API
+     * @return 스케치 메모리 예산과 지표별 추정 사용량
+     */
+    @GetMapping("/memory")
+    public ResponseEntity<MemoryUsageResponse> getMemoryUsage() {
+        List<TaskMemoryResponse> tasks = dataStreamServiceList.stream()
+                .map(service -> TaskMemoryResponse.of(service.getTaskType(), service.getMemoryReport()))
+                .toList();
+        return ResponseEntity.ok(MemoryUsageResponse.of(sketchMemoryBudget.getBudgetBytes(),
+                sketchMemoryBudget.getReservedBytes(), tasks));
+    }
 }
@@ -0,0 +1,61 @@
+package app.statistics.presentation;
+
+import app.statistics.application.WindowRolledEvent;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.enums.TaskType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 윈도우 결과를 실시간으로 전달하는 이벤트 스트림(Server-Sent Events) 컨트롤러 클래스
+ * <p>
+ *     윈도우가 종료될 때마다 새로운 {@link TaskMemento}를 {@value #MEMENTO_EVENT_NAME} 이벤트로 전송하므로,
+ *     대시보드는 주기적으로 이력을 다시 조회하지 않고 최초 한 번만 조회한 후 이벤트를 이어 붙이면 된다.
+ * </p>
+ * @see SseBroadcaster
+ */
+@RestController
+@RequestMapping("/statistics/stream")
+public class StatisticsStreamController {
+    private static final String MEMENTO_EVENT_NAME = "memento";
+
+    private final SseBroadcaster mementoBroadcaster;
+
+    public StatisticsStreamController(ObjectMapper objectMapper) {
+        this.mementoBroadcaster = new SseBroadcaster(objectMapper, "statistics");
+    }
+
+    /**
+     * 윈도우 결과 이벤트 스트림을 구독하는 API
+     * @param taskTypes 구독할 작업 유형 목록 (생략하면 모든 작업 유형)
+     * @param lastEventIdHeader 브라우저가 재연결 시 자동으로 전달하는 마지막 이벤트 ID
+     * @param lastEventId 최초 연결 시 이어서 받을 마지막 이벤트 ID
+     * @return 이벤트 스트림
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(name = "taskType", required = false) List<TaskType> taskTypes,
+                             @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                             @RequestParam(required = false) Long lastEventId) {
+        Set<String> topics = taskTypes == null ? Set.of() : taskTypes.stream()
+                .map(TaskType::name)
+                .collect(Collectors.toSet());
+        return mementoBroadcaster.subscribe(topics, lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @EventListener
+    public void onWindowRolled(WindowRolledEvent event) {
+        TaskMemento taskMemento = event.taskMemento();
+        mementoBroadcaster.broadcast(MEMENTO_EVENT_NAME, taskMemento.getTaskType().name(), taskMemento);
+    }
+}
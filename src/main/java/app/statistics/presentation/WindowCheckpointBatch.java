@@ -0,0 +1,45 @@
+package app.statistics.presentation;
+
+import app.statistics.application.DataStreamService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 진행 중인 윈도우 상태를 주기적으로 체크포인트하는 배치 작업 클래스
+ * <p>
+ *     애플리케이션 시작 시 저장된 체크포인트를 복원하고, 이후 일정 간격으로 모든 {@link DataStreamService}의 윈도우를 저장한다.
+ *     변경이 없는 서비스는 파일을 기록하지 않으므로 지표 수가 늘어도 유휴 지표의 비용은 늘어나지 않는다.
+ * </p>
+ * @see app.statistics.infra.WindowCheckpointStore WindowCheckpointStore
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WindowCheckpointBatch {
+    private final List<DataStreamService> dataStreamServiceList;
+
+    /**
+     * 스케줄링이 시작되기 전에 체크포인트를 복원한다.
+     */
+    @PostConstruct
+    public void restore() {
+        dataStreamServiceList.forEach(DataStreamService::restoreWindow);
+    }
+
+    @Scheduled(fixedDelayString = "${ell.checkpoint.interval-ms:5000}",
+            initialDelayString = "${ell.checkpoint.interval-ms:5000}")
+    public void process() {
+        for (DataStreamService service : dataStreamServiceList) {
+            try {
+                service.checkpointWindow();
+            } catch (Exception e) {
+                log.error("ELL_:CKPT:ERR_::: Error during checkpoint of {}: {}", service.getTaskType(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package app.statistics.presentation;
+
+import app.statistics.application.WindowResultWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 버퍼에 쌓인 윈도우 결과를 주기적으로 저장하는 배치 작업 클래스
+ * <p>윈도우 종료 배치와 별도의 스레드에서 실행되므로 저장 지연이 다음 윈도우 처리를 지연시키지 않는다.</p>
+ * @see WindowResultWriter
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WindowResultFlushBatch {
+    private final WindowResultWriter windowResultWriter;
+
+    @Scheduled(fixedDelayString = "${ell.persistence.flush-interval-ms:1000}")
+    public void process() {
+        int flushed = windowResultWriter.flush();
+        if (flushed > 0) {
+            log.info("ELL_:PRST:CMPL::: Persisted {} window results", flushed);
+        }
+    }
+
+    /**
+     * 종료 시 버퍼에 남아 있는 결과를 저장한다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        int flushed = windowResultWriter.flush();
+        int remaining = windowResultWriter.getPendingCount();
+        if (remaining > 0) {
+            log.warn("ELL_:WARN:PRST::: {} window results were not persisted on shutdown", remaining);
+        } else {
+            log.info("ELL_:PRST:CMPL::: Persisted {} window results on shutdown", flushed);
+        }
+    }
+}
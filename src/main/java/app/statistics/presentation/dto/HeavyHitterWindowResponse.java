@@ -0,0 +1,19 @@
+package app.statistics.presentation.dto;
+
+import app.statistics.model.HeavyHitter;
+import app.statistics.model.TaskMemento;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 윈도우별 Heavy Hitter 조회 응답
+ * @param finishedAt 윈도우 완료 시각
+ * @param heavyHitters 추정 빈도 내림차순으로 정렬된 Heavy Hitter 목록
+ */
+public record HeavyHitterWindowResponse(LocalDateTime finishedAt, List<HeavyHitter> heavyHitters) {
+
+    public static HeavyHitterWindowResponse from(TaskMemento taskMemento) {
+        return new HeavyHitterWindowResponse(taskMemento.getFinishedAt(), List.copyOf(taskMemento.getHeavyHitters()));
+    }
+}
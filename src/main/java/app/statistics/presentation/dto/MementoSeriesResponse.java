@@ -0,0 +1,23 @@
+package app.statistics.presentation.dto;
+
+import app.statistics.model.MementoPoint;
+import app.statistics.model.MementoSeries;
+import app.statistics.model.enums.TaskType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 지표별 시계열 조회 응답
+ * @param taskType 작업 유형
+ * @param points 완료 시각 오름차순으로 정렬된 시계열
+ * @param nextCursor 다음 페이지 조회 시 {@code from}으로 전달할 커서 (마지막 페이지이면 null)
+ * @param nextCursorId 다음 페이지 조회 시 {@code fromId}로 전달할 커서 (마지막 페이지이면 null)
+ */
+public record MementoSeriesResponse(TaskType taskType, List<MementoPoint> points, LocalDateTime nextCursor,
+                                    Long nextCursorId) {
+
+    public static MementoSeriesResponse of(TaskType taskType, MementoSeries series) {
+        return new MementoSeriesResponse(taskType, series.points(), series.nextCursor(), series.nextCursorId());
+    }
+}
@@ -0,0 +1,18 @@
+package app.statistics.presentation.dto;
+
+import java.util.List;
+
+/**
+ * 스트림 처리 메모리 사용량 조회 응답
+ * @param budgetBytes 스케치 메모리 예산 (바이트)
+ * @param reservedBytes 지표 등록 시 예약된 스케치 메모리 합계 (바이트)
+ * @param totalBytes 모든 지표의 현재 추정 사용량 합계 (바이트)
+ * @param tasks 지표별 추정 사용량
+ */
+public record MemoryUsageResponse(long budgetBytes, long reservedBytes, long totalBytes, List<TaskMemoryResponse> tasks) {
+
+    public static MemoryUsageResponse of(long budgetBytes, long reservedBytes, List<TaskMemoryResponse> tasks) {
+        long totalBytes = tasks.stream().mapToLong(TaskMemoryResponse::totalBytes).sum();
+        return new MemoryUsageResponse(budgetBytes, reservedBytes, totalBytes, tasks);
+    }
+}
@@ -0,0 +1,17 @@
+package app.statistics.presentation.dto;
+
+import app.statistics.model.MemoryReport;
+import app.statistics.model.enums.TaskType;
+
+/**
+ * 지표별 메모리 사용량 조회 응답
+ * @param taskType 작업 유형
+ * @param totalBytes 전체 추정 사용량 (바이트)
+ * @param memory 항목별 추정 사용량
+ */
+public record TaskMemoryResponse(TaskType taskType, long totalBytes, MemoryReport memory) {
+
+    public static TaskMemoryResponse of(TaskType taskType, MemoryReport memory) {
+        return new TaskMemoryResponse(taskType, memory.totalBytes(), memory);
+    }
+}
@@ -0,0 +1,40 @@
+package app.statistics.simulator;
+
+import lombok.Getter;
+
+/**
+ * {@link TrafficGenerator}가 채우는 이벤트 배치
+ * <p>이벤트 하나는 같은 인덱스의 계정, IP 주소, 이메일 도메인 해시 값으로 이루어진다.</p>
+ * @implNote 배열은 생성 시 한 번만 할당하고 배치마다 재사용하므로, 생산자 스레드마다 하나씩 사용한다.
+ * 유효한 값은 {@link #getSize()}까지이다.
+ */
+@Getter
+public final class EventBatch {
+    private final long[] accountHashes;
+    private final long[] ipHashes;
+    private final long[] domainHashes;
+    private int size;
+
+    /**
+     * @param capacity 배치에 담을 수 있는 최대 이벤트 수
+     */
+    public EventBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("배치 크기는 양수여야 합니다.");
+        }
+        this.accountHashes = new long[capacity];
+        this.ipHashes = new long[capacity];
+        this.domainHashes = new long[capacity];
+    }
+
+    /**
+     * @return 배치에 담을 수 있는 최대 이벤트 수
+     */
+    public int getCapacity() {
+        return accountHashes.length;
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,73 @@
+package app.statistics.simulator;
+
+import app.statistics.model.enums.TaskType;
+import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.web.client.RestClient;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 이벤트 배치를 수집 API로 전송하는 {@link TrafficSink} 구현체
+ * <p>
+ *     지표마다 해시 값을 {@code POST /events?taskType=}로, IP 주소와 계정 쌍을 {@code POST /events/fan-out}으로 전송한다.
+ *     본문은 빅 엔디언 64비트 해시 값을 이어 붙인 바이트 배열이다.
+ * </p>
+ * @implNote 직렬화 버퍼를 재사용하므로 생산자 스레드마다 하나씩 사용한다.
+ * @see app.statistics.presentation.EventIngestController EventIngestController
+ */
+public class HttpTrafficSink implements TrafficSink {
+    private static final String EVENTS_PATH = "/events";
+    private static final String FAN_OUT_PATH = "/events/fan-out";
+
+    private final RestClient restClient;
+    private ByteBuffer buffer = ByteBuffer.allocate(0);
+
+    /**
+     * @param restClient 수집 노드의 주소가 지정된 클라이언트
+     */
+    public HttpTrafficSink(RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    @Override
+    public void accept(EventBatch batch) {
+        int size = batch.getSize();
+        post(EVENTS_PATH, TaskType.DISTINCT_ACCOUNT_ID_COUNT, encode(batch.getAccountHashes(), null, size));
+        post(EVENTS_PATH, TaskType.DISTINCT_IP_ADDRESS_COUNT, encode(batch.getIpHashes(), null, size));
+        post(EVENTS_PATH, TaskType.DISTINCT_ACCOUNT_EMAIL_DOMAIN_COUNT, encode(batch.getDomainHashes(), null, size));
+        post(FAN_OUT_PATH, TaskType.DISTINCT_IP_ADDRESS_COUNT, encode(batch.getIpHashes(), batch.getAccountHashes(), size));
+    }
+
+    /**
+     * 해시 값을 버퍼에 기록하는 메서드
+     * @param hashes 기록할 해시 값
+     * @param pairedHashes 쌍으로 기록할 해시 값 ({@code null}이면 쌍을 기록하지 않는다)
+     * @param size 기록할 개수
+     * @return 기록이 끝난 버퍼 (position 0, limit은 기록한 크기)
+     */
+    private ByteBuffer encode(long[] hashes, long[] pairedHashes, int size) {
+        int bytes = size * Long.BYTES * (pairedHashes == null ? 1 : 2);
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocate(bytes);
+        }
+        buffer.clear();
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(hashes[i]);
+            if (pairedHashes != null) {
+                buffer.putLong(pairedHashes[i]);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void post(String path, TaskType taskType, ByteBuffer body) {
+        restClient.post()
+                .uri(uriBuilder -> uriBuilder.path(path).queryParam("taskType", taskType).build())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(body.remaining())
+                .body((StreamingHttpOutputMessage.Body) out -> out.write(body.array(), 0, body.limit()))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,27 @@
+package app.statistics.simulator;
+
+import app.statistics.application.DataStreamService;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 이벤트 배치를 같은 프로세스의 스트림 서비스에 바로 추가하는 {@link TrafficSink} 구현체
+ * <p>IP 주소별 고유 계정 수(fan-out)를 위해 IP 주소와 계정 쌍도 IP 서비스에 추가한다.</p>
+ * @implNote 배치의 원시 배열을 {@link DataStreamService#addHashes(long[], int)}로 그대로 전달하므로 중간 리스트를 만들지 않는다.
+ * 이벤트 큐는 박싱된 해시 값을 저장하므로 큐에 추가할 때의 박싱은 남아 있다.
+ * 상태를 갖지 않으므로 여러 생산자 스레드가 공유할 수 있다.
+ */
+@RequiredArgsConstructor
+public class InProcessTrafficSink implements TrafficSink {
+    private final DataStreamService accountStreamService;
+    private final DataStreamService ipStreamService;
+    private final DataStreamService emailStreamService;
+
+    @Override
+    public void accept(EventBatch batch) {
+        int size = batch.getSize();
+        accountStreamService.addHashes(batch.getAccountHashes(), size);
+        ipStreamService.addHashes(batch.getIpHashes(), size);
+        emailStreamService.addHashes(batch.getDomainHashes(), size);
+        ipStreamService.addFanOutPairs(batch.getIpHashes(), batch.getAccountHashes(), size);
+    }
+}
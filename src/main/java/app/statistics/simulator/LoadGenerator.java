@@ -0,0 +1,156 @@
+package app.statistics.simulator;
+
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 여러 생산자 스레드로 합성 트래픽을 목표 유입량에 맞춰 생성하는 부하 생성기
+ * <p>
+ *     생산자 스레드마다 {@link TrafficGenerator}, {@link EventBatch}와 {@link TrafficSink}를 하나씩 사용하며,
+ *     배치를 채운 후 예정된 시각까지 대기했다가 전달한다. 목표 유입량이 0 이하이면 대기하지 않고 최대 속도로 생성한다.
+ * </p>
+ * @implSpec 생산자 스레드의 난수 생성기는 시드로 만든 생성기를 스레드 순서대로 분할하여 만들므로,
+ * 같은 시드와 생산자 수로 실행하면 각 생산자는 항상 같은 이벤트 순서를 생성한다.
+ * 배치를 채우는 동안에는 객체를 할당하지 않는다.
+ * @implNote {@link #main(String[])}은 수집 API로 트래픽을 전송한다. 명령행 인자({@code --이름=값}):
+ * <ul>
+ *     <li>{@code url}: 수집 노드 주소 (기본값 {@code http://localhost:8080})</li>
+ *     <li>{@code shape}: {@link TrafficShape} (기본값 STEADY), {@code attack-ratio}: 공격 이벤트 비율 (기본값 0.5)</li>
+ *     <li>{@code rate}: 전체 목표 유입량 (이벤트/초, 기본값 1,000,000), {@code producers}: 생산자 스레드 수</li>
+ *     <li>{@code batch}: 배치 크기 (기본값 10,000), {@code duration-s}: 실행 시간 (기본값 60), {@code seed}: 시드</li>
+ * </ul>
+ */
+public class LoadGenerator {
+    private final TrafficShape shape;
+    private final double attackRatio;
+    private final long seed;
+    private final double ratePerSecond;
+    private final int producers;
+    private final int batchSize;
+    private final Supplier<TrafficSink> sinkFactory;
+    private final LongAdder generatedEvents = new LongAdder();
+
+    /**
+     * @param shape 트래픽 형태
+     * @param attackRatio 공격 형태에서 공격 이벤트의 비율
+     * @param seed 시드
+     * @param ratePerSecond 전체 목표 유입량 (이벤트/초, 0 이하이면 제한하지 않는다)
+     * @param producers 생산자 스레드 수
+     * @param batchSize 배치 크기
+     * @param sinkFactory 생산자 스레드마다 사용할 전달 대상을 만드는 함수
+     */
+    public LoadGenerator(TrafficShape shape, double attackRatio, long seed, double ratePerSecond,
+                         int producers, int batchSize, Supplier<TrafficSink> sinkFactory) {
+        if (producers <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("생산자 수와 배치 크기는 양수여야 합니다.");
+        }
+        this.shape = shape;
+        this.attackRatio = attackRatio;
+        this.seed = seed;
+        this.ratePerSecond = ratePerSecond;
+        this.producers = producers;
+        this.batchSize = batchSize;
+        this.sinkFactory = sinkFactory;
+    }
+
+    /**
+     * 지정한 시간 동안 트래픽을 생성하는 메서드
+     * @implNote 모든 생산자 스레드가 종료될 때까지 대기한다.
+     * @param duration 실행 시간
+     * @return 생성한 이벤트 수
+     */
+    public long run(Duration duration) throws InterruptedException {
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+
+        List<Thread> threads = new ArrayList<>(producers);
+        for (int i = 0; i < producers; i++) {
+            TrafficGenerator generator = new TrafficGenerator(shape, attackRatio, seedRandom.split());
+            long offsetNanos = ratePerSecond > 0 ? (long) (batchSize * 1e9 / ratePerSecond * i) : 0;
+            Thread thread = new Thread(() -> produce(generator, startNanos + offsetNanos, endNanos),
+                    "load-generator-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return generatedEvents.sum();
+    }
+
+    /**
+     * @return 지금까지 생성한 이벤트 수
+     */
+    public long getGeneratedEvents() {
+        return generatedEvents.sum();
+    }
+
+    private void produce(TrafficGenerator generator, long startNanos, long endNanos) {
+        EventBatch batch = new EventBatch(batchSize);
+        TrafficSink sink = sinkFactory.get();
+        double baseIntervalNanos = ratePerSecond > 0 ? batchSize * 1e9 * producers / ratePerSecond : 0;
+
+        long scheduled = startNanos;
+        while (scheduled < endNanos) {
+            generator.fill(batch);
+            for (long remaining = scheduled - System.nanoTime(); remaining > 0; remaining = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(remaining);
+            }
+            if (System.nanoTime() >= endNanos) {
+                return;
+            }
+            sink.accept(batch);
+            generatedEvents.add(batch.getSize());
+            scheduled = baseIntervalNanos > 0
+                    ? scheduled + (long) (baseIntervalNanos / shape.rateMultiplier(scheduled - startNanos))
+                    : System.nanoTime();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String url = "http://localhost:8080";
+        TrafficShape shape = TrafficShape.STEADY;
+        double attackRatio = 0.5;
+        double rate = 1_000_000;
+        int producers = Runtime.getRuntime().availableProcessors();
+        int batchSize = 10_000;
+        long durationSeconds = 60;
+        long seed = 0x5EEDL;
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("인자는 --이름=값 형식이어야 합니다: " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "url" -> url = value;
+                case "shape" -> shape = TrafficShape.valueOf(value.toUpperCase());
+                case "attack-ratio" -> attackRatio = Double.parseDouble(value);
+                case "rate" -> rate = Double.parseDouble(value);
+                case "producers" -> producers = Integer.parseInt(value);
+                case "batch" -> batchSize = Integer.parseInt(value);
+                case "duration-s" -> durationSeconds = Long.parseLong(value);
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("알 수 없는 인자입니다: " + arg);
+            }
+        }
+
+        RestClient restClient = RestClient.create(url);
+        LoadGenerator generator = new LoadGenerator(shape, attackRatio, seed, rate, producers, batchSize,
+                () -> new HttpTrafficSink(restClient));
+        long startTime = System.nanoTime();
+        long events = generator.run(Duration.ofSeconds(durationSeconds));
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.printf("%s: %,d events in %.1f s (%,.0f events/s, %d producers)%n",
+                shape, events, seconds, events / seconds, producers);
+    }
+}
@@ -0,0 +1,97 @@
+package app.statistics.simulator;
+
+import java.util.Arrays;
+
+/**
+ * long 값을 박싱 없이 저장하는 개방 주소법(선형 탐사) 해시 집합
+ * <p>시뮬레이션의 실제 카디널리티를 계산하는 데 사용하며, 값 하나당 8바이트 배열 슬롯만 사용한다.</p>
+ * @implSpec 0은 빈 슬롯을 나타내므로 별도의 플래그로 저장한다.
+ * 슬롯 위치는 피보나치 해싱으로 정하므로 입력 값의 하위 비트가 치우쳐 있어도 고르게 분포한다.
+ * 스레드 안전하지 않다.
+ */
+final class LongHashSet {
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] slots;
+    private int shift;          // 64 - log2(슬롯 수)
+    private int occupied;       // 0이 아닌 값의 수
+    private int resizeThreshold;
+    private boolean containsZero;
+
+    /**
+     * @param expectedSize 예상하는 최대 원소 수 (넘으면 슬롯 배열을 두 배로 늘린다)
+     */
+    LongHashSet(int expectedSize) {
+        long required = Math.max(16, (long) (expectedSize / MAX_LOAD_FACTOR) + 1);
+        allocate((int) Math.min(1 << 30, Long.highestOneBit(required - 1) << 1));
+    }
+
+    /**
+     * @param value 추가할 값
+     * @return 집합에 없던 값이면 {@code true}
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int mask = slots.length - 1;
+        for (int i = index(value); ; i = (i + 1) & mask) {
+            long slot = slots[i];
+            if (slot == 0) {
+                slots[i] = value;
+                if (++occupied > resizeThreshold) {
+                    resize();
+                }
+                return true;
+            }
+            if (slot == value) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return 집합의 원소 수
+     */
+    int size() {
+        return occupied + (containsZero ? 1 : 0);
+    }
+
+    /**
+     * 모든 원소를 제거하는 메서드
+     * @implNote 늘어난 슬롯 배열은 다시 할당하지 않고 재사용한다.
+     */
+    void clear() {
+        Arrays.fill(slots, 0);
+        occupied = 0;
+        containsZero = false;
+    }
+
+    private int index(long value) {
+        return (int) ((value * GOLDEN_RATIO) >>> shift);
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        resizeThreshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    private void resize() {
+        long[] previous = slots;
+        allocate(previous.length * 2);
+        int mask = slots.length - 1;
+        for (long value : previous) {
+            if (value != 0) {
+                int i = index(value);
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = value;
+            }
+        }
+    }
+}
@@ -1,127 +1,361 @@
 package app.statistics.simulator;
 
 import app.statistics.application.ELLStreamProcessor;
+import app.statistics.model.MemoryReport;
 import app.statistics.model.TaskMemento;
 import app.statistics.model.enums.TaskType;
 
 import java.io.FileWriter;
 import java.io.PrintWriter;
-import java.lang.reflect.Field;
-import java.util.HashSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
- * ExaLogLog 알고리즘의 정확도와 실제 메모리 점유율을 검증하기 위한 시뮬레이터
+ * ExaLogLog 알고리즘의 정확도, 처리 속도와 실제 메모리 점유율을 검증하기 위한 시뮬레이터
  * <p>
- *     매 분기마다 10,000에서 1,000,000개의 랜덤 이벤트를 생성하여 {@link ELLStreamProcessor}로 처리한다.
- *     윈도우마다 실제 카디널리티, 추정 카디널리티, 오류율, 처리 시간, ExaLogLog의 메모리 사용량을 CSV 파일로 저장한다.
+ *     스케치 파라미터(p, t, d)와 윈도우당 이벤트 수 범위의 모든 조합을 시드별로 실행한다.
+ *     각 실행은 독립된 {@link ELLStreamProcessor}로 정해진 수의 윈도우를 처리하며, 실행들은 여러 코어에서 병렬로 수행된다.
+ *     <ul>
+ *         <li>{@value #DETAIL_CSV_FILE}: 윈도우마다 실제 카디널리티, 추정 카디널리티, 오류율, 처리 시간, 메모리 사용량</li>
+ *         <li>{@value #SUMMARY_CSV_FILE}: 조합마다 상대 오차의 편향, RMSE, 절대 오차 백분위수, 처리량, 메모리 사용량</li>
+ *     </ul>
  * </p>
+ * @implNote 명령행 인자({@code --이름=값})로 설정하며, 목록은 쉼표로 구분한다.
+ * <ul>
+ *     <li>{@code p}, {@code t}, {@code d}: 스케치 파라미터 목록 (기본값 20, 4, 5)</li>
+ *     <li>{@code cardinalities}: 윈도우당 이벤트 수 범위 목록 (예: {@code 10000-1000000,1000000-5000000})</li>
+ *     <li>{@code duplication}: 값 하나가 평균적으로 반복되는 횟수 (기본값 1은 모든 값이 고유)</li>
+ *     <li>{@code seeds}: 조합마다 실행할 시드 수, {@code windows}: 실행마다 처리할 윈도우 수</li>
+ *     <li>{@code threads}: 실행마다 배치 처리 스레드 수, {@code parallelism}: 동시에 수행할 실행 수</li>
+ * </ul>
+ * 기본값은 실행마다 배치 스레드 하나를 사용하고 코어 수만큼 실행을 병렬로 수행한다.
+ * 처리량은 다른 실행과 코어를 나눠 쓴 값이므로, 단일 구성의 처리량은 {@code --parallelism=1 --threads=4}로 측정한다.
  */
 public class RealTimeELLSimulation {
-    private static final int TOTAL_WINDOWS = 100;
-    private static final String CSV_FILE = "ell_simulation_results.csv";
-
-    private static final int P = 20;
-    private static final int T = 4;
-    private static final int D = 5;
-    private static final int NUM_THREADS = 4;
+    private static final String DETAIL_CSV_FILE = "ell_simulation_results.csv";
+    private static final String SUMMARY_CSV_FILE = "ell_simulation_summary.csv";
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_ACCOUNT_ID_COUNT;
+    private static final LocalDateTime WINDOW_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0); // 시뮬레이션 윈도우의 기준 시각
 
     public static void main(String[] args) throws Exception {
-        ELLStreamProcessor processor = new ELLStreamProcessor(P, T, D, NUM_THREADS);
-        Random random = new Random();
-        Set<Long> groundTruthSet = new HashSet<>();
+        Options options = Options.parse(args);
+        List<Config> configs = options.configs();
+
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(options.parallelism);
+        List<List<Future<Trial>>> futures = new ArrayList<>();
+        for (Config config : configs) {
+            List<Future<Trial>> configFutures = new ArrayList<>();
+            for (int seed = 1; seed <= options.seeds; seed++) {
+                int trialSeed = seed;
+                configFutures.add(executor.submit(() -> runTrial(config, trialSeed, options)));
+            }
+            futures.add(configFutures);
+        }
 
-        try (PrintWriter writer = new PrintWriter(new FileWriter(CSV_FILE))) {
-            writer.println("Window_ID,Actual_Count,Estimated_Count,Error_Rate(%),Processing_Time(ms),ExaLogLog_Size(KB)");
+        try (PrintWriter detail = new PrintWriter(new FileWriter(DETAIL_CSV_FILE));
+             PrintWriter summary = new PrintWriter(new FileWriter(SUMMARY_CSV_FILE))) {
+            detail.println("P,T,D,Min_Events,Max_Events,Seed,Window_ID,Actual_Count,Estimated_Count,Error_Rate(%),"
+                    + "Processing_Time(ms),ExaLogLog_Size(KB),Processor_Memory(KB)");
+            summary.println(Summary.CSV_HEADER);
+            System.out.println(Summary.TABLE_HEADER);
 
-            for (int w = 1; w <= TOTAL_WINDOWS; w++) {
-                List<Long> incomingData = createTestData(random);                   // 데이터 생성
-                long actualCount = getActualCount(groundTruthSet, incomingData);    // 실제 데이터 개수 계산
+            for (int i = 0; i < configs.size(); i++) {
+                List<Trial> trials = new ArrayList<>();
+                for (Future<Trial> future : futures.get(i)) {
+                    Trial trial = future.get();
+                    trial.writeDetail(detail);
+                    trials.add(trial);
+                }
+                Summary result = Summary.of(configs.get(i), trials);
+                summary.println(result.toCsv());
+                System.out.println(result.toTableRow());
+                detail.flush();
+                summary.flush();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        System.out.printf("%d configurations x %d seeds x %d windows completed in %.1f s%n",
+                configs.size(), options.seeds, options.windows, (System.currentTimeMillis() - startTime) / 1000.0);
+    }
 
-                long startTime = System.currentTimeMillis();
-                processor.processBatchAndMerge(incomingData);                       // 배치 처리
+    /**
+     * 하나의 조합을 하나의 시드로 실행하는 메서드
+     * @param config 스케치 파라미터와 이벤트 수 범위
+     * @param seed 난수 시드
+     * @param options 실행 설정
+     * @return 윈도우별 측정 결과
+     */
+    private static Trial runTrial(Config config, int seed, Options options) throws Exception {
+        ELLStreamProcessor processor = new ELLStreamProcessor(config.p(), config.t(), config.d(), options.threads);
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + config.hashCode());
+        LongHashSet groundTruthSet = new LongHashSet((int) Math.min(config.maxEvents(), 1 << 28));
+        Trial trial = new Trial(config, seed, options.windows);
 
-                long duration = System.currentTimeMillis() - startTime;             // 처리 시간 측정
-                double realSketchSizeKB = getActualExaLogLogSizeKB(processor);      // ExaLogLog 메모리 사용량 측정
+        try {
+            for (int w = 0; w < options.windows; w++) {
+                groundTruthSet.clear();
+                long[] incomingData = createTestData(random, config, options.duplication, groundTruthSet);  // 데이터 생성
+                long actualCount = groundTruthSet.size();                                   // 실제 데이터 개수 계산
 
-                TaskMemento result = processor.rollWindow(TaskType.DISTINCT_ACCOUNT_ID_COUNT, duration);
-                double estimatedCount = result.getDistinctCount();
-                double errorRate = Math.abs(estimatedCount - actualCount) / actualCount * 100.0;    // 카디널리티 추정 결과 집계
+                long startTime = System.nanoTime();
+                processor.processBatchAndMerge(incomingData, incomingData.length);          // 배치 처리
+                long durationNanos = System.nanoTime() - startTime;                         // 처리 시간 측정
+                MemoryReport memoryReport = processor.getMemoryReport();                    // 메모리 사용량 측정
 
-                writer.printf("%d,%d,%.2f,%.4f,%d,%.2f%n",
-                        w, actualCount, estimatedCount, errorRate, duration, realSketchSizeKB);     // 데이터 저장
-                writer.flush();
+                TaskMemento result = processor.rollWindow(TASK_TYPE, WINDOW_EPOCH.plusMinutes(w), durationNanos / 1_000_000, 0)
+                        .taskMemento();
+                trial.record(w, incomingData.length, actualCount, result.getDistinctCount(), durationNanos, memoryReport);
             }
+        } finally {
+            processor.shutdown();
         }
-        processor.shutdown();
+        return trial;
     }
 
     /**
      * 테스트용 랜덤 데이터 생성 메서드
      * @param random 랜덤 객체
-     * @return 생성된 랜덤 데이터 리스트
+     * @param config 이벤트 수 범위
+     * @param duplication 값 하나가 평균적으로 반복되는 횟수
+     * @param groundTruthSet 생성한 값을 추가할 집합 (실제 카디널리티 계산용)
+     * @return 생성된 랜덤 데이터 배열
      */
-    private static List<Long> createTestData(Random random) {
-        int eventCount = 10000 + random.nextInt(990000); // 10,000 ~ 1,000,000 이벤트
-        List<Long> incomingData = random.longs(eventCount, 0, Long.MAX_VALUE)
-                .map(RealTimeELLSimulation::mix64)
-                .boxed()
-                .collect(Collectors.toList());
+    private static long[] createTestData(SplittableRandom random, Config config, double duplication,
+                                             LongHashSet groundTruthSet) {
+        int eventCount = (int) random.nextLong(config.minEvents(), config.maxEvents() + 1);
+        long universe = Math.max(1, (long) (eventCount / duplication));
+        long salt = random.nextLong();  // 윈도우마다 다른 값을 생성하기 위한 오프셋
+
+        long[] incomingData = new long[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            long value = mix64(duplication > 1 ? salt + random.nextLong(universe) : random.nextLong());
+            incomingData[i] = value;
+            groundTruthSet.add(value);
+        }
         return incomingData;
     }
 
     /**
-     * 실제 카디널리티를 계산하는 메서드
-     * @param groundTruthSet 중복 제거를 위한 집합 (고유 카디널리티 계산용)
-     * @param incomingData 입력 데이터 리스트
-     * @return 실제 카디널리티
+     * MurmurHash3의 64비트 믹스 메서드 (데이터 보정용)
+     * @param hash 입력 해시 값
+     * @return 보정된 해시 값
+     */
+    private static long mix64(long hash) {
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * 시뮬레이션할 스케치 파라미터와 윈도우당 이벤트 수 범위
      */
-    private static long getActualCount(Set<Long> groundTruthSet, List<Long> incomingData) {
-        groundTruthSet.clear();
-        groundTruthSet.addAll(incomingData);
-        return groundTruthSet.size();
+    private record Config(int p, int t, int d, long minEvents, long maxEvents) {
     }
 
     /**
-     * {@link exaloglog.ExaLogLog ExaLogLog} 객체의 {@code byte[] state} 배열 길이를 조회하는 메서드
-     * @implNote Java Reflection을 사용하여 private 필드에 접근한다.
-     * @param processor 현재 실행 중인 프로세서
-     * @return 실제 할당된 메모리 크기 (KB)
+     * 하나의 조합을 하나의 시드로 실행한 윈도우별 측정 결과
      */
-    private static double getActualExaLogLogSizeKB(ELLStreamProcessor processor) {
-        try {
-            Field sketchField = ELLStreamProcessor.class.getDeclaredField("currentWindowSketch");
-            sketchField.setAccessible(true);
+    private static final class Trial {
+        private final Config config;
+        private final int seed;
+        private final long[] eventCounts;
+        private final long[] actualCounts;
+        private final double[] estimatedCounts;
+        private final long[] durationNanos;
+        private final MemoryReport[] memoryReports;
 
-            Object exaLogLogInstance = sketchField.get(processor);
-            if (exaLogLogInstance == null) {
-                return 0.0;
+        Trial(Config config, int seed, int windows) {
+            this.config = config;
+            this.seed = seed;
+            this.eventCounts = new long[windows];
+            this.actualCounts = new long[windows];
+            this.estimatedCounts = new double[windows];
+            this.durationNanos = new long[windows];
+            this.memoryReports = new MemoryReport[windows];
+        }
+
+        void record(int window, long eventCount, long actualCount, double estimatedCount, long nanos,
+                    MemoryReport memoryReport) {
+            eventCounts[window] = eventCount;
+            actualCounts[window] = actualCount;
+            estimatedCounts[window] = estimatedCount;
+            durationNanos[window] = nanos;
+            memoryReports[window] = memoryReport;
+        }
+
+        /**
+         * @return 윈도우별 상대 오차 ((추정 - 실제) / 실제)
+         */
+        double[] relativeErrors() {
+            double[] errors = new double[actualCounts.length];
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = (estimatedCounts[i] - actualCounts[i]) / actualCounts[i];
             }
+            return errors;
+        }
+
+        void writeDetail(PrintWriter writer) {
+            for (int w = 0; w < actualCounts.length; w++) {
+                writer.printf("%d,%d,%d,%d,%d,%d,%d,%d,%.2f,%.4f,%.3f,%.2f,%.2f%n",
+                        config.p(), config.t(), config.d(), config.minEvents(), config.maxEvents(), seed, w + 1,
+                        actualCounts[w], estimatedCounts[w],
+                        Math.abs(estimatedCounts[w] - actualCounts[w]) / actualCounts[w] * 100.0,
+                        durationNanos[w] / 1e6,
+                        memoryReports[w].windowSketchBytes() / 1024.0, memoryReports[w].totalBytes() / 1024.0);
+            }
+        }
+    }
+
+    /**
+     * 하나의 조합에 대한 모든 시드와 윈도우의 집계 결과
+     * @param biasPercent 상대 오차의 평균 (%)
+     * @param rmsePercent 상대 오차의 제곱평균제곱근 (%)
+     * @param absoluteErrorPercentiles 절대 상대 오차의 p50, p90, p99, 최대값 (%)
+     * @param eventsPerSecond 배치 처리 시간 기준 처리량
+     */
+    private record Summary(Config config, int windows, double biasPercent, double rmsePercent,
+                           double[] absoluteErrorPercentiles, double eventsPerSecond,
+                           long sketchBytes, long processorBytes) {
+        static final String CSV_HEADER = "P,T,D,Min_Events,Max_Events,Windows,Bias(%),RMSE(%),"
+                + "Abs_Error_P50(%),Abs_Error_P90(%),Abs_Error_P99(%),Abs_Error_Max(%),"
+                + "Throughput(events/s),ExaLogLog_Size(KB),Processor_Memory(KB)";
+        static final String TABLE_HEADER = String.format("%3s %2s %3s %23s %8s %8s %8s %8s %8s %14s %10s",
+                "p", "t", "d", "events/window", "bias%", "rmse%", "p50%", "p99%", "max%", "events/s", "memKB");
+
+        static Summary of(Config config, List<Trial> trials) {
+            double[] errors = trials.stream()
+                    .flatMapToDouble(trial -> Arrays.stream(trial.relativeErrors()))
+                    .toArray();
+            double bias = Arrays.stream(errors).average().orElse(0);
+            double rmse = Math.sqrt(Arrays.stream(errors).map(error -> error * error).average().orElse(0));
+
+            double[] absoluteErrors = Arrays.stream(errors).map(Math::abs).sorted().toArray();
+            double[] percentiles = {
+                    percentile(absoluteErrors, 0.5), percentile(absoluteErrors, 0.9),
+                    percentile(absoluteErrors, 0.99), percentile(absoluteErrors, 1.0)
+            };
+
+            long events = trials.stream().flatMapToLong(trial -> Arrays.stream(trial.eventCounts)).sum();
+            long nanos = trials.stream().flatMapToLong(trial -> Arrays.stream(trial.durationNanos)).sum();
+            MemoryReport peak = trials.stream()
+                    .flatMap(trial -> Arrays.stream(trial.memoryReports))
+                    .max((a, b) -> Long.compare(a.totalBytes(), b.totalBytes()))
+                    .orElseThrow();
+
+            return new Summary(config, errors.length, bias * 100.0, rmse * 100.0,
+                    Arrays.stream(percentiles).map(value -> value * 100.0).toArray(),
+                    nanos == 0 ? 0 : events * 1e9 / nanos, peak.windowSketchBytes(), peak.totalBytes());
+        }
 
-            Field stateField = exaLogLogInstance.getClass().getDeclaredField("state");
-            stateField.setAccessible(true);
-            byte[] stateArray = (byte[]) stateField.get(exaLogLogInstance);
+        /**
+         * @param sorted 오름차순으로 정렬된 값
+         * @param quantile 분위수 (0 초과 1 이하)
+         * @return 최근접 순위 방식의 백분위수
+         */
+        private static double percentile(double[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
 
-            // 실제 배열의 길이 (Bytes) + 객체 헤더(약 24~32바이트)
-            final long actualSizeBytes = stateArray.length;
+        String toCsv() {
+            return String.format("%d,%d,%d,%d,%d,%d,%.4f,%.4f,%.4f,%.4f,%.4f,%.4f,%.0f,%.2f,%.2f",
+                    config.p(), config.t(), config.d(), config.minEvents(), config.maxEvents(), windows,
+                    biasPercent, rmsePercent, absoluteErrorPercentiles[0], absoluteErrorPercentiles[1],
+                    absoluteErrorPercentiles[2], absoluteErrorPercentiles[3], eventsPerSecond,
+                    sketchBytes / 1024.0, processorBytes / 1024.0);
+        }
 
-            return actualSizeBytes / 1024.0;
-        } catch (Exception e) {
-            return -1.0;
+        String toTableRow() {
+            return String.format("%3d %2d %3d %23s %8.3f %8.3f %8.3f %8.3f %8.3f %,14.0f %,10.0f",
+                    config.p(), config.t(), config.d(), config.minEvents() + "-" + config.maxEvents(),
+                    biasPercent, rmsePercent, absoluteErrorPercentiles[0], absoluteErrorPercentiles[2],
+                    absoluteErrorPercentiles[3], eventsPerSecond, processorBytes / 1024.0);
         }
     }
 
     /**
-     * MurmurHash3의 64비트 믹스 메서드 (데이터 보정용)
-     * @param hash 입력 해시 값
-     * @return 보정된 해시 값
+     * 명령행 인자로 지정하는 시뮬레이션 설정
      */
-    private static long mix64(long hash) {
-        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
-        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
-        return hash ^ (hash >>> 31);
+    private static final class Options {
+        int[] p = {20};
+        int[] t = {4};
+        int[] d = {5};
+        long[][] cardinalities = {{10_000, 1_000_000}};    // 10,000 ~ 1,000,000 이벤트
+        double duplication = 1.0;
+        int seeds = 1;
+        int windows = 100;
+        int threads = 1;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("인자는 --이름=값 형식이어야 합니다: " + arg);
+                }
+                String value = arg.substring(separator + 1);
+                switch (arg.substring(2, separator)) {
+                    case "p" -> options.p = parseInts(value);
+                    case "t" -> options.t = parseInts(value);
+                    case "d" -> options.d = parseInts(value);
+                    case "cardinalities" -> options.cardinalities = Arrays.stream(value.split(","))
+                            .map(Options::parseRange)
+                            .toArray(long[][]::new);
+                    case "duplication" -> options.duplication = Double.parseDouble(value);
+                    case "seeds" -> options.seeds = Integer.parseInt(value);
+                    case "windows" -> options.windows = Integer.parseInt(value);
+                    case "threads" -> options.threads = Integer.parseInt(value);
+                    case "parallelism" -> options.parallelism = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("알 수 없는 인자입니다: " + arg);
+                }
+            }
+            if (options.seeds <= 0 || options.windows <= 0 || options.threads <= 0 || options.parallelism <= 0) {
+                throw new IllegalArgumentException("시드 수, 윈도우 수, 스레드 수와 병렬 실행 수는 양수여야 합니다.");
+            }
+            if (options.duplication < 1) {
+                throw new IllegalArgumentException("duplication은 1 이상이어야 합니다: " + options.duplication);
+            }
+            return options;
+        }
+
+        List<Config> configs() {
+            List<Config> configs = new ArrayList<>();
+            for (int pValue : p) {
+                for (int tValue : t) {
+                    for (int dValue : d) {
+                        for (long[] range : cardinalities) {
+                            configs.add(new Config(pValue, tValue, dValue, range[0], range[1]));
+                        }
+                    }
+                }
+            }
+            return configs;
+        }
+
+        private static int[] parseInts(String value) {
+            return Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+        }
+
+        private static long[] parseRange(String value) {
+            String[] bounds = value.split("-");
+            long min = Long.parseLong(bounds[0]);
+            long max = bounds.length > 1 ? Long.parseLong(bounds[1]) : min;
+            if (bounds.length > 2 || min <= 0 || max < min || max > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("이벤트 수 범위가 올바르지 않습니다: " + value);
+            }
+            return new long[]{min, max};
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package app.statistics.simulator;
+
+import java.util.SplittableRandom;
+
+/**
+ * 지정한 형태의 합성 트래픽을 {@link EventBatch}에 채우는 생성기
+ * <p>
+ *     정상 이벤트의 계정, IP 주소, 이메일 도메인은 각 모집단에서 Zipf 분포로 선택되며,
+ *     선택된 순위는 지표마다 다른 오프셋을 더해 64비트 해시 값으로 변환된다.
+ *     공격 이벤트는 {@link TrafficShape}에 따라 처음 보는 키나 소수의 공격자 키를 사용한다.
+ *     크리덴셜 스터핑의 계정은 유출된 목록을 흉내 내도록 계정 모집단에서 활동 빈도와 관계없이 균등하게 선택한다.
+ * </p>
+ * @implSpec 같은 형태, 공격 비율과 같은 상태의 난수 생성기로 만든 생성기는 항상 같은 이벤트 순서를 생성한다.
+ * 이벤트를 생성하는 동안 객체를 할당하지 않는다. 스레드 안전하지 않으므로 생산자 스레드마다 하나씩 사용한다.
+ */
+public class TrafficGenerator {
+    // 모집단 크기와 Zipf 지수 (상위 소수의 키에 트래픽이 집중되는 실제 서비스의 분포를 근사한다)
+    private static final long ACCOUNT_POPULATION = 50_000_000L;
+    private static final ZipfSampler ACCOUNTS = new ZipfSampler(ACCOUNT_POPULATION, 0.9);
+    private static final ZipfSampler IP_ADDRESSES = new ZipfSampler(5_000_000L, 1.1);
+    private static final ZipfSampler DOMAINS = new ZipfSampler(200_000L, 1.3);
+
+    // 크리덴셜 스터핑에 사용하는 공격 IP 주소 수
+    private static final int ATTACKER_IPS = 16;
+
+    // 지표별 키 공간을 분리하기 위한 오프셋
+    private static final long ACCOUNT_SALT = 0x1A2B3C4D5E6F7081L;
+    private static final long IP_SALT = 0x2B3C4D5E6F708192L;
+    private static final long DOMAIN_SALT = 0x3C4D5E6F708192A3L;
+    private static final long ATTACKER_SALT = 0x4D5E6F708192A3B4L;
+
+    private final TrafficShape shape;
+    private final double attackRatio;
+    private final SplittableRandom random;
+
+    /**
+     * @param shape 트래픽 형태
+     * @param attackRatio 공격 형태에서 공격 이벤트의 비율 (0 이상 1 이하, 공격 형태가 아니면 무시된다)
+     * @param random 난수 생성기 (재현하려면 같은 시드로 생성한다)
+     */
+    public TrafficGenerator(TrafficShape shape, double attackRatio, SplittableRandom random) {
+        if (attackRatio < 0 || attackRatio > 1) {
+            throw new IllegalArgumentException("공격 비율은 0 이상 1 이하여야 합니다: " + attackRatio);
+        }
+        this.shape = shape;
+        this.attackRatio = attackRatio;
+        this.random = random;
+    }
+
+    /**
+     * 배치를 가득 채우는 메서드
+     * @param batch 채울 배치
+     */
+    public void fill(EventBatch batch) {
+        fill(batch, batch.getCapacity());
+    }
+
+    /**
+     * 배치에 지정한 수의 이벤트를 채우는 메서드
+     * @param batch 채울 배치
+     * @param count 생성할 이벤트 수 (배치 크기 이하)
+     */
+    public void fill(EventBatch batch, int count) {
+        if (count < 0 || count > batch.getCapacity()) {
+            throw new IllegalArgumentException("이벤트 수가 배치 크기를 벗어났습니다: " + count);
+        }
+        long[] accounts = batch.getAccountHashes();
+        long[] ips = batch.getIpHashes();
+        long[] domains = batch.getDomainHashes();
+        for (int i = 0; i < count; i++) {
+            accounts[i] = key(ACCOUNT_SALT, ACCOUNTS.sample(random));
+            ips[i] = key(IP_SALT, IP_ADDRESSES.sample(random));
+            domains[i] = key(DOMAIN_SALT, DOMAINS.sample(random));
+            if (attackRatio > 0 && random.nextDouble() < attackRatio) {
+                switch (shape) {
+                    case DDOS -> ips[i] = random.nextLong();
+                    case CREDENTIAL_STUFFING -> {
+                        accounts[i] = key(ACCOUNT_SALT, 1 + random.nextLong(ACCOUNT_POPULATION));
+                        ips[i] = key(ATTACKER_SALT, 1 + random.nextInt(ATTACKER_IPS));
+                    }
+                    case SIGNUP_FLOOD -> domains[i] = random.nextLong();
+                    default -> {
+                    }
+                }
+            }
+        }
+        batch.setSize(count);
+    }
+
+    /**
+     * 모집단의 순위를 64비트 해시 값으로 변환하는 메서드
+     * @implNote SplitMix64의 종료 함수(Stafford Mix13)는 전단사이므로 서로 다른 순위는 서로 다른 해시 값이 된다.
+     */
+    private static long key(long salt, long rank) {
+        long hash = salt + rank;
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
@@ -0,0 +1,45 @@
+package app.statistics.simulator;
+
+/**
+ * {@link TrafficGenerator}가 생성하는 트래픽의 형태
+ * <p>
+ *     모든 형태의 정상 이벤트는 계정, IP 주소, 이메일 도메인이 각각 Zipf 분포를 따른다.
+ *     공격 형태는 {@code attackRatio} 비율의 이벤트를 공격 이벤트로 대체하여 특정 지표의 카디널리티를 급증시킨다.
+ * </p>
+ */
+public enum TrafficShape {
+    /**
+     * 일정한 유입량의 정상 트래픽
+     */
+    STEADY,
+    /**
+     * 주기적으로 유입량이 몇 배로 늘어나는 정상 트래픽
+     */
+    BURSTY,
+    /**
+     * 분산 서비스 거부 공격: 공격 이벤트마다 처음 보는 봇넷 IP 주소를 사용하여 IP 카디널리티가 급증한다.
+     */
+    DDOS,
+    /**
+     * 크리덴셜 스터핑: 소수의 공격 IP 주소가 유출된 계정 목록으로 로그인을 시도하여 계정 카디널리티와 IP의 fan-out이 급증한다.
+     */
+    CREDENTIAL_STUFFING,
+    /**
+     * 대량 가입 공격: 공격 이벤트마다 처음 보는 일회용 이메일 도메인을 사용하여 도메인 카디널리티가 급증한다.
+     */
+    SIGNUP_FLOOD,
+    ;
+
+    /**
+     * 경과 시간에 따른 유입량 배수를 계산하는 메서드
+     * @implNote {@link #BURSTY}는 10초 주기마다 처음 2초 동안 유입량이 5배가 되며, 나머지 형태는 항상 1이다.
+     * @param elapsedNanos 생성 시작 이후 경과 시간 (나노초)
+     * @return 기준 유입량에 곱할 배수
+     */
+    public double rateMultiplier(long elapsedNanos) {
+        if (this != BURSTY) {
+            return 1.0;
+        }
+        return elapsedNanos % 10_000_000_000L < 2_000_000_000L ? 5.0 : 1.0;
+    }
+}
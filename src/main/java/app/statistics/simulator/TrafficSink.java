@@ -0,0 +1,18 @@
+package app.statistics.simulator;
+
+/**
+ * {@link TrafficGenerator}가 채운 이벤트 배치를 스트림 처리 파이프라인으로 전달하는 인터페이스
+ * <ul>
+ *     <li>{@link InProcessTrafficSink}: 같은 프로세스의 {@link app.statistics.application.DataStreamService DataStreamService}에 바로 추가한다.</li>
+ *     <li>{@link HttpTrafficSink}: 수집 API({@code POST /events})로 전송한다.</li>
+ * </ul>
+ * @implSpec 배치는 반환 후 재사용되므로 배열을 보관해서는 안 된다.
+ */
+public interface TrafficSink {
+
+    /**
+     * 이벤트 배치를 전달하는 메서드
+     * @param batch 전달할 이벤트 배치
+     */
+    void accept(EventBatch batch);
+}
@@ -0,0 +1,72 @@
+package app.statistics.simulator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf 분포({@code P(k) ∝ 1 / k^exponent}, k = 1..n)를 따르는 순위를 생성하는 샘플러
+ * <p>
+ *     Hörmann과 Derflinger의 rejection-inversion 방식을 사용하므로 모집단 크기와 관계없이
+ *     표본 하나에 상수 시간이 걸리고, 누적 분포 표를 만들지 않아 수억 개의 모집단도 메모리 없이 표현한다.
+ * </p>
+ * @implNote Apache Commons Math의 {@code ZipfDistribution.ZipfRejectionInversionSampler}와 같은 알고리즘이다.
+ * 상태를 갖지 않으므로 여러 스레드가 공유할 수 있다.
+ */
+final class ZipfSampler {
+    private final long n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    /**
+     * @param n 모집단 크기
+     * @param exponent 분포의 지수 (클수록 상위 순위에 집중된다)
+     */
+    ZipfSampler(long n, double exponent) {
+        if (n <= 0 || exponent <= 0) {
+            throw new IllegalArgumentException("모집단 크기와 지수는 양수여야 합니다.");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * @param random 난수 생성기
+     * @return 1 이상 n 이하의 순위
+     */
+    long sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            long k = Math.min(n, Math.max(1, (long) (x + 0.5)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1.0 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1.0, x * (1.0 - exponent));
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    private static double log1pOverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    private static double expm1OverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x / 3.0 * (1.0 + 0.25 * x));
+    }
+}
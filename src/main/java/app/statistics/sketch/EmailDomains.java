@@ -0,0 +1,67 @@
+package app.statistics.sketch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 원본 바이트열에서 이메일 주소의 도메인 구간을 찾는 유틸리티 클래스
+ * <p>
+ *     부분 문자열을 만들지 않고 도메인의 시작과 끝 위치만 반환하므로,
+ *     {@link KeyHasher#hashLowerCase(ByteBuffer, int, int)}와 함께 사용하면 이벤트마다 할당 없이 도메인을 해시할 수 있다.
+ * </p>
+ * @implSpec 도메인은 첫 번째 {@code @} 다음부터 도메인 문자({@code A-Z a-z 0-9 . -}와 UTF-8 멀티바이트 문자)가
+ * 끝날 때까지의 구간이며, 끝의 {@code .}(FQDN 표기)은 제외한다.
+ * 따라서 {@code "User <a@Example.com>"}처럼 주소 뒤에 다른 문자가 이어져도 도메인만 찾는다.
+ * @implNote 버퍼는 절대 위치로 읽으므로 position과 limit을 변경하지 않는다.
+ */
+public final class EmailDomains {
+
+    private EmailDomains() {
+    }
+
+    /**
+     * 도메인의 시작 위치를 찾는 메서드
+     * @param text 이메일 주소를 포함한 버퍼
+     * @param from 탐색 시작 위치 (포함)
+     * @param to 탐색 종료 위치 (미포함)
+     * @return {@code @} 다음 위치, 로컬 파트가 없거나 {@code @}가 없는 경우 -1
+     */
+    public static int findDomainStart(ByteBuffer text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = text.get(i);
+            if (b == '@') {
+                return i > from && !isWhitespace(text.get(i - 1)) ? i + 1 : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 도메인의 종료 위치를 찾는 메서드
+     * @param text 이메일 주소를 포함한 버퍼
+     * @param start {@link #findDomainStart(ByteBuffer, int, int)}로 찾은 도메인 시작 위치
+     * @param to 탐색 종료 위치 (미포함)
+     * @return 도메인 종료 위치 (미포함), 도메인이 비어 있으면 {@code start}와 같다
+     */
+    public static int findDomainEnd(ByteBuffer text, int start, int to) {
+        int end = start;
+        while (end < to && isDomainByte(text.get(end))) {
+            end++;
+        }
+        if (end > start && text.get(end - 1) == '.') {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isDomainByte(byte b) {
+        return b < 0
+                || (b >= 'a' && b <= 'z')
+                || (b >= 'A' && b <= 'Z')
+                || (b >= '0' && b <= '9')
+                || b == '.' || b == '-';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
@@ -0,0 +1,10 @@
+package app.statistics.sketch;
+
+/**
+ * 출발지 키별 고유 목적지 수(fan-out) 추정 결과
+ * @param sourceHash 출발지 키(예: IP 주소)의 해시 값
+ * @param distinctFanOut 윈도우 동안 출발지가 접근한 고유 목적지 수의 추정값
+ * @see SuperspreaderDetector
+ */
+public record FanOutEstimate(long sourceHash, double distinctFanOut) {
+}
@@ -0,0 +1,42 @@
+package app.statistics.sketch;
+
+import com.dynatrace.hash4j.hashing.Hasher64;
+import com.dynatrace.hash4j.hashing.Hashing;
+
+/**
+ * {@link KeyHasher}가 원본 키를 해시할 때 사용하는 64비트 해시 함수
+ * <p>
+ *     모든 함수는 출력 비트가 균일하게 분포하므로 ExaLogLog에 해시 값을 그대로 추가할 수 있다.
+ *     속도는 {@code KeyHasherBenchmark}로 비교한다.
+ * </p>
+ * @implNote 같은 지표의 스케치는 같은 함수로 만든 해시 값만 병합할 수 있으므로,
+ * 함수를 바꾸면 이전에 저장한 스케치와의 구간 조회 결과가 의미를 잃는다.
+ */
+public enum HashFunction {
+    /**
+     * Komihash 5.0 (기본값, 짧은 키에서 가장 빠르다)
+     */
+    KOMIHASH(Hashing.komihash5_0()),
+    /**
+     * Wyhash final 4
+     */
+    WYHASH(Hashing.wyhashFinal4()),
+    /**
+     * MurmurHash3 128비트의 하위 64비트
+     */
+    MURMUR3(Hashing.murmur3_128()),
+    ;
+
+    private final Hasher64 hasher;
+
+    HashFunction(Hasher64 hasher) {
+        this.hasher = hasher;
+    }
+
+    /**
+     * @return 스레드 안전한 hash4j 해시 함수
+     */
+    public Hasher64 hasher() {
+        return hasher;
+    }
+}
@@ -0,0 +1,10 @@
+package app.statistics.sketch;
+
+/**
+ * 출현 빈도가 높은 키의 빈도 추정 결과
+ * @param keyHash 키의 해시 값
+ * @param estimatedCount 윈도우 동안 키가 출현한 횟수의 추정값 (실제 횟수 이상이다)
+ * @see HeavyHitterSketch
+ */
+public record HeavyHitterEstimate(long keyHash, long estimatedCount) {
+}
@@ -0,0 +1,268 @@
+package app.statistics.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 출현 빈도가 높은 키(Heavy Hitter)를 추적하는 Count-Min 스케치 + Top-K 구현체
+ * <p>
+ *     {@link exaloglog.ExaLogLog ExaLogLog}가 "몇 개의" 고유 키가 있는지 추정한다면,
+ *     이 스케치는 "어떤" 키가 트래픽을 지배하는지 추정한다. 볼륨 기반 공격은 소수의 키가 매우 높은 빈도로 나타나는 형태로 드러난다.
+ * </p>
+ * @implSpec 카운터 갱신은 Conservative Update 방식을 사용하여 과대 추정을 줄인다.
+ * 상위 K개 후보는 배열 기반 최소 힙으로 관리하며, 모든 배열은 생성 시점에 할당되므로 {@link #add(long)}는 객체를 할당하지 않는다.
+ * 스레드 안전하지 않으므로 스레드마다 별도의 인스턴스를 사용한 후 {@link #merge(HeavyHitterSketch)}로 병합해야 한다.
+ */
+public class HeavyHitterSketch {
+    private static final int MAX_DEPTH = 8;
+
+    // 행별 인덱스 계산에 사용하는 홀수 곱셈 상수
+    private static final long[] ROW_SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x2545F4914F6CDD1DL, 0x94D049BB133111EBL
+    };
+
+    private final int depth;
+    private final int widthBits;
+    private final int topK;
+    private final long[] counters;   // depth x width 카운터 행렬
+
+    private final long[] candidateKeys;     // 상위 K개 후보 키 (최소 힙)
+    private final long[] candidateCounts;   // 후보별 추정 빈도
+    private int candidateSize;
+
+    /**
+     * @param depth 해시 행 수 (최대 {@value #MAX_DEPTH})
+     * @param width 행별 카운터 수 (2의 거듭제곱)
+     * @param topK 추적할 상위 키 수
+     */
+    public HeavyHitterSketch(int depth, int width, int topK) {
+        if (depth <= 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth는 1 이상 " + MAX_DEPTH + " 이하여야 합니다.");
+        }
+        if (width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width는 2 이상의 2의 거듭제곱이어야 합니다.");
+        }
+        if (topK <= 0) {
+            throw new IllegalArgumentException("topK는 양수여야 합니다.");
+        }
+        this.depth = depth;
+        this.widthBits = Integer.numberOfTrailingZeros(width);
+        this.topK = topK;
+        this.counters = new long[depth << widthBits];
+        this.candidateKeys = new long[topK];
+        this.candidateCounts = new long[topK];
+    }
+
+    /**
+     * 키의 출현을 한 번 반영하는 메서드
+     * @param keyHash 키의 64비트 해시 값
+     */
+    public void add(long keyHash) {
+        long estimate = estimate(keyHash);
+        long updated = estimate + 1;
+        // Conservative Update: 현재 최솟값과 같은 카운터만 증가시킨다.
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(keyHash, row);
+            if (counters[cell] < updated) {
+                counters[cell] = updated;
+            }
+        }
+        offerCandidate(keyHash, updated);
+    }
+
+    /**
+     * 키의 출현 빈도 추정값을 반환하는 메서드
+     * @param keyHash 키의 64비트 해시 값
+     * @return 추정 빈도 (실제 빈도 이상)
+     */
+    public long estimate(long keyHash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[cell(keyHash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * 다른 스케치(other)의 카운터와 후보를 현재 스케치(this)에 병합하는 메서드
+     * @param other 병합할 스케치 (depth, width, topK가 같아야 한다)
+     * @return 병합이 완료된 현재 스케치 (this)
+     * @throws IllegalArgumentException 스케치 구성이 다른 경우
+     */
+    public HeavyHitterSketch merge(HeavyHitterSketch other) {
+        if (other.depth != depth || other.widthBits != widthBits || other.topK != topK) {
+            throw new IllegalArgumentException("구성이 다른 HeavyHitterSketch는 병합할 수 없습니다.");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        // 기존 후보의 추정값을 병합된 카운터로 갱신한 후 힙을 재구성
+        for (int i = 0; i < candidateSize; i++) {
+            candidateCounts[i] = estimate(candidateKeys[i]);
+        }
+        for (int i = (candidateSize >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        for (int i = 0; i < other.candidateSize; i++) {
+            long key = other.candidateKeys[i];
+            offerCandidate(key, estimate(key));
+        }
+        return this;
+    }
+
+    /**
+     * 추정 빈도가 높은 상위 키 목록을 반환하는 메서드
+     * @return 추정 빈도 내림차순으로 정렬된 최대 {@code topK}개의 결과
+     */
+    public List<HeavyHitterEstimate> getTopK() {
+        List<HeavyHitterEstimate> result = new ArrayList<>(candidateSize);
+        for (int i = 0; i < candidateSize; i++) {
+            result.add(new HeavyHitterEstimate(candidateKeys[i], candidateCounts[i]));
+        }
+        result.sort(Comparator.comparingLong(HeavyHitterEstimate::estimatedCount).reversed());
+        return result;
+    }
+
+    /**
+     * @return 스케치가 힙에서 차지하는 추정 크기 (바이트)
+     * @see MemoryEstimates
+     */
+    public long estimatedMemoryBytes() {
+        return estimatedMemoryBytes(depth, 1 << widthBits, topK);
+    }
+
+    /**
+     * 주어진 구성으로 생성한 스케치가 힙에서 차지할 크기를 추정하는 메서드
+     * @param depth 해시 행 수
+     * @param width 행별 카운터 수
+     * @param topK 추적할 상위 키 수
+     * @return 추정 메모리 사용량 (바이트)
+     */
+    public static long estimatedMemoryBytes(int depth, int width, int topK) {
+        long objectBytes = MemoryEstimates.align(MemoryEstimates.OBJECT_HEADER_BYTES
+                + 4 * Integer.BYTES + 3 * MemoryEstimates.REFERENCE_BYTES);
+        return objectBytes
+                + MemoryEstimates.arrayBytes((long) depth * width, Long.BYTES)
+                + 2 * MemoryEstimates.arrayBytes(topK, Long.BYTES);
+    }
+
+    /**
+     * 카운터와 후보를 바이트 배열로 직렬화하는 메서드
+     * <p>형식은 {@code [int depth][int widthBits][int topK][int 후보 수][long 카운터...][long 후보 키...][long 후보 빈도...]}이다.</p>
+     * @implNote 길이는 구성에 의해서만 정해지므로, 체크포인트에서 이전 직렬화 결과와 위치별로 비교할 수 있다.
+     * @return 직렬화된 스케치
+     */
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize())
+                .putInt(depth)
+                .putInt(widthBits)
+                .putInt(topK)
+                .putInt(candidateSize);
+        buffer.asLongBuffer().put(counters).put(candidateKeys).put(candidateCounts);
+        return buffer.array();
+    }
+
+    /**
+     * {@link #toByteArray()}로 직렬화된 카운터와 후보로 현재 스케치의 내용을 대체하는 메서드
+     * @param bytes 직렬화된 스케치
+     * @return 복원된 현재 스케치 (this)
+     * @throws IllegalArgumentException 스케치 구성이 다르거나 길이가 맞지 않는 경우
+     */
+    public HeavyHitterSketch restore(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length != serializedSize() || buffer.getInt() != depth || buffer.getInt() != widthBits
+                || buffer.getInt() != topK) {
+            throw new IllegalArgumentException("구성이 다른 HeavyHitterSketch는 복원할 수 없습니다.");
+        }
+        int size = buffer.getInt();
+        if (size < 0 || size > topK) {
+            throw new IllegalArgumentException("후보 수가 올바르지 않습니다: " + size);
+        }
+        buffer.asLongBuffer().get(counters).get(candidateKeys).get(candidateCounts);
+        candidateSize = size;
+        return this;
+    }
+
+    /**
+     * 모든 카운터와 후보를 초기화하여 스케치를 재사용할 수 있도록 하는 메서드
+     * @return 초기화된 현재 스케치 (this)
+     */
+    public HeavyHitterSketch clear() {
+        Arrays.fill(counters, 0L);
+        candidateSize = 0;
+        return this;
+    }
+
+    private int serializedSize() {
+        return 4 * Integer.BYTES + (counters.length + 2 * topK) * Long.BYTES;
+    }
+
+    private int cell(long keyHash, int row) {
+        int column = (int) ((keyHash * ROW_SEEDS[row]) >>> (Long.SIZE - widthBits));
+        return (row << widthBits) | column;
+    }
+
+    private void offerCandidate(long keyHash, long count) {
+        for (int i = 0; i < candidateSize; i++) {
+            if (candidateKeys[i] == keyHash) {
+                if (count > candidateCounts[i]) {
+                    candidateCounts[i] = count;
+                    siftDown(i);
+                }
+                return;
+            }
+        }
+        if (candidateSize < topK) {
+            candidateKeys[candidateSize] = keyHash;
+            candidateCounts[candidateSize] = count;
+            siftUp(candidateSize++);
+        } else if (count > candidateCounts[0]) {
+            candidateKeys[0] = keyHash;
+            candidateCounts[0] = count;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (candidateCounts[parent] <= candidateCounts[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = (i << 1) + 1;
+            int right = left + 1;
+            if (left < candidateSize && candidateCounts[left] < candidateCounts[smallest]) {
+                smallest = left;
+            }
+            if (right < candidateSize && candidateCounts[right] < candidateCounts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long key = candidateKeys[i];
+        candidateKeys[i] = candidateKeys[j];
+        candidateKeys[j] = key;
+        long count = candidateCounts[i];
+        candidateCounts[i] = candidateCounts[j];
+        candidateCounts[j] = count;
+    }
+}
@@ -0,0 +1,224 @@
+package app.statistics.sketch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * IPv4(dotted-quad)와 IPv6 텍스트를 복사나 할당 없이 128비트 주소로 변환하는 파서
+ * <p>
+ *     IPv4 주소는 {@link KeyHasher#hashIPv4(int)}와 같도록 IPv4-mapped IPv6 주소({@code ::ffff:a.b.c.d})로 변환하므로,
+ *     결과를 항상 {@link KeyHasher#hashIPv6(long, long)}로 해시하면 된다.
+ * </p>
+ * @implSpec 지원하는 형식은 다음과 같으며, 앞뒤 공백은 무시한다.
+ * <ul>
+ *     <li>IPv4: 0~255의 십진수 4개 (앞에 0이 붙은 옥텟은 8진수와 혼동되므로 거부한다)</li>
+ *     <li>IPv6: 16진수 그룹 8개, {@code ::} 생략 표기, 마지막 32비트의 IPv4 표기, 대괄호({@code [::1]})와 zone ID({@code %eth0}, 무시)</li>
+ * </ul>
+ * @implNote 마지막으로 변환한 주소를 필드에 보관하므로 스레드 안전하지 않다. 스레드마다 하나씩 재사용한다.
+ * 버퍼는 절대 위치로 읽으므로 position과 limit을 변경하지 않는다.
+ */
+public final class IpAddressParser {
+    private static final long IPV4_MAPPED_PREFIX = 0x0000_FFFF_0000_0000L;
+    private static final int IPV6_GROUPS = 8;
+
+    private long high;
+    private long low;
+
+    /**
+     * 주소 텍스트를 변환하는 메서드
+     * @param text 주소 텍스트를 담은 버퍼
+     * @param from 시작 위치 (포함)
+     * @param to 종료 위치 (미포함)
+     * @return 올바른 주소인 경우 {@code true} ({@link #getHigh()}, {@link #getLow()}로 결과를 읽는다)
+     */
+    public boolean parse(ByteBuffer text, int from, int to) {
+        while (from < to && isWhitespace(text.get(from))) {
+            from++;
+        }
+        while (to > from && isWhitespace(text.get(to - 1))) {
+            to--;
+        }
+        if (from < to && text.get(from) == '[') {
+            if (text.get(to - 1) != ']') {
+                return false;
+            }
+            from++;
+            to--;
+        }
+        for (int i = from; i < to; i++) {
+            if (text.get(i) == ':') {
+                return parseIPv6(text, from, to);
+            }
+        }
+        long address = parseIPv4(text, from, to);
+        if (address < 0) {
+            return false;
+        }
+        high = 0;
+        low = IPV4_MAPPED_PREFIX | address;
+        return true;
+    }
+
+    /**
+     * @return 마지막으로 변환한 주소의 상위 64비트 (빅 엔디언)
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * @return 마지막으로 변환한 주소의 하위 64비트 (빅 엔디언)
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * dotted-quad 형식의 IPv4 주소를 변환하는 메서드
+     * @param text 주소 텍스트를 담은 버퍼
+     * @param from 시작 위치 (포함)
+     * @param to 종료 위치 (미포함)
+     * @return 부호 없는 32비트 주소, 올바르지 않은 경우 -1
+     */
+    public static long parseIPv4(ByteBuffer text, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = from; i < to; i++) {
+            byte b = text.get(i);
+            if (b >= '0' && b <= '9') {
+                if (digits == 1 && value == 0) {
+                    return -1;
+                }
+                value = value * 10 + (b - '0');
+                if (value > 255) {
+                    return -1;
+                }
+                digits++;
+            } else if (b == '.' && digits > 0 && octets < 3) {
+                address = (address << 8) | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || octets != 3) {
+            return -1;
+        }
+        return (address << 8) | value;
+    }
+
+    /**
+     * @implNote {@code ::} 앞의 그룹과 뒤의 그룹을 각각 128비트 값으로 누적한 후,
+     * 앞의 그룹을 생략된 그룹 수만큼 왼쪽으로 이동하여 합친다.
+     */
+    private boolean parseIPv6(ByteBuffer text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.get(i) == '%') {
+                to = i;
+                break;
+            }
+        }
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+
+        int i = from;
+        if (to - from >= 2 && text.get(from) == ':' && text.get(from + 1) == ':') {
+            compressed = true;
+            i += 2;
+        } else if (i < to && text.get(i) == ':') {
+            return false;
+        }
+
+        while (i < to) {
+            int start = i;
+            int value = 0;
+            int digits = 0;
+            for (int hex; i < to && digits <= 4 && (hex = hexValue(text.get(i))) >= 0; i++, digits++) {
+                value = (value << 4) | hex;
+            }
+            if (i < to && text.get(i) == '.') {
+                // 마지막 32비트의 IPv4 표기 (그룹 2개)
+                long address = parseIPv4(text, start, to);
+                if (address < 0 || headGroups + tailGroups > IPV6_GROUPS - 2) {
+                    return false;
+                }
+                if (compressed) {
+                    tailHigh = (tailHigh << 32) | (tailLow >>> 32);
+                    tailLow = (tailLow << 32) | address;
+                    tailGroups += 2;
+                } else {
+                    headHigh = (headHigh << 32) | (headLow >>> 32);
+                    headLow = (headLow << 32) | address;
+                    headGroups += 2;
+                }
+                i = to;
+                break;
+            }
+            if (digits == 0 || digits > 4 || headGroups + tailGroups == IPV6_GROUPS) {
+                return false;
+            }
+            if (compressed) {
+                tailHigh = (tailHigh << 16) | (tailLow >>> 48);
+                tailLow = (tailLow << 16) | value;
+                tailGroups++;
+            } else {
+                headHigh = (headHigh << 16) | (headLow >>> 48);
+                headLow = (headLow << 16) | value;
+                headGroups++;
+            }
+            if (i == to) {
+                break;
+            }
+            if (text.get(i) != ':' || ++i == to) {
+                return false;
+            }
+            if (text.get(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+
+        int groups = headGroups + tailGroups;
+        if (compressed ? groups >= IPV6_GROUPS : groups != IPV6_GROUPS) {
+            return false;
+        }
+        // 앞의 그룹을 (8 - 앞의 그룹 수) * 16비트만큼 왼쪽으로 이동
+        int shift = (IPV6_GROUPS - headGroups) * 16;
+        if (shift >= 128) {
+            headHigh = 0;
+            headLow = 0;
+        } else if (shift >= 64) {
+            headHigh = headLow << (shift - 64);
+            headLow = 0;
+        } else if (shift > 0) {
+            headHigh = (headHigh << shift) | (headLow >>> (64 - shift));
+            headLow = headLow << shift;
+        }
+        high = headHigh | tailHigh;
+        low = headLow | tailLow;
+        return true;
+    }
+
+    private static int hexValue(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        int lower = b | 0x20;
+        return lower >= 'a' && lower <= 'f' ? lower - 'a' + 10 : -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
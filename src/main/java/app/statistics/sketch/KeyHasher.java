@@ -0,0 +1,231 @@
+package app.statistics.sketch;
+
+import com.dynatrace.hash4j.hashing.HashStream64;
+import com.dynatrace.hash4j.hashing.Hasher64;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * 원본 키를 선택한 {@link HashFunction}으로 64비트 해시 값으로 변환하는 클래스
+ * <p>
+ *     문자열, 바이트 배열, {@link ByteBuffer}, IPv4/IPv6 주소와 long 키를 중간 문자열이나 배열 없이 해시한다.
+ *     {@code String.hashCode()}처럼 32비트로 축소된 값은 고유 개수가 많을수록 충돌로 인해 추정값이 낮아지므로,
+ *     스트림 서비스에 추가하는 모든 키는 이 클래스로 해시해야 한다.
+ * </p>
+ * @implSpec 같은 바이트열은 입력 형식과 관계없이 같은 해시 값이 된다 (예: 힙 버퍼와 다이렉트 버퍼).
+ * 문자열은 UTF-8 바이트열로 해시하므로 같은 키를 문자열로 추가하든 원본 바이트열로 추가하든 같은 값으로 집계된다.
+ * IPv4 주소는 IPv4-mapped IPv6 주소({@code ::ffff:a.b.c.d})로 해시하므로 두 표기가 같은 키로 집계된다.
+ * @implNote 스레드 안전하다. 스트림 해시가 필요한 형식은 스레드별로 재사용하는 해시 스트림을 사용하므로 호출마다 할당하지 않는다.
+ */
+public final class KeyHasher {
+    private static final int SCRATCH_SIZE = 256;
+    private static final long IPV4_MAPPED_PREFIX = 0x0000_FFFF_0000_0000L;
+
+    private final HashFunction function;
+    private final Hasher64 hasher;
+    private final ThreadLocal<HashStream64> streams;
+    private final ThreadLocal<byte[]> scratchBuffers = ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
+    private KeyHasher(HashFunction function) {
+        this.function = function;
+        this.hasher = function.hasher();
+        this.streams = ThreadLocal.withInitial(hasher::hashStream);
+    }
+
+    public static KeyHasher of(HashFunction function) {
+        return new KeyHasher(function);
+    }
+
+    /**
+     * @return 사용하는 해시 함수
+     */
+    public HashFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * @param key long 키 (예: 계정 ID)
+     * @return 키의 8바이트(리틀 엔디언) 해시 값
+     */
+    public long hash(long key) {
+        return stream().putLong(key).getAsLong();
+    }
+
+    /**
+     * @implSpec 결과는 {@code key.toString().getBytes(StandardCharsets.UTF_8)}의 {@link #hash(byte[])} 값과 같다.
+     * 짝이 맞지 않는 서로게이트 문자는 {@link String#getBytes}와 같이 {@code ?}로 대체한다.
+     * @implNote ASCII 키는 스레드별 임시 배열에 바로 복사하여 해시하고, 그 외의 키는 임시 배열에 UTF-8로 인코딩하면서
+     * 해시 스트림에 나누어 추가하므로 바이트 배열을 할당하지 않는다.
+     * @param key 문자열 키
+     * @return 키의 UTF-8 바이트열 해시 값
+     */
+    public long hash(CharSequence key) {
+        return hashUtf8(key, false);
+    }
+
+    /**
+     * 문자열을 ASCII 소문자로 변환한 UTF-8 바이트열로 해시하는 메서드
+     * @implSpec 결과는 같은 문자열의 UTF-8 바이트열에 대한 {@link #hashLowerCase(ByteBuffer, int, int)} 값과 같다.
+     * @param key 문자열 키 (예: 이메일 도메인)
+     * @return 소문자로 변환한 키의 UTF-8 바이트열 해시 값
+     */
+    public long hashLowerCase(CharSequence key) {
+        return hashUtf8(key, true);
+    }
+
+    /**
+     * @param key 바이트 배열 키
+     * @return 배열 전체의 해시 값
+     */
+    public long hash(byte[] key) {
+        return hasher.hashBytesToLong(key);
+    }
+
+    /**
+     * @param key 키를 포함한 바이트 배열
+     * @param offset 키의 시작 위치
+     * @param length 키의 길이
+     * @return 지정한 구간의 해시 값
+     */
+    public long hash(byte[] key, int offset, int length) {
+        return hasher.hashBytesToLong(key, offset, length);
+    }
+
+    /**
+     * 버퍼의 position부터 limit까지의 바이트를 해시하는 메서드
+     * @implNote 버퍼의 position은 변경하지 않는다. 배열 기반 버퍼는 배열을 바로 해시하고,
+     * 다이렉트 버퍼나 읽기 전용 버퍼는 스레드별 임시 배열로 나누어 복사하면서 해시한다.
+     * @param key 키를 담은 버퍼
+     * @return 남은 바이트의 해시 값
+     */
+    public long hash(ByteBuffer key) {
+        if (key.hasArray()) {
+            return hasher.hashBytesToLong(key.array(), key.arrayOffset() + key.position(), key.remaining());
+        }
+        HashStream64 stream = stream();
+        byte[] scratch = scratchBuffers.get();
+        for (int position = key.position(), limit = key.limit(); position < limit; ) {
+            int length = Math.min(scratch.length, limit - position);
+            key.get(position, scratch, 0, length);
+            stream.putBytes(scratch, 0, length);
+            position += length;
+        }
+        return stream.getAsLong();
+    }
+
+    /**
+     * 버퍼의 지정한 구간을 ASCII 소문자로 변환한 바이트열로 해시하는 메서드
+     * <p>이메일 도메인처럼 대소문자를 구분하지 않는 키를 소문자 문자열을 만들지 않고 해시한다.</p>
+     * @implSpec 결과는 구간을 소문자로 변환한 바이트 배열의 {@link #hash(byte[])} 값과 같다.
+     * {@code A-Z} 외의 바이트(UTF-8 멀티바이트 문자 포함)는 그대로 해시한다.
+     * @implNote 버퍼의 position과 limit은 변경하지 않는다. 스레드별 임시 배열에 소문자로 복사하면서 해시하며,
+     * 임시 배열보다 긴 키는 나누어 해시 스트림에 추가한다.
+     * @param key 키를 포함한 버퍼
+     * @param offset 키의 시작 위치 (절대 위치)
+     * @param length 키의 길이
+     * @return 소문자로 변환한 구간의 해시 값
+     */
+    public long hashLowerCase(ByteBuffer key, int offset, int length) {
+        byte[] scratch = scratchBuffers.get();
+        if (length <= scratch.length) {
+            toLowerCase(key, offset, scratch, length);
+            return hasher.hashBytesToLong(scratch, 0, length);
+        }
+        HashStream64 stream = stream();
+        for (int end = offset + length; offset < end; ) {
+            int chunk = Math.min(scratch.length, end - offset);
+            toLowerCase(key, offset, scratch, chunk);
+            stream.putBytes(scratch, 0, chunk);
+            offset += chunk;
+        }
+        return stream.getAsLong();
+    }
+
+    /**
+     * @param address 빅 엔디언 순서의 IPv4 주소 (예: {@code 10.0.0.1}은 {@code 0x0A000001})
+     * @return IPv4-mapped IPv6 주소의 해시 값
+     */
+    public long hashIPv4(int address) {
+        return hashIPv6(0L, IPV4_MAPPED_PREFIX | (address & 0xFFFF_FFFFL));
+    }
+
+    /**
+     * @param high IPv6 주소의 상위 64비트 (빅 엔디언)
+     * @param low IPv6 주소의 하위 64비트 (빅 엔디언)
+     * @return 128비트 주소의 해시 값
+     */
+    public long hashIPv6(long high, long low) {
+        return stream().putLong(high).putLong(low).getAsLong();
+    }
+
+    /**
+     * @implNote {@link InetAddress#getAddress()}는 주소 배열을 복사하므로,
+     * 이미 정수로 변환한 주소는 {@link #hashIPv4(int)}나 {@link #hashIPv6(long, long)}를 사용한다.
+     * @param address IPv4 또는 IPv6 주소
+     * @return 주소의 해시 값
+     */
+    public long hash(InetAddress address) {
+        ByteBuffer bytes = ByteBuffer.wrap(address.getAddress());
+        if (address instanceof Inet4Address) {
+            return hashIPv4(bytes.getInt());
+        }
+        return hashIPv6(bytes.getLong(), bytes.getLong());
+    }
+
+    private HashStream64 stream() {
+        return streams.get().reset();
+    }
+
+    private long hashUtf8(CharSequence key, boolean lowerCase) {
+        byte[] scratch = scratchBuffers.get();
+        int length = key.length();
+        if (length <= scratch.length) {
+            int i = 0;
+            for (char c; i < length && (c = key.charAt(i)) < 0x80; i++) {
+                scratch[i] = (byte) (lowerCase && c >= 'A' && c <= 'Z' ? c | 0x20 : c);
+            }
+            if (i == length) {
+                return hasher.hashBytesToLong(scratch, 0, length);
+            }
+        }
+
+        HashStream64 stream = stream();
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            if (position > scratch.length - 4) {
+                stream.putBytes(scratch, 0, position);
+                position = 0;
+            }
+            char c = key.charAt(i);
+            if (c < 0x80) {
+                scratch[position++] = (byte) (lowerCase && c >= 'A' && c <= 'Z' ? c | 0x20 : c);
+            } else if (c < 0x800) {
+                scratch[position++] = (byte) (0xC0 | (c >>> 6));
+                scratch[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                scratch[position++] = (byte) (0xE0 | (c >>> 12));
+                scratch[position++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+                scratch[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(key.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, key.charAt(++i));
+                scratch[position++] = (byte) (0xF0 | (codePoint >>> 18));
+                scratch[position++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3F));
+                scratch[position++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3F));
+                scratch[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                scratch[position++] = '?';
+            }
+        }
+        stream.putBytes(scratch, 0, position);
+        return stream.getAsLong();
+    }
+
+    private static void toLowerCase(ByteBuffer source, int offset, byte[] target, int length) {
+        for (int i = 0; i < length; i++) {
+            byte b = source.get(offset + i);
+            target[i] = b >= 'A' && b <= 'Z' ? (byte) (b | 0x20) : b;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package app.statistics.sketch;
+
+import exaloglog.ObjectSizes;
+
+/**
+ * 힙 메모리 사용량을 추정하기 위한 유틸리티 클래스
+ * @implSpec 64비트 JVM에서 압축 참조(Compressed OOPs)를 사용하는 경우를 기준으로 하며, 객체는 8바이트 단위로 정렬된다.
+ * 실제 크기는 JVM 옵션에 따라 다를 수 있으므로 메모리 예산과 모니터링 용도로만 사용한다.
+ * @implNote 스케치와 같은 기준으로 추정하도록 {@link ObjectSizes}의 상수를 사용한다.
+ */
+public final class MemoryEstimates {
+    public static final int OBJECT_HEADER_BYTES = ObjectSizes.OBJECT_HEADER_BYTES;
+    public static final int REFERENCE_BYTES = ObjectSizes.REFERENCE_BYTES;
+
+    private MemoryEstimates() {
+    }
+
+    /**
+     * @param length 배열 길이
+     * @param elementBytes 원소 하나의 크기 (바이트)
+     * @return 배열 객체의 크기 (바이트)
+     */
+    public static long arrayBytes(long length, int elementBytes) {
+        return ObjectSizes.arrayBytes(length, elementBytes);
+    }
+
+    /**
+     * @param bytes 정렬 전 크기 (바이트)
+     * @return 8바이트 단위로 올림한 크기 (바이트)
+     */
+    public static long align(long bytes) {
+        return ObjectSizes.align(bytes);
+    }
+}
@@ -0,0 +1,268 @@
+package app.statistics.sketch;
+
+import exaloglog.ExaLogLog;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 고유 목적지 수(fan-out)가 비정상적으로 많은 출발지 키(Superspreader)를 고정 메모리로 탐지하는 클래스
+ * <p>
+ *     출발지 키마다 작은 {@link ExaLogLog} 스케치를 유지하되 슬롯 수를 {@code capacity}로 고정하여,
+ *     수백만 개의 출발지가 유입되는 공격 상황에서도 메모리 사용량이 늘어나지 않는다.
+ *     슬롯이 가득 찬 경우 64비트 비트맵에 기록된 고유 목적지 비트 수가 가장 적은 슬롯을 교체한다.
+ *     고유 목적지가 많은 출발지는 비트맵이 빠르게 채워지므로 교체 대상에서 밀려나 슬롯에 남게 된다.
+ * </p>
+ * @implSpec 이벤트마다 최대 {@value #MAX_PROBES}개의 슬롯만 탐색하므로 이벤트당 처리 비용은 상수이다.
+ * 모든 스케치와 배열은 생성 시점에 할당되며 이벤트 처리 중에는 객체를 할당하지 않는다.
+ * 쌍 목록은 {@link #addAll(long[], long[], int)}로 추가하면 배치마다 한 번만 락을 얻는다.
+ */
+public class SuperspreaderDetector {
+    private static final int MAX_PROBES = 4;
+
+    // 슬롯별 fan-out 스케치 파라미터 (레지스터 64개, 약 224바이트)
+    private static final int SLOT_T = 2;
+    private static final int SLOT_D = 20;
+    private static final int SLOT_P = 6;
+
+    private final int topK;
+    private final double minFanOut;
+    private final int slotMask;
+
+    private final long[] sourceKeys;        // 슬롯별 출발지 해시
+    private final long[] fanOutBitmaps;     // 슬롯별 교체 우선순위 비트맵 (0이면 빈 슬롯)
+    private final ExaLogLog[] fanOutSketches;
+
+    private long evictedSources;
+    private long droppedEvents;
+    private boolean changed; // 마지막 pollChanged() 호출 이후 슬롯이 변경되었는지 여부
+
+    /**
+     * @param capacity 추적할 최대 출발지 수 (2의 거듭제곱)
+     * @param topK 윈도우마다 보고할 최대 출발지 수
+     * @param minFanOut 보고 대상이 되기 위한 최소 고유 목적지 수
+     */
+    public SuperspreaderDetector(int capacity, int topK, double minFanOut) {
+        if (capacity < MAX_PROBES || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity는 " + MAX_PROBES + " 이상의 2의 거듭제곱이어야 합니다.");
+        }
+        if (topK <= 0) {
+            throw new IllegalArgumentException("topK는 양수여야 합니다.");
+        }
+        this.topK = topK;
+        this.minFanOut = minFanOut;
+        this.slotMask = capacity - 1;
+        this.sourceKeys = new long[capacity];
+        this.fanOutBitmaps = new long[capacity];
+        this.fanOutSketches = new ExaLogLog[capacity];
+        for (int slot = 0; slot < capacity; slot++) {
+            fanOutSketches[slot] = ExaLogLog.create(SLOT_T, SLOT_D, SLOT_P);
+        }
+    }
+
+    /**
+     * 출발지-목적지 쌍 하나를 반영하는 메서드
+     * @param sourceHash 출발지 키의 64비트 해시 값
+     * @param destinationHash 목적지 키의 64비트 해시 값
+     */
+    public synchronized void add(long sourceHash, long destinationHash) {
+        changed = true;
+        addPair(sourceHash, destinationHash);
+    }
+
+    /**
+     * 출발지-목적지 쌍 배열의 앞부분을 반영하는 메서드
+     * @param sourceHashes 출발지 키의 64비트 해시 값 배열
+     * @param destinationHashes 목적지 키의 64비트 해시 값 배열 (같은 위치의 출발지와 쌍을 이룬다)
+     * @param length 반영할 쌍의 수
+     */
+    public synchronized void addAll(long[] sourceHashes, long[] destinationHashes, int length) {
+        if (length == 0) {
+            return;
+        }
+        changed = true;
+        for (int i = 0; i < length; i++) {
+            addPair(sourceHashes[i], destinationHashes[i]);
+        }
+    }
+
+    private void addPair(long sourceHash, long destinationHash) {
+        // ExaLogLog는 하위 비트를 레지스터 인덱스로 사용하므로 슬롯 인덱스는 상위 비트에서 구한다.
+        int base = (int) (sourceHash >>> 32);
+        int victim = -1;
+        int victimBits = Integer.MAX_VALUE;
+
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (base + probe) & slotMask;
+            long bitmap = fanOutBitmaps[slot];
+            if (bitmap == 0L) {
+                // 슬롯은 윈도우가 끝날 때만 비워지므로 빈 슬롯 이후에는 같은 출발지가 존재하지 않는다.
+                claim(slot, sourceHash);
+                update(slot, destinationHash);
+                return;
+            }
+            if (sourceKeys[slot] == sourceHash) {
+                update(slot, destinationHash);
+                return;
+            }
+            int bits = Long.bitCount(bitmap);
+            if (bits < victimBits) {
+                victim = slot;
+                victimBits = bits;
+            }
+        }
+
+        // 탐색한 슬롯이 모두 포화된 출발지인 경우 기존 출발지를 보존한다.
+        if (victimBits == Long.SIZE) {
+            droppedEvents++;
+            return;
+        }
+        evictedSources++;
+        claim(victim, sourceHash);
+        update(victim, destinationHash);
+    }
+
+    /**
+     * 현재 윈도우의 상위 fan-out 출발지를 반환하고 새로운 윈도우를 시작하는 메서드
+     * @return fan-out 추정값 내림차순으로 정렬된 최대 {@code topK}개의 결과
+     */
+    public synchronized List<FanOutEstimate> rollWindow() {
+        PriorityQueue<FanOutEstimate> heap =
+                new PriorityQueue<>(topK + 1, Comparator.comparingDouble(FanOutEstimate::distinctFanOut));
+
+        for (int slot = 0; slot <= slotMask; slot++) {
+            if (fanOutBitmaps[slot] == 0L) {
+                continue;
+            }
+            double estimate = fanOutSketches[slot].getDistinctCount();
+            if (estimate >= minFanOut) {
+                heap.offer(new FanOutEstimate(sourceKeys[slot], estimate));
+                if (heap.size() > topK) {
+                    heap.poll();
+                }
+            }
+        }
+        resetNewWindow();
+
+        List<FanOutEstimate> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(FanOutEstimate::distinctFanOut).reversed());
+        return result;
+    }
+
+    /**
+     * @return 마지막 호출 이후 슬롯이 변경되었는지 여부 (호출과 동시에 초기화된다)
+     */
+    public synchronized boolean pollChanged() {
+        boolean result = changed;
+        changed = false;
+        return result;
+    }
+
+    /**
+     * 현재 윈도우의 슬롯을 바이트 배열로 직렬화하는 메서드
+     * <p>형식은 {@code [int 슬롯 수][int 슬롯 스케치 크기][long 교체 수][long 버린 이벤트 수]} 뒤에 슬롯마다
+     * {@code [long 출발지 해시][long 비트맵][스케치 레지스터]}가 이어지는 구조이다.</p>
+     * @implNote 길이는 슬롯 수에 의해서만 정해지고 슬롯은 고정된 위치에 기록되므로,
+     * 체크포인트에서 이전 직렬화 결과와 위치별로 비교하면 변경된 슬롯만 기록할 수 있다.
+     * @return 직렬화된 탐지기 상태
+     */
+    public synchronized byte[] toByteArray() {
+        int slotStateBytes = fanOutSketches[0].getState().length;
+        ByteBuffer buffer = ByteBuffer.allocate(serializedSize(slotStateBytes))
+                .putInt(fanOutSketches.length)
+                .putInt(slotStateBytes)
+                .putLong(evictedSources)
+                .putLong(droppedEvents);
+        for (int slot = 0; slot <= slotMask; slot++) {
+            buffer.putLong(sourceKeys[slot])
+                    .putLong(fanOutBitmaps[slot])
+                    .put(fanOutSketches[slot].getState());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * {@link #toByteArray()}로 직렬화된 슬롯으로 현재 윈도우의 상태를 대체하는 메서드
+     * @param bytes 직렬화된 탐지기 상태
+     * @throws IllegalArgumentException 슬롯 수나 슬롯 스케치의 구성이 다른 경우
+     */
+    public synchronized void restore(byte[] bytes) {
+        int slotStateBytes = fanOutSketches[0].getState().length;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length != serializedSize(slotStateBytes) || buffer.getInt() != fanOutSketches.length
+                || buffer.getInt() != slotStateBytes) {
+            throw new IllegalArgumentException("구성이 다른 SuperspreaderDetector는 복원할 수 없습니다.");
+        }
+        evictedSources = buffer.getLong();
+        droppedEvents = buffer.getLong();
+        for (int slot = 0; slot <= slotMask; slot++) {
+            sourceKeys[slot] = buffer.getLong();
+            fanOutBitmaps[slot] = buffer.getLong();
+            buffer.get(fanOutSketches[slot].getState());
+        }
+        changed = true;
+    }
+
+    /**
+     * @return 탐지기가 힙에서 차지하는 추정 크기 (바이트)
+     * @see MemoryEstimates
+     */
+    public long estimatedMemoryBytes() {
+        return estimatedMemoryBytes(fanOutSketches.length);
+    }
+
+    /**
+     * 주어진 슬롯 수로 생성한 탐지기가 힙에서 차지할 크기를 추정하는 메서드
+     * @implNote {@link #toByteArray()}의 결과는 슬롯 스케치의 객체 헤더를 포함하지 않으므로 이 값보다 작다.
+     * @param capacity 추적할 최대 출발지 수
+     * @return 추정 메모리 사용량 (바이트)
+     */
+    public static long estimatedMemoryBytes(int capacity) {
+        long objectBytes = MemoryEstimates.align(MemoryEstimates.OBJECT_HEADER_BYTES
+                + 2 * Integer.BYTES + Double.BYTES + 2 * Long.BYTES + 1 + 3 * MemoryEstimates.REFERENCE_BYTES);
+        return objectBytes
+                + 2 * MemoryEstimates.arrayBytes(capacity, Long.BYTES)
+                + MemoryEstimates.arrayBytes(capacity, MemoryEstimates.REFERENCE_BYTES)
+                + capacity * ExaLogLog.estimatedMemoryBytes(SLOT_T, SLOT_D, SLOT_P);
+    }
+
+    public synchronized long getEvictedSources() {
+        return evictedSources;
+    }
+
+    public synchronized long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    private int serializedSize(int slotStateBytes) {
+        return 2 * Integer.BYTES + 2 * Long.BYTES + fanOutSketches.length * (2 * Long.BYTES + slotStateBytes);
+    }
+
+    private void claim(int slot, long sourceHash) {
+        sourceKeys[slot] = sourceHash;
+        fanOutBitmaps[slot] = 0L;
+        fanOutSketches[slot].clear();
+    }
+
+    private void update(int slot, long destinationHash) {
+        fanOutBitmaps[slot] |= 1L << (destinationHash >>> 58);
+        fanOutSketches[slot].add(destinationHash);
+    }
+
+    private void resetNewWindow() {
+        for (int slot = 0; slot <= slotMask; slot++) {
+            if (fanOutBitmaps[slot] != 0L) {
+                fanOutSketches[slot].clear();
+            }
+        }
+        Arrays.fill(sourceKeys, 0L);
+        Arrays.fill(fanOutBitmaps, 0L);
+        evictedSources = 0;
+        droppedEvents = 0;
+        changed = true;
+    }
+}
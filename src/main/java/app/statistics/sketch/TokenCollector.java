@@ -0,0 +1,136 @@
+package app.statistics.sketch;
+
+import exaloglog.ExaLogLog;
+
+import java.util.Arrays;
+
+/**
+ * 윈도우 동안 추가된 해시 값의 {@link ExaLogLog#computeToken(long) 토큰}을 중복 없이 모으는 클래스
+ * <p>
+ *     고유 개수가 적은 윈도우는 레지스터 배열 전체 대신 토큰 목록만 전송해도 같은 스케치를 만들 수 있다.
+ *     고유 토큰 수가 한도를 넘으면 토큰 목록이 레지스터 배열보다 작을 수 없으므로 수집을 중단(overflow)한다.
+ * </p>
+ * @implSpec 토큰은 버퍼에 추가하다가 버퍼가 가득 차면 정렬 후 중복을 제거한다.
+ * 중단된 이후에는 토큰을 계산하지 않으므로, 트래픽이 많은 윈도우의 추가 비용은 한도 수준의 토큰을 모으는 데 그친다.
+ * 스레드 안전하지 않다.
+ */
+public class TokenCollector {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxTokens;
+    private int[] buffer = new int[INITIAL_CAPACITY];
+    private int size;          // 버퍼에 담긴 토큰 수
+    private int distinctSize;  // 정렬 및 중복 제거가 끝난 앞부분의 토큰 수
+    private boolean overflowed;
+
+    /**
+     * @param maxTokens 수집할 최대 고유 토큰 수
+     */
+    public TokenCollector(int maxTokens) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("maxTokens는 양수여야 합니다.");
+        }
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * 해시 값 배열의 앞부분의 토큰을 추가하는 메서드
+     * @param hashes 64비트 해시 값 배열
+     * @param length 추가할 해시 값 수
+     */
+    public void addAll(long[] hashes, int length) {
+        for (int i = 0; i < length && !overflowed; i++) {
+            add(hashes[i]);
+        }
+    }
+
+    /**
+     * 해시 값의 토큰을 추가하는 메서드
+     * @param hashValue 64비트 해시 값
+     */
+    public void add(long hashValue) {
+        if (overflowed) {
+            return;
+        }
+        if (size == buffer.length) {
+            compact();
+            if (overflowed) {
+                return;
+            }
+            if (size > buffer.length / 2) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        buffer[size++] = ExaLogLog.computeToken(hashValue);
+    }
+
+    /**
+     * 수집을 중단하는 메서드
+     * @implNote 토큰으로 표현되지 않는 데이터(예: 체크포인트에서 복원한 스케치)가 윈도우에 병합된 경우 호출한다.
+     */
+    public void invalidate() {
+        overflowed = true;
+        size = 0;
+        distinctSize = 0;
+    }
+
+    /**
+     * @return 오름차순으로 정렬된 고유 토큰 배열, 수집이 중단된 경우 {@code null}
+     */
+    public int[] toSortedTokens() {
+        if (overflowed) {
+            return null;
+        }
+        compact();
+        return overflowed ? null : Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * @return 토큰 버퍼가 힙에서 차지하는 추정 크기 (바이트)
+     * @see MemoryEstimates
+     */
+    public long estimatedMemoryBytes() {
+        return MemoryEstimates.arrayBytes(buffer.length, Integer.BYTES);
+    }
+
+    /**
+     * 한도까지 토큰을 수집했을 때 토큰 버퍼가 차지할 수 있는 최대 크기를 추정하는 메서드
+     * @implNote 버퍼는 중복 제거 후에도 절반 넘게 차 있는 경우에만 두 배로 늘어나므로,
+     * 한도의 두 배보다 작은 가장 큰 2의 거듭제곱의 두 배를 넘지 않는다.
+     * @param maxTokens 수집할 최대 고유 토큰 수
+     * @return 추정 메모리 사용량 (바이트)
+     */
+    public static long maxMemoryBytes(int maxTokens) {
+        long capacity = Math.max(INITIAL_CAPACITY, (long) Integer.highestOneBit(Math.max(1, 2 * maxTokens - 1)) << 1);
+        return MemoryEstimates.arrayBytes(capacity, Integer.BYTES);
+    }
+
+    /**
+     * 새로운 윈도우를 위해 수집한 토큰을 비우는 메서드
+     * @implNote 이전 윈도우에서 늘어난 버퍼는 다시 할당하지 않고 재사용한다.
+     */
+    public TokenCollector clear() {
+        size = 0;
+        distinctSize = 0;
+        overflowed = false;
+        return this;
+    }
+
+    private void compact() {
+        if (distinctSize == size) {
+            return;
+        }
+        Arrays.sort(buffer, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || buffer[i] != buffer[unique - 1]) {
+                buffer[unique++] = buffer[i];
+            }
+        }
+        size = unique;
+        distinctSize = unique;
+        if (unique > maxTokens) {
+            invalidate();
+        }
+    }
+}
@@ -20,6 +20,15 @@ public class ExaLogLog {
     private static final int MIN_P = 2;
     private static final int MAX_T = VALUE_BIT - MIN_P;
 
+    private static final int SERIALIZED_HEADER_SIZE = 3; // t, d, p
+
+    // 메모리 사용량 추정에 사용하는 객체 크기 (객체 헤더 + p, t, d + state 참조)
+    private static final long OBJECT_BYTES = ObjectSizes.align(
+            ObjectSizes.OBJECT_HEADER_BYTES + 3 * Byte.BYTES + ObjectSizes.REFERENCE_BYTES);
+
+    // 토큰에 보존되는 해시 값의 하위 비트 수 (p + t의 최댓값과 같다)
+    public static final int TOKEN_PARAMETER = DistinctCountUtil.V_MAX;
+
     private final byte p;   // 레지스터 인덱스 (레지스터 수 m = 2^p)
     private final byte t;   // rho 값(k)을 압축하기 위한 비트 공간
     private final byte d;   // 현재 레지스터가 가진 최대 rho 값 이후에 나오는 trailing bits를 저장할 비트 공간 (저장 정밀도)
@@ -41,6 +50,69 @@ public class ExaLogLog {
                 PackedArray.getHandler(getRegisterBitSize(t, d)).create(getNumRegisters(p)));
     }
 
+    /**
+     * {@link #toByteArray()}로 직렬화된 바이트 배열로부터 스케치를 복원하는 메서드
+     *
+     * @param bytes 직렬화된 스케치
+     * @return 복원된 ExaLogLog 스케치
+     * @throws NullPointerException 인수로 null이 전달된 경우
+     * @throws IllegalArgumentException 파라미터가 유효하지 않거나 상태 배열의 길이가 맞지 않는 경우
+     */
+    public static ExaLogLog fromByteArray(byte[] bytes) {
+        Objects.requireNonNull(bytes, "직렬화된 스케치가 null입니다.");
+        if (bytes.length < SERIALIZED_HEADER_SIZE) {
+            throw DistinctCountUtil.getUnexpectedStateLengthException();
+        }
+        byte t = bytes[0];
+        byte d = bytes[1];
+        byte p = bytes[2];
+        validateTParameter(t);
+        validateDParameter(d, t);
+        validatePParameter(p, t);
+
+        ExaLogLog sketch = create(t, d, p);
+        if (bytes.length != SERIALIZED_HEADER_SIZE + sketch.state.length) {
+            throw DistinctCountUtil.getUnexpectedStateLengthException();
+        }
+        System.arraycopy(bytes, SERIALIZED_HEADER_SIZE, sketch.state, 0, sketch.state.length);
+        return sketch;
+    }
+
+    /**
+     * 주어진 파라미터로 생성한 스케치를 {@link #toByteArray()}로 직렬화한 크기를 구하는 메서드
+     * <p>외부에서 받은 직렬화 데이터의 크기를 배열을 할당하기 전에 검증하는 데 사용한다.</p>
+     *
+     * @param t t-파라미터
+     * @param d d-파라미터
+     * @param p p-파라미터
+     * @return 직렬화된 스케치의 크기 (바이트)
+     * @throws IllegalArgumentException 파라미터가 유효하지 않은 경우
+     */
+    public static int getSerializedSize(int t, int d, int p) {
+        if (t != (byte) t || d != (byte) d || p != (byte) p) {
+            throw new IllegalArgumentException("illegal parameters");
+        }
+        validateTParameter((byte) t);
+        validateDParameter((byte) d, (byte) t);
+        validatePParameter((byte) p, (byte) t);
+        return (int) (SERIALIZED_HEADER_SIZE + (((long) getRegisterBitSize(t, d) * getNumRegisters(p) + 7) >>> 3));
+    }
+
+    /**
+     * 스케치를 바이트 배열로 직렬화하는 메서드
+     * <p>형식은 t, d, p 파라미터(각 1바이트) 뒤에 레지스터 상태 배열이 이어지는 구조이다.</p>
+     *
+     * @return 직렬화된 스케치
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[SERIALIZED_HEADER_SIZE + state.length];
+        bytes[0] = t;
+        bytes[1] = d;
+        bytes[2] = p;
+        System.arraycopy(state, 0, bytes, SERIALIZED_HEADER_SIZE, state.length);
+        return bytes;
+    }
+
     /**
      * ExaLogLog에 새로운 항목을 추가하는 메서드
      * ExaLogLog 논문의 Algorithm 2를 구현한다.
@@ -73,9 +145,9 @@ public class ExaLogLog {
             }
             registerAccess.set(state, idx, rNew);
         }
-        // 새로운 k가 더 작거나 같은 경우 정밀도 비트만 업데이트
+        // 새로운 k가 더 작은 경우 정밀도 비트만 업데이트 (같은 경우 이미 u로 기록되어 있으므로 변경하지 않는다)
         else {
-            if (d + delta >= 0) {
+            if (delta < 0 && d + delta >= 0) {
                 long rNew = rOld;
                 rNew |= (1L << (d + delta));
                 if (rNew != rOld) {
@@ -105,12 +177,27 @@ public class ExaLogLog {
             throw new IllegalArgumentException("t-파라미터가 일치하지 않습니다.");
         }
 
+        SketchMergeJfrEvent event = new SketchMergeJfrEvent();
+        event.begin();
+        ExaLogLog merged = mergeInto(sketch1, sketch2, event);
+        if (event.shouldCommit()) {
+            event.t = merged.t;
+            event.p = merged.p;
+            event.d = merged.d;
+            event.allocatedBytes = merged.state.length;
+            event.commit();
+        }
+        return merged;
+    }
+
+    private static ExaLogLog mergeInto(ExaLogLog sketch1, ExaLogLog sketch2, SketchMergeJfrEvent event) {
         // p가 더 작은 스케치를 기준으로 병합
         if (sketch1.p <= sketch2.p) {
             if (sketch1.d <= sketch2.d) {
                 // sketch1을 복사하고 sketch2를 그대로 추가(병합)
                 return sketch1.copy().addSketch(sketch2);
             }
+            event.downsized = true;
             // sketch1을 sketch2의 D와 sketch1의 P로 다운사이징한 후 sketch2를 추가
             return sketch1.downsize(sketch2.d, sketch1.p).addSketch(sketch2);
         }
@@ -119,19 +206,85 @@ public class ExaLogLog {
             // sketch2를 복사하고 sketch1을 그대로 추가(병합)
             return sketch2.copy().addSketch(sketch1);
         }
+        event.downsized = true;
         // sketch2를 sketch1의 D와 sketch2의 P로 다운사이징한 후 sketch1을 추가
         return sketch2.downsize(sketch1.d, sketch2.p).addSketch(sketch1);
     }
 
+    /**
+     * 다른 스케치(other)를 현재 스케치(this)에 제자리(in-place) 병합하는 메서드
+     * <p>새로운 스케치를 할당하는 {@link #merge(ExaLogLog, ExaLogLog)}와 달리 현재 스케치의 레지스터를 직접 갱신하므로
+     * 많은 스케치를 하나로 누적할 때 사용한다. other의 정밀도 d와 레지스터 개수 p는 this보다 작을 수 없다.</p>
+     *
+     * @param other 병합할 다른 ExaLogLog 스케치
+     * @return 병합이 완료된 현재 스케치 (this)
+     * @throws IllegalArgumentException 파라미터 제약을 위반하거나 t가 다른 경우
+     */
+    public ExaLogLog add(ExaLogLog other) {
+        return addSketch(other);
+    }
+
+    /**
+     * 64비트 해시 값을 32비트 토큰으로 변환하는 메서드
+     * <p>토큰은 해시 값의 하위 {@value #TOKEN_PARAMETER}비트와 나머지 비트의 선행 0의 개수(6비트)를 저장한다.
+     * p + t는 항상 {@value #TOKEN_PARAMETER} 이하이므로, 토큰은 파라미터와 관계없이 모든 스케치에 해시 값과 같은 결과로 추가할 수 있다.</p>
+     *
+     * @param hashValue 64비트 해시 값
+     * @return 32비트 토큰
+     * @see #addToken(int)
+     */
+    public static int computeToken(long hashValue) {
+        return DistinctCountUtil.computeToken(hashValue, TOKEN_PARAMETER);
+    }
+
+    /**
+     * {@link #computeToken(long)}로 변환한 토큰을 추가하는 메서드
+     *
+     * @param token 32비트 토큰
+     * @return 업데이트된 ExaLogLog 객체
+     */
+    public ExaLogLog addToken(int token) {
+        return add(DistinctCountUtil.reconstructHash(token, TOKEN_PARAMETER));
+    }
+
     public double getDistinctCount() {
+        return estimate(null);
+    }
+
+    /**
+     * 고유 개수를 추정하면서 최대 우도 방정식의 Newton 반복 횟수를 함께 구하는 메서드
+     *
+     * @return 고유 개수 추정값과 반복 횟수
+     */
+    public Estimate getEstimate() {
+        DistinctCountUtil.SolverStatistics solverStatistics = new DistinctCountUtil.SolverStatistics();
+        double distinctCount = estimate(solverStatistics);
+        return new Estimate(distinctCount, solverStatistics.iterationCounter);
+    }
+
+    private double estimate(DistinctCountUtil.SolverStatistics solverStatistics) {
+        SketchEstimateJfrEvent event = new SketchEstimateJfrEvent();
+        event.begin();
+        if (solverStatistics == null && event.isEnabled()) {
+            solverStatistics = new DistinctCountUtil.SolverStatistics();
+        }
+        double estimate = estimateDistinctCount(solverStatistics);
+        if (event.shouldCommit()) {
+            event.p = p;
+            event.t = t;
+            event.d = d;
+            event.solverIterations = solverStatistics == null ? 0 : solverStatistics.iterationCounter;
+            event.estimate = estimate;
+            event.commit();
+        }
+        return estimate;
+    }
+
+    private double estimateDistinctCount(DistinctCountUtil.SolverStatistics solverStatistics) {
         int m = getNumRegisters(p);
 
-        long agg = 0;
         int[] b = new int[64];
-        PackedArray.PackedArrayHandler registerAccess = PackedArray.getHandler(getRegisterBitSize(t, d));
-        for (int idx = 0; idx < m; idx += 1) {
-            agg += contribute(registerAccess.get(state, idx), b, t, d, p);
-        }
+        long agg = aggregateRegisters(b);
         if (agg == 0) {
             return (b[63 - t - p] == 0) ? 0 : Double.POSITIVE_INFINITY;
         }
@@ -139,10 +292,66 @@ public class ExaLogLog {
         double factor = m << (t + 1);
         double a = unsignedLongToDouble(agg) * 0x1p-64 * factor;
 
-        return factor * DistinctCountUtil.solveMaximumLikelihoodEquation(a, b, 63 - p - t, 0.)
+        return factor * DistinctCountUtil.solveMaximumLikelihoodEquation(a, b, 63 - p - t, 0., solverStatistics)
                 / (1 + ML_BIAS_CORRECTION_CONSTANTS[t][d] / m);
     }
 
+    /**
+     * 모든 레지스터의 기여를 모아 최대 우도 방정식의 계수를 구하는 메서드
+     * <p>방정식 풀이만 따로 측정할 수 있도록 벤치마크에서도 사용한다.</p>
+     *
+     * @param b 레지스터 값별 개수를 누적할 배열 (길이 64)
+     * @return 계수 a의 누적값 (2^64 단위)
+     */
+    long aggregateRegisters(int[] b) {
+        int m = getNumRegisters(p);
+        long agg = 0;
+        PackedArray.PackedArrayHandler registerAccess = PackedArray.getHandler(getRegisterBitSize(t, d));
+        for (int idx = 0; idx < m; idx += 1) {
+            agg += contribute(registerAccess.get(state, idx), b, t, d, p);
+        }
+        return agg;
+    }
+
+    /**
+     * 스케치가 힙에서 차지하는 크기를 추정하는 메서드
+     * <p>레지스터 배열의 크기에 객체와 배열 헤더를 더한 값이며, 64비트 JVM(압축 참조)을 기준으로 한다.</p>
+     *
+     * @return 추정 메모리 사용량 (바이트)
+     */
+    public long estimatedMemoryBytes() {
+        return estimatedMemoryBytes(state.length);
+    }
+
+    /**
+     * 주어진 파라미터로 생성한 스케치가 힙에서 차지할 크기를 추정하는 메서드
+     * <p>스케치를 할당하기 전에 메모리 예산을 확인하는 데 사용한다.</p>
+     *
+     * @param t t-파라미터
+     * @param d d-파라미터
+     * @param p p-파라미터
+     * @return 추정 메모리 사용량 (바이트)
+     * @see #estimatedMemoryBytes()
+     */
+    public static long estimatedMemoryBytes(int t, int d, int p) {
+        return estimatedMemoryBytes(((long) getRegisterBitSize(t, d) * getNumRegisters(p) + 7) >>> 3);
+    }
+
+    private static long estimatedMemoryBytes(long stateBytes) {
+        return OBJECT_BYTES + ObjectSizes.arrayBytes(stateBytes, Byte.BYTES);
+    }
+
+    /**
+     * 모든 레지스터를 0으로 초기화하여 스케치를 재사용할 수 있도록 하는 메서드
+     * <p>새로운 배열을 할당하지 않으므로 슬롯 단위로 스케치를 재활용하는 자료구조에서 사용할 수 있다.</p>
+     *
+     * @return 초기화된 현재 스케치 (this)
+     */
+    public ExaLogLog clear() {
+        Arrays.fill(state, (byte) 0);
+        return this;
+    }
+
     public ExaLogLog copy() {
         return new ExaLogLog(t, d, p, Arrays.copyOf(state, state.length));
     }
@@ -292,25 +501,34 @@ public class ExaLogLog {
         return a;
     }
 
-    private void validateTParameter(byte t) {
+    private static void validateTParameter(byte t) {
         if (t < 0 || t > MAX_T) {
             throw new IllegalArgumentException("illegal T parameter");
         }
     }
 
-    private void validateDParameter(byte d, byte t) {
+    private static void validateDParameter(byte d, byte t) {
         if (d < 0 || d > getMaxD(t)) {
             throw new IllegalArgumentException("illegal D parameter");
         }
     }
 
-    private void validatePParameter(byte p, byte t) {
+    private static void validatePParameter(byte p, byte t) {
         if (p < MIN_P || p > VALUE_BIT - t) {
             throw new IllegalArgumentException("illegal P parameter");
         }
     }
 
-    private ExaLogLog downsize(int d, int p) {
+    /**
+     * 정밀도(d)와 레지스터 개수(p)를 줄인 새로운 스케치를 반환하는 메서드
+     * <p>요청한 파라미터가 현재 값 이상이면 현재 스케치의 복사본을 반환한다.</p>
+     *
+     * @param d 목표 정밀도
+     * @param p 목표 레지스터 인덱스 비트 수
+     * @return 다운사이징된 새로운 스케치
+     * @throws IllegalArgumentException 파라미터가 유효하지 않은 경우
+     */
+    public ExaLogLog downsize(int d, int p) {
         validatePParameter((byte) p, t);
         validateDParameter((byte) d, t);
         if (p >= this.p && d >= this.d) {
@@ -331,4 +549,13 @@ public class ExaLogLog {
     private static int getNumRegisters(int p) {
         return 1 << p;
     }
+
+    /**
+     * {@link #getEstimate()}의 결과
+     *
+     * @param distinctCount 고유 개수 추정값
+     * @param solverIterations 최대 우도 방정식의 Newton 반복 횟수
+     */
+    public record Estimate(double distinctCount, int solverIterations) {
+    }
 }
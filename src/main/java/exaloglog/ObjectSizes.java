@@ -0,0 +1,34 @@
+package exaloglog;
+
+/**
+ * 스케치 객체의 힙 메모리 사용량을 추정하는 데 사용하는 객체 배치 상수
+ * @implSpec 64비트 JVM에서 압축 참조(Compressed OOPs)를 사용하는 경우를 기준으로 하며, 객체는 8바이트 단위로 정렬된다.
+ * 스케치 패키지가 애플리케이션 패키지에 의존하지 않도록 이 패키지에 두며, 애플리케이션의 추정 유틸리티는 이 상수를 그대로 사용한다.
+ * @see ExaLogLog#estimatedMemoryBytes()
+ */
+public final class ObjectSizes {
+    public static final int OBJECT_HEADER_BYTES = 12;
+    public static final int REFERENCE_BYTES = 4;
+    public static final int ARRAY_HEADER_BYTES = 16;
+    public static final int OBJECT_ALIGNMENT = 8;
+
+    private ObjectSizes() {
+    }
+
+    /**
+     * @param length 배열 길이
+     * @param elementBytes 원소 하나의 크기 (바이트)
+     * @return 배열 객체의 크기 (바이트)
+     */
+    public static long arrayBytes(long length, int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + length * elementBytes);
+    }
+
+    /**
+     * @param bytes 정렬 전 크기 (바이트)
+     * @return 8바이트 단위로 올림한 크기 (바이트)
+     */
+    public static long align(long bytes) {
+        return (bytes + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+    }
+}
@@ -0,0 +1,35 @@
+package exaloglog;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@link ExaLogLog#getDistinctCount()} 한 번의 추정을 기록하는 JFR 이벤트
+ * <p>최대 우도 방정식의 Newton 반복 횟수를 함께 기록하여 추정 시간이 늘어난 원인이 반복 횟수인지 구분할 수 있도록 한다.</p>
+ */
+@Name("ell.SketchEstimate")
+@Label("Sketch Estimate")
+@Category({"ELL", "Sketch"})
+@Description("Distinct count estimation of an ExaLogLog sketch")
+@StackTrace(false)
+final class SketchEstimateJfrEvent extends Event {
+    @Label("p")
+    int p;
+
+    @Label("t")
+    int t;
+
+    @Label("d")
+    int d;
+
+    @Label("Solver Iterations")
+    @Description("Newton iterations used to solve the maximum likelihood equation")
+    int solverIterations;
+
+    @Label("Estimate")
+    double estimate;
+}
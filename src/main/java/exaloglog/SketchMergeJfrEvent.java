@@ -0,0 +1,35 @@
+package exaloglog;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@link ExaLogLog#merge(ExaLogLog, ExaLogLog)} 한 번의 병합을 기록하는 JFR 이벤트
+ * <p>다운사이징이 필요한 병합은 새로운 상태 배열을 할당하므로, 큰 p의 스케치에서는 GC 원인을 추적하는 데 사용한다.</p>
+ */
+@Name("ell.SketchMerge")
+@Label("Sketch Merge")
+@Category({"ELL", "Sketch"})
+@Description("Merge of two ExaLogLog sketches into a newly allocated sketch")
+@StackTrace(false)
+final class SketchMergeJfrEvent extends Event {
+    @Label("t")
+    int t;
+
+    @Label("Result p")
+    int p;
+
+    @Label("Result d")
+    int d;
+
+    @Label("Downsized")
+    @Description("Whether one of the sketches had to be downsized before merging")
+    boolean downsized;
+
+    @Label("Allocated Bytes")
+    int allocatedBytes;
+}
@@ -18,6 +18,13 @@ const TASK_TYPES = {
     EMAIL: 'DISTINCT_ACCOUNT_EMAIL_DOMAIN_COUNT'
 };
 
+// 태스크 유형별 최근 Memento (완료 시각 오름차순)
+const histories = {
+    [TASK_TYPES.ACCOUNT]: [],
+    [TASK_TYPES.IP]: [],
+    [TASK_TYPES.EMAIL]: []
+};
+
 /**
  * KST를 기준으로 'YYYY-MM-DDTHH:mm:ss' 형식의 문자열을 생성하는 메서드
  * @param {Date} date - 변환할 Date 객체
@@ -37,17 +44,17 @@ function toKstLocalDateTimeString(date) {
 }
 
 /**
- * 최근 히스토리 데이터를 API에서 가져오는 메서드
- * @param {string} taskType - ExaLogLog 태스크 유형
- * @returns {Promise<Array>} 히스토리 Memento 배열
+ * 모든 태스크 유형의 최근 히스토리를 한 번의 API 호출로 가져오는 메서드
+ * @returns {Promise<Array>} 태스크 유형별 시계열 배열 ({taskType, points, nextCursor})
  */
-async function fetchHistoricalMementos(taskType) {
+async function fetchHistoricalSeries() {
     const now = new Date();
 
     const elevenMinutesAgo = new Date(now.getTime() - MAX_HISTORY_POINTS * 60000);
-    const finishedAtParam = toKstLocalDateTimeString(elevenMinutesAgo);
+    const fromParam = toKstLocalDateTimeString(elevenMinutesAgo);
+    const taskTypeParams = Object.values(TASK_TYPES).map(taskType => `taskType=${taskType}`).join('&');
 
-    const url = `${API_BASE_URL}?taskType=${taskType}&finishedAt=${finishedAtParam}`;
+    const url = `${API_BASE_URL}/series?${taskTypeParams}&from=${fromParam}`;
 
     try {
         const response = await fetch(url);
@@ -56,11 +63,39 @@ async function fetchHistoricalMementos(taskType) {
         return await response.json() || [];
 
     } catch (error) {
-        console.error(`[Error fetching history for ${taskType}]:`, error);
+        console.error('[Error fetching history]:', error);
         return [];
     }
 }
 
+/**
+ * Memento 목록을 히스토리에 병합하는 메서드
+ * 같은 완료 시각의 Memento는 한 번만 보관하고, 최신 Memento 기준으로 MAX_HISTORY_POINTS분 이전의 데이터는 제거한다.
+ * @param {string} taskType - ExaLogLog 태스크 유형
+ * @param {Array} mementos - 병합할 Memento 배열
+ */
+function mergeMementos(taskType, mementos) {
+    const byFinishedAt = new Map(histories[taskType].map(m => [m.finishedAt, m]));
+    mementos.forEach(m => byFinishedAt.set(m.finishedAt, m));
+
+    const merged = [...byFinishedAt.values()].sort((a, b) => a.finishedAt.localeCompare(b.finishedAt));
+    if (merged.length > 0) {
+        const latestMs = new Date(merged[merged.length - 1].finishedAt + 'Z').getTime();
+        const oldestMs = latestMs - MAX_HISTORY_POINTS * 60000;
+        histories[taskType] = merged.filter(m => new Date(m.finishedAt + 'Z').getTime() > oldestMs);
+    } else {
+        histories[taskType] = merged;
+    }
+}
+
+/**
+ * 모든 태스크 유형의 히스토리를 API에서 가져와 병합하는 메서드
+ */
+async function loadHistories() {
+    const seriesList = await fetchHistoricalSeries();
+    seriesList.forEach(series => mergeMementos(series.taskType, series.points));
+}
+
 /**
  * 차트 초기화 메서드
  * @returns {{activeUsersChart: Chart, domainsChart: Chart, ipsChart: Chart}}
@@ -96,14 +131,11 @@ function initializeCharts() {
 /**
  * 차트 업데이트 메서드
  */
-async function fetchDataAndUpdateCharts(charts) {
+function updateCharts(charts) {
 
-    // 히스토리 데이터 병렬 호출
-    const [accountHistory, ipHistory, dnsHistory] = await Promise.all([
-        fetchHistoricalMementos(TASK_TYPES.ACCOUNT),
-        fetchHistoricalMementos(TASK_TYPES.IP),
-        fetchHistoricalMementos(TASK_TYPES.EMAIL)
-    ]);
+    const accountHistory = histories[TASK_TYPES.ACCOUNT];
+    const ipHistory = histories[TASK_TYPES.IP];
+    const dnsHistory = histories[TASK_TYPES.EMAIL];
 
     // 평균 처리 시간 계산 업데이트
     const updateAvgTime = (elementId, history) => {
@@ -199,15 +231,37 @@ async function fetchDataAndUpdateCharts(charts) {
 }
 
 /**
- * 문서 로드 시 초기화 및 주기적 업데이트 설정
+ * 윈도우 결과 이벤트 스트림을 구독하는 메서드
+ * 새로운 Memento가 도착할 때마다 히스토리에 추가하고, 서버가 재전송할 수 없는 경우(reset)에만 히스토리를 다시 조회한다.
+ * 연결이 끊기면 브라우저가 마지막 이벤트 ID(Last-Event-ID)로 자동 재연결하여 놓친 이벤트부터 다시 받는다.
+ * @returns {EventSource}
  */
-document.addEventListener('DOMContentLoaded', () => {
-    const charts = initializeCharts();
-    const UPDATE_INTERVAL_MS = 60000; // 1분마다 업데이트
+function subscribeStream(charts) {
+    const query = Object.values(TASK_TYPES).map(taskType => `taskType=${taskType}`).join('&');
+    const eventSource = new EventSource(`${API_BASE_URL}/stream?${query}`);
+
+    eventSource.addEventListener('memento', (event) => {
+        const memento = JSON.parse(event.data);
+        mergeMementos(memento.taskType, [memento]);
+        updateCharts(charts);
+    });
+    eventSource.addEventListener('reset', async () => {
+        await loadHistories();
+        updateCharts(charts);
+    });
+    eventSource.onerror = () => console.warn('[Statistics stream disconnected. Reconnecting...]');
 
-    // 즉시 실행
-    fetchDataAndUpdateCharts(charts);
+    return eventSource;
+}
+
+/**
+ * 문서 로드 시 초기화 및 실시간 업데이트 설정
+ */
+document.addEventListener('DOMContentLoaded', async () => {
+    const charts = initializeCharts();
 
-    // 1분마다 주기적으로 업데이트
-    setInterval(() => fetchDataAndUpdateCharts(charts), UPDATE_INTERVAL_MS);
+    // 최초 조회 중 종료된 윈도우를 놓치지 않도록 먼저 구독한 후 히스토리를 조회
+    subscribeStream(charts);
+    await loadHistories();
+    updateCharts(charts);
 });
\ No newline at end of file
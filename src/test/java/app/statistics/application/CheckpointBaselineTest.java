@@ -0,0 +1,72 @@
+package app.statistics.application;
+
+import app.statistics.infra.WindowCheckpointStore;
+import app.statistics.model.CheckpointPage;
+import app.statistics.model.enums.CheckpointSection;
+import app.statistics.model.enums.TaskType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link CheckpointBaseline}이 변경된 페이지만 기록하고, 기록한 페이지를 순서대로 적용하면 현재 상태가 복원되는지 확인하는 테스트
+ */
+class CheckpointBaselineTest {
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_IP_ADDRESS_COUNT;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedChangedPagesRestoreCurrentState() throws IOException {
+        WindowCheckpointStore store = new WindowCheckpointStore(directory);
+        LocalDateTime windowStart = LocalDateTime.of(2025, 1, 1, 0, 0);
+        CheckpointBaseline baseline = new CheckpointBaseline();
+        byte[] state = new byte[3 * CheckpointBaseline.PAGE_BYTES + 10];
+        state[0] = 1;
+        state[state.length - 1] = 1;
+
+        List<CheckpointPage> pages = new ArrayList<>();
+        baseline.diff(CheckpointSection.REGISTERS, state, pages);
+        assertEquals(2, pages.size()); // 0이 아닌 첫 페이지와 마지막 페이지
+        store.append(TASK_TYPE, windowStart, pages, true);
+
+        state[CheckpointBaseline.PAGE_BYTES + 1] = 7;
+        pages.clear();
+        baseline.diff(CheckpointSection.REGISTERS, state, pages);
+        assertEquals(1, pages.size());
+        assertEquals(CheckpointBaseline.PAGE_BYTES, pages.get(0).offset());
+        store.append(TASK_TYPE, windowStart, pages, false);
+
+        pages.clear();
+        baseline.diff(CheckpointSection.REGISTERS, state, pages);
+        assertEquals(0, pages.size());
+
+        assertArrayEquals(state, store.load(TASK_TYPE).orElseThrow().section(CheckpointSection.REGISTERS));
+    }
+
+    @Test
+    void resetRecordsEveryNonZeroPageAgain() {
+        CheckpointBaseline baseline = new CheckpointBaseline();
+        byte[] state = new byte[2 * CheckpointBaseline.PAGE_BYTES];
+        state[0] = 1;
+        state[CheckpointBaseline.PAGE_BYTES] = 1;
+        List<CheckpointPage> pages = new ArrayList<>();
+        baseline.diff(CheckpointSection.HEAVY_HITTERS, state, pages);
+
+        baseline.reset();
+        pages.clear();
+        baseline.diff(CheckpointSection.HEAVY_HITTERS, state, pages);
+
+        assertEquals(2, pages.size());
+        assertEquals(state.length, baseline.totalBytes());
+    }
+}
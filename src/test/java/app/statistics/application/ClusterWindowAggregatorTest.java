@@ -0,0 +1,143 @@
+package app.statistics.application;
+
+import app.statistics.infra.JpaMementoStore;
+import app.statistics.infra.TaskMementoRepository;
+import app.statistics.infra.WindowSketchRepository;
+import app.statistics.model.HeavyHitter;
+import app.statistics.model.SketchShipment;
+import app.statistics.model.SketchTokens;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link ClusterWindowAggregator}가 늦게 도착하거나 도착하지 않은 노드가 있어도 윈도우를 순서대로 완료하는지 확인하는 테스트
+ * <p>
+ *     유예 시간 안에 도착한 노드의 스케치는 병합하고, 완료된 윈도우에 도착한 스케치는 거부한다.
+ *     도착하지 않은 노드가 있으면 유예 시간이 지난 후 도착한 노드의 스케치만으로 완료한다.
+ * </p>
+ */
+class ClusterWindowAggregatorTest {
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_ACCOUNT_ID_COUNT;
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long GRACE_MS = 15_000;
+    private static final int T = 2;
+    private static final int D = 20;
+    private static final int P = 10;
+
+    private final List<TaskMemento> published = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private ClusterWindowAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SketchMemoryBudget memoryBudget = new SketchMemoryBudget(DataSize.ofMegabytes(64));
+        WindowResultWriter writer = new WindowResultWriter(
+                new JpaMementoStore(mock(TaskMementoRepository.class), mock(WindowSketchRepository.class)),
+                DataSize.ofMegabytes(1), 10, 0L, memoryBudget, meterRegistry, event -> {
+                });
+        aggregator = new ClusterWindowAggregator("aggregator", 2, GRACE_MS, DataSize.ofMegabytes(8), writer,
+                event -> published.add(((WindowRolledEvent) event).taskMemento()), memoryBudget, meterRegistry);
+    }
+
+    @Test
+    void windowWithMissingNodeClosesAfterGracePeriod() {
+        assertTrue(aggregator.accept(dense("node-1", WINDOW_START, 0, 500)));
+
+        LocalDateTime windowEnd = WINDOW_START.plusMinutes(1);
+        assertEquals(0, aggregator.closeExpiredWindows(windowEnd.plusNanos(GRACE_MS * 1_000_000L - 1)));
+        assertEquals(1, aggregator.closeExpiredWindows(windowEnd.plusNanos(GRACE_MS * 1_000_000L)));
+
+        assertEquals(1, published.size());
+        assertEquals(sketch(0, 500).getDistinctCount(), published.get(0).getDistinctCount());
+
+        // 유예 시간이 지난 후 도착한 노드의 스케치는 거부한다
+        assertFalse(aggregator.accept(dense("node-2", WINDOW_START, 500, 1_000)));
+        assertEquals(1, published.size());
+        assertEquals(1.0, meterRegistry.get("ell.cluster.rejected").tag("reason", "late").counter().count());
+    }
+
+    @Test
+    void lateNodeWithinGracePeriodIsMergedIntoItsWindow() {
+        LocalDateTime nextWindowStart = WINDOW_START.plusMinutes(1);
+        assertTrue(aggregator.accept(dense("node-1", WINDOW_START, 0, 500)));
+        assertTrue(aggregator.accept(dense("node-1", nextWindowStart, 0, 100)));
+        assertFalse(aggregator.accept(dense("node-1", WINDOW_START, 0, 500)));
+        assertEquals(1.0, meterRegistry.get("ell.cluster.rejected").tag("reason", "duplicate").counter().count());
+
+        // 다음 윈도우가 시작된 후에 도착했지만 유예 시간 안에 도착한 노드
+        assertTrue(aggregator.accept(tokens("node-2", WINDOW_START, 250, 750)));
+
+        assertEquals(1, published.size());
+        assertEquals(sketch(0, 750).getDistinctCount(), published.get(0).getDistinctCount());
+        assertEquals(1_000L, published.get(0).getHeavyHitters().get(0).getEstimatedCount());
+
+        assertTrue(aggregator.accept(dense("node-2", nextWindowStart, 50, 200)));
+        assertEquals(2, published.size());
+        assertEquals(sketch(0, 200).getDistinctCount(), published.get(1).getDistinctCount());
+    }
+
+    @Test
+    void laterCompleteWindowClosesEarlierWindowWithMissingNode() {
+        LocalDateTime nextWindowStart = WINDOW_START.plusMinutes(1);
+        assertTrue(aggregator.accept(dense("node-1", WINDOW_START, 0, 500)));
+        assertTrue(aggregator.accept(dense("node-1", nextWindowStart, 0, 100)));
+
+        // node-2가 첫 윈도우를 건너뛰고 다음 윈도우를 보내면, 완료 순서를 지키기 위해 첫 윈도우도 함께 완료한다
+        assertTrue(aggregator.accept(dense("node-2", nextWindowStart, 100, 200)));
+
+        assertEquals(2, published.size());
+        assertEquals(sketch(0, 500).getDistinctCount(), published.get(0).getDistinctCount());
+        assertEquals(sketch(0, 200).getDistinctCount(), published.get(1).getDistinctCount());
+        assertFalse(aggregator.accept(dense("node-2", WINDOW_START, 500, 1_000)));
+    }
+
+    private static SketchShipment dense(String nodeId, LocalDateTime windowStart, int from, int to) {
+        return shipment(nodeId, windowStart, to - from, sketch(from, to), null);
+    }
+
+    private static SketchShipment tokens(String nodeId, LocalDateTime windowStart, int from, int to) {
+        int[] tokens = new int[to - from];
+        for (int i = from; i < to; i++) {
+            tokens[i - from] = ExaLogLog.computeToken(hash(i));
+        }
+        Arrays.sort(tokens);
+        return shipment(nodeId, windowStart, to - from, null, new SketchTokens(T, D, P, tokens));
+    }
+
+    private static SketchShipment shipment(String nodeId, LocalDateTime windowStart, long heavyHitterCount,
+                                           ExaLogLog sketch, SketchTokens tokens) {
+        return new SketchShipment(nodeId, TASK_TYPE, windowStart, windowStart.plusMinutes(1), 10L,
+                List.of(HeavyHitter.of(7L, heavyHitterCount)), sketch, tokens);
+    }
+
+    private static ExaLogLog sketch(int from, int to) {
+        ExaLogLog sketch = ExaLogLog.create(T, D, P);
+        for (int i = from; i < to; i++) {
+            sketch.add(hash(i));
+        }
+        return sketch;
+    }
+
+    private static long hash(long value) {
+        long z = (value + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
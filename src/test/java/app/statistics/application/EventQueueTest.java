@@ -0,0 +1,69 @@
+package app.statistics.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link EventQueue}가 용량을 넘는 해시 값을 받지 않고, 배열 끝을 넘어 순환해도 추가된 순서대로 꺼내는지 확인하는 테스트
+ * <p>
+ *     큐가 받지 않은 해시 값은 호출자가 큐를 비운 후 다시 추가하므로, 추가한 수를 잘못 반환하면 이벤트가 유실되거나 중복된다.
+ * </p>
+ */
+class EventQueueTest {
+
+    @Test
+    void offerStopsAtCapacity() {
+        EventQueue queue = new EventQueue(4);
+
+        assertEquals(3, queue.offer(new long[]{1, 2, 3, 4, 5}, 2, 3));
+        assertEquals(1, queue.offer(new long[]{6, 7}, 0, 2));
+        assertFalse(queue.offer(8));
+        assertEquals(4, queue.size());
+
+        long[] drained = new long[8];
+        assertEquals(4, queue.drainTo(drained));
+        assertEquals(3, drained[0]);
+        assertEquals(6, drained[3]);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void drainKeepsOrderAcrossWraparound() {
+        EventQueue queue = new EventQueue(5);
+        long[] drained = new long[4];
+        long next = 0;
+        long expected = 0;
+        assertTrue(queue.offer(next++));
+        for (int round = 0; round < 10; round++) {
+            next += queue.offer(new long[]{next, next + 1, next + 2}, 0, 3);
+            assertTrue(queue.offer(next++));
+            int count = queue.drainTo(drained);
+            assertEquals(4, count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(expected++, drained[i]);
+            }
+            assertEquals(1, queue.size());
+        }
+        assertEquals(1, queue.drainTo(drained));
+        assertEquals(expected, drained[0]);
+    }
+
+    @Test
+    void oldestAgeIsMeasuredFromFirstEventAfterEmpty() throws InterruptedException {
+        EventQueue queue = new EventQueue(4);
+        assertEquals(0, queue.oldestAgeNanos());
+
+        queue.offer(1);
+        Thread.sleep(5);
+        queue.offer(new long[]{2}, 0, 1);
+        assertTrue(queue.oldestAgeNanos() >= 5_000_000L);
+
+        queue.drainTo(new long[4]);
+        assertEquals(0, queue.oldestAgeNanos());
+        queue.offer(3);
+        assertTrue(queue.oldestAgeNanos() < 5_000_000L);
+    }
+}
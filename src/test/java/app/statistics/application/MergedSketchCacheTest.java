@@ -0,0 +1,52 @@
+package app.statistics.application;
+
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link MergedSketchCache}가 조회를 시작한 후 저장된 윈도우가 있으면 조회가 병합한 결과를 캐시하지 않는지 확인하는 테스트
+ * <p>
+ *     조회가 윈도우 저장 전에 불러온 스케치를 병합하는 동안 구간이 먼저 제거되면, 이후에 추가한 병합 결과는 저장된 윈도우를 반영하지 못한다.
+ * </p>
+ */
+class MergedSketchCacheTest {
+    private static final LocalDateTime HOUR_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_ACCOUNT_ID_COUNT;
+    private static final MergedSketchCache.Key KEY = new MergedSketchCache.Key(TASK_TYPE, HOUR_START, HOUR_START.plusHours(1));
+
+    private final MergedSketchCache cache = new MergedSketchCache(DataSize.ofMegabytes(1).toBytes(),
+            new SketchMemoryBudget(DataSize.ofMegabytes(1)));
+
+    @Test
+    void chunkMergedBeforeInvalidationIsNotCached() {
+        long generation = cache.generation(TASK_TYPE);
+        cache.onWindowResultsPersisted(persisted(TASK_TYPE, HOUR_START.plusMinutes(30)));
+        cache.put(KEY, ExaLogLog.create(2, 20, 8), generation);
+
+        assertNull(cache.get(KEY));
+    }
+
+    @Test
+    void chunkIsCachedWhenOnlyOtherTaskTypesWerePersisted() {
+        long generation = cache.generation(TASK_TYPE);
+        cache.onWindowResultsPersisted(persisted(TaskType.DISTINCT_IP_ADDRESS_COUNT, HOUR_START.plusMinutes(30)));
+        cache.put(KEY, ExaLogLog.create(2, 20, 8), generation);
+
+        assertNotNull(cache.get(KEY));
+    }
+
+    private static WindowResultsPersistedEvent persisted(TaskType taskType, LocalDateTime windowStart) {
+        TaskMemento taskMemento = TaskMemento.of(taskType, windowStart.plusMinutes(1), 0.0, 0L);
+        return new WindowResultsPersistedEvent(List.of(new WindowResult(windowStart, taskMemento, ExaLogLog.create(2, 20, 8))));
+    }
+}
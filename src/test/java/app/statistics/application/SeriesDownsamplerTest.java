@@ -0,0 +1,66 @@
+package app.statistics.application;
+
+import app.statistics.model.MementoPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SeriesDownsampler#lttb}가 첫 번째와 마지막 포인트를 유지하고, 구간마다 그 구간의 포인트 하나만 선택하는지 확인하는 테스트
+ */
+class SeriesDownsamplerTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void keepsFirstAndLastPointsAndSelectsOnePointPerBucket() {
+        List<MementoPoint> points = series(100, index -> index % 7 == 0 ? 500.0 : index);
+
+        List<MementoPoint> sampled = SeriesDownsampler.lttb(points, 10);
+
+        assertEquals(10, sampled.size());
+        assertSame(points.get(0), sampled.get(0));
+        assertSame(points.get(99), sampled.get(9));
+        // 나머지 98개 포인트를 8개 구간으로 나눈 경계 [1 + 98 * b / 8, 1 + 98 * (b + 1) / 8)
+        double bucketSize = 98.0 / 8;
+        for (int bucket = 0; bucket < 8; bucket++) {
+            int index = points.indexOf(sampled.get(bucket + 1));
+            assertTrue(index >= (int) (bucket * bucketSize) + 1 && index < (int) ((bucket + 1) * bucketSize) + 1,
+                    "bucket " + bucket + " selected " + index);
+        }
+    }
+
+    @Test
+    void spikesAtBucketBoundariesAreSelected() {
+        // 나머지 8개 포인트를 3개 구간으로 나누면 [1, 3), [3, 6), [6, 9)
+        List<MementoPoint> points = series(10, index -> index == 3 || index == 8 ? 1_000.0 : 10.0);
+
+        List<MementoPoint> sampled = SeriesDownsampler.lttb(points, 5);
+
+        assertEquals(5, sampled.size());
+        assertSame(points.get(3), sampled.get(2)); // 두 번째 구간의 첫 포인트
+        assertSame(points.get(8), sampled.get(3)); // 마지막 구간의 마지막 포인트
+    }
+
+    @Test
+    void shortSeriesIsReturnedAsIs() {
+        List<MementoPoint> points = series(5, index -> index);
+
+        assertSame(points, SeriesDownsampler.lttb(points, 5));
+        assertSame(points, SeriesDownsampler.lttb(points, 2));
+    }
+
+    private static List<MementoPoint> series(int size, IntToDoubleFunction distinctCount) {
+        List<MementoPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new MementoPoint(START.plusMinutes(i), distinctCount.applyAsDouble(i), 0L, (long) i));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,106 @@
+package app.statistics.application;
+
+import app.statistics.infra.segment.SegmentMementoStore;
+import app.statistics.infra.segment.SegmentSketchStore;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.SketchResolution;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link SketchRollupService}가 늦게 저장된 1분 스케치를 최신이 아닌 상위 구간에도 반영하는지 확인하는 테스트
+ * <p>
+ *     세그먼트 저장소는 키 순서로 기록하므로, 마지막으로 저장된 상위 스케치보다 이전 구간을 대체할 수 있어야
+ *     늦은 윈도우가 상위 스케치에서 누락되지 않는다.
+ * </p>
+ */
+class SketchRollupServiceTest {
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_ACCOUNT_ID_COUNT;
+    private static final int LATE_MINUTE = 3;
+
+    @TempDir
+    Path directory;
+
+    private SegmentSketchStore sketchStore;
+    private SegmentMementoStore mementoStore;
+    private SketchRollupService rollupService;
+
+    @BeforeEach
+    void setUp() {
+        sketchStore = new SegmentSketchStore(directory);
+        mementoStore = new SegmentMementoStore(directory, Duration.ofDays(90), sketchStore);
+        rollupService = new SketchRollupService(sketchStore);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mementoStore.close();
+        sketchStore.close();
+    }
+
+    @Test
+    void lateWindowIsFoldedIntoEarlierParentWindows() {
+        for (int minute = 0; minute < 15; minute++) {
+            if (minute != LATE_MINUTE) {
+                mementoStore.saveAll(List.of(windowResult(minute, minute + 1)));
+            }
+        }
+        LocalDateTime now = WINDOW_START.plusHours(2);
+        while (rollupService.rollupNext(TASK_TYPE, SketchResolution.FIVE_MINUTES, now)) {
+        }
+        while (rollupService.rollupNext(TASK_TYPE, SketchResolution.HOUR, now)) {
+        }
+
+        // 세 번째 5분 구간까지 병합된 후 첫 번째 5분 구간의 윈도우가 저장된 경우
+        WindowResult late = windowResult(LATE_MINUTE, 16);
+        mementoStore.saveAll(List.of(late));
+        rollupService.onWindowResultsPersisted(new WindowResultsPersistedEvent(List.of(late)));
+
+        assertArrayEquals(mergedMinutes(WINDOW_START, WINDOW_START.plusMinutes(5)).toByteArray(),
+                rollup(SketchResolution.FIVE_MINUTES, WINDOW_START).toByteArray());
+        assertArrayEquals(mergedMinutes(WINDOW_START, WINDOW_START.plusHours(1)).toByteArray(),
+                rollup(SketchResolution.HOUR, WINDOW_START).toByteArray());
+        assertEquals(3, sketchStore.loadRange(TASK_TYPE, SketchResolution.FIVE_MINUTES,
+                WINDOW_START, WINDOW_START.plusHours(1)).size());
+    }
+
+    private ExaLogLog mergedMinutes(LocalDateTime from, LocalDateTime to) {
+        List<ExaLogLog> minutes = sketchStore.loadRange(TASK_TYPE, SketchResolution.MINUTE, from, to);
+        SketchAccumulator accumulator = new SketchAccumulator();
+        minutes.forEach(accumulator::add);
+        return accumulator.getResult();
+    }
+
+    private ExaLogLog rollup(SketchResolution resolution, LocalDateTime windowStart) {
+        List<ExaLogLog> sketches = sketchStore.loadRange(TASK_TYPE, resolution,
+                windowStart, windowStart.plus(resolution.getLength()));
+        assertEquals(1, sketches.size());
+        return sketches.get(0);
+    }
+
+    private static WindowResult windowResult(int minute, int finishedMinute) {
+        ExaLogLog sketch = ExaLogLog.create(2, 20, 8);
+        SplittableRandom random = new SplittableRandom(minute);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(random.nextLong());
+        }
+        TaskMemento taskMemento = TaskMemento.of(TASK_TYPE, WINDOW_START.plusMinutes(finishedMinute),
+                sketch.getDistinctCount(), 0L);
+        return new WindowResult(WINDOW_START.plusMinutes(minute), taskMemento, sketch);
+    }
+}
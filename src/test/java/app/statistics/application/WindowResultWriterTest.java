@@ -0,0 +1,69 @@
+package app.statistics.application;
+
+import app.statistics.infra.JpaMementoStore;
+import app.statistics.infra.TaskMementoRepository;
+import app.statistics.infra.WindowSketchRepository;
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link WindowResultWriter}가 저장에 실패한 배치를 {@link JpaMementoStore}로 다시 저장하는지 확인하는 테스트
+ * <p>
+ *     시퀀스 방식의 식별자는 flush 전에 엔티티에 할당되고 트랜잭션이 롤백되어도 엔티티에 남는다.
+ *     재시도할 때 같은 엔티티를 저장하면 존재하지 않는 행을 병합하려다 다시 실패하므로, 재시도는 식별자가 없는 새 엔티티를 저장해야 한다.
+ * </p>
+ */
+class WindowResultWriterTest {
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void retryAfterFailedFlushPersistsBatch() {
+        List<List<TaskMemento>> attempts = new ArrayList<>();
+        TaskMementoRepository taskMementoRepository = mock(TaskMementoRepository.class);
+        when(taskMementoRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<TaskMemento> taskMementos = invocation.getArgument(0);
+            attempts.add(List.copyOf(taskMementos));
+            if (attempts.size() == 1) {
+                // 식별자를 할당한 후 flush에서 실패한 경우
+                taskMementos.forEach(taskMemento -> ReflectionTestUtils.setField(taskMemento, "id", 1L));
+                throw new DataIntegrityViolationException("flush failed");
+            }
+            return taskMementos;
+        });
+        WindowResultWriter writer = new WindowResultWriter(
+                new JpaMementoStore(taskMementoRepository, mock(WindowSketchRepository.class)),
+                DataSize.ofMegabytes(1), 10, 0L, new SketchMemoryBudget(DataSize.ofMegabytes(1)),
+                new SimpleMeterRegistry(), event -> {
+                });
+        TaskMemento taskMemento = TaskMemento.of(TaskType.DISTINCT_ACCOUNT_ID_COUNT, WINDOW_START.plusMinutes(1), 1.0, 0L);
+        writer.submit(new WindowResult(WINDOW_START, taskMemento, ExaLogLog.create(2, 20, 8)));
+
+        assertEquals(0, writer.flush());
+        assertEquals(1, writer.flush());
+
+        assertEquals(0, writer.getPendingCount());
+        assertEquals(0, writer.getPendingBytes());
+        assertEquals(2, attempts.size());
+        assertNull(attempts.get(1).get(0).getId());
+        assertNotSame(attempts.get(0).get(0), attempts.get(1).get(0));
+        assertNull(taskMemento.getId());
+    }
+}
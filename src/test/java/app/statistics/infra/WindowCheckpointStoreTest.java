@@ -0,0 +1,85 @@
+package app.statistics.infra;
+
+import app.statistics.model.CheckpointPage;
+import app.statistics.model.WindowCheckpoint;
+import app.statistics.model.enums.CheckpointSection;
+import app.statistics.model.enums.TaskType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link WindowCheckpointStore}가 끝까지 기록되지 않았거나 손상된 레코드부터 무시하고 직전 체크포인트까지 복원하는지 확인하는 테스트
+ */
+class WindowCheckpointStoreTest {
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_ACCOUNT_ID_COUNT;
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int SECTION_LENGTH = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void tornRecordRestoresPreviousCheckpoint() throws IOException {
+        WindowCheckpointStore store = new WindowCheckpointStore(directory);
+        writeTwoCheckpoints(store);
+        Path path = directory.resolve(TASK_TYPE.name() + ".ckpt");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(path) - 1); // 마지막 레코드의 끝부분이 기록되지 않은 경우
+        }
+
+        WindowCheckpoint checkpoint = store.load(TASK_TYPE).orElseThrow();
+
+        assertEquals(WINDOW_START, checkpoint.windowStart());
+        assertArrayEquals(new byte[]{1, 1, 1, 1, 0, 0, 0, 0}, checkpoint.section(CheckpointSection.REGISTERS));
+    }
+
+    @Test
+    void corruptRecordRestoresPreviousCheckpoint() throws IOException {
+        WindowCheckpointStore store = new WindowCheckpointStore(directory);
+        long size = writeTwoCheckpoints(store);
+        Path path = directory.resolve(TASK_TYPE.name() + ".ckpt");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9}), size - 1); // 마지막 레코드의 구간 손상
+        }
+
+        WindowCheckpoint checkpoint = store.load(TASK_TYPE).orElseThrow();
+
+        assertArrayEquals(new byte[]{1, 1, 1, 1, 0, 0, 0, 0}, checkpoint.section(CheckpointSection.REGISTERS));
+    }
+
+    @Test
+    void malformedHeaderIsIgnored() throws IOException {
+        WindowCheckpointStore store = new WindowCheckpointStore(directory);
+        Files.write(directory.resolve(TASK_TYPE.name() + ".ckpt"), new byte[]{1, 2, 3});
+
+        assertTrue(store.load(TASK_TYPE).isEmpty());
+    }
+
+    /**
+     * 상태 전체를 담은 새로운 로그를 기록한 후 상태의 뒷부분만 변경한 레코드를 추가하는 메서드
+     * @return 로그 파일의 크기 (바이트)
+     */
+    private static long writeTwoCheckpoints(WindowCheckpointStore store) throws IOException {
+        store.append(TASK_TYPE, WINDOW_START, List.of(
+                new CheckpointPage(CheckpointSection.REGISTERS, SECTION_LENGTH, 0, new byte[]{1, 1, 1, 1})), true);
+        long size = store.append(TASK_TYPE, WINDOW_START, List.of(
+                new CheckpointPage(CheckpointSection.REGISTERS, SECTION_LENGTH, 4, new byte[]{2, 2, 2, 2})), false);
+
+        WindowCheckpoint checkpoint = store.load(TASK_TYPE).orElseThrow();
+        assertArrayEquals(new byte[]{1, 1, 1, 1, 2, 2, 2, 2}, checkpoint.section(CheckpointSection.REGISTERS));
+        return size;
+    }
+}
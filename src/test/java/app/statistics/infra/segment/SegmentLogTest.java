@@ -0,0 +1,119 @@
+package app.statistics.infra.segment;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link SegmentLog}가 손상된 레코드를 복구 시 잘라내고, 표식 이후의 기록을 되돌리며,
+ * 키 단위 대체 모드에서 키마다 마지막 레코드를 읽는지 확인하는 테스트
+ */
+class SegmentLogTest {
+    private static final Duration SPAN = Duration.ofSeconds(100);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoveryTruncatesTornTail() throws IOException {
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null)) {
+            for (long key = 0; key < 3; key++) {
+                segmentLog.append(key, payload(key));
+            }
+        }
+        Path segment = directory.resolve("0.seg");
+        long intactSize = Files.size(segment);
+        // 헤더는 온전하지만 페이로드가 모두 기록되지 않은 레코드
+        appendBytes(segment, ByteBuffer.allocate(20).putInt(Long.BYTES).putInt(0).putLong(3L).putInt(3).flip());
+
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null)) {
+            assertEquals(List.of(0L, 1L, 2L), readAll(segmentLog));
+            assertEquals(intactSize, Files.size(segment));
+
+            segmentLog.append(3L, payload(3L));
+            assertEquals(List.of(0L, 1L, 2L, 3L), readAll(segmentLog));
+        }
+    }
+
+    @Test
+    void recoveryRejectsRecordWithBadChecksum() throws IOException {
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null)) {
+            for (long key = 0; key < 3; key++) {
+                segmentLog.append(key, payload(key));
+            }
+        }
+        Path segment = directory.resolve("0.seg");
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), size - 1); // 마지막 레코드의 페이로드 손상
+        }
+
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null)) {
+            assertEquals(List.of(0L, 1L), readAll(segmentLog));
+            assertEquals(1L, segmentLog.lastKey().getAsLong());
+        }
+    }
+
+    @Test
+    void rollbackRemovesRecordsAfterMark() {
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null)) {
+            segmentLog.append(10L, payload(10L));
+            SegmentLog.Mark mark = segmentLog.mark();
+            segmentLog.append(20L, payload(20L));
+            segmentLog.append(150L, payload(150L)); // 새로운 세그먼트로 넘어간다
+            segmentLog.rollback(mark);
+
+            assertEquals(List.of(10L), readAll(segmentLog));
+            assertEquals(10L, segmentLog.lastKey().getAsLong());
+
+            segmentLog.append(20L, payload(20L));
+            segmentLog.append(150L, payload(150L));
+            assertEquals(List.of(10L, 20L, 150L), readAll(segmentLog));
+        }
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null)) {
+            assertEquals(List.of(10L, 20L, 150L), readAll(segmentLog));
+        }
+    }
+
+    @Test
+    void replaceByKeyKeepsLatestRecordOfEachKey() {
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null, true)) {
+            segmentLog.append(150L, payload(1L));
+            segmentLog.append(10L, payload(2L)); // 이전 구간의 세그먼트
+            segmentLog.append(150L, payload(3L));
+            segmentLog.append(20L, payload(4L));
+            segmentLog.append(10L, payload(5L));
+
+            assertEquals(List.of(5L, 4L, 3L), readAll(segmentLog));
+            assertEquals(150L, segmentLog.lastKey().getAsLong());
+        }
+        try (SegmentLog segmentLog = new SegmentLog(directory, SPAN, null, true)) {
+            assertEquals(List.of(5L, 4L, 3L), readAll(segmentLog));
+            assertEquals(List.of(4L), segmentLog.scan(15L, 100L, (key, payload) -> payload.getLong(), 1));
+        }
+    }
+
+    private static ByteBuffer payload(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).flip();
+    }
+
+    private static List<Long> readAll(SegmentLog segmentLog) {
+        return segmentLog.scan(Long.MIN_VALUE, Long.MAX_VALUE, (key, payload) -> payload.getLong(), Integer.MAX_VALUE);
+    }
+
+    private static void appendBytes(Path path, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(bytes);
+        }
+    }
+}
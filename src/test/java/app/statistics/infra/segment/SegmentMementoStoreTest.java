@@ -0,0 +1,79 @@
+package app.statistics.infra.segment;
+
+import app.statistics.model.TaskMemento;
+import app.statistics.model.WindowResult;
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link SegmentMementoStore#saveAll}가 배치 도중 실패한 후의 재시도에서 레코드를 중복으로 저장하지 않고,
+ * 늦게 도착한 윈도우의 스케치도 저장하는지 확인하는 테스트
+ */
+class SegmentMementoStoreTest {
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final TaskType TASK_TYPE = TaskType.DISTINCT_ACCOUNT_ID_COUNT;
+
+    @TempDir
+    Path directory;
+
+    private SegmentSketchStore sketchStore;
+    private SegmentMementoStore mementoStore;
+
+    @AfterEach
+    void tearDown() {
+        mementoStore.close();
+        sketchStore.close();
+    }
+
+    @Test
+    void retryAfterMidBatchFailureDoesNotDuplicateRecords() {
+        int[] remainingFailures = {1};
+        sketchStore = new SegmentSketchStore(directory) {
+            @Override
+            void appendMinute(TaskType taskType, LocalDateTime windowStart, ExaLogLog sketch) {
+                if (windowStart.equals(WINDOW_START.plusMinutes(1)) && remainingFailures[0]-- > 0) {
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+                super.appendMinute(taskType, windowStart, sketch);
+            }
+        };
+        mementoStore = new SegmentMementoStore(directory, Duration.ofDays(90), sketchStore);
+        List<WindowResult> batch = List.of(windowResult(0), windowResult(1), windowResult(2));
+
+        assertThrows(UncheckedIOException.class, () -> mementoStore.saveAll(batch));
+        assertEquals(0, mementoStore.findAllAfter(TASK_TYPE, WINDOW_START).size());
+
+        mementoStore.saveAll(batch);
+
+        List<TaskMemento> taskMementos = mementoStore.findAllAfter(TASK_TYPE, WINDOW_START);
+        assertEquals(3, taskMementos.size());
+        for (int i = 0; i < taskMementos.size(); i++) {
+            assertEquals(finishedAt(i), taskMementos.get(i).getFinishedAt());
+        }
+        assertEquals(3, sketchStore.findBuckets(TASK_TYPE, WINDOW_START, WINDOW_START.plusHours(1)).size());
+    }
+
+    private static WindowResult windowResult(int minute) {
+        ExaLogLog sketch = ExaLogLog.create(2, 20, 8);
+        sketch.add(minute * 0x9E3779B97F4A7C15L);
+        TaskMemento taskMemento = TaskMemento.of(TASK_TYPE, finishedAt(minute), 1.0, 0L);
+        return new WindowResult(WINDOW_START.plusMinutes(minute), taskMemento, sketch);
+    }
+
+    private static LocalDateTime finishedAt(int minute) {
+        return WINDOW_START.plusMinutes(minute + 1);
+    }
+}
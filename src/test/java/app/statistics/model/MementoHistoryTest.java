@@ -0,0 +1,63 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.TaskType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link MementoHistory}가 버퍼의 끝을 넘어 순환한 후에도 완료 시각 순서로 조회하고,
+ * 덮어쓴 구간은 데이터베이스에서 조회하도록 {@code null}을 반환하는지 확인하는 테스트
+ */
+class MementoHistoryTest {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void addWrapsAroundAndMovesCoveredSince() {
+        List<TaskMemento> mementos = mementos(10);
+        MementoHistory history = new MementoHistory(4, START);
+        mementos.forEach(history::add);
+
+        // 용량 4를 넘어 추가하면 마지막으로 덮어쓴 Memento(5분)의 완료 시각 이후를 보관한다
+        assertEquals(mementos.subList(6, 10), history.findAllAfter(minute(5)));
+        assertEquals(mementos.subList(8, 10), history.findAllAfter(minute(7)));
+        assertEquals(List.of(), history.findAllAfter(minute(9)));
+        assertNull(history.findAllAfter(minute(5).minusSeconds(1)));
+    }
+
+    @Test
+    void prependWrapsBackwardAndKeepsOrder() {
+        List<TaskMemento> mementos = mementos(9);
+        MementoHistory history = new MementoHistory(4, minute(6));
+        history.add(mementos.get(6));
+        history.add(mementos.get(7));
+
+        // 남은 공간은 2개이므로 6분 이전에 완료된 Memento 중 최신 2개(4분, 5분)만 앞에 채운다
+        history.prepend(mementos.subList(2, 7), minute(1));
+
+        assertEquals(mementos.subList(4, 8), history.findAllAfter(minute(3)));
+        assertNull(history.findAllAfter(minute(3).minusSeconds(1)));
+
+        // 가득 찬 상태에서 추가하면 앞에 채운 가장 오래된 Memento를 덮어쓴다
+        history.add(mementos.get(8));
+        assertEquals(mementos.subList(5, 9), history.findAllAfter(minute(4)));
+        assertNull(history.findAllAfter(minute(3)));
+    }
+
+    private static List<TaskMemento> mementos(int count) {
+        List<TaskMemento> mementos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mementos.add(TaskMemento.of(TaskType.DISTINCT_ACCOUNT_ID_COUNT, minute(i), i, 0L));
+        }
+        return mementos;
+    }
+
+    private static LocalDateTime minute(int minutes) {
+        return START.plusMinutes(minutes);
+    }
+}
@@ -0,0 +1,114 @@
+package app.statistics.model;
+
+import app.statistics.model.enums.TaskType;
+import exaloglog.ExaLogLog;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link SketchShipment}의 직렬화 결과를 그대로 복원하고,
+ * {@link SketchShipment#fromByteArray}가 스케치를 할당하기 전에 크기와 파라미터를 검증하는지 확인하는 테스트
+ * <p>
+ *     전송 데이터는 인증되지 않은 요청으로 받으므로, 기록된 크기나 파라미터만 믿고 배열을 할당하면
+ *     작은 요청 하나로 큰 메모리를 할당하게 만들 수 있다.
+ * </p>
+ */
+class SketchShipmentTest {
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final long MAX_SKETCH_BYTES = 1 << 20;
+
+    @Test
+    void denseShipmentRoundTrip() {
+        ExaLogLog sketch = ExaLogLog.create(2, 20, 8);
+        for (long i = 1; i <= 1_000; i++) {
+            sketch.add(i * 0x9E3779B97F4A7C15L);
+        }
+        SketchShipment shipment = shipment(sketch, null);
+
+        SketchShipment restored = SketchShipment.fromByteArray(shipment.toByteArray(), MAX_SKETCH_BYTES);
+
+        assertHeaderEquals(shipment, restored);
+        assertArrayEquals(sketch.getState(), restored.sketch().getState());
+        assertNull(restored.tokens());
+    }
+
+    @Test
+    void smallWindowIsShippedAsTokens() {
+        ExaLogLog sketch = ExaLogLog.create(2, 20, 8);
+        int[] sortedTokens = new int[3];
+        for (int i = 0; i < sortedTokens.length; i++) {
+            long hash = (i + 1) * 0x9E3779B97F4A7C15L;
+            sketch.add(hash);
+            sortedTokens[i] = ExaLogLog.computeToken(hash);
+        }
+        Arrays.sort(sortedTokens);
+        SketchShipment shipment = shipment(sketch, new SketchTokens(2, 20, 8, sortedTokens));
+
+        SketchShipment restored = SketchShipment.fromByteArray(shipment.toByteArray(), MAX_SKETCH_BYTES);
+
+        assertHeaderEquals(shipment, restored);
+        assertNull(restored.sketch());
+        assertArrayEquals(sortedTokens, restored.tokens().tokens());
+        assertArrayEquals(sketch.getState(), restored.tokens().toExaLogLog().getState());
+    }
+
+    @Test
+    void denseSketchWithSizeOtherThanParametersImplyIsRejected() {
+        ExaLogLog sketch = ExaLogLog.create(2, 20, 8).add(0x9E3779B97F4A7C15L);
+        byte[] bytes = shipment(sketch, null).toByteArray();
+        int sizeOffset = bytes.length - SketchCompression.compress(sketch.toByteArray()).length - Integer.BYTES;
+
+        ByteBuffer.wrap(bytes).putInt(sizeOffset, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> SketchShipment.fromByteArray(bytes, MAX_SKETCH_BYTES));
+
+        ByteBuffer.wrap(bytes).putInt(sizeOffset, sketch.toByteArray().length + 8);
+        assertThrows(IllegalArgumentException.class, () -> SketchShipment.fromByteArray(bytes, MAX_SKETCH_BYTES));
+    }
+
+    @Test
+    void denseSketchLargerThanMaximumIsRejected() {
+        byte[] bytes = shipment(ExaLogLog.create(4, 5, 20), null).toByteArray();
+
+        assertThrows(IllegalArgumentException.class, () -> SketchShipment.fromByteArray(bytes, MAX_SKETCH_BYTES));
+    }
+
+    @Test
+    void tokensWithIllegalOrOversizedParametersAreRejected() {
+        SketchTokens tokens = new SketchTokens(2, 20, 8, new int[]{1, 5, 9});
+        byte[] bytes = shipment(null, tokens).toByteArray();
+        int parameterOffset = bytes.length - tokens.encode().length;
+
+        bytes[parameterOffset + 2] = 60; // p
+        assertThrows(IllegalArgumentException.class, () -> SketchShipment.fromByteArray(bytes, MAX_SKETCH_BYTES));
+
+        bytes[parameterOffset] = 0; // t
+        bytes[parameterOffset + 1] = 58; // d
+        bytes[parameterOffset + 2] = 26; // p
+        assertThrows(IllegalArgumentException.class, () -> SketchShipment.fromByteArray(bytes, MAX_SKETCH_BYTES));
+    }
+
+    private static void assertHeaderEquals(SketchShipment expected, SketchShipment actual) {
+        assertEquals(expected.nodeId(), actual.nodeId());
+        assertEquals(expected.taskType(), actual.taskType());
+        assertEquals(expected.windowStart(), actual.windowStart());
+        assertEquals(expected.finishedAt(), actual.finishedAt());
+        assertEquals(expected.processingTimeMs(), actual.processingTimeMs());
+        assertEquals(expected.heavyHitters().size(), actual.heavyHitters().size());
+        assertEquals(expected.heavyHitters().get(0).getKeyHash(), actual.heavyHitters().get(0).getKeyHash());
+        assertEquals(expected.heavyHitters().get(0).getEstimatedCount(), actual.heavyHitters().get(0).getEstimatedCount());
+    }
+
+    private static SketchShipment shipment(ExaLogLog sketch, SketchTokens tokens) {
+        return new SketchShipment("node-1", TaskType.DISTINCT_ACCOUNT_ID_COUNT, WINDOW_START,
+                WINDOW_START.plusMinutes(1).plusNanos(5), 10L, List.of(HeavyHitter.of(1L, 2L)), sketch, tokens);
+    }
+}
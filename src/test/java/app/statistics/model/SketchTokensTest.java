@@ -0,0 +1,61 @@
+package app.statistics.model;
+
+import app.statistics.sketch.TokenCollector;
+import exaloglog.ExaLogLog;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link SketchTokens}로 복원한 스케치가 같은 해시 값을 직접 추가한 스케치와 같은지 확인하는 테스트
+ * <p>
+ *     노드는 고유 개수가 적은 윈도우를 토큰 목록으로 전송하므로, 토큰을 추가한 레지스터가 다르면
+ *     클러스터 합계가 노드의 추정값과 달라진다.
+ * </p>
+ */
+class SketchTokensTest {
+    private static final int T = 2;
+    private static final int D = 20;
+    private static final int P = 8;
+
+    @Test
+    void tokenFoldEqualsDenseAdds() {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] hashes = new long[5_000];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = random.nextLong(1_000) * 0x9E3779B97F4A7C15L; // 같은 해시 값이 반복되는 윈도우
+        }
+        ExaLogLog dense = ExaLogLog.create(T, D, P);
+        for (long hash : hashes) {
+            dense.add(hash);
+        }
+        TokenCollector collector = new TokenCollector(1 << 12);
+        collector.addAll(hashes, hashes.length);
+
+        SketchTokens tokens = new SketchTokens(T, D, P, collector.toSortedTokens());
+
+        assertArrayEquals(dense.getState(), tokens.toExaLogLog().getState());
+        // 파라미터가 더 작은 누적 스케치에 바로 추가해도 같은 해시 값을 추가한 결과와 같다
+        ExaLogLog smaller = ExaLogLog.create(T, D - 4, P - 2);
+        for (long hash : hashes) {
+            smaller.add(hash);
+        }
+        assertArrayEquals(smaller.getState(), tokens.addTo(ExaLogLog.create(T, D - 4, P - 2)).getState());
+    }
+
+    @Test
+    void encodeRoundTrip() {
+        SketchTokens tokens = new SketchTokens(T, D, P, new int[]{Integer.MIN_VALUE, -1, 0, 7, 8, Integer.MAX_VALUE});
+
+        SketchTokens decoded = SketchTokens.decode(ByteBuffer.wrap(tokens.encode()));
+
+        assertEquals(T, decoded.t());
+        assertEquals(D, decoded.d());
+        assertEquals(P, decoded.p());
+        assertArrayEquals(tokens.tokens(), decoded.tokens());
+    }
+}
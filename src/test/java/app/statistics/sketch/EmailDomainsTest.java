@@ -0,0 +1,55 @@
+package app.statistics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link EmailDomains}가 찾은 도메인 구간을 소문자로 해시한 값이 소문자 도메인 문자열의 해시와 같은지 확인하는 테스트
+ * <p>
+ *     도메인은 대소문자를 구분하지 않으므로, 대소문자만 다른 도메인은 같은 키로 집계되어야 한다.
+ * </p>
+ */
+class EmailDomainsTest {
+    private static final KeyHasher KEY_HASHER = KeyHasher.of(HashFunction.KOMIHASH);
+
+    @Test
+    void domainHashFoldsAsciiCase() {
+        assertDomainHash("example.com", "Alice@Example.COM");
+        assertDomainHash("example.com", "alice@example.com");
+        assertDomainHash("example.com", "User <a@EXAMPLE.com>");
+        assertDomainHash("example.com", "a@Example.Com. ");
+        assertDomainHash("mail.example.co.kr", "  bob@Mail.Example.CO.KR\r");
+        assertDomainHash("메일.한국", "kim@메일.한국");
+    }
+
+    @Test
+    void missingLocalPartOrDomainIsNotFound() {
+        assertEquals(-1, findDomainStart("@example.com"));
+        assertEquals(-1, findDomainStart("alice @example.com"));
+        assertEquals(-1, findDomainStart("example.com"));
+
+        ByteBuffer text = buffer("alice@>");
+        int start = EmailDomains.findDomainStart(text, 0, text.limit());
+        assertEquals(start, EmailDomains.findDomainEnd(text, start, text.limit()));
+    }
+
+    private static void assertDomainHash(String expectedDomain, String email) {
+        ByteBuffer text = buffer(email);
+        int start = EmailDomains.findDomainStart(text, 0, text.limit());
+        int end = EmailDomains.findDomainEnd(text, start, text.limit());
+        assertEquals(KEY_HASHER.hash(expectedDomain), KEY_HASHER.hashLowerCase(text, start, end - start));
+    }
+
+    private static int findDomainStart(String email) {
+        ByteBuffer text = buffer(email);
+        return EmailDomains.findDomainStart(text, 0, text.limit());
+    }
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
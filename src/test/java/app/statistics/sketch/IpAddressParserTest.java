@@ -0,0 +1,76 @@
+package app.statistics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link IpAddressParser}가 같은 주소의 여러 표기를 같은 128비트 주소로 변환하는지 확인하는 테스트
+ * <p>
+ *     같은 주소가 표기에 따라 다른 값으로 변환되면 하나의 IP 주소가 여러 고유 키로 집계된다.
+ * </p>
+ */
+class IpAddressParserTest {
+    private static final KeyHasher KEY_HASHER = KeyHasher.of(HashFunction.KOMIHASH);
+
+    @Test
+    void zeroCompressionEqualsFullForm() {
+        assertSameAddress("2001:0db8:0000:0000:0000:0000:0000:0001", "2001:db8::1");
+        assertSameAddress("0:0:0:0:0:0:0:0", "::");
+        assertSameAddress("0:0:0:0:0:0:0:1", "::1");
+        assertSameAddress("1:0:0:0:0:0:0:0", "1::");
+        assertSameAddress("2001:db8:0:0:1:0:0:0", "2001:db8::1:0:0:0");
+        assertSameAddress("2001:db8:0:0:0:0:2:1", "2001:DB8::2:1");
+        assertSameAddress("2001:db8:0:0:0:0:0:1", "[2001:db8::1]");
+        assertSameAddress("fe80:0:0:0:0:0:0:1", " fe80::1%eth0 ");
+
+        IpAddressParser parser = parse("2001:db8::1:2");
+        assertEquals(0x20010db800000000L, parser.getHigh());
+        assertEquals(0x0000000000010002L, parser.getLow());
+    }
+
+    @Test
+    void embeddedIPv4EqualsHexForm() {
+        assertSameAddress("::ffff:c000:0201", "::ffff:192.0.2.1");
+        assertSameAddress("64:ff9b::c000:221", "64:ff9b::192.0.2.33");
+        assertSameAddress("0:0:0:0:0:ffff:c000:201", "0:0:0:0:0:ffff:192.0.2.1");
+        // IPv4 주소는 IPv4-mapped IPv6 주소로 변환된다
+        assertSameAddress("::ffff:192.0.2.1", "192.0.2.1");
+
+        IpAddressParser parser = parse("192.0.2.1");
+        assertEquals(KEY_HASHER.hashIPv4(0xC0000201), KEY_HASHER.hashIPv6(parser.getHigh(), parser.getLow()));
+    }
+
+    @Test
+    void malformedAddressesAreRejected() {
+        String[] malformed = {
+                "", ":::", "1::2::3", "1:2:3:4:5:6:7:8:9", "12345::", "g::1", "::ffff:256.0.0.1",
+                "01.2.3.4", "1.2.3", "1.2.3.4.5", "[::1", "::1.2.3.4:5"
+        };
+        for (String text : malformed) {
+            assertFalse(new IpAddressParser().parse(buffer(text), 0, text.length()), text);
+        }
+    }
+
+    private static void assertSameAddress(String expected, String actual) {
+        IpAddressParser expectedAddress = parse(expected);
+        IpAddressParser actualAddress = parse(actual);
+        assertEquals(expectedAddress.getHigh(), actualAddress.getHigh());
+        assertEquals(expectedAddress.getLow(), actualAddress.getLow());
+    }
+
+    private static IpAddressParser parse(String text) {
+        IpAddressParser parser = new IpAddressParser();
+        assertTrue(parser.parse(buffer(text), 0, text.length()), text);
+        return parser;
+    }
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
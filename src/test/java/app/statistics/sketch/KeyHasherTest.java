@@ -0,0 +1,40 @@
+package app.statistics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link KeyHasher}의 문자열 해시가 같은 키의 UTF-8 바이트열 해시와 일치하는지 확인하는 테스트
+ * <p>
+ *     문자열과 원본 바이트열로 추가한 같은 키의 해시 값이 다르면 하나의 키가 두 개의 고유 키로 집계된다.
+ * </p>
+ */
+class KeyHasherTest {
+    private static final KeyHasher KEY_HASHER = KeyHasher.of(HashFunction.KOMIHASH);
+    private static final String[] KEYS = {
+            "", "example.com", "메일.한국", "emoji-😀.io", "broken-\uD800.net", "x".repeat(300) + "é".repeat(300)
+    };
+
+    @Test
+    void stringHashEqualsUtf8BytesHash() {
+        for (String key : KEYS) {
+            assertEquals(KEY_HASHER.hash(key.getBytes(StandardCharsets.UTF_8)), KEY_HASHER.hash(key));
+            assertEquals(KEY_HASHER.hash(key.getBytes(StandardCharsets.UTF_8)), KEY_HASHER.hash(new StringBuilder(key)));
+        }
+    }
+
+    @Test
+    void lowerCaseStringHashEqualsLowerCaseBufferHash() {
+        for (String key : KEYS) {
+            String mixedCase = key.toUpperCase().replace("É", "é");
+            byte[] bytes = mixedCase.getBytes(StandardCharsets.UTF_8);
+            assertEquals(KEY_HASHER.hashLowerCase(ByteBuffer.wrap(bytes), 0, bytes.length),
+                    KEY_HASHER.hashLowerCase(mixedCase));
+        }
+        assertEquals(KEY_HASHER.hash("example.com"), KEY_HASHER.hashLowerCase("Example.COM"));
+    }
+}
@@ -0,0 +1,111 @@
+package app.statistics.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link SuperspreaderDetector}의 슬롯 교체, 포화된 슬롯 보존, 상위 출발지 선택과 체크포인트 복원을 확인하는 테스트
+ * <p>
+ *     슬롯 인덱스는 출발지 해시의 상위 32비트에서, 교체 우선순위 비트맵의 비트는 목적지 해시의 상위 6비트에서 구한다.
+ *     용량이 탐색 수와 같은 탐지기에서는 모든 출발지가 같은 슬롯들을 탐색하므로 교체와 버림을 직접 만들 수 있다.
+ * </p>
+ */
+class SuperspreaderDetectorTest {
+
+    @Test
+    void evictsSlotWithFewestDestinationBits() {
+        SuperspreaderDetector detector = new SuperspreaderDetector(4, 4, 0.0);
+        for (long source = 1; source <= 3; source++) {
+            addDistinctDestinations(detector, source, 8);
+        }
+        detector.add(source(4), destination(0)); // 목적지 비트 1개
+
+        detector.add(source(5), destination(1));
+
+        assertEquals(1, detector.getEvictedSources());
+        assertEquals(0, detector.getDroppedEvents());
+        List<FanOutEstimate> result = detector.rollWindow();
+        assertTrue(result.stream().anyMatch(estimate -> estimate.sourceHash() == source(5)));
+        assertTrue(result.stream().noneMatch(estimate -> estimate.sourceHash() == source(4)));
+    }
+
+    @Test
+    void dropsEventWhenAllProbedSlotsAreSaturated() {
+        SuperspreaderDetector detector = new SuperspreaderDetector(4, 4, 0.0);
+        for (long source = 1; source <= 4; source++) {
+            addDistinctDestinations(detector, source, Long.SIZE);
+        }
+
+        detector.add(source(5), destination(0));
+
+        assertEquals(0, detector.getEvictedSources());
+        assertEquals(1, detector.getDroppedEvents());
+        assertTrue(detector.rollWindow().stream().noneMatch(estimate -> estimate.sourceHash() == source(5)));
+        assertEquals(0, detector.getDroppedEvents());
+    }
+
+    @Test
+    void reportsTopKSourcesInDescendingFanOut() {
+        SuperspreaderDetector detector = new SuperspreaderDetector(64, 2, 20.0);
+        addDistinctDestinations(detector, 1, 10);
+        addDistinctDestinations(detector, 2, 400);
+        addDistinctDestinations(detector, 3, 60);
+        addDistinctDestinations(detector, 4, 1000);
+
+        List<FanOutEstimate> result = detector.rollWindow();
+
+        assertEquals(2, result.size());
+        assertEquals(source(4), result.get(0).sourceHash());
+        assertEquals(source(2), result.get(1).sourceHash());
+        assertTrue(detector.rollWindow().isEmpty());
+    }
+
+    @Test
+    void restoresSerializedSlots() {
+        SuperspreaderDetector detector = new SuperspreaderDetector(8, 4, 0.0);
+        for (long source = 1; source <= 12; source++) {
+            addDistinctDestinations(detector, source, (int) source * 5);
+        }
+        byte[] bytes = detector.toByteArray();
+
+        SuperspreaderDetector restored = new SuperspreaderDetector(8, 4, 0.0);
+        restored.restore(bytes);
+
+        assertArrayEquals(bytes, restored.toByteArray());
+        assertEquals(detector.getEvictedSources(), restored.getEvictedSources());
+        assertEquals(detector.getDroppedEvents(), restored.getDroppedEvents());
+        assertEquals(detector.rollWindow(), restored.rollWindow());
+        assertThrows(IllegalArgumentException.class, () -> new SuperspreaderDetector(16, 4, 0.0).restore(bytes));
+    }
+
+    /**
+     * 목적지 비트맵의 서로 다른 비트부터 채우도록 고유 목적지를 추가하는 메서드
+     */
+    private static void addDistinctDestinations(SuperspreaderDetector detector, long source, int count) {
+        long[] sourceHashes = new long[count];
+        long[] destinationHashes = new long[count];
+        for (int i = 0; i < count; i++) {
+            sourceHashes[i] = source(source);
+            destinationHashes[i] = destination(i);
+        }
+        detector.addAll(sourceHashes, destinationHashes, count);
+    }
+
+    private static long source(long id) {
+        return id << 32 | id;
+    }
+
+    private static long destination(int index) {
+        long bit = index % Long.SIZE;
+        long z = (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return bit << 58 | (z ^ (z >>> 31)) >>> 6;
+    }
+}
@@ -0,0 +1,55 @@
+package exaloglog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * {@link ExaLogLog#add(long)}의 레지스터 갱신 회귀 테스트
+ * <p>
+ *     업데이트 값이 레지스터의 최댓값 u와 같을 때 정밀도 비트를 설정하면 그 비트가 u의 최하위 비트와 겹쳐 레지스터가 손상된다.
+ *     이 경우 같은 해시 값을 다시 추가하거나 스케치를 나누어 병합한 결과가 한 번에 추가한 스케치와 달라진다.
+ * </p>
+ */
+class ExaLogLogTest {
+    private static final int T = 2;
+    private static final int D = 20;
+    private static final int P = 8;
+    private static final int HASH_COUNT = 100_000;
+
+    @Test
+    void addingSameHashAgainDoesNotChangeRegisters() {
+        long[] hashes = randomHashes(1);
+        ExaLogLog sketch = ExaLogLog.create(T, D, P);
+        for (long hash : hashes) {
+            sketch.add(hash);
+        }
+        byte[] expected = sketch.toByteArray();
+
+        for (long hash : hashes) {
+            sketch.add(hash);
+        }
+
+        assertArrayEquals(expected, sketch.toByteArray());
+    }
+
+    @Test
+    void mergingPartitionsEqualsSingleSketch() {
+        long[] hashes = randomHashes(2);
+        ExaLogLog whole = ExaLogLog.create(T, D, P);
+        ExaLogLog first = ExaLogLog.create(T, D, P);
+        ExaLogLog second = ExaLogLog.create(T, D, P);
+        for (int i = 0; i < hashes.length; i++) {
+            whole.add(hashes[i]);
+            (i % 2 == 0 ? first : second).add(hashes[i]);
+        }
+
+        assertArrayEquals(whole.toByteArray(), ExaLogLog.merge(first, second).toByteArray());
+    }
+
+    private static long[] randomHashes(long seed) {
+        return new SplittableRandom(seed).longs(HASH_COUNT).toArray();
+    }
+}